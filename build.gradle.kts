@@ -8,6 +8,24 @@ repositories {
   mavenCentral()
 }
 
+// JMH benchmarks of single instrumented calls, run in JVMs forked with each agent, see AgentBenchmarkRunner
+val jmh by sourceSets.creating {
+  compileClasspath += sourceSets.test.get().output
+  runtimeClasspath += sourceSets.test.get().output
+}
+
+// The synthetic agent of the calibration runs, see CalibrationTests
+val burden by sourceSets.creating
+
+configurations {
+  named("jmhImplementation") {
+    extendsFrom(configurations.testImplementation.get())
+  }
+  named("jmhRuntimeOnly") {
+    extendsFrom(configurations.testRuntimeOnly.get())
+  }
+}
+
 dependencies {
   testImplementation("org.slf4j:slf4j-api:1.7.36")
   testImplementation("org.slf4j:slf4j-simple:1.7.36")
@@ -22,15 +40,61 @@ dependencies {
   testImplementation("com.google.code.gson:gson:2.8.9")
   testImplementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:2.13.2")
   testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.7.2")
+
+  "jmhImplementation"("org.openjdk.jmh:jmh-core:1.35")
+  "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.35")
+  "jmhImplementation"("io.opentelemetry:opentelemetry-api:1.16.0")
+  "jmhImplementation"("com.h2database:h2:2.1.214")
+  "jmhImplementation"("org.eclipse.jetty:jetty-servlet:9.4.48.v20220622")
+  "jmhImplementation"("org.apache.logging.log4j:log4j-core:2.17.2")
+
+  "burdenImplementation"("org.ow2.asm:asm:9.3")
+}
+
+val burdenAgentJar by tasks.registering(Jar::class) {
+  group = "build"
+  description = "Builds the synthetic agent with a configurable cost per request, used to calibrate the tests."
+  archiveFileName.set("burden-agent.jar")
+  from(burden.output)
+  // the agent has to be a single jar
+  from(configurations.named("burdenRuntimeClasspath").map { classpath -> classpath.map { zipTree(it) } }) {
+    exclude("META-INF/**", "module-info.class")
+  }
+  manifest {
+    attributes("Premain-Class" to "io.opentelemetry.burden.BurdenAgent")
+  }
 }
 
 tasks {
+  named<JavaCompile>("compileBurdenJava") {
+    // runs in the petclinic container, whatever JDK that has
+    options.release.set(8)
+  }
+
   test {
     useJUnitPlatform()
+    dependsOn(burdenAgentJar)
+    systemProperty("burden.agent.jar", burdenAgentJar.get().archiveFile.get().asFile.absolutePath)
 
     testLogging {
       exceptionFormat = TestExceptionFormat.FULL
       showStandardStreams = true
     }
   }
+
+  register<JavaExec>("aggregateHistory") {
+    group = "results"
+    description = "Adds runs that are not in results/history.bin yet to the historical results index."
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("io.opentelemetry.results.HistoryAggregator")
+    args(project.findProperty("resultsDir") ?: "results")
+  }
+
+  register<JavaExec>("jmhOverhead") {
+    group = "benchmark"
+    description = "Measures the per call overhead of the agents on instrumented operations with JMH."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("io.opentelemetry.jmh.AgentBenchmarkRunner")
+    args(project.findProperty("benchmarks") ?: ".*")
+  }
 }
@@ -3,6 +3,7 @@
 # Creates a PR into gh-pages branch from the results
 
 MYDIR=$(dirname $0)
+ROOT_DIR=$(cd ${MYDIR}/.. && pwd)
 RESULTS=${MYDIR}/../results
 REV=$(ls "${RESULTS}")
 NEW_BRANCH="results_${REV}"
@@ -46,9 +47,13 @@ echo "Results list: " && ls -l results/
 ls -1 results/ | grep -v README | grep -v index.txt | grep -v latest.yaml > results/index.txt
 echo "Copying latest yaml..."
 cp results/${REV}/results.yaml results/latest.yaml
+echo "Updating the historical results index..."
+CLONE_RESULTS=$(pwd)/results
+(cd "${ROOT_DIR}" && ./gradlew aggregateHistory -PresultsDir="${CLONE_RESULTS}")
 echo "Adding new files to changelist"
 git add results/index.txt
 git add results/latest.yaml
+git add results/history.bin
 git add results/${REV}/*
 echo "Committing changes..."
 git commit -S -am "[automated] $MSG"
@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.burden;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The work that the burden agent adds, configured with system properties:
+ * <ul>
+ *   <li>{@value #CPU_MICROS}: microseconds of cpu spin per request</li>
+ *   <li>{@value #ALLOCATION_BYTES}: bytes allocated per request, in small arrays</li>
+ *   <li>{@value #LATENCY_MICROS}: microseconds that every request is parked for, without using cpu</li>
+ *   <li>{@value #BACKGROUND_CPU_PERCENT}: percent of a core that a background thread spins for</li>
+ * </ul>
+ * Everything defaults to 0, which leaves only the cost of the call into {@link #onRequest()}.
+ */
+public final class Burden {
+
+  public static final String CPU_MICROS = "burden.request.cpu.micros";
+  public static final String ALLOCATION_BYTES = "burden.request.allocation.bytes";
+  public static final String LATENCY_MICROS = "burden.request.latency.micros";
+  public static final String BACKGROUND_CPU_PERCENT = "burden.background.cpu.percent";
+
+  private static final int ALLOCATION_CHUNK = 1024;
+  private static final long BACKGROUND_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static long cpuNanos;
+  private static long allocationBytes;
+  private static long latencyNanos;
+
+  // written so that the JIT can't prove the work is useless and remove it
+  public static volatile Object allocationSink;
+  public static volatile long spinSink;
+
+  private Burden() {
+  }
+
+  static void configure() {
+    cpuNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong(CPU_MICROS, 0));
+    allocationBytes = Long.getLong(ALLOCATION_BYTES, 0);
+    latencyNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong(LATENCY_MICROS, 0));
+    double backgroundPercent = Double.parseDouble(System.getProperty(BACKGROUND_CPU_PERCENT, "0"));
+    if (backgroundPercent > 0) {
+      startBackground(backgroundPercent);
+    }
+    System.out.printf("Burden agent: %d us cpu, %d bytes, %d us latency per request, %.1f%% background cpu%n",
+        TimeUnit.NANOSECONDS.toMicros(cpuNanos), allocationBytes, TimeUnit.NANOSECONDS.toMicros(latencyNanos),
+        backgroundPercent);
+  }
+
+  /**
+   * Called at the start of every servlet request.
+   */
+  public static void onRequest() {
+    if (cpuNanos > 0) {
+      spin(cpuNanos);
+    }
+    if (allocationBytes > 0) {
+      allocate(allocationBytes);
+    }
+    if (latencyNanos > 0) {
+      LockSupport.parkNanos(latencyNanos);
+    }
+  }
+
+  // wall clock time, like the instrumentation it stands in for it may be descheduled half way
+  private static void spin(long nanos) {
+    long deadline = System.nanoTime() + nanos;
+    long x = spinSink;
+    while (System.nanoTime() < deadline) {
+      for (int i = 0; i < 100; i++) {
+        x = x * 6364136223846793005L + 1442695040888963407L;
+      }
+    }
+    spinSink = x;
+  }
+
+  private static void allocate(long bytes) {
+    for (long allocated = 0; allocated < bytes; allocated += ALLOCATION_CHUNK) {
+      allocationSink = new byte[(int) Math.min(ALLOCATION_CHUNK, bytes - allocated)];
+    }
+  }
+
+  private static void startBackground(double percent) {
+    long busyNanos = (long) (BACKGROUND_PERIOD_NANOS * Math.min(percent, 100) / 100);
+    Thread thread = new Thread(() -> {
+      while (true) {
+        long start = System.nanoTime();
+        spin(busyNanos);
+        LockSupport.parkNanos(BACKGROUND_PERIOD_NANOS - (System.nanoTime() - start));
+      }
+    }, "burden-background");
+    thread.setDaemon(true);
+    thread.start();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.burden;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+
+/**
+ * A synthetic agent with a known cost: it calls {@link Burden#onRequest()} at the start of
+ * <code>HttpServlet.service(ServletRequest, ServletResponse)</code>, which every request of the app goes through,
+ * and does nothing else. Used to calibrate the overhead tests.
+ * <p>
+ * Spring Boot loads the servlet api with a class loader that delegates to the system class loader first, where the
+ * agent jar is, so the hook needs no boot class path.
+ */
+public final class BurdenAgent {
+
+  private static final String HOOK_CLASS = "io/opentelemetry/burden/Burden";
+
+  private BurdenAgent() {
+  }
+
+  public static void premain(String args, Instrumentation instrumentation) {
+    Burden.configure();
+    instrumentation.addTransformer(new ServletTransformer());
+  }
+
+  private static class ServletTransformer implements ClassFileTransformer {
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+        ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+      String servletPackage = servletPackage(className);
+      if (servletPackage == null) {
+        return null;
+      }
+      try {
+        ClassReader reader = new ClassReader(classfileBuffer);
+        // the hook neither needs locals nor changes the stack at branch targets, so the frames stay valid
+        ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+        reader.accept(new ServiceVisitor(writer, servletPackage), 0);
+        return writer.toByteArray();
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+        return null;
+      }
+    }
+
+    // javax for Servlet 4 and older, jakarta from Servlet 5 on
+    private static String servletPackage(String className) {
+      if ("javax/servlet/http/HttpServlet".equals(className)) {
+        return "javax/servlet";
+      }
+      if ("jakarta/servlet/http/HttpServlet".equals(className)) {
+        return "jakarta/servlet";
+      }
+      return null;
+    }
+  }
+
+  private static class ServiceVisitor extends ClassVisitor {
+
+    private final String serviceDescriptor;
+
+    private ServiceVisitor(ClassVisitor next, String servletPackage) {
+      super(Opcodes.ASM9, next);
+      this.serviceDescriptor =
+          "(L" + servletPackage + "/ServletRequest;L" + servletPackage + "/ServletResponse;)V";
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+        String[] exceptions) {
+      MethodVisitor next = super.visitMethod(access, name, descriptor, signature, exceptions);
+      if (!"service".equals(name) || !serviceDescriptor.equals(descriptor)) {
+        return next;
+      }
+      return new MethodVisitor(Opcodes.ASM9, next) {
+        @Override
+        public void visitCode() {
+          super.visitCode();
+          super.visitMethodInsn(Opcodes.INVOKESTATIC, HOOK_CLASS, "onRequest", "()V", false);
+        }
+      };
+    }
+  }
+}
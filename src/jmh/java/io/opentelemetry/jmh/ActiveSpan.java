@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.jmh;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A span that stays current on the benchmark thread for the whole trial, like the server span of a request in the
+ * app. Some instrumentations only create spans inside a trace. Without an agent the API is a no-op.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ActiveSpan {
+
+  private Span span;
+  private Scope scope;
+
+  @Setup(Level.Trial)
+  public void start() {
+    span = GlobalOpenTelemetry.getTracer("jmh").spanBuilder("benchmark").startSpan();
+    scope = span.makeCurrent();
+  }
+
+  @TearDown(Level.Trial)
+  public void end() {
+    scope.close();
+    span.end();
+  }
+}
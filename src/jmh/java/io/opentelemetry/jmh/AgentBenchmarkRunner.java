@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.jmh;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks of this package once per agent, in JVMs forked with the agent attached, and reports the time
+ * and allocation per call on top of the runs without agent. Run it with <code>./gradlew jmhOverhead</code>, or
+ * <code>./gradlew jmhOverhead -Pbenchmarks=Jdbc</code> for a subset.
+ * <p>
+ * Spans are not exported, so the results are the cost of the instrumentation itself and not of the exporter.
+ */
+public class AgentBenchmarkRunner {
+
+  static final List<Agent> AGENTS = List.of(Agents.NONE, Agents.SPLUNK_OTEL, Agents.OTEL);
+  private static final List<String> NO_EXPORT = List.of(
+      "-Dotel.traces.exporter=none",
+      "-Dotel.metrics.exporter=none",
+      "-Dotel.logs.exporter=none"
+  );
+
+  public static void main(String[] args) throws RunnerException, IOException {
+    String include = args.length > 0 ? args[0] : ".*";
+    AgentJars.prefetch(AGENTS);
+
+    // agent name -> benchmark -> result
+    Map<String, Map<String, BenchmarkResult>> results = new LinkedHashMap<>();
+    for (Agent agent : AGENTS) {
+      results.put(agent.getName(), run(agent, include));
+    }
+
+    String report = report(results);
+    System.out.println(report);
+    Path reportFile = Paths.get("results", "jmh-overhead.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report);
+  }
+
+  private static Map<String, BenchmarkResult> run(Agent agent, String include) throws RunnerException {
+    List<String> jvmArgs = new ArrayList<>();
+    agent.getJarPath().ifPresent(jar -> {
+      jvmArgs.add("-javaagent:" + jar.toAbsolutePath());
+      jvmArgs.addAll(NO_EXPORT);
+    });
+    jvmArgs.addAll(agent.getAdditionalJvmArgs());
+
+    Options options = new OptionsBuilder()
+        .include(AgentBenchmarkRunner.class.getPackageName() + "\\..*" + include)
+        .mode(org.openjdk.jmh.annotations.Mode.AverageTime)
+        .timeUnit(TimeUnit.NANOSECONDS)
+        .forks(2)
+        .warmupIterations(5)
+        .warmupTime(TimeValue.seconds(2))
+        .measurementIterations(5)
+        .measurementTime(TimeValue.seconds(2))
+        .jvmArgsAppend(jvmArgs.toArray(new String[0]))
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+    Collection<RunResult> runResults = new Runner(options).run();
+    for (RunResult runResult : runResults) {
+      String benchmark = runResult.getParams().getBenchmark();
+      benchmark = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+      Result<?> primary = runResult.getPrimaryResult();
+      results.put(benchmark, new BenchmarkResult(primary.getScore(), primary.getScoreError(), allocatedBytes(runResult)));
+    }
+    return results;
+  }
+
+  // JMH up to 1.35 prefixes the key with a middle dot
+  private static double allocatedBytes(RunResult runResult) {
+    return runResult.getSecondaryResults().entrySet().stream()
+        .filter(e -> e.getKey().endsWith("gc.alloc.rate.norm"))
+        .mapToDouble(e -> e.getValue().getScore())
+        .findFirst()
+        .orElse(Double.NaN);
+  }
+
+  static String report(Map<String, Map<String, BenchmarkResult>> results) {
+    Map<String, BenchmarkResult> baseline = results.get(Agents.NONE.getName());
+    StringBuilder sb = new StringBuilder();
+    sb.append("Per call overhead of the agents, on top of ").append(Agents.NONE.getName()).append("\n\n");
+    sb.append(String.format("%-28s %-16s %12s %10s %12s %12s %12s\n",
+        "benchmark", "agent", "ns/op", "error", "B/op", "+ns/op", "+B/op"));
+    for (String benchmark : baseline.keySet()) {
+      BenchmarkResult none = baseline.get(benchmark);
+      for (Map.Entry<String, Map<String, BenchmarkResult>> agent : results.entrySet()) {
+        BenchmarkResult result = agent.getValue().get(benchmark);
+        if (result == null) {
+          continue;
+        }
+        sb.append(String.format("%-28s %-16s %12.1f %10.1f %12.1f %+12.1f %+12.1f\n",
+            benchmark, agent.getKey(), result.nanosPerCall, result.error, result.bytesPerCall,
+            result.nanosPerCall - none.nanosPerCall, result.bytesPerCall - none.bytesPerCall));
+      }
+    }
+    return sb.toString();
+  }
+
+  static class BenchmarkResult {
+    final double nanosPerCall;
+    // the half width of the 99.9% confidence interval, as reported by JMH
+    final double error;
+    final double bytesPerCall;
+
+    BenchmarkResult(double nanosPerCall, double error, double bytesPerCall) {
+      this.nanosPerCall = nanosPerCall;
+      this.error = error;
+      this.bytesPerCall = bytesPerCall;
+    }
+  }
+}
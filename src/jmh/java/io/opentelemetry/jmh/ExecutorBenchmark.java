@@ -0,0 +1,43 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands a task to another thread and waits for it. With an agent the current context is captured on submit and
+ * restored around the task.
+ */
+@State(Scope.Thread)
+public class ExecutorBenchmark {
+
+  private ExecutorService executor;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public Object submit(ActiveSpan span) throws ExecutionException, InterruptedException {
+    return executor.submit(() -> Thread.currentThread().getName()).get();
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.jmh;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * A round trip from an instrumented http client to an instrumented servlet in the same JVM, so the result contains
+ * the cost of both sides and of the context propagation between them.
+ */
+@State(Scope.Benchmark)
+public class HttpBenchmark {
+
+  private Server server;
+  private OkHttpClient client;
+  private Request request;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    server = new Server(0);
+    ServletContextHandler context = new ServletContextHandler();
+    context.addServlet(new ServletHolder(new OwnerServlet()), "/owners/*");
+    server.setHandler(context);
+    server.start();
+    int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+
+    client = new OkHttpClient();
+    request = new Request.Builder().url("http://localhost:" + port + "/owners/1").build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    server.stop();
+    client.dispatcher().executorService().shutdown();
+    client.connectionPool().evictAll();
+  }
+
+  @Benchmark
+  public int get(ActiveSpan span) throws IOException {
+    try (Response response = client.newCall(request).execute()) {
+      return response.body().bytes().length;
+    }
+  }
+
+  public static class OwnerServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+      resp.setContentType("application/json");
+      resp.getWriter().write("{\"id\":1,\"firstName\":\"George\",\"lastName\":\"Franklin\"}");
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A petclinic style lookup by primary key against an in-memory H2 database.
+ */
+@State(Scope.Thread)
+public class JdbcBenchmark {
+
+  private static final int OWNERS = 100;
+
+  private Connection connection;
+  private int nextId = 0;
+
+  @Setup(Level.Trial)
+  public void setup() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:petclinic;DB_CLOSE_DELAY=-1");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE IF NOT EXISTS owners (id INT PRIMARY KEY, first_name VARCHAR(30), last_name VARCHAR(30))");
+      statement.execute("DELETE FROM owners");
+    }
+    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO owners VALUES (?, ?, ?)")) {
+      for (int id = 0; id < OWNERS; id++) {
+        insert.setInt(1, id);
+        insert.setString(2, "George" + id);
+        insert.setString(3, "Franklin" + id);
+        insert.executeUpdate();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public String selectById(ActiveSpan span) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT first_name, last_name FROM owners WHERE id = ?")) {
+      statement.setInt(1, nextId++ % OWNERS);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getString(2);
+      }
+    }
+  }
+}
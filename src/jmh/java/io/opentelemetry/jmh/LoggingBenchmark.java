@@ -0,0 +1,28 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.jmh;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Logs through log4j to an appender that drops everything (see log4j2.xml), so the result is the cost of creating
+ * the log event, into which the agent injects trace_id and span_id.
+ */
+@State(Scope.Thread)
+public class LoggingBenchmark {
+
+  private static final Logger logger = LogManager.getLogger(LoggingBenchmark.class);
+
+  private int owner = 0;
+
+  @Benchmark
+  public void info(ActiveSpan span) {
+    logger.info("Found owner {}", owner++);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.attribution.AttributionReport;
+import io.opentelemetry.attribution.InstrumentationVariants;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Attributes the overhead of the Splunk agent to its instrumentation modules. ATTRIBUTION_MODE picks the variants:
+ * <code>disable-one</code> for the full agent minus one module each, <code>enable-one</code> for a single module each,
+ * e.g. <code>ATTRIBUTION_MODE=disable-one ./gradlew test --tests AttributionTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = AttributionTests.ENV_MODE, matches = "disable-one|enable-one")
+public class AttributionTests {
+  private static final Logger logger = LoggerFactory.getLogger(AttributionTests.class);
+
+  static final String ENV_MODE = "ATTRIBUTION_MODE";
+  // comma separated instrumentation names, the modules that petclinic triggers by default
+  static final String ENV_MODULES = "ATTRIBUTION_MODULES";
+  static final String ENV_PASSES = "ATTRIBUTION_PASSES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void attribute() throws Exception {
+    InstrumentationVariants.Mode mode = InstrumentationVariants.Mode.valueOf(
+        Env.string(ENV_MODE, null).replace('-', '_').toUpperCase(Locale.ROOT));
+    InstrumentationVariants variants = new InstrumentationVariants(Agents.SPLUNK_OTEL, mode,
+        Env.strings(ENV_MODULES, InstrumentationVariants.PETCLINIC_MODULES));
+    TestConfig config = Configs.attribution(variants, Env.intValue(ENV_PASSES, Configs.RELEASE.getNumberOfPasses()));
+    // every variant uses the same jar, so this is a single download
+    AgentJars.prefetch(config.getAgents());
+
+    MainResultsPersister resultsPersister = new MainResultsPersister(config, namingConventions,
+        Env.isTrue(OverheadWithExternalsTests.ENV_RESUME_RUN));
+    List<List<AppPerfResults>> passResults = runner.runPasses(config, resultsPersister);
+
+    String report = new AttributionReport(variants, Agents.NONE, passResults).format();
+    logger.info("Instrumentation attribution:\n{}", report);
+    Path reportFile = Paths.get(namingConventions.localResults(), "attribution.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.bisect.BisectResult;
+import io.opentelemetry.bisect.Bisector;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the first Splunk agent release whose overhead differs from an older one. BISECT_VERSIONS lists the versions
+ * (or file:// urls of agent jars), comma separated and ordered from the known good to the known bad one, e.g. <code>BISECT_VERSIONS=1.10.0,1.11.0,1.12.0,1.13.0,1.14.1 ./gradlew test --tests BisectTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = BisectTests.ENV_VERSIONS, matches = ".+")
+public class BisectTests {
+  private static final Logger logger = LoggerFactory.getLogger(BisectTests.class);
+
+  static final String ENV_VERSIONS = "BISECT_VERSIONS";
+  // any field of the results csv, averageCpuUser by default
+  static final String ENV_METRIC = "BISECT_METRIC";
+  static final String ENV_INITIAL_PASSES = "BISECT_INITIAL_PASSES";
+  static final String ENV_MAX_PASSES = "BISECT_MAX_PASSES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+  // one persister per version, so that escalated passes add to the results of the earlier ones
+  private final Map<String, VersionRun> versionRuns = new HashMap<>();
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void bisect() throws Exception {
+    List<String> versions = Env.strings(ENV_VERSIONS, List.of());
+    String metric = Env.string(ENV_METRIC, "averageCpuUser");
+    int initialPasses = Env.intValue(ENV_INITIAL_PASSES, 3);
+    int maxPasses = Env.intValue(ENV_MAX_PASSES, Configs.RELEASE.getNumberOfPasses());
+    AgentJars.prefetch(versions.stream().map(Agents::splunkOtel).collect(Collectors.toList()));
+
+    Bisector bisector = new Bisector(versions, (version, passes) -> measure(version, passes, metric),
+        initialPasses, maxPasses);
+    BisectResult result = bisector.run();
+
+    String report = result.report(metric);
+    logger.info("Bisect result:\n{}", report);
+    Path reportFile = Paths.get(namingConventions.localResults(), "bisect.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report);
+  }
+
+  // The overhead of each pass: the agent's value minus the uninstrumented value of the same pass
+  private double[] measure(String version, int passes, String metric) {
+    VersionRun versionRun = versionRuns.computeIfAbsent(version, VersionRun::new);
+    double[] overheads = new double[passes];
+    for (int i = 0; i < passes; i++) {
+      List<AppPerfResults> results = runner.runPass(versionRun.config, versionRun.passes++, versionRun.persister);
+      overheads[i] = value(results, versionRun.agent, metric) - value(results, Agents.NONE, metric);
+    }
+    return overheads;
+  }
+
+  private static double value(List<AppPerfResults> results, Agent agent, String metric) {
+    return results.stream()
+        .filter(result -> result.getAgentName().equals(agent.getName()))
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("No results for " + agent.getName()))
+        .getFieldValue(metric);
+  }
+
+  private class VersionRun {
+    private final Agent agent;
+    // the pass count only matters for the progress output, the bisector decides how many passes to run
+    private final TestConfig config;
+    private final MainResultsPersister persister;
+    private int passes = 0;
+
+    private VersionRun(String version) {
+      this.agent = Agents.splunkOtel(version);
+      this.config = Configs.bisect(agent, Configs.RELEASE.getNumberOfPasses());
+      this.persister = new MainResultsPersister(config, namingConventions);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.calibration.BurdenCalibration;
+import io.opentelemetry.calibration.BurdenDose;
+import io.opentelemetry.calibration.CalibrationReport;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.results.SequentialStopping;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how sensitive the overhead tests are, by running a synthetic agent with a known cost per request at
+ * several doses, e.g.
+ * <code>CALIBRATION=true CALIBRATION_DOSES=0,0.5,1,2 ./gradlew test --tests CalibrationTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = CalibrationTests.ENV_CALIBRATION, matches = "true")
+public class CalibrationTests {
+  private static final Logger logger = LoggerFactory.getLogger(CalibrationTests.class);
+
+  static final String ENV_CALIBRATION = "CALIBRATION";
+  // comma separated multiples of BurdenDose.BASE
+  static final String ENV_DOSES = "CALIBRATION_DOSES";
+  static final String ENV_PASSES = "CALIBRATION_PASSES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void calibrate() throws Exception {
+    BurdenCalibration calibration =
+        new BurdenCalibration(Env.doubles(ENV_DOSES, BurdenCalibration.DEFAULT_MULTIPLES));
+    Map<BurdenDose, Agent> burdenAgents = calibration.getAgents(Agents.burden());
+    TestConfig config = Configs.calibration(burdenAgents.values(),
+        Env.intValue(ENV_PASSES, Configs.RELEASE.getNumberOfPasses()));
+    AgentJars.prefetch(config.getAgents());
+
+    List<List<AppPerfResults>> passResults =
+        runner.runPasses(config, new MainResultsPersister(config, namingConventions));
+
+    String report = new CalibrationReport(Agents.NONE, burdenAgents, passResults, SequentialStopping.DEFAULT_METRICS)
+        .format();
+    logger.info("Calibration:\n{}", report);
+    Path reportFile = Paths.get(namingConventions.localResults(), config.getName(), "calibration.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report);
+  }
+}
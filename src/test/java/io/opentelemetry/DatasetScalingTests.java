@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.results.OverheadComparisonReport;
+import io.opentelemetry.results.SequentialStopping;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Runs the release test on generated datasets of growing size (see DatasetGenerator) and compares the overhead across
+ * them, which shows how the cost of the JDBC and serialization instrumentation grows with the result sets, e.g.
+ * <code>DATASET_SCALING=true DATASET_OWNERS=0,10000,1000000 ./gradlew test --tests DatasetScalingTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = DatasetScalingTests.ENV_DATASET_SCALING, matches = "true")
+public class DatasetScalingTests {
+  private static final Logger logger = LoggerFactory.getLogger(DatasetScalingTests.class);
+
+  static final String ENV_DATASET_SCALING = "DATASET_SCALING";
+  // numbers of owners, comma separated, 0 for the dataset of populateDB.sql only
+  static final String ENV_OWNERS = "DATASET_OWNERS";
+  static final String ENV_PASSES = "DATASET_SCALING_PASSES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void runDatasetScaling() throws Exception {
+    TestConfig scaling = Configs.datasetScaling(Env.intValue(ENV_PASSES, Configs.RELEASE.getNumberOfPasses()));
+    AgentJars.prefetch(scaling.getAgents());
+
+    OverheadComparisonReport report =
+        new OverheadComparisonReport(Agents.NONE.getName(), SequentialStopping.DEFAULT_METRICS);
+    for (int owners : Env.ints(ENV_OWNERS, List.of(0, 10_000, 100_000))) {
+      TestConfig config = Configs.withDataset(scaling, owners);
+      logger.info("Running {}", config.getDescription());
+      runner.runPasses(config, new MainResultsPersister(config, namingConventions), passes -> {
+        report.add(owners + " owners", config.getDescription(), passes.get(passes.size() - 1));
+        return true;
+      });
+    }
+
+    Path reportFile = Paths.get(namingConventions.localResults(), scaling.getName(), "dataset-scaling.txt");
+    report.write(reportFile);
+    logger.info("Dataset comparison written to {}", reportFile);
+  }
+}
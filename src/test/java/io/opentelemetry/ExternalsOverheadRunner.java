@@ -0,0 +1,493 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.containers.K6Container;
+import io.opentelemetry.containers.PgStatStatements;
+import io.opentelemetry.containers.DatasetLoader;
+import io.opentelemetry.containers.PetClinicImage;
+import io.opentelemetry.containers.PetClinicRestContainer;
+import io.opentelemetry.containers.RemotePostgresContainer;
+import io.opentelemetry.pipeline.RunPipeline;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.results.HostNoiseDetector;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.results.ResultsCollector;
+import io.opentelemetry.results.RunJournal;
+import io.opentelemetry.sampling.ClassHistogramSampler;
+import io.opentelemetry.sampling.HostNoiseSampler;
+import io.opentelemetry.sampling.NativeMemorySampler;
+import io.opentelemetry.sampling.SoakRecorder;
+import io.opentelemetry.sampling.TailLatencyTrigger;
+import io.opentelemetry.util.DatasetGenerator;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.startupcheck.OneShotStartupCheckStrategy;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs passes of a test config against the remote collector and postgres on the EXTERNALS_HOST. Shared by the tests
+ * that run on the testbox, which mostly run all passes of a config with {@link #runPasses} and report on them.
+ * <p>
+ * The runs of a pass are pipelined, see {@link RunPipeline}: stopping the containers of a run and reading its results
+ * happen in the background while the postgres of the next run starts, but the startup and the k6 run of the next app
+ * wait for them. The stage timeline is written to <code>pipeline.csv</code> next to the results.
+ * <p>
+ * Every run of an agent is recorded in the {@link RunJournal}. Runs that the journal has as completed are skipped,
+ * and a failed run is repeated up to {@link #MAX_ATTEMPTS} times in all, across resumed runs, before the test fails.
+ * <p>
+ * A run that the {@link HostNoiseDetector} finds contaminated by host noise is repeated as well, within the same
+ * attempts. When the host stays noisy the last attempt is kept, and flagged in <code>host-noise.txt</code>. Set
+ * REJECT_NOISY_RUNS to false to keep every run.
+ * <p>
+ * Set CLASS_HISTOGRAMS to true to take class histograms during the measured window, and HEAP_DUMPS to true to also
+ * dump the heap at its end, for <code>retained-heap.txt</code>. Both cost full GCs in the window. Set TAIL_SNAPSHOTS
+ * to true to dump the recording around the slowest requests, for <code>tail-latency.txt</code>.
+ */
+class ExternalsOverheadRunner {
+  private static final Logger logger = LoggerFactory.getLogger(ExternalsOverheadRunner.class);
+
+  static final String ENV_EXTERNALS_HOST = "EXTERNALS_HOST";
+  static final String ENV_REJECT_NOISY_RUNS = "REJECT_NOISY_RUNS";
+  static final String ENV_CLASS_HISTOGRAMS = "CLASS_HISTOGRAMS";
+  static final String ENV_HEAP_DUMPS = "HEAP_DUMPS";
+  static final String ENV_TAIL_SNAPSHOTS = "TAIL_SNAPSHOTS";
+  static final int MAX_ATTEMPTS = 3;
+  private static final String SOAK_RECORDING_MAX_SIZE = "256m";
+
+  private final Network network;
+  private final NamingConventions namingConventions;
+  private final Map<String, Long> runDurations = new ConcurrentHashMap<>();
+  private final RunPipeline pipeline = new RunPipeline();
+  private final HostNoiseDetector noiseDetector = new HostNoiseDetector();
+  private final boolean rejectNoisyRuns = !"false".equalsIgnoreCase(Env.string(ENV_REJECT_NOISY_RUNS, "true"));
+  private final boolean heapDumps = Env.isTrue(ENV_HEAP_DUMPS);
+  private final boolean classHistograms = heapDumps || Env.isTrue(ENV_CLASS_HISTOGRAMS);
+  private final boolean tailSnapshots = Env.isTrue(ENV_TAIL_SNAPSHOTS);
+  // postgres containers share their name, so a run can only start its own once the previous one is gone
+  private CompletableFuture<?> postgresStopped;
+
+  /**
+   * Sees the results of the passes so far after every pass, the last one being the pass that just ran.
+   */
+  interface PassListener {
+    /**
+     * @return false to end the run before its last pass, e.g. when a stopping rule is met
+     */
+    boolean afterPass(List<List<AppPerfResults>> passes) throws Exception;
+  }
+
+  ExternalsOverheadRunner(Network network, NamingConventions namingConventions) {
+    this.network = network;
+    this.namingConventions = namingConventions;
+  }
+
+  /**
+   * Runs all passes of the config, writes the results of each and then the summaries of all of them.
+   *
+   * @return the results of every pass
+   */
+  List<List<AppPerfResults>> runPasses(TestConfig config, MainResultsPersister persister) throws Exception {
+    return runPasses(config, persister, passes -> true);
+  }
+
+  List<List<AppPerfResults>> runPasses(TestConfig config, MainResultsPersister persister, PassListener listener)
+      throws Exception {
+    List<List<AppPerfResults>> passes = new ArrayList<>();
+    for (int currentPass = 0; currentPass < config.getNumberOfPasses(); ++currentPass) {
+      passes.add(runPass(config, currentPass, persister));
+      if (!listener.afterPass(passes)) {
+        break;
+      }
+    }
+    persister.writeAll();
+    return passes;
+  }
+
+  /**
+   * Runs a single pass and writes its results, for the tests that decide about every pass themselves.
+   */
+  List<AppPerfResults> runPass(TestConfig config, int currentPass, MainResultsPersister persister) {
+    List<AppPerfResults> results = runSinglePass(config, currentPass, persister.getJournal());
+    persister.writePass(results);
+    return results;
+  }
+
+  private List<AppPerfResults> runSinglePass(TestConfig config, int currentPass, RunJournal journal) {
+    runDurations.clear();
+    ResultsCollector collector = new ResultsCollector(namingConventions.local, runDurations);
+    List<Agent> agents = config.getAgentsForPass(currentPass);
+    Map<String, CompletableFuture<AppPerfResults>> results = new HashMap<>();
+    List<AppPerfResults> passResults = new ArrayList<>();
+    try {
+      for (int currentAgent = 0; currentAgent < agents.size(); currentAgent++) {
+        Agent agent = agents.get(currentAgent);
+        if (journal.isCompleted(currentPass, agent)) {
+          logger.info("Pass {} of {} is in the journal already", currentPass + 1, agent.getName());
+          continue;
+        }
+        if (postgresStopped == null) {
+          pullImages(config);
+        }
+        logProgress(currentPass, config, currentAgent);
+        results.put(agent.getName(), attempt(config, currentPass, agent, collector, journal));
+      }
+      for (Agent agent : config.getAgents()) {
+        CompletableFuture<AppPerfResults> result = results.get(agent.getName());
+        passResults.add(result == null
+            ? journal.getResult(currentPass, agent)
+            : awaitWithRetries(config, currentPass, agent, result, collector, journal));
+      }
+    } catch (Exception e) {
+      pipeline.awaitBackground();
+      fail("Unhandled exception in " + config.getName(), e);
+    }
+    writeTimeline(config);
+    return passResults;
+  }
+
+  private CompletableFuture<AppPerfResults> attempt(TestConfig config, int currentPass, Agent agent,
+      ResultsCollector collector, RunJournal journal) {
+    journal.started(currentPass, agent);
+    try {
+      return runAppOnce(config, agent, collector);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  // The attempts are counted in the journal, so those of the runs before a resume count against the budget too. A unit
+  // that used up its attempts before gets the one that was started for it.
+  private AppPerfResults awaitWithRetries(TestConfig config, int currentPass, Agent agent,
+      CompletableFuture<AppPerfResults> result, ResultsCollector collector, RunJournal journal) throws Exception {
+    while (true) {
+      int attempt = journal.getAttempts(currentPass, agent);
+      try {
+        AppPerfResults results = RunPipeline.await(result);
+        rejectNoisyRun(results, journal, attempt);
+        journal.completed(currentPass, results);
+        return results;
+      } catch (Exception e) {
+        journal.failed(currentPass, agent, e);
+        if (attempt >= MAX_ATTEMPTS) {
+          throw e;
+        }
+        logger.warn("Attempt {} of {} in pass {} failed, trying again", attempt, agent.getName(), currentPass + 1, e);
+        result = attempt(config, currentPass, agent, collector, journal);
+      }
+    }
+  }
+
+  // Compared with the runs that the journal has, from all passes, see HostNoiseDetector for which agents
+  private void rejectNoisyRun(AppPerfResults results, RunJournal journal, int attempt) {
+    if (!rejectNoisyRuns) {
+      return;
+    }
+    List<String> reasons = noiseDetector.contamination(results, journal.getAllResults());
+    if (reasons.isEmpty()) {
+      return;
+    }
+    String message = "Host noise during the run: " + String.join("; ", reasons);
+    if (attempt < MAX_ATTEMPTS) {
+      throw new IllegalStateException(message);
+    }
+    logger.warn("{}, keeping it as this was the last attempt", message);
+  }
+
+  // Pulled or built up front, so that the startup time of the first run doesn't include the image pull. The postgres
+  // image is built on the externals host and only checked.
+  private void pullImages(TestConfig config) throws Exception {
+    verifyExternals();
+    pipeline.background("all", "image pull", () -> {
+      if (config.getJdk().isDefault()) {
+        new RemoteDockerImage(PetClinicRestContainer.IMAGE).get();
+      } else {
+        PetClinicImage.forJdk(config.getJdk());
+      }
+      new RemoteDockerImage(K6Container.IMAGE).get();
+      return null;
+    });
+    // a missing image fails the run here, the start of postgres doesn't check
+    RemotePostgresContainer.build(getPostgresHost()).verifyImage();
+    postgresStopped = CompletableFuture.completedFuture(null);
+  }
+
+  private void writeTimeline(TestConfig config) {
+    logger.info(pipeline.getTimeline().format());
+    try {
+      Path outputDir = Paths.get(namingConventions.localResults(), config.getName());
+      Files.createDirectories(outputDir);
+      pipeline.getTimeline().writeCsv(outputDir.resolve("pipeline.csv"));
+    } catch (IOException e) {
+      logger.warn("Could not write the pipeline timeline", e);
+    }
+  }
+
+  private void logProgress(int currentPass, TestConfig config, int currentAgent) {
+    int numberOfAgents = config.getAgents().size();
+
+    int currentPassTotal = currentPass * numberOfAgents + currentAgent;
+    int totalNumberOfPasses = numberOfAgents * config.getNumberOfPasses();
+
+    String output = String.format("Pass %d/%d Agent %d/%d - Total %d/%d\n",
+        currentPass + 1, config.getNumberOfPasses(),
+        currentAgent + 1, numberOfAgents,
+        currentPassTotal + 1, totalNumberOfPasses);
+
+    System.out.printf(output);
+    writeProgress(output);
+  }
+
+  private void writeProgress(String output) {
+    try {
+      Files.writeString(Path.of("/tmp/progress.txt"), output);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  // Returns once the measured part of the run is over, with the results that are read in the background
+  private CompletableFuture<AppPerfResults> runAppOnce(TestConfig config, Agent agent, ResultsCollector collector)
+      throws Exception {
+    verifyExternals();
+    String run = agent.getName();
+    RunPipeline.await(postgresStopped.handle((result, error) -> null));
+    RemotePostgresContainer postgres = RemotePostgresContainer.build(getPostgresHost());
+    pipeline.unmeasured(run, "postgres start", () -> {
+      postgres.start();
+      return null;
+    });
+
+    GenericContainer<?> petclinic;
+    try {
+      petclinic = runApp(config, agent, new PgStatStatements(postgres::psql),
+          new DatasetLoader(postgres::psql, postgres::copy));
+    } catch (Exception e) {
+      postgresStopped = pipeline.background(run, "postgres stop", () -> {
+        postgres.stop();
+        return null;
+      });
+      throw e;
+    }
+
+    CompletableFuture<Void> petclinicStopped = pipeline.background(run, "petclinic stop", () -> {
+      stopPetclinic(petclinic);
+      return null;
+    });
+    postgresStopped = pipeline.background(run, "postgres stop", petclinicStopped.handle((result, error) -> null),
+        () -> {
+          postgres.stop();
+          return null;
+        });
+    return pipeline.background(run, "analysis", petclinicStopped, () -> collector.collect(agent, config));
+  }
+
+  // Returns the app still running, it's stopped in the background
+  private GenericContainer<?> runApp(TestConfig config, Agent agent, PgStatStatements statements,
+      DatasetLoader datasetLoader) throws Exception {
+    String run = agent.getName();
+    GenericContainer<?> petclinic =
+        new PetClinicRestContainer(network, agent, namingConventions, getPostgresHost(), getCollectorHost())
+            .withImage(PetClinicImage.forJdk(config.getJdk()))
+            .build();
+    try {
+      pipeline.measured(run, "petclinic start", () -> {
+        long start = System.currentTimeMillis();
+        try {
+          logger.info("Starting petclinic container");
+          petclinic.start();
+        } finally {
+          logger.info("Petclinic container has started or failed to start.");
+        }
+        writeStartupTimeFile(agent, start);
+        return null;
+      });
+
+      // the app creates the schema when it starts
+      if (config.getDatasetOwners() > 0) {
+        pipeline.unmeasured(run, "dataset load", () -> {
+          datasetLoader.load(new DatasetGenerator(config.getDatasetOwners(), DatasetGenerator.DEFAULT_SEED));
+          return null;
+        });
+      }
+
+      if (config.getWarmupSeconds() > 0) {
+        pipeline.unmeasured(run, "warmup", () -> {
+          doWarmupPhase(config, petclinic);
+          return null;
+        });
+      }
+
+      pipeline.measured(run, "k6", () -> {
+        long testStart = System.currentTimeMillis();
+        resetStatements(agent, statements);
+        startRecording(config, agent, petclinic);
+        NativeMemorySampler memorySampler = new NativeMemorySampler(petclinic, namingConventions.local.nativeMemoryFile(agent));
+        memorySampler.start();
+        HostNoiseSampler noiseSampler = new HostNoiseSampler(petclinic, namingConventions.local.hostNoiseFile(agent));
+        noiseSampler.start();
+        SoakRecorder soakRecorder = config.isSoak()
+            ? new SoakRecorder(petclinic, namingConventions, agent, config.getSoakChunkDuration())
+            : null;
+        if (soakRecorder != null) {
+          soakRecorder.start();
+        }
+        ClassHistogramSampler histogramSampler = classHistograms
+            ? new ClassHistogramSampler(petclinic, namingConventions, agent, ClassHistogramSampler.DEFAULT_INTERVAL,
+                heapDumps)
+            : null;
+        if (histogramSampler != null) {
+          histogramSampler.start();
+        } else {
+          ClassHistogramSampler.deletePreviousPass(namingConventions, agent);
+        }
+        // a soak test has no per request output
+        TailLatencyTrigger tailTrigger = tailSnapshots && !config.isSoak()
+            ? new TailLatencyTrigger(petclinic, namingConventions, agent)
+            : null;
+        if (tailTrigger != null) {
+          tailTrigger.start();
+        } else {
+          TailLatencyTrigger.deletePreviousPass(namingConventions, agent);
+        }
+
+        try (GenericContainer<?> k6 = new K6Container(network, agent, config, namingConventions).build()) {
+          k6.start();
+        } finally {
+          if (tailTrigger != null) {
+            tailTrigger.stop();
+          }
+          if (histogramSampler != null) {
+            histogramSampler.stop();
+          }
+          if (soakRecorder != null) {
+            soakRecorder.stop();
+          }
+          noiseSampler.stop();
+          memorySampler.stop();
+        }
+        collectStatements(agent, statements);
+
+        long runDuration = System.currentTimeMillis() - testStart;
+        runDurations.put(agent.getName(), runDuration);
+        return null;
+      });
+      return petclinic;
+    } catch (Exception e) {
+      petclinic.close();
+      throw e;
+    }
+  }
+
+  private static void stopPetclinic(GenericContainer<?> petclinic) throws Exception {
+    try {
+      // This is required to get a graceful exit of the VM before testcontainers kills it forcibly.
+      // Without it, our jfr file will be empty.
+      petclinic.execInContainer("kill", "1");
+      while (petclinic.isRunning()) {
+        TimeUnit.MILLISECONDS.sleep(100);
+      }
+    } finally {
+      petclinic.close();
+    }
+  }
+
+  // The database statistics are an addition to the results, a run without them is still worth keeping
+  private void resetStatements(Agent agent, PgStatStatements statements) {
+    try {
+      Files.deleteIfExists(namingConventions.local.pgStatStatementsFile(agent));
+      statements.reset();
+    } catch (Exception e) {
+      logger.warn("Could not reset pg_stat_statements, the run has no database statistics", e);
+    }
+  }
+
+  private void collectStatements(Agent agent, PgStatStatements statements) {
+    try {
+      PgStatStatements.write(namingConventions.local.pgStatStatementsFile(agent), statements.collect());
+    } catch (Exception e) {
+      logger.warn("Could not collect pg_stat_statements", e);
+    }
+  }
+
+  private void verifyExternals() {
+    assertNotNull(getPostgresHost(), "You must define EXTERNALS_HOST env var");
+  }
+
+  private String getPostgresHost() {
+    return System.getenv(ENV_EXTERNALS_HOST);
+  }
+
+  private String getCollectorHost() {
+    return System.getenv(ENV_EXTERNALS_HOST);
+  }
+
+  private void startRecording(TestConfig config, Agent agent, GenericContainer<?> petclinic) throws Exception {
+    Path outFile = namingConventions.container.jfrFile(agent);
+    List<String> command = new ArrayList<>(List.of("jcmd", "1", "JFR.start", "settings=/app/overhead.jfc",
+        "dumponexit=true", "name=" + SoakRecorder.RECORDING, "filename=" + outFile));
+    if (config.isSoak()) {
+      // hours of events don't fit in memory, the soak recorder reduces them chunk by chunk
+      long maxAge = 2 * config.getSoakChunkDuration().getSeconds();
+      command.addAll(List.of("disk=true", "maxage=" + maxAge + "s", "maxsize=" + SOAK_RECORDING_MAX_SIZE));
+    }
+    petclinic.execInContainer(command.toArray(new String[0]));
+  }
+
+  private void doWarmupPhase(TestConfig testConfig, GenericContainer<?> petclinic) throws IOException, InterruptedException {
+    logger.info("Performing startup warming phase for " + testConfig.getWarmupSeconds() + " seconds...");
+
+    logger.info("Starting disposable JFR warmup recording...");
+    String[] startCommand = {"jcmd", "1", "JFR.start", "settings=/app/overhead.jfc", "dumponexit=true", "name=warmup", "filename=warmup.jfr"};
+    petclinic.execInContainer(startCommand);
+
+    long deadline =
+        System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(testConfig.getWarmupSeconds());
+    while (System.currentTimeMillis() < deadline) {
+      try (GenericContainer<?> k6 = new GenericContainer<>(K6Container.IMAGE)
+          .withNetwork(network)
+          .withCopyFileToContainer(
+              MountableFile.forHostPath("./k6"), "/app")
+          .withCommand("run", "-u", "5", "-i", "200", "/app/basic.js")
+          .withStartupCheckStrategy(new OneShotStartupCheckStrategy())) {
+        k6.start();
+      }
+    }
+
+    logger.info("Stopping disposable JFR warmup recording...");
+    String[] stopCommand = {"jcmd", "1", "JFR.stop", "name=warmup"};
+    petclinic.execInContainer(stopCommand);
+
+    logger.info("Warmup complete.");
+  }
+
+  private void writeStartupTimeFile(Agent agent, long start) throws IOException {
+    long delta = System.currentTimeMillis() - start;
+    Path startupPath = namingConventions.local.startupDurationFile(agent);
+    Files.writeString(startupPath, String.valueOf(delta));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.Jdk;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.results.OverheadComparisonReport;
+import io.opentelemetry.results.SequentialStopping;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the release test on several JDKs, each with a petclinic image built for it (see PetClinicImage), and compares
+ * the overhead across them, e.g.
+ * <code>JDK_MATRIX=true JDKS=11,17,21 JDK_MATRIX_JLINK=true ./gradlew test --tests JdkMatrixTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = JdkMatrixTests.ENV_JDK_MATRIX, matches = "true")
+public class JdkMatrixTests {
+  private static final Logger logger = LoggerFactory.getLogger(JdkMatrixTests.class);
+
+  static final String ENV_JDK_MATRIX = "JDK_MATRIX";
+  // feature releases of Temurin or JDK images, comma separated, see Jdk.parse
+  static final String ENV_JDKS = "JDKS";
+  static final String ENV_JLINK = "JDK_MATRIX_JLINK";
+  static final String ENV_PASSES = "JDK_MATRIX_PASSES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void runJdkMatrix() throws Exception {
+    TestConfig matrix = Configs.jdkMatrix(jdks(), Env.intValue(ENV_PASSES, Configs.RELEASE.getNumberOfPasses()));
+    AgentJars.prefetch(matrix.getAgents());
+
+    OverheadComparisonReport report =
+        new OverheadComparisonReport(Agents.NONE.getName(), SequentialStopping.DEFAULT_METRICS);
+    for (TestConfig config : Configs.perJdk(matrix)) {
+      logger.info("Running {}", config.getDescription());
+      runner.runPasses(config, new MainResultsPersister(config, namingConventions), passes -> {
+        report.add(config.getJdk().getName(), config.getJdk().toString(), passes.get(passes.size() - 1));
+        return true;
+      });
+    }
+
+    Path reportFile = Paths.get(namingConventions.localResults(), matrix.getName(), "jdk-matrix.txt");
+    report.write(reportFile);
+    logger.info("JDK comparison written to {}", reportFile);
+  }
+
+  private static List<Jdk> jdks() {
+    boolean jlink = Env.isTrue(ENV_JLINK);
+    return Env.strings(ENV_JDKS, List.of("11", "17", "21")).stream()
+        .map(Jdk::parse)
+        .map(jdk -> jlink ? jdk.jlinked() : jdk)
+        .collect(Collectors.toList());
+  }
+}
@@ -5,15 +5,23 @@
 package io.opentelemetry;
 
 import io.opentelemetry.agents.Agent;
+import io.opentelemetry.agents.AgentJars;
 import io.opentelemetry.config.Configs;
 import io.opentelemetry.config.TestConfig;
 import io.opentelemetry.containers.CollectorContainer;
+import io.opentelemetry.containers.DatasetLoader;
 import io.opentelemetry.containers.K6Container;
 import io.opentelemetry.containers.PetClinicRestContainer;
+import io.opentelemetry.containers.PgStatStatements;
 import io.opentelemetry.containers.PostgresContainer;
 import io.opentelemetry.results.AppPerfResults;
 import io.opentelemetry.results.MainResultsPersister;
 import io.opentelemetry.results.ResultsCollector;
+import io.opentelemetry.sampling.ClassHistogramSampler;
+import io.opentelemetry.sampling.HostNoiseSampler;
+import io.opentelemetry.sampling.NativeMemorySampler;
+import io.opentelemetry.sampling.TailLatencyTrigger;
+import io.opentelemetry.util.DatasetGenerator;
 import io.opentelemetry.util.NamingConventions;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -28,7 +36,6 @@ import org.testcontainers.utility.MountableFile;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,17 +66,16 @@ public class OverheadTests {
   @Disabled
   void runOverheadTest() {
     TestConfig config = Configs.RELEASE;
+    AgentJars.prefetch(config.getAgents());
 
     MainResultsPersister resultsPersister = new MainResultsPersister(config, namingConventions);
-    List<AppPerfResults> allResults = new ArrayList<>();
 
     for (int currentPass = 0; currentPass < config.getNumberOfPasses(); ++currentPass) {
       List<AppPerfResults> singlePassResults = runSinglePass(config, currentPass);
       resultsPersister.writePass(singlePassResults);
-      allResults.addAll(singlePassResults);
     }
 
-    resultsPersister.writeAll(allResults);
+    resultsPersister.writeAll();
   }
 
   private List<AppPerfResults> runSinglePass(TestConfig config, int currentPass) {
@@ -103,20 +109,40 @@ public class OverheadTests {
   void runAppOnce(TestConfig config, Agent agent) throws Exception {
     GenericContainer<?> postgres = new PostgresContainer(NETWORK).build();
     postgres.start();
+    PgStatStatements statements = PgStatStatements.inContainer(postgres);
 
     GenericContainer<?> petclinic = new PetClinicRestContainer(NETWORK, collector, agent, namingConventions).build();
     long start = System.currentTimeMillis();
     petclinic.start();
     writeStartupTimeFile(agent, start);
 
+    if (config.getDatasetOwners() > 0) {
+      DatasetLoader.inContainer(postgres)
+          .load(new DatasetGenerator(config.getDatasetOwners(), DatasetGenerator.DEFAULT_SEED));
+    }
+
     if (config.getWarmupSeconds() > 0) {
       doWarmupPhase(config);
     }
 
+    statements.reset();
+    // no class histograms or tail snapshots here, but those of an earlier run must not end up in the reports
+    ClassHistogramSampler.deletePreviousPass(namingConventions, agent);
+    TailLatencyTrigger.deletePreviousPass(namingConventions, agent);
     startRecording(agent, petclinic);
+    NativeMemorySampler memorySampler = new NativeMemorySampler(petclinic, namingConventions.local.nativeMemoryFile(agent));
+    memorySampler.start();
+    HostNoiseSampler noiseSampler = new HostNoiseSampler(petclinic, namingConventions.local.hostNoiseFile(agent));
+    noiseSampler.start();
 
-    GenericContainer<?> k6 = new K6Container(NETWORK, agent, config, namingConventions).build();
-    k6.start();
+    try {
+      GenericContainer<?> k6 = new K6Container(NETWORK, agent, config, namingConventions).build();
+      k6.start();
+    } finally {
+      noiseSampler.stop();
+      memorySampler.stop();
+    }
+    PgStatStatements.write(namingConventions.local.pgStatStatementsFile(agent), statements.collect());
 
     // This is required to get a graceful exit of the VM before testcontainers kills it forcibly.
     // Without it, our jfr file will be empty.
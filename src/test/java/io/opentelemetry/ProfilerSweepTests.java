@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.profiler.ProfilerJfrMetrics;
+import io.opentelemetry.profiler.ProfilerSettings;
+import io.opentelemetry.profiler.ProfilerSweep;
+import io.opentelemetry.profiler.ProfilerSweepReport;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the cost of AlwaysOn profiler settings: call stack interval, memory profiling, allocation event sampling
+ * and the JFR chunk duration. Every setting takes a comma separated list of values, e.g.
+ * <code>PROFILER_SWEEP=true PROFILER_SWEEP_INTERVALS=100,1000,10000 ./gradlew test --tests ProfilerSweepTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = ProfilerSweepTests.ENV_SWEEP, matches = "true")
+public class ProfilerSweepTests {
+  private static final Logger logger = LoggerFactory.getLogger(ProfilerSweepTests.class);
+
+  static final String ENV_SWEEP = "PROFILER_SWEEP";
+  // comma separated values of each swept setting
+  static final String ENV_INTERVALS = "PROFILER_SWEEP_INTERVALS";
+  static final String ENV_SAMPLER_INTERVALS = "PROFILER_SWEEP_SAMPLER_INTERVALS";
+  static final String ENV_RECORDING_DURATIONS = "PROFILER_SWEEP_RECORDING_DURATIONS";
+  static final String ENV_PASSES = "PROFILER_SWEEP_PASSES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void sweep() throws Exception {
+    ProfilerSweep sweep = new ProfilerSweep(
+        Env.ints(ENV_INTERVALS, ProfilerSweep.DEFAULT_CALL_STACK_INTERVALS_MS),
+        Env.ints(ENV_SAMPLER_INTERVALS, ProfilerSweep.DEFAULT_MEMORY_SAMPLER_INTERVALS),
+        Env.ints(ENV_RECORDING_DURATIONS, ProfilerSweep.DEFAULT_RECORDING_DURATIONS_SECONDS));
+    Agent withoutProfiler = Agents.SPLUNK_OTEL;
+    Map<ProfilerSettings, Agent> profilerAgents = sweep.getAgents(withoutProfiler);
+    TestConfig config = Configs.profilerSweep(withoutProfiler, profilerAgents.values(),
+        Env.intValue(ENV_PASSES, Configs.RELEASE.getNumberOfPasses()));
+    AgentJars.prefetch(config.getAgents());
+
+    Map<String, List<ProfilerJfrMetrics>> profilerMetrics = new HashMap<>();
+    List<List<AppPerfResults>> passResults =
+        runner.runPasses(config, new MainResultsPersister(config, namingConventions), passes -> {
+          // the recordings are overwritten by the next pass
+          for (Agent agent : config.getAgents()) {
+            profilerMetrics.computeIfAbsent(agent.getName(), x -> new ArrayList<>())
+                .add(ProfilerJfrMetrics.read(namingConventions.local.jfrFile(agent)));
+          }
+          return true;
+        });
+
+    String report = new ProfilerSweepReport(withoutProfiler, profilerAgents, passResults, profilerMetrics).format();
+    logger.info("Profiler sweep:\n{}", report);
+    Path reportFile = Paths.get(namingConventions.localResults(), "profiler-sweep.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report);
+  }
+}
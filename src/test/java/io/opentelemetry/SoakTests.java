@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry;
+
+import io.opentelemetry.agents.AgentJars;
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.config.Configs;
+import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.results.MainResultsPersister;
+import io.opentelemetry.results.SoakReport;
+import io.opentelemetry.util.Env;
+import io.opentelemetry.util.NamingConventions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the agents for hours and fails when one of them leaks, e.g.
+ * <code>SOAK=true SOAK_HOURS=8 SOAK_CHUNK_MINUTES=15 ./gradlew test --tests SoakTests</code>.
+ */
+@EnabledIfEnvironmentVariable(named = SoakTests.ENV_SOAK, matches = "true")
+public class SoakTests {
+  private static final Logger logger = LoggerFactory.getLogger(SoakTests.class);
+
+  static final String ENV_SOAK = "SOAK";
+  static final String ENV_HOURS = "SOAK_HOURS";
+  static final String ENV_CHUNK_MINUTES = "SOAK_CHUNK_MINUTES";
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  private final NamingConventions namingConventions = new NamingConventions();
+  private final ExternalsOverheadRunner runner = new ExternalsOverheadRunner(NETWORK, namingConventions);
+
+  @AfterAll
+  static void removeNetwork() {
+    NETWORK.close();
+  }
+
+  @Test
+  void soak() throws Exception {
+    TestConfig config = Configs.soak(Duration.ofHours(Env.longValue(ENV_HOURS, 4)),
+        Duration.ofMinutes(Env.longValue(ENV_CHUNK_MINUTES, 10)));
+    AgentJars.prefetch(config.getAgents());
+
+    // a single pass, the chunks of the soak recording take the place of the passes
+    runner.runPasses(config, new MainResultsPersister(config, namingConventions));
+
+    SoakReport report = SoakReport.read(namingConventions.local, config.getAgents(), Agents.NONE);
+    Path reportFile = Paths.get(namingConventions.localResults(), config.getName(), "soak.txt");
+    Files.createDirectories(reportFile.getParent());
+    report.writeReport(reportFile);
+    logger.info(report.summary());
+    assertFalse(report.hasLeak(), report.summary() + ", see " + reportFile);
+  }
+}
@@ -1,6 +1,7 @@
 package io.opentelemetry.agents;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +46,19 @@ public final class Agent {
     return jarResolver.resolve();
   }
 
+  /**
+   * A builder that starts out with everything of this agent, for deriving variants of it.
+   */
+  public Builder toBuilder() {
+    Builder builder = new Builder()
+        .name(name)
+        .description(description)
+        .version(version);
+    builder.jarResolver = jarResolver;
+    builder.additionalJvmArgs = additionalJvmArgs;
+    return builder;
+  }
+
   public static final class Builder {
 
     private String name;
@@ -78,6 +92,13 @@ public final class Agent {
       return this;
     }
 
+    public Builder addJvmArgs(String... jvmArgs) {
+      List<String> args = new ArrayList<>(additionalJvmArgs);
+      args.addAll(List.of(jvmArgs));
+      this.additionalJvmArgs = List.copyOf(args);
+      return this;
+    }
+
     public Agent build() {
       return new Agent(this);
     }
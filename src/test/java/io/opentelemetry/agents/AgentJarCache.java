@@ -0,0 +1,144 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.agents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent, content addressed store of agent jars, shared by all test runs on a machine.
+ * <pre>
+ *   blobs/&lt;sha-256 of the jar&gt;.jar
+ *   urls/&lt;sha-256 of the url&gt;     holds the sha-256 of the jar that the url resolved to
+ * </pre>
+ * The location defaults to ~/.cache/otel-overhead-agents and can be changed with AGENT_JAR_CACHE. Setting
+ * AGENT_JAR_OFFLINE=true fails instead of downloading anything that isn't cached yet.
+ */
+final class AgentJarCache {
+
+  static final String ENV_CACHE_DIR = "AGENT_JAR_CACHE";
+  static final String ENV_OFFLINE = "AGENT_JAR_OFFLINE";
+
+  private static final AgentJarCache DEFAULT = new AgentJarCache(defaultDir(), Boolean.parseBoolean(System.getenv(ENV_OFFLINE)));
+
+  private final Path blobs;
+  private final Path urls;
+  private final boolean offline;
+  // the blobs whose content matched their name once, they aren't hashed again by this JVM
+  private final Set<Path> verified = ConcurrentHashMap.newKeySet();
+
+  AgentJarCache(Path root, boolean offline) {
+    this.blobs = root.resolve("blobs");
+    this.urls = root.resolve("urls");
+    this.offline = offline;
+  }
+
+  static AgentJarCache getDefault() {
+    return DEFAULT;
+  }
+
+  boolean isOffline() {
+    return offline;
+  }
+
+  /**
+   * Returns the cached jar for the url, if it was stored before and still has the recorded content. The content is
+   * only checked the first time that a blob is looked up, or not at all when it was stored by this JVM.
+   */
+  Optional<Path> lookup(String url) throws IOException {
+    Path urlEntry = urls.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)));
+    if (!Files.exists(urlEntry)) {
+      return Optional.empty();
+    }
+    String contentHash = Files.readString(urlEntry).trim();
+    Path blob = blobs.resolve(contentHash + ".jar");
+    if (!Files.exists(blob)) {
+      return Optional.empty();
+    }
+    if (!verified.contains(blob)) {
+      if (!contentHash.equals(sha256(blob))) {
+        return Optional.empty();
+      }
+      verified.add(blob);
+    }
+    return Optional.of(blob);
+  }
+
+  /**
+   * Streams the content into the store, hashing it on the way, and records it as the content of the url.
+   */
+  Path store(String url, InputStream content) throws IOException {
+    Files.createDirectories(blobs);
+    Files.createDirectories(urls);
+    Path tmp = Files.createTempFile(blobs, "download", ".tmp");
+    try {
+      MessageDigest digest = newDigest();
+      try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+        content.transferTo(out);
+      }
+      String contentHash = hex(digest.digest());
+      Path blob = blobs.resolve(contentHash + ".jar");
+      Files.move(tmp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      verified.add(blob);
+
+      Path urlEntry = urls.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)));
+      Path urlTmp = Files.createTempFile(urls, "url", ".tmp");
+      Files.writeString(urlTmp, contentHash);
+      Files.move(urlTmp, urlEntry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return blob;
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  private static String sha256(byte[] bytes) {
+    return hex(newDigest().digest(bytes));
+  }
+
+  private static String sha256(Path file) throws IOException {
+    MessageDigest digest = newDigest();
+    try (InputStream in = Files.newInputStream(file)) {
+      byte[] buffer = new byte[64 * 1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return hex(digest.digest());
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return sb.toString();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is always available", e);
+    }
+  }
+
+  private static Path defaultDir() {
+    String dir = System.getenv(ENV_CACHE_DIR);
+    return dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".cache", "otel-overhead-agents");
+  }
+}
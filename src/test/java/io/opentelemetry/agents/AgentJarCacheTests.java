@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.agents;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The {@link AgentJarCache} in a temporary directory, and how {@link UrlResolver} uses it, without the network: the
+ * https urls are never downloaded, either because they are cached or because the cache is offline.
+ */
+class AgentJarCacheTests {
+
+  private static final String URL = "https://example.invalid/splunk-otel-javaagent.jar";
+  private static final String OTHER_URL = "https://example.invalid/latest/splunk-otel-javaagent.jar";
+
+  private Path root;
+
+  @BeforeEach
+  void createRoot() throws IOException {
+    root = Files.createTempDirectory("agent-jars");
+  }
+
+  @Test
+  void storesByContent() throws IOException {
+    AgentJarCache cache = new AgentJarCache(root, false);
+    Path blob = cache.store(URL, content("agent"));
+    assertEquals(blob, cache.store(OTHER_URL, content("agent")));
+    assertEquals("agent", Files.readString(blob));
+    assertEquals(Optional.of(blob), cache.lookup(URL));
+    assertEquals(Optional.of(blob), cache.lookup(OTHER_URL));
+    assertEquals(Optional.empty(), cache.lookup(URL + ".sha256"));
+  }
+
+  @Test
+  void missesABlobThatChanged() throws IOException {
+    Path blob = new AgentJarCache(root, false).store(URL, content("agent"));
+    Files.writeString(blob, "truncated");
+    assertEquals(Optional.empty(), new AgentJarCache(root, false).lookup(URL));
+  }
+
+  @Test
+  void checksABlobOnlyOnce() throws IOException {
+    Path blob = new AgentJarCache(root, false).store(URL, content("agent"));
+    AgentJarCache cache = new AgentJarCache(root, false);
+    assertEquals(Optional.of(blob), cache.lookup(URL));
+    // not hashed again, so a change after the first lookup goes unnoticed
+    Files.writeString(blob, "truncated");
+    assertEquals(Optional.of(blob), cache.lookup(URL));
+  }
+
+  @Test
+  void resolvesFromTheCacheWhenOffline() throws IOException {
+    AgentJarCache cache = new AgentJarCache(root, true);
+    Path blob = cache.store(URL, content("agent"));
+    assertEquals(blob, UrlResolver.doResolve(URL, cache));
+  }
+
+  @Test
+  void failsWhenOfflineAndNotCached() {
+    AgentJarCache cache = new AgentJarCache(root, true);
+    assertThrows(IllegalStateException.class, () -> UrlResolver.doResolve(URL, cache));
+  }
+
+  @Test
+  void storesLocalJarsAgain() throws IOException {
+    AgentJarCache cache = new AgentJarCache(root, true);
+    Path jar = Files.createTempFile("snapshot", ".jar");
+    String url = jar.toUri().toString();
+    Files.writeString(jar, "snapshot 1");
+    Path first = UrlResolver.doResolve(url, cache);
+    assertEquals("snapshot 1", Files.readString(first));
+
+    Files.writeString(jar, "snapshot 2");
+    Path second = UrlResolver.doResolve(url, cache);
+    assertNotEquals(first, second);
+    assertEquals("snapshot 2", Files.readString(second));
+    assertEquals(Optional.of(second), cache.lookup(url));
+  }
+
+  private static ByteArrayInputStream content(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
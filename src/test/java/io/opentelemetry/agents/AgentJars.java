@@ -0,0 +1,34 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.agents;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+public final class AgentJars {
+
+  /**
+   * Resolves the jars of all agents in parallel, so that missing downloads happen before the first run instead of in
+   * the middle of a pass. Fails if any of them can't be resolved.
+   */
+  public static void prefetch(Collection<Agent> agents) {
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(agents.size(), 4)));
+    try {
+      List<CompletableFuture<?>> downloads = agents.stream()
+          .map(agent -> CompletableFuture.runAsync(agent::getJarPath, executor))
+          .collect(Collectors.toList());
+      CompletableFuture.allOf(downloads.toArray(new CompletableFuture<?>[0])).join();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private AgentJars() {
+  }
+}
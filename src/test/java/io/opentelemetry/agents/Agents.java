@@ -1,9 +1,15 @@
 package io.opentelemetry.agents;
 
+import java.net.URI;
+import java.nio.file.Path;
+
 import static io.opentelemetry.agents.AgentVersion.LATEST_VERSION;
 
 public final class Agents {
 
+  // set by the gradle build, see the burdenAgentJar task
+  private static final String BURDEN_AGENT_JAR = "burden.agent.jar";
+
   public final static Agent NONE = Agent.builder()
       .name("none")
       .description("No Instrumentation")
@@ -39,6 +45,44 @@ public final class Agents {
       .additionalJvmArgs("-Dsplunk.profiler.enabled=true")
       .build();
 
+  /**
+   * The synthetic agent that the build puts in <code>build/libs/burden-agent.jar</code>, without any burden. The
+   * burden is configured with the system properties of <code>io.opentelemetry.burden.Burden</code>.
+   */
+  public static Agent burden() {
+    String jar = System.getProperty(BURDEN_AGENT_JAR);
+    if (jar == null) {
+      throw new IllegalStateException(BURDEN_AGENT_JAR + " is not set, run the tests with gradle");
+    }
+    return Agent.builder()
+        .name("burden")
+        .description("Synthetic agent with a known cost")
+        .url(Path.of(jar).toUri().toString())
+        .build();
+  }
+
+  /**
+   * The Splunk agent of the given release, or of a local build when given a <code>file://</code> url of the jar.
+   * The name includes the version, so that results of several versions can be told apart.
+   */
+  public static Agent splunkOtel(String versionOrUrl) {
+    if (versionOrUrl.startsWith("file://")) {
+      String jarName = Path.of(URI.create(versionOrUrl)).getFileName().toString().replaceFirst("\\.jar$", "");
+      return Agent.builder()
+          .name("splunk-otel-" + jarName)
+          .description("Splunk OpenTelemetry Java agent (" + jarName + ")")
+          .version(jarName)
+          .url(versionOrUrl)
+          .build();
+    }
+    return Agent.builder()
+        .name("splunk-otel-" + versionOrUrl)
+        .description("Splunk OpenTelemetry Java agent " + versionOrUrl)
+        .version(versionOrUrl)
+        .url(splunkAgentUrl(versionOrUrl))
+        .build();
+  }
+
   private static String splunkAgentUrl(String version) {
     return "https://github.com/signalfx/splunk-otel-java/releases/download/v" + version + "/splunk-otel-javaagent.jar";
   }
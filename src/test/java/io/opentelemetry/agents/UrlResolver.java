@@ -6,13 +6,13 @@ import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -20,7 +20,8 @@ import static java.util.Objects.requireNonNull;
 
 final class UrlResolver implements AgentJarResolver {
 
-  private static final ConcurrentMap<String, Path> agentJarCache = new ConcurrentHashMap<>();
+  // one resolution per url and JVM, concurrent callers of the same url wait for the same download
+  private static final ConcurrentMap<String, CompletableFuture<Path>> agentJars = new ConcurrentHashMap<>();
   private static final OkHttpClient client = new OkHttpClient();
 
   private final String url;
@@ -31,27 +32,49 @@ final class UrlResolver implements AgentJarResolver {
 
   @Override
   public Optional<Path> resolve() {
-    Path path = agentJarCache.computeIfAbsent(url, UrlResolver::doResolve);
-    return Optional.of(path);
+    CompletableFuture<Path> future = new CompletableFuture<>();
+    CompletableFuture<Path> existing = agentJars.putIfAbsent(url, future);
+    if (existing == null) {
+      try {
+        future.complete(doResolve(url, AgentJarCache.getDefault()));
+      } catch (RuntimeException e) {
+        // don't cache failures, a later attempt may succeed
+        agentJars.remove(url, future);
+        future.completeExceptionally(e);
+      }
+      existing = future;
+    }
+    try {
+      return Optional.of(existing.join());
+    } catch (CompletionException e) {
+      throw (RuntimeException) e.getCause();
+    }
   }
 
-  private static Path doResolve(String url) {
+  static Path doResolve(String url, AgentJarCache cache) {
     try {
+      // local jars (snapshots) can change under the same url, so they are always stored again
       if (url.startsWith("file://")) {
-        Path source = Path.of(URI.create(url));
-        Path result = Paths.get(".", source.getFileName().toString());
-        Files.copy(source, result, StandardCopyOption.REPLACE_EXISTING);
-        return result;
+        try (InputStream in = Files.newInputStream(Path.of(URI.create(url)))) {
+          return cache.store(url, in);
+        }
+      }
+
+      Optional<Path> cached = cache.lookup(url);
+      if (cached.isPresent()) {
+        return cached.get();
+      }
+      if (cache.isOffline()) {
+        throw new IllegalStateException("Agent jar is not cached and downloads are disabled: " + url);
       }
 
       Request request = new Request.Builder().url(url).build();
       try (Response response = client.newCall(request).execute();
            ResponseBody responseBody = requireNonNull(response.body())) {
-
-        byte[] raw = responseBody.bytes();
-        Path path = Files.createTempFile(Paths.get("."), "javaagent", ".jar");
-        Files.write(path, raw, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
-        return path;
+        if (!response.isSuccessful()) {
+          throw new IOException("HTTP " + response.code());
+        }
+        return cache.store(url, responseBody.byteStream());
       }
     } catch (IOException e) {
       throw new RuntimeException("Failed to download the agent jar: " + url, e);
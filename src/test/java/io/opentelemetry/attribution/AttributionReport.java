@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.attribution;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks instrumentation modules by what they cost. The cost of a module is computed per pass, from the variant and
+ * the reference agent of the same pass, so that drift between passes cancels out.
+ */
+public class AttributionReport {
+
+  // the field used for ranking comes first
+  static final List<String> METRICS = List.of("averageCpuUser", "requestAvg", "requestP95", "totalAllocatedMB");
+
+  private final InstrumentationVariants variants;
+  private final Agent uninstrumented;
+  private final List<List<AppPerfResults>> passes;
+
+  /**
+   * @param uninstrumented the agent without any instrumentation, to put the module costs in relation to the total
+   * @param passes the results of every pass, each with all agents of the variants and the uninstrumented one
+   */
+  public AttributionReport(InstrumentationVariants variants, Agent uninstrumented, List<List<AppPerfResults>> passes) {
+    this.variants = variants;
+    this.uninstrumented = uninstrumented;
+    this.passes = passes;
+  }
+
+  /**
+   * Module -> metric -> the cost of the module, highest CPU cost first.
+   */
+  public Map<String, Map<String, Statistics>> getCosts() {
+    List<Map.Entry<String, Map<String, Statistics>>> costs = new ArrayList<>();
+    for (Map.Entry<String, Agent> variant : variants.getVariants().entrySet()) {
+      Map<String, Statistics> byMetric = new LinkedHashMap<>();
+      for (String metric : METRICS) {
+        byMetric.put(metric, Statistics.of(costPerPass(variant.getValue(), metric)));
+      }
+      costs.add(Map.entry(variant.getKey(), byMetric));
+    }
+    costs.sort(Comparator.comparingDouble(
+        (Map.Entry<String, Map<String, Statistics>> e) -> e.getValue().get(METRICS.get(0)).mean()).reversed());
+
+    Map<String, Map<String, Statistics>> result = new LinkedHashMap<>();
+    costs.forEach(e -> result.put(e.getKey(), e.getValue()));
+    return result;
+  }
+
+  public String format() {
+    Map<String, Statistics> total = new LinkedHashMap<>();
+    for (String metric : METRICS) {
+      total.put(metric, Statistics.of(perPass(variants.getBase(), uninstrumented, metric)));
+    }
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Instrumentation overhead attribution (%s, %d passes)\n", variants.getMode(), passes.size()));
+    sb.append("Costs are means with the half width of the 95% confidence interval, the share is of the agent's total\n\n");
+    sb.append(String.format("%-4s %-18s", "rank", "module"));
+    for (String metric : METRICS) {
+      sb.append(String.format(" %28s %7s", metric, "share"));
+    }
+    sb.append('\n');
+    int rank = 1;
+    for (Map.Entry<String, Map<String, Statistics>> module : getCosts().entrySet()) {
+      sb.append(String.format("%-4d %-18s", rank++, module.getKey()));
+      appendCosts(sb, module.getValue(), total);
+      sb.append('\n');
+    }
+    sb.append(String.format("%-4s %-18s", "", "(whole agent)"));
+    appendCosts(sb, total, total);
+    sb.append('\n');
+    return sb.toString();
+  }
+
+  private static void appendCosts(StringBuilder sb, Map<String, Statistics> costs, Map<String, Statistics> total) {
+    for (String metric : METRICS) {
+      Statistics cost = costs.get(metric);
+      double share = 100 * cost.mean() / total.get(metric).mean();
+      sb.append(String.format(" %16.3f +/- %7.3f %6.1f%%", cost.mean(), cost.confidenceInterval95(), share));
+    }
+  }
+
+  private double[] costPerPass(Agent variant, String metric) {
+    if (variants.getMode() == InstrumentationVariants.Mode.DISABLE_ONE) {
+      // what disabling the module saves
+      return perPass(variants.getReference(), variant, metric);
+    }
+    return perPass(variant, variants.getReference(), metric);
+  }
+
+  // minuend minus subtrahend, for every pass that has results for both
+  private double[] perPass(Agent minuend, Agent subtrahend, String metric) {
+    return passes.stream()
+        .mapToDouble(pass -> value(pass, minuend, metric) - value(pass, subtrahend, metric))
+        .toArray();
+  }
+
+  private static double value(List<AppPerfResults> pass, Agent agent, String metric) {
+    return pass.stream()
+        .filter(result -> result.getAgentName().equals(agent.getName()))
+        .mapToDouble(result -> result.getFieldValue(metric))
+        .findFirst()
+        .orElse(Double.NaN);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.attribution;
+
+import io.opentelemetry.agents.Agent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives agent variants from a base agent that differ in a single instrumentation module, so that the overhead of
+ * the agent can be attributed to the modules.
+ */
+public class InstrumentationVariants {
+
+  /**
+   * The instrumentation modules that the petclinic app triggers under the k6 load.
+   */
+  public static final List<String> PETCLINIC_MODULES = List.of(
+      "jdbc",
+      "jdbc-datasource",
+      "hikaricp",
+      "hibernate",
+      "spring-data",
+      "spring-webmvc",
+      "spring-web",
+      "servlet",
+      "tomcat",
+      "executors"
+  );
+
+  public enum Mode {
+    /**
+     * Every variant is the base agent with one module disabled. The cost of a module is what disabling it saves,
+     * which includes its interactions with the other modules.
+     */
+    DISABLE_ONE,
+    /**
+     * Every variant is the base agent with all instrumentation disabled except for one module, plus a reference
+     * variant with none enabled. The cost of a module is what enabling it alone adds to the reference.
+     */
+    ENABLE_ONE
+  }
+
+  private final Agent base;
+  private final Mode mode;
+  private final List<String> modules;
+
+  public InstrumentationVariants(Agent base, Mode mode, List<String> modules) {
+    this.base = base;
+    this.mode = mode;
+    this.modules = List.copyOf(modules);
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public Agent getBase() {
+    return base;
+  }
+
+  /**
+   * The agent that the variants are compared against: the base agent when disabling modules one at a time, the agent
+   * with all instrumentation disabled when enabling them one at a time.
+   */
+  public Agent getReference() {
+    if (mode == Mode.DISABLE_ONE) {
+      return base;
+    }
+    return base.toBuilder()
+        .name(base.getName() + "-no-instrumentation")
+        .description(base.getDescription() + " without instrumentation")
+        .addJvmArgs("-Dotel.instrumentation.common.default-enabled=false")
+        .build();
+  }
+
+  /**
+   * Module name -> the variant that measures it.
+   */
+  public Map<String, Agent> getVariants() {
+    Map<String, Agent> result = new LinkedHashMap<>();
+    for (String module : modules) {
+      result.put(module, mode == Mode.DISABLE_ONE ? without(module) : only(module));
+    }
+    return result;
+  }
+
+  /**
+   * Every agent that needs to run in a pass: the reference first, then a variant per module.
+   */
+  public List<Agent> getAgents() {
+    List<Agent> result = new ArrayList<>();
+    result.add(getReference());
+    result.addAll(getVariants().values());
+    return result;
+  }
+
+  private Agent without(String module) {
+    return base.toBuilder()
+        .name(base.getName() + "-no-" + module)
+        .description(base.getDescription() + " without " + module + " instrumentation")
+        .addJvmArgs("-Dotel.instrumentation." + module + ".enabled=false")
+        .build();
+  }
+
+  private Agent only(String module) {
+    return base.toBuilder()
+        .name(base.getName() + "-only-" + module)
+        .description(base.getDescription() + " with only " + module + " instrumentation")
+        .addJvmArgs("-Dotel.instrumentation.common.default-enabled=false",
+            "-Dotel.instrumentation." + module + ".enabled=true")
+        .build();
+  }
+}
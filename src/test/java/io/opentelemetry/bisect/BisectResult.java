@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.bisect;
+
+import io.opentelemetry.util.Statistics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a {@link Bisector} run.
+ */
+public class BisectResult {
+
+  private final List<String> versions;
+  private final String lastGood;
+  private final String firstBad;
+  private final boolean significant;
+  private final Map<String, Statistics> measured;
+  private final List<String> log;
+
+  BisectResult(List<String> versions, String lastGood, String firstBad, boolean significant,
+      Map<String, Statistics> measured, List<String> log) {
+    this.versions = versions;
+    this.lastGood = lastGood;
+    this.firstBad = firstBad;
+    this.significant = significant;
+    this.measured = measured;
+    this.log = List.copyOf(log);
+  }
+
+  /**
+   * Whether a version with a significantly different overhead was found.
+   */
+  public boolean isSignificant() {
+    return significant;
+  }
+
+  public String getLastGood() {
+    return lastGood;
+  }
+
+  /**
+   * The first version whose overhead differs from the first version, only meaningful when {@link #isSignificant()}.
+   */
+  public String getFirstBad() {
+    return firstBad;
+  }
+
+  public String report(String metric) {
+    StringBuilder sb = new StringBuilder();
+    if (significant) {
+      Statistics good = measured.get(lastGood);
+      Statistics bad = measured.get(firstBad);
+      double change = bad.mean() - good.mean();
+      sb.append(String.format("First version with a different %s overhead: %s (last good: %s)\n",
+          metric, firstBad, lastGood));
+      sb.append(String.format("Overhead changed by %+.3f (%+.1f%%)\n", change, 100 * change / Math.abs(good.mean())));
+    } else {
+      sb.append(String.format("No version with a significantly different %s overhead found (closest boundary: %s -> %s)\n",
+          metric, lastGood, firstBad));
+    }
+    sb.append('\n').append(String.format("%-30s %7s %14s %14s\n", "version", "passes", "mean overhead", "ci95"));
+    for (String version : versions) {
+      Statistics statistics = measured.get(version);
+      if (statistics == null) {
+        sb.append(String.format("%-30s %7s\n", version, "-"));
+      } else {
+        sb.append(String.format("%-30s %7d %14.3f %14.3f\n", version, statistics.count(), statistics.mean(),
+            statistics.confidenceInterval95()));
+      }
+    }
+    sb.append("\nSteps:\n");
+    log.forEach(line -> sb.append("  ").append(line).append('\n'));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.bisect;
+
+import io.opentelemetry.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary searches an ordered list of agent versions for the first one whose overhead differs significantly from the
+ * first (known good) version. Every version starts with a few passes, more are only added where a comparison is
+ * ambiguous, and the two versions at the boundary are always measured with the maximum number of passes.
+ */
+public class Bisector {
+
+  /**
+   * Runs the given number of additional passes of a version and returns the overhead of each pass.
+   */
+  @FunctionalInterface
+  public interface Measurement {
+    double[] measure(String version, int passes) throws Exception;
+  }
+
+  private final List<String> versions;
+  private final Measurement measurement;
+  private final int initialPasses;
+  private final int maxPasses;
+  private final Map<String, List<Double>> samples = new HashMap<>();
+  private final List<String> log = new ArrayList<>();
+
+  public Bisector(List<String> versions, Measurement measurement, int initialPasses, int maxPasses) {
+    if (versions.size() < 2) {
+      throw new IllegalArgumentException("Bisecting needs at least a good and a bad version");
+    }
+    if (initialPasses < 2 || maxPasses < initialPasses) {
+      throw new IllegalArgumentException("Needs at least 2 initial passes and no fewer max passes");
+    }
+    this.versions = List.copyOf(versions);
+    this.measurement = measurement;
+    this.initialPasses = initialPasses;
+    this.maxPasses = maxPasses;
+  }
+
+  public BisectResult run() throws Exception {
+    int good = 0;
+    int bad = versions.size() - 1;
+    if (!escalateUntilDifferent(good, bad)) {
+      log("no significant difference between " + versions.get(good) + " and " + versions.get(bad));
+      return result(good, bad, false);
+    }
+
+    while (bad - good > 1) {
+      int middle = (good + bad) / 2;
+      if (behavesLikeGood(middle, good, bad)) {
+        log(versions.get(middle) + " behaves like " + versions.get(good));
+        good = middle;
+      } else {
+        log(versions.get(middle) + " behaves like " + versions.get(bad));
+        bad = middle;
+      }
+    }
+
+    // the boundary decides the answer, so it gets the full number of passes
+    ensurePasses(good, maxPasses);
+    ensurePasses(bad, maxPasses);
+    boolean confirmed = Statistics.significantlyDifferent(statistics(good), statistics(bad));
+    log("boundary " + versions.get(good) + " -> " + versions.get(bad) + (confirmed ? " confirmed" : " not significant"));
+    return result(good, bad, confirmed);
+  }
+
+  private boolean escalateUntilDifferent(int a, int b) throws Exception {
+    int passes = initialPasses;
+    while (true) {
+      ensurePasses(a, passes);
+      ensurePasses(b, passes);
+      if (Statistics.significantlyDifferent(statistics(a), statistics(b))) {
+        return true;
+      }
+      if (passes >= maxPasses) {
+        return false;
+      }
+      passes = Math.min(maxPasses, passes * 2);
+    }
+  }
+
+  private boolean behavesLikeGood(int middle, int good, int bad) throws Exception {
+    int passes = initialPasses;
+    while (true) {
+      ensurePasses(middle, passes);
+      boolean differsFromGood = Statistics.significantlyDifferent(statistics(middle), statistics(good));
+      boolean differsFromBad = Statistics.significantlyDifferent(statistics(middle), statistics(bad));
+      if (differsFromBad && !differsFromGood) {
+        return true;
+      }
+      if (differsFromGood && !differsFromBad) {
+        return false;
+      }
+      if (passes >= maxPasses) {
+        // still ambiguous with all passes, go with whichever mean is closer
+        double mean = statistics(middle).mean();
+        return Math.abs(mean - statistics(good).mean()) <= Math.abs(mean - statistics(bad).mean());
+      }
+      passes = Math.min(maxPasses, passes * 2);
+      // the neighbours get the same number of passes, otherwise the comparison stays lopsided
+      ensurePasses(good, passes);
+      ensurePasses(bad, passes);
+    }
+  }
+
+  private void ensurePasses(int index, int passes) throws Exception {
+    String version = versions.get(index);
+    List<Double> versionSamples = samples.computeIfAbsent(version, x -> new ArrayList<>());
+    int missing = passes - versionSamples.size();
+    if (missing <= 0) {
+      return;
+    }
+    log("measuring " + version + " with " + missing + " more pass(es)");
+    for (double value : measurement.measure(version, missing)) {
+      versionSamples.add(value);
+    }
+  }
+
+  private Statistics statistics(int index) {
+    return Statistics.of(samples.getOrDefault(versions.get(index), List.of()).stream()
+        .mapToDouble(Double::doubleValue)
+        .toArray());
+  }
+
+  private BisectResult result(int good, int bad, boolean significant) {
+    Map<String, Statistics> measured = new HashMap<>();
+    for (String version : versions) {
+      if (samples.containsKey(version)) {
+        measured.put(version, Statistics.of(samples.get(version).stream().mapToDouble(Double::doubleValue).toArray()));
+      }
+    }
+    return new BisectResult(versions, versions.get(good), versions.get(bad), significant, measured, log);
+  }
+
+  private void log(String message) {
+    log.add(message);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.calibration;
+
+import io.opentelemetry.agents.Agent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The doses of the burden agent that a calibration run compares with no instrumentation. Dose 0 only has the cost of
+ * the hook, it shows what an agent that does nothing measures as.
+ */
+public class BurdenCalibration {
+
+  public static final List<Double> DEFAULT_MULTIPLES = List.of(0.0, 0.25, 0.5, 1.0, 2.0);
+
+  private final List<BurdenDose> doses;
+
+  public BurdenCalibration(List<Double> multiples) {
+    this.doses = multiples.stream()
+        .sorted()
+        .map(BurdenDose.BASE::times)
+        .collect(Collectors.toList());
+  }
+
+  public List<BurdenDose> getDoses() {
+    return doses;
+  }
+
+  /**
+   * Dose -> the agent that runs with it, derived from the burden agent without burden.
+   */
+  public Map<BurdenDose, Agent> getAgents(Agent base) {
+    Map<BurdenDose, Agent> result = new LinkedHashMap<>();
+    for (BurdenDose dose : doses) {
+      result.put(dose, base.toBuilder()
+          .name(dose.getName())
+          .description(base.getDescription() + ": " + dose.getDescription())
+          .addJvmArgs(dose.getJvmArgs().toArray(new String[0]))
+          .build());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.calibration;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What the burden agent adds: cpu spin, allocations and latency per request, and cpu of a background thread. A dose
+ * is a multiple of {@link #BASE}, so that every metric moves with the dose.
+ */
+public class BurdenDose {
+
+  // a few percent of the cpu, allocations and latency of a request with the release load
+  public static final BurdenDose BASE = new BurdenDose(1, 100, 16 * 1024, 500, 2.0);
+
+  private final double multiple;
+  private final long cpuMicros;
+  private final long allocationBytes;
+  private final long latencyMicros;
+  private final double backgroundCpuPercent;
+
+  BurdenDose(double multiple, long cpuMicros, long allocationBytes, long latencyMicros,
+      double backgroundCpuPercent) {
+    this.multiple = multiple;
+    this.cpuMicros = cpuMicros;
+    this.allocationBytes = allocationBytes;
+    this.latencyMicros = latencyMicros;
+    this.backgroundCpuPercent = backgroundCpuPercent;
+  }
+
+  public BurdenDose times(double multiple) {
+    return new BurdenDose(this.multiple * multiple, Math.round(cpuMicros * multiple),
+        Math.round(allocationBytes * multiple), Math.round(latencyMicros * multiple), backgroundCpuPercent * multiple);
+  }
+
+  public double getMultiple() {
+    return multiple;
+  }
+
+  public String getName() {
+    return String.format(Locale.ROOT, "burden-x%s", formatMultiple());
+  }
+
+  public String getDescription() {
+    return String.format(Locale.ROOT, "%d us cpu, %d KB allocated and %d us latency per request, %.1f%% background cpu",
+        cpuMicros, allocationBytes / 1024, latencyMicros, backgroundCpuPercent);
+  }
+
+  // see io.opentelemetry.burden.Burden
+  public List<String> getJvmArgs() {
+    return List.of(
+        "-Dburden.request.cpu.micros=" + cpuMicros,
+        "-Dburden.request.allocation.bytes=" + allocationBytes,
+        "-Dburden.request.latency.micros=" + latencyMicros,
+        String.format(Locale.ROOT, "-Dburden.background.cpu.percent=%.3f", backgroundCpuPercent));
+  }
+
+  private String formatMultiple() {
+    return multiple == Math.rint(multiple)
+        ? String.valueOf((long) multiple)
+        : String.valueOf(multiple);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.calibration;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How sensitive the tests are: per metric, the smallest overhead that the passes of the run can tell apart from no
+ * overhead, and whether the doses of the burden agent were told apart.
+ * <p>
+ * The overhead of a dose is computed per pass, against the uninstrumented app of the same pass. The noise is the
+ * standard deviation of those per pass overheads, pooled over all doses since the burden doesn't change it. The
+ * minimum detectable overhead is the true overhead that a two sided test at 95% confidence detects with 80% power:
+ * (t + {@value #Z_POWER_80}) times the noise over the square root of the number of passes.
+ */
+public class CalibrationReport {
+
+  static final double Z_POWER_80 = 0.842;
+
+  private final Agent baseline;
+  private final Map<BurdenDose, Agent> agents;
+  private final List<List<AppPerfResults>> passes;
+  private final List<String> metrics;
+
+  public CalibrationReport(Agent baseline, Map<BurdenDose, Agent> agents, List<List<AppPerfResults>> passes,
+      List<String> metrics) {
+    this.baseline = baseline;
+    this.agents = agents;
+    this.passes = passes;
+    this.metrics = metrics;
+  }
+
+  public String format() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Calibration with the burden agent (%d passes)\n", passes.size()));
+    sb.append("Overheads are against ").append(baseline.getName())
+        .append(" in the same pass, as means with the half width of the 95% confidence interval.\n")
+        .append("The minimum detectable overhead is detected with 95% confidence and 80% power.\n");
+    agents.forEach((dose, agent) -> sb.append(String.format("  %-16s %s\n", dose.getName(), dose.getDescription())));
+    for (String metric : metrics) {
+      sb.append('\n');
+      formatMetric(sb, metric);
+    }
+    return sb.toString();
+  }
+
+  private void formatMetric(StringBuilder sb, String metric) {
+    double none = Statistics.of(values(baseline, metric)).mean();
+    List<Statistics> overheads = new ArrayList<>();
+    agents.values().forEach(agent -> overheads.add(Statistics.of(overheadPerPass(agent, metric))));
+    double noise = pooledStddev(overheads);
+    int count = Statistics.of(values(baseline, metric)).count();
+    double detectable = count < 2
+        ? Double.NaN
+        : (Statistics.tCritical95(count - 1) + Z_POWER_80) * noise / Math.sqrt(count);
+
+    sb.append(String.format("%s: %s %.3f, noise of a paired difference %.3f\n", metric, baseline.getName(), none,
+        noise));
+    sb.append(String.format("  minimum detectable overhead with %d passes: %.3f (%s of %s)\n", count, detectable,
+        percent(detectable, none).replace("+", ""), baseline.getName()));
+    sb.append(String.format("  %-16s %26s %10s  %s\n", "dose", "overhead", "% of " + baseline.getName(), "detected"));
+
+    String detectedFrom = null;
+    int index = 0;
+    for (BurdenDose dose : agents.keySet()) {
+      Statistics overhead = overheads.get(index++);
+      boolean detected = isDetected(overhead);
+      sb.append(String.format("  %-16s %12.3f +/- %9.3f %10s  %s\n", dose.getName(), overhead.mean(),
+          overhead.confidenceInterval95(), percent(overhead.mean(), none), detected ? "yes" : "no"));
+      if (dose.getMultiple() > 0) {
+        // only counts when the larger doses are detected as well
+        detectedFrom = detected ? (detectedFrom == null ? dose.getName() : detectedFrom) : null;
+      }
+    }
+    sb.append("  ").append(detectedFrom == null
+        ? "not even the largest dose was detected"
+        : "detected from " + detectedFrom + " on").append('\n');
+  }
+
+  private static boolean isDetected(Statistics overhead) {
+    return overhead.count() >= 2 && Math.abs(overhead.mean()) > overhead.confidenceInterval95();
+  }
+
+  private static double pooledStddev(List<Statistics> samples) {
+    double sumOfSquares = 0;
+    int degreesOfFreedom = 0;
+    for (Statistics sample : samples) {
+      if (sample.count() >= 2) {
+        sumOfSquares += sample.stddev() * sample.stddev() * (sample.count() - 1);
+        degreesOfFreedom += sample.count() - 1;
+      }
+    }
+    return degreesOfFreedom == 0 ? Double.NaN : Math.sqrt(sumOfSquares / degreesOfFreedom);
+  }
+
+  private static String percent(double value, double none) {
+    return none == 0 || Double.isNaN(value) ? "n/a" : String.format("%+.1f%%", 100 * value / Math.abs(none));
+  }
+
+  private double[] overheadPerPass(Agent agent, String metric) {
+    return passes.stream()
+        .mapToDouble(pass -> value(pass, agent, metric) - value(pass, baseline, metric))
+        .toArray();
+  }
+
+  private double[] values(Agent agent, String metric) {
+    return passes.stream().mapToDouble(pass -> value(pass, agent, metric)).toArray();
+  }
+
+  private static double value(List<AppPerfResults> pass, Agent agent, String metric) {
+    return pass.stream()
+        .filter(result -> result.getAgentName().equals(agent.getName()))
+        .mapToDouble(result -> result.getFieldValue(metric))
+        .findFirst()
+        .orElse(Double.NaN);
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.columnar;
+
+/**
+ * The value types a column can hold. The id is what ends up in the file, so never reuse or renumber one.
+ */
+public enum ColumnType {
+
+  /**
+   * 64-bit integers, delta and zigzag varint encoded before compression.
+   */
+  LONG(1),
+  /**
+   * 64-bit floating point values, each xor'ed with its predecessor before compression. Missing values are NaN.
+   */
+  DOUBLE(2),
+  /**
+   * Strings, as a dictionary of the distinct values (varint length + utf-8 bytes each) followed by a varint index
+   * into it per row, before compression.
+   */
+  STRING(3);
+
+  final int id;
+
+  ColumnType(int id) {
+    this.id = id;
+  }
+
+  static ColumnType fromId(int id) {
+    for (ColumnType type : values()) {
+      if (type.id == id) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown column type id: " + id);
+  }
+}
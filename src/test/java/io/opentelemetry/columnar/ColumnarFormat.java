@@ -0,0 +1,194 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Shared constants and encoding helpers of the columnar file format. All numbers are big endian.
+ * <pre>
+ *   magic        4 bytes  "OTCF"
+ *   version      u16
+ *   columnCount  u16
+ *   columns      columnCount x (name: u16 length + utf-8 bytes, type: u8)
+ *   groupCount   u16
+ *   groups       groupCount x (key: u16 length + utf-8 bytes, rowCount: u32, minTimestamp: i64, maxTimestamp: i64,
+ *                              columnCount x (offset: u32, length: u32))
+ *   data         the zlib compressed column blocks, offsets are relative to the start of this section
+ * </pre>
+ * Rows are split into groups by key (the agent, for results files), and every column of every group is compressed
+ * separately. The group index also records the range of the {@value #TIMESTAMP_COLUMN} column (0 when there is
+ * none), so readers (including web/columnar.js) can pick groups by key and date and decode only the columns they
+ * need.
+ */
+final class ColumnarFormat {
+
+  static final byte[] MAGIC = {'O', 'T', 'C', 'F'};
+  static final int VERSION = 1;
+  static final String TIMESTAMP_COLUMN = "timestamp";
+
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  static byte[] encodeLongs(long[] values) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(values.length * 2);
+    long previous = 0;
+    for (long value : values) {
+      long delta = value - previous;
+      writeVarint(out, (delta << 1) ^ (delta >> 63));
+      previous = value;
+    }
+    return out.toByteArray();
+  }
+
+  static long[] decodeLongs(byte[] encoded, int count) {
+    long[] result = new long[count];
+    int[] position = {0};
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      long raw = readVarint(encoded, position);
+      long delta = (raw >>> 1) ^ -(raw & 1);
+      previous += delta;
+      result[i] = previous;
+    }
+    return result;
+  }
+
+  static byte[] encodeStrings(String[] values) {
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    for (String value : values) {
+      dictionary.putIfAbsent(value, dictionary.size());
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeVarint(out, dictionary.size());
+    for (String value : dictionary.keySet()) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(out, bytes.length);
+      out.write(bytes, 0, bytes.length);
+    }
+    for (String value : values) {
+      writeVarint(out, dictionary.get(value));
+    }
+    return out.toByteArray();
+  }
+
+  static String[] decodeStrings(byte[] encoded, int count) {
+    int[] position = {0};
+    int dictionarySize = (int) readVarint(encoded, position);
+    List<String> dictionary = new ArrayList<>(dictionarySize);
+    for (int i = 0; i < dictionarySize; i++) {
+      int length = (int) readVarint(encoded, position);
+      dictionary.add(new String(encoded, position[0], length, StandardCharsets.UTF_8));
+      position[0] += length;
+    }
+    String[] result = new String[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = dictionary.get((int) readVarint(encoded, position));
+    }
+    return result;
+  }
+
+  static byte[] encodeDoubles(double[] values) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(values.length * 8);
+    DataOutputStream out = new DataOutputStream(bytes);
+    long previous = 0;
+    try {
+      for (double value : values) {
+        long bits = Double.doubleToLongBits(value);
+        out.writeLong(bits ^ previous);
+        previous = bits;
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unexpected error writing to memory", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static double[] decodeDoubles(byte[] encoded, int count) {
+    double[] result = new double[count];
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      long xored = 0;
+      for (int b = 0; b < 8; b++) {
+        xored = (xored << 8) | (encoded[i * 8 + b] & 0xff);
+      }
+      previous ^= xored;
+      result[i] = Double.longBitsToDouble(previous);
+    }
+    return result;
+  }
+
+  static byte[] compress(byte[] raw) {
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    deflater.setInput(raw);
+    deflater.finish();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      int length = deflater.deflate(buffer);
+      out.write(buffer, 0, length);
+    }
+    deflater.end();
+    return out.toByteArray();
+  }
+
+  static byte[] decompress(byte[] compressed) throws IOException {
+    Inflater inflater = new Inflater();
+    inflater.setInput(compressed);
+    ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+    byte[] buffer = new byte[8192];
+    try {
+      while (!inflater.finished()) {
+        int length = inflater.inflate(buffer);
+        // an empty column ends right away, without any output
+        if (length == 0 && !inflater.finished() && inflater.needsInput()) {
+          throw new IOException("Truncated column data");
+        }
+        out.write(buffer, 0, length);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt column data", e);
+    } finally {
+      inflater.end();
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7fL) != 0) {
+      out.write((int) ((value & 0x7f) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarint(byte[] encoded, int[] position) {
+    long result = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = encoded[position[0]++];
+      result |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return result;
+  }
+
+  private ColumnarFormat() {
+  }
+}
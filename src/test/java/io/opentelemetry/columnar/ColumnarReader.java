@@ -0,0 +1,232 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.columnar;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads columnar files written by {@link ColumnarWriter}. Only the directory is read up front, column data is read
+ * (and decompressed) on demand per group, so callers pay only for the columns and groups they actually use.
+ */
+public class ColumnarReader implements AutoCloseable {
+
+  private final RandomAccessFile file;
+  private final int version;
+  private final Map<String, ColumnType> columns = new LinkedHashMap<>();
+  private final List<RowGroup> groups = new ArrayList<>();
+  private final long dataStart;
+
+  private ColumnarReader(RandomAccessFile file) throws IOException {
+    this.file = file;
+    byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+    file.readFully(magic);
+    if (!Arrays.equals(magic, ColumnarFormat.MAGIC)) {
+      throw new IOException("Not a columnar results file");
+    }
+    version = file.readUnsignedShort();
+    if (version != ColumnarFormat.VERSION) {
+      throw new IOException("Unsupported columnar format version " + version);
+    }
+    readDirectory();
+    dataStart = file.getFilePointer();
+  }
+
+  private void readDirectory() throws IOException {
+    int columnCount = file.readUnsignedShort();
+    for (int i = 0; i < columnCount; i++) {
+      columns.put(readString(), ColumnType.fromId(file.readUnsignedByte()));
+    }
+    int groupCount = file.readUnsignedShort();
+    for (int i = 0; i < groupCount; i++) {
+      RowGroup group = new RowGroup(readString(), file.readInt(), file.readLong(), file.readLong());
+      for (String column : columns.keySet()) {
+        group.chunks.put(column, new Chunk(file.readInt(), file.readInt()));
+      }
+      groups.add(group);
+    }
+  }
+
+  private String readString() throws IOException {
+    byte[] bytes = new byte[file.readUnsignedShort()];
+    file.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public static ColumnarReader open(Path path) throws IOException {
+    RandomAccessFile file = new RandomAccessFile(path.toFile(), "r");
+    try {
+      return new ColumnarReader(file);
+    } catch (IOException | RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  public int getVersion() {
+    return version;
+  }
+
+  /**
+   * The number of rows across all groups.
+   */
+  public int getRowCount() {
+    return groups.stream().mapToInt(RowGroup::getRowCount).sum();
+  }
+
+  public List<String> getColumnNames() {
+    return List.copyOf(columns.keySet());
+  }
+
+  public boolean hasColumn(String name) {
+    return columns.containsKey(name);
+  }
+
+  public ColumnType getColumnType(String name) {
+    ColumnType type = columns.get(name);
+    if (type == null) {
+      throw new IllegalArgumentException("No such column: " + name);
+    }
+    return type;
+  }
+
+  public List<RowGroup> getGroups() {
+    return List.copyOf(groups);
+  }
+
+  /**
+   * Returns the group with the given key, or null if there is none.
+   */
+  public RowGroup getGroup(String key) {
+    return groups.stream().filter(group -> group.key.equals(key)).findFirst().orElse(null);
+  }
+
+  /**
+   * Reads a column across all groups, in group order.
+   */
+  public long[] readLongColumn(String name) throws IOException {
+    long[] result = new long[getRowCount()];
+    int position = 0;
+    for (RowGroup group : groups) {
+      long[] values = readLongColumn(group, name);
+      System.arraycopy(values, 0, result, position, values.length);
+      position += values.length;
+    }
+    return result;
+  }
+
+  /**
+   * Reads a column across all groups, in group order.
+   */
+  public double[] readDoubleColumn(String name) throws IOException {
+    double[] result = new double[getRowCount()];
+    int position = 0;
+    for (RowGroup group : groups) {
+      double[] values = readDoubleColumn(group, name);
+      System.arraycopy(values, 0, result, position, values.length);
+      position += values.length;
+    }
+    return result;
+  }
+
+  /**
+   * Reads a column across all groups, in group order.
+   */
+  public String[] readStringColumn(String name) throws IOException {
+    String[] result = new String[getRowCount()];
+    int position = 0;
+    for (RowGroup group : groups) {
+      String[] values = readStringColumn(group, name);
+      System.arraycopy(values, 0, result, position, values.length);
+      position += values.length;
+    }
+    return result;
+  }
+
+  public long[] readLongColumn(RowGroup group, String name) throws IOException {
+    return ColumnarFormat.decodeLongs(readColumnData(group, name, ColumnType.LONG), group.rowCount);
+  }
+
+  public double[] readDoubleColumn(RowGroup group, String name) throws IOException {
+    return ColumnarFormat.decodeDoubles(readColumnData(group, name, ColumnType.DOUBLE), group.rowCount);
+  }
+
+  public String[] readStringColumn(RowGroup group, String name) throws IOException {
+    return ColumnarFormat.decodeStrings(readColumnData(group, name, ColumnType.STRING), group.rowCount);
+  }
+
+  private byte[] readColumnData(RowGroup group, String name, ColumnType expected) throws IOException {
+    ColumnType type = getColumnType(name);
+    if (type != expected) {
+      throw new IllegalArgumentException("Column " + name + " is of type " + type + ", not " + expected);
+    }
+    Chunk chunk = group.chunks.get(name);
+    byte[] compressed = new byte[chunk.length];
+    file.seek(dataStart + chunk.offset);
+    file.readFully(compressed);
+    return ColumnarFormat.decompress(compressed);
+  }
+
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+
+  /**
+   * The index entry of a group of rows sharing a key. The timestamps are the range of the timestamp column, both 0
+   * when the file has no such column.
+   */
+  public static class RowGroup {
+    private final String key;
+    private final int rowCount;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final Map<String, Chunk> chunks = new LinkedHashMap<>();
+
+    private RowGroup(String key, int rowCount, long minTimestamp, long maxTimestamp) {
+      this.key = key;
+      this.rowCount = rowCount;
+      this.minTimestamp = minTimestamp;
+      this.maxTimestamp = maxTimestamp;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    public int getRowCount() {
+      return rowCount;
+    }
+
+    public long getMinTimestamp() {
+      return minTimestamp;
+    }
+
+    public long getMaxTimestamp() {
+      return maxTimestamp;
+    }
+
+    public boolean overlaps(long fromTimestamp, long toTimestamp) {
+      return minTimestamp <= toTimestamp && maxTimestamp >= fromTimestamp;
+    }
+  }
+
+  private static class Chunk {
+    private final int offset;
+    private final int length;
+
+    private Chunk(int offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
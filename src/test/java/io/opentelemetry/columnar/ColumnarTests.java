@@ -0,0 +1,167 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Writes columnar files and reads them back, across several row groups and with the values that the encodings have
+ * edge cases for: large and negative longs for the zigzag varints, special doubles for the xor encoding, and repeated
+ * and non-ascii strings for the dictionary.
+ */
+class ColumnarTests {
+
+  private static final long[] TIMESTAMPS_A = {1657557600, 1657557660, 1657557720};
+  private static final long[] LONGS_A = {0, -1, Long.MAX_VALUE};
+  private static final double[] DOUBLES_A = {0.0, -0.0, 1.5};
+  private static final String[] STRINGS_A = {"none", "none", ""};
+
+  private static final long[] TIMESTAMPS_B = {1657644000, 1657644060};
+  private static final long[] LONGS_B = {Long.MIN_VALUE, 42};
+  private static final double[] DOUBLES_B = {Double.NaN, Double.NEGATIVE_INFINITY};
+  private static final String[] STRINGS_B = {"splunk-otel", "\u00fcber \u2013 agent"};
+
+  @Test
+  void readsBackEveryColumnOfEveryGroup() throws IOException {
+    Path file = write();
+    try (ColumnarReader reader = ColumnarReader.open(file)) {
+      assertEquals(ColumnarFormat.VERSION, reader.getVersion());
+      assertEquals(5, reader.getRowCount());
+      assertEquals(Arrays.asList("timestamp", "longs", "doubles", "strings"), reader.getColumnNames());
+      assertEquals(ColumnType.DOUBLE, reader.getColumnType("doubles"));
+      assertEquals(2, reader.getGroups().size());
+
+      ColumnarReader.RowGroup a = reader.getGroup("a");
+      assertEquals(3, a.getRowCount());
+      assertEquals(TIMESTAMPS_A[0], a.getMinTimestamp());
+      assertEquals(TIMESTAMPS_A[2], a.getMaxTimestamp());
+      assertArrayEquals(LONGS_A, reader.readLongColumn(a, "longs"));
+      assertArrayEquals(DOUBLES_A, reader.readDoubleColumn(a, "doubles"));
+      assertArrayEquals(STRINGS_A, reader.readStringColumn(a, "strings"));
+
+      // read in the other order, chunks are located through the directory
+      ColumnarReader.RowGroup b = reader.getGroup("b");
+      assertArrayEquals(STRINGS_B, reader.readStringColumn(b, "strings"));
+      assertArrayEquals(DOUBLES_B, reader.readDoubleColumn(b, "doubles"));
+      assertArrayEquals(LONGS_B, reader.readLongColumn(b, "longs"));
+      assertEquals(TIMESTAMPS_B[1], b.getMaxTimestamp());
+
+      assertNull(reader.getGroup("c"));
+    }
+  }
+
+  @Test
+  void readsColumnsAcrossGroups() throws IOException {
+    try (ColumnarReader reader = ColumnarReader.open(write())) {
+      assertArrayEquals(concat(LONGS_A, LONGS_B), reader.readLongColumn("longs"));
+      assertArrayEquals(concat(TIMESTAMPS_A, TIMESTAMPS_B), reader.readLongColumn("timestamp"));
+      assertArrayEquals(new double[] {0.0, -0.0, 1.5, Double.NaN, Double.NEGATIVE_INFINITY},
+          reader.readDoubleColumn("doubles"));
+      assertArrayEquals(new String[] {"none", "none", "", "splunk-otel", "\u00fcber \u2013 agent"},
+          reader.readStringColumn("strings"));
+    }
+  }
+
+  @Test
+  void roundTripsLargeRandomGroups() throws IOException {
+    Random random = new Random(7);
+    long[][] longs = new long[4][];
+    double[][] doubles = new double[4][];
+    ColumnarWriter writer = new ColumnarWriter();
+    for (int group = 0; group < longs.length; group++) {
+      int rows = 1000 + group * 777;
+      longs[group] = random.longs(rows).map(value -> value >> random.nextInt(64)).toArray();
+      doubles[group] = random.doubles(rows).map(value -> value * 1e6 - 5e5).toArray();
+      writer.group("group-" + group, rows)
+          .addLongColumn("longs", longs[group])
+          .addDoubleColumn("doubles", doubles[group]);
+    }
+    Path file = Files.createTempFile("columnar", ".bin");
+    writer.writeTo(file);
+
+    try (ColumnarReader reader = ColumnarReader.open(file)) {
+      for (int group = longs.length - 1; group >= 0; group--) {
+        ColumnarReader.RowGroup rowGroup = reader.getGroup("group-" + group);
+        assertArrayEquals(longs[group], reader.readLongColumn(rowGroup, "longs"));
+        assertArrayEquals(doubles[group], reader.readDoubleColumn(rowGroup, "doubles"));
+      }
+    }
+  }
+
+  @Test
+  void readsBackEmptyGroups() throws IOException {
+    Path file = Files.createTempFile("columnar", ".bin");
+    new ColumnarWriter()
+        .group("empty", 0)
+        .addLongColumn("longs", new long[0])
+        .addDoubleColumn("doubles", new double[0])
+        .addStringColumn("strings", new String[0])
+        .writeTo(file);
+    try (ColumnarReader reader = ColumnarReader.open(file)) {
+      ColumnarReader.RowGroup empty = reader.getGroup("empty");
+      assertEquals(0, empty.getRowCount());
+      assertArrayEquals(new long[0], reader.readLongColumn(empty, "longs"));
+      assertArrayEquals(new double[0], reader.readDoubleColumn(empty, "doubles"));
+      assertArrayEquals(new String[0], reader.readStringColumn(empty, "strings"));
+    }
+  }
+
+  @Test
+  void rejectsOtherVersionsAndTypes() throws IOException {
+    Path file = write();
+    try (ColumnarReader reader = ColumnarReader.open(file)) {
+      assertThrows(IllegalArgumentException.class, () -> reader.readLongColumn("doubles"));
+      assertThrows(IllegalArgumentException.class, () -> reader.readLongColumn("missing"));
+    }
+    try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+      raw.seek(ColumnarFormat.MAGIC.length);
+      raw.writeShort(ColumnarFormat.VERSION + 1);
+    }
+    assertThrows(IOException.class, () -> ColumnarReader.open(file));
+  }
+
+  @Test
+  void rejectsGroupsWithOtherColumns() {
+    ColumnarWriter writer = new ColumnarWriter()
+        .group("a", 1).addLongColumn("longs", new long[] {1})
+        .group("b", 1).addDoubleColumn("longs", new double[] {1});
+    assertThrows(IllegalStateException.class, () -> writer.writeTo(Files.createTempFile("columnar", ".bin")));
+  }
+
+  private static Path write() throws IOException {
+    Path file = Files.createTempFile("columnar", ".bin");
+    new ColumnarWriter()
+        .group("a", TIMESTAMPS_A.length)
+        .addLongColumn("timestamp", TIMESTAMPS_A)
+        .addLongColumn("longs", LONGS_A)
+        .addDoubleColumn("doubles", DOUBLES_A)
+        .addStringColumn("strings", STRINGS_A)
+        .group("b", TIMESTAMPS_B.length)
+        .addLongColumn("timestamp", TIMESTAMPS_B)
+        .addLongColumn("longs", LONGS_B)
+        .addDoubleColumn("doubles", DOUBLES_B)
+        .addStringColumn("strings", STRINGS_B)
+        .writeTo(file);
+    return file;
+  }
+
+  private static long[] concat(long[] first, long[] second) {
+    long[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}
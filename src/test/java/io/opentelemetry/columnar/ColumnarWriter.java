@@ -0,0 +1,167 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects row groups of columns and writes them as a single columnar file, see {@link ColumnarFormat}.
+ * Columns are added to the most recently started group, and every group must have the same columns in the same order.
+ */
+public class ColumnarWriter {
+
+  private final List<Group> groups = new ArrayList<>();
+
+  public ColumnarWriter() {
+  }
+
+  /**
+   * Creates a writer with a single unnamed group, for files that don't need to be split by key.
+   */
+  public ColumnarWriter(int rowCount) {
+    group("", rowCount);
+  }
+
+  public ColumnarWriter group(String key, int rowCount) {
+    groups.add(new Group(key, rowCount));
+    return this;
+  }
+
+  public ColumnarWriter addLongColumn(String name, long[] values) {
+    Group group = currentGroup(name, values.length);
+    group.columns.add(new Column(name, ColumnType.LONG, ColumnarFormat.compress(ColumnarFormat.encodeLongs(values))));
+    if (name.equals(ColumnarFormat.TIMESTAMP_COLUMN)) {
+      group.timestamps = values;
+    }
+    return this;
+  }
+
+  public ColumnarWriter addDoubleColumn(String name, double[] values) {
+    currentGroup(name, values.length).columns
+        .add(new Column(name, ColumnType.DOUBLE, ColumnarFormat.compress(ColumnarFormat.encodeDoubles(values))));
+    return this;
+  }
+
+  public ColumnarWriter addStringColumn(String name, String[] values) {
+    currentGroup(name, values.length).columns
+        .add(new Column(name, ColumnType.STRING, ColumnarFormat.compress(ColumnarFormat.encodeStrings(values))));
+    return this;
+  }
+
+  /**
+   * Writes to a temporary sibling first, so that readers never observe a half written file.
+   */
+  public void writeTo(Path file) throws IOException {
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+      write(out);
+    }
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public void write(OutputStream stream) throws IOException {
+    List<Column> schema = groups.isEmpty() ? List.of() : groups.get(0).columns;
+    groups.forEach(group -> checkSchema(schema, group));
+
+    DataOutputStream out = new DataOutputStream(stream);
+    out.write(ColumnarFormat.MAGIC);
+    out.writeShort(ColumnarFormat.VERSION);
+    out.writeShort(schema.size());
+    for (Column column : schema) {
+      ColumnarFormat.writeString(out, column.name);
+      out.writeByte(column.type.id);
+    }
+    out.writeShort(groups.size());
+    int offset = 0;
+    for (Group group : groups) {
+      ColumnarFormat.writeString(out, group.key);
+      out.writeInt(group.rowCount);
+      out.writeLong(group.minTimestamp());
+      out.writeLong(group.maxTimestamp());
+      for (Column column : group.columns) {
+        out.writeInt(offset);
+        out.writeInt(column.data.length);
+        offset += column.data.length;
+      }
+    }
+    for (Group group : groups) {
+      for (Column column : group.columns) {
+        out.write(column.data);
+      }
+    }
+    out.flush();
+  }
+
+  private Group currentGroup(String column, int length) {
+    if (groups.isEmpty()) {
+      throw new IllegalStateException("Start a group before adding column " + column);
+    }
+    Group group = groups.get(groups.size() - 1);
+    if (length != group.rowCount) {
+      throw new IllegalArgumentException(
+          "Column " + column + " has " + length + " values, expected " + group.rowCount);
+    }
+    return group;
+  }
+
+  private static void checkSchema(List<Column> schema, Group group) {
+    boolean matches = schema.size() == group.columns.size();
+    for (int i = 0; matches && i < schema.size(); i++) {
+      matches = schema.get(i).name.equals(group.columns.get(i).name)
+          && schema.get(i).type == group.columns.get(i).type;
+    }
+    if (!matches) {
+      throw new IllegalStateException("Group " + group.key + " doesn't have the same columns as the first group");
+    }
+  }
+
+  private static class Group {
+    private final String key;
+    private final int rowCount;
+    private final List<Column> columns = new ArrayList<>();
+    private long[] timestamps = new long[0];
+
+    private Group(String key, int rowCount) {
+      this.key = key;
+      this.rowCount = rowCount;
+    }
+
+    private long minTimestamp() {
+      long min = timestamps.length == 0 ? 0 : Long.MAX_VALUE;
+      for (long timestamp : timestamps) {
+        min = Math.min(min, timestamp);
+      }
+      return min;
+    }
+
+    private long maxTimestamp() {
+      long max = timestamps.length == 0 ? 0 : Long.MIN_VALUE;
+      for (long timestamp : timestamps) {
+        max = Math.max(max, timestamp);
+      }
+      return max;
+    }
+  }
+
+  private static class Column {
+    private final String name;
+    private final ColumnType type;
+    private final byte[] data;
+
+    private Column(String name, ColumnType type, byte[] data) {
+      this.name = name;
+      this.type = type;
+      this.data = data;
+    }
+  }
+}
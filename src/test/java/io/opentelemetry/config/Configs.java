@@ -4,7 +4,15 @@
  */
 package io.opentelemetry.config;
 
+import io.opentelemetry.agents.Agent;
 import io.opentelemetry.agents.Agents;
+import io.opentelemetry.attribution.InstrumentationVariants;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Defines all test configurations
@@ -22,6 +30,193 @@ public final class Configs {
       .warmupSeconds(60)
       .build();
 
+  /**
+   * Compares a single agent against no instrumentation with the release load, but with a caller chosen number of
+   * passes. Used by the bisection, which starts with few passes and adds more where the results are ambiguous.
+   */
+  public static TestConfig bisect(Agent agent, int passes) {
+    return TestConfig.builder()
+        .name("bisect_" + agent.getName())
+        .description("bisecting " + agent.getDescription())
+        .withAgents(Agents.NONE, agent)
+        .numberOfPasses(passes)
+        .maxRequestRate(RELEASE.getMaxRequestRate())
+        .concurrentConnections(RELEASE.getConcurrentConnections())
+        .k6Iterations(RELEASE.getK6Iterations())
+        .warmupSeconds(RELEASE.getWarmupSeconds())
+        .build();
+  }
+
+  /**
+   * Runs the variants of an agent that differ in a single instrumentation module, together with the full agent and no
+   * instrumentation. Every pass starts with a different agent, so that drift within a pass spreads over all of them.
+   */
+  public static TestConfig attribution(InstrumentationVariants variants, int passes) {
+    List<Agent> agents = new ArrayList<>();
+    agents.add(Agents.NONE);
+    agents.add(variants.getBase());
+    variants.getAgents().stream()
+        .filter(agent -> !agent.getName().equals(variants.getBase().getName()))
+        .forEach(agents::add);
+    return TestConfig.builder()
+        .name("attribution_" + variants.getMode().name().toLowerCase(Locale.ROOT))
+        .description("instrumentation overhead of " + variants.getBase().getDescription())
+        .withAgents(agents.toArray(new Agent[0]))
+        .numberOfPasses(passes)
+        .maxRequestRate(RELEASE.getMaxRequestRate())
+        .concurrentConnections(RELEASE.getConcurrentConnections())
+        .k6Iterations(RELEASE.getK6Iterations())
+        .warmupSeconds(RELEASE.getWarmupSeconds())
+        .rotateAgents()
+        .build();
+  }
+
+  /**
+   * Runs the agent with every combination of profiler settings, next to the same agent without profiler and no
+   * instrumentation at all.
+   */
+  public static TestConfig profilerSweep(Agent withoutProfiler, Collection<Agent> profilerAgents, int passes) {
+    List<Agent> agents = new ArrayList<>();
+    agents.add(Agents.NONE);
+    agents.add(withoutProfiler);
+    agents.addAll(profilerAgents);
+    return TestConfig.builder()
+        .name("profiler_sweep")
+        .description("AlwaysOn profiler settings compared")
+        .withAgents(agents.toArray(new Agent[0]))
+        .numberOfPasses(passes)
+        .maxRequestRate(RELEASE.getMaxRequestRate())
+        .concurrentConnections(RELEASE.getConcurrentConnections())
+        .k6Iterations(RELEASE.getK6Iterations())
+        .warmupSeconds(RELEASE.getWarmupSeconds())
+        .rotateAgents()
+        .build();
+  }
+
+  /**
+   * Runs doses of the synthetic burden agent next to no instrumentation, with the release load, to find out how small
+   * an overhead the tests can detect.
+   */
+  public static TestConfig calibration(Collection<Agent> burdenAgents, int passes) {
+    List<Agent> agents = new ArrayList<>();
+    agents.add(Agents.NONE);
+    agents.addAll(burdenAgents);
+    return TestConfig.builder()
+        .name("calibration")
+        .description("burden agent doses compared")
+        .withAgents(agents.toArray(new Agent[0]))
+        .numberOfPasses(passes)
+        .maxRequestRate(RELEASE.getMaxRequestRate())
+        .concurrentConnections(RELEASE.getConcurrentConnections())
+        .k6Iterations(RELEASE.getK6Iterations())
+        .warmupSeconds(RELEASE.getWarmupSeconds())
+        .rotateAgents()
+        .build();
+  }
+
+  /**
+   * Runs the agent for hours with a steady, moderate load, to find out whether it leaks. The app keeps adding vets and
+   * owners, so the slopes of the agent are compared with those of the uninstrumented app (see SoakReport).
+   */
+  public static TestConfig soak(Duration duration, Duration chunkDuration) {
+    return TestConfig.builder()
+        .name("soak")
+        .description("agents under steady load for " + duration.toMinutes() + " minutes")
+        .withAgents(Agents.NONE, Agents.SPLUNK_OTEL)
+        .numberOfPasses(1)
+        .maxRequestRate(200)
+        .concurrentConnections(10)
+        .warmupSeconds(RELEASE.getWarmupSeconds())
+        .soak(duration, chunkDuration)
+        .build();
+  }
+
+  /**
+   * The same test with a budget of passes instead of a fixed number, for a run that stops adding passes once the
+   * results are precise enough (see SequentialStopping).
+   */
+  public static TestConfig sequential(TestConfig config, int maxPasses) {
+    return copy(config)
+        .description(config.getDescription() + ", up to " + maxPasses + " passes")
+        .numberOfPasses(maxPasses)
+        .withJdks(config.getJdks().toArray(new Jdk[0]))
+        .build();
+  }
+
+  /**
+   * The release test on several JDKs (see Jdk), to compare the overhead across them.
+   */
+  public static TestConfig jdkMatrix(List<Jdk> jdks, int passes) {
+    return copy(RELEASE)
+        .name("jdk-matrix")
+        .description(RELEASE.getDescription() + ", on " + jdks.size() + " JDKs")
+        .numberOfPasses(passes)
+        .withJdks(jdks.toArray(new Jdk[0]))
+        .build();
+  }
+
+  /**
+   * A test per JDK of the config, each with its own results directory. A config with a single JDK stays as it is.
+   */
+  public static List<TestConfig> perJdk(TestConfig config) {
+    if (config.getJdks().size() == 1) {
+      return List.of(config);
+    }
+    List<TestConfig> result = new ArrayList<>();
+    for (Jdk jdk : config.getJdks()) {
+      result.add(copy(config)
+          .name(config.getName() + "-" + jdk.getName())
+          .description(config.getDescription() + ", " + jdk)
+          .withJdks(jdk)
+          .build());
+    }
+    return result;
+  }
+
+  /**
+   * The release test to run on datasets of several sizes, see {@link #withDataset(TestConfig, int)}.
+   */
+  public static TestConfig datasetScaling(int passes) {
+    return copy(RELEASE)
+        .name("dataset-scaling")
+        .numberOfPasses(passes)
+        .build();
+  }
+
+  /**
+   * The config on a generated dataset of the given number of owners (see DatasetGenerator), with its own results
+   * directory. GET /owners of the k6 script returns every owner, so the response grows with the dataset.
+   */
+  public static TestConfig withDataset(TestConfig config, int owners) {
+    return copy(config)
+        .name(config.getName() + "-owners-" + owners)
+        .description(config.getDescription() + ", " + owners + " owners")
+        .withJdks(config.getJdks().toArray(new Jdk[0]))
+        .datasetOwners(owners)
+        .build();
+  }
+
+  // everything but the JDKs
+  private static TestConfig.Builder copy(TestConfig config) {
+    TestConfig.Builder builder = TestConfig.builder()
+        .name(config.getName())
+        .description(config.getDescription())
+        .withAgents(config.getAgents().toArray(new Agent[0]))
+        .numberOfPasses(config.getNumberOfPasses())
+        .maxRequestRate(config.getMaxRequestRate())
+        .concurrentConnections(config.getConcurrentConnections())
+        .k6Iterations(config.getK6Iterations())
+        .warmupSeconds(config.getWarmupSeconds())
+        .datasetOwners(config.getDatasetOwners());
+    if (config.isRotateAgents()) {
+      builder.rotateAgents();
+    }
+    if (config.isSoak()) {
+      builder.soak(config.getSoakDuration(), config.getSoakChunkDuration());
+    }
+    return builder;
+  }
+
   private Configs() {
   }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.config;
+
+import java.util.Locale;
+
+/**
+ * The JDK that the petclinic app runs on: the JDK of the pinned petclinic image, or a JDK image that the app is layered
+ * onto (see PetClinicImage), optionally reduced with jlink to the modules the app and the tests need. The base image
+ * has to be a JDK, not a JRE: the tests talk to the app with jcmd.
+ */
+public class Jdk {
+
+  public static final Jdk DEFAULT = new Jdk("default", null, false);
+  public static final Jdk TEMURIN_11 = new Jdk("jdk11", "eclipse-temurin:11-jdk", false);
+  public static final Jdk TEMURIN_17 = new Jdk("jdk17", "eclipse-temurin:17-jdk", false);
+  public static final Jdk TEMURIN_21 = new Jdk("jdk21", "eclipse-temurin:21-jdk", false);
+
+  private final String name;
+  private final String baseImage;
+  private final boolean jlink;
+
+  private Jdk(String name, String baseImage, boolean jlink) {
+    this.name = name;
+    this.baseImage = baseImage;
+    this.jlink = jlink;
+  }
+
+  /**
+   * A feature release of Temurin, like 17, or any JDK image, like azul/zulu-openjdk:21.
+   */
+  public static Jdk parse(String value) {
+    String spec = value.trim();
+    if (spec.equals(DEFAULT.name)) {
+      return DEFAULT;
+    }
+    if (spec.matches("\\d+")) {
+      return new Jdk("jdk" + spec, "eclipse-temurin:" + spec + "-jdk", false);
+    }
+    // names end up in image names and results directories
+    String name = spec.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9.]+", "-");
+    return new Jdk(name, spec, false);
+  }
+
+  public Jdk jlinked() {
+    if (isDefault() || jlink) {
+      return this;
+    }
+    return new Jdk(name + "-jlink", baseImage, true);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * The JDK image, null for the JDK of the pinned petclinic image.
+   */
+  public String getBaseImage() {
+    return baseImage;
+  }
+
+  public boolean isJlink() {
+    return jlink;
+  }
+
+  public boolean isDefault() {
+    return baseImage == null;
+  }
+
+  @Override
+  public String toString() {
+    return isDefault() ? name : name + " (" + baseImage + (jlink ? ", jlinked)" : ")");
+  }
+}
@@ -6,6 +6,7 @@ package io.opentelemetry.config;
 
 import io.opentelemetry.agents.Agent;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -29,6 +30,12 @@ public class TestConfig {
   private final int concurrentConnections;
   private final int k6Iterations;
   private final int warmupSeconds;
+  private final boolean rotateAgents;
+  // seconds rather than a Duration, which the ConfigPersister can't serialize
+  private final long soakSeconds;
+  private final long soakChunkSeconds;
+  private final List<Jdk> jdks;
+  private final int datasetOwners;
 
   public TestConfig(Builder builder) {
     this.name = builder.name;
@@ -39,6 +46,11 @@ public class TestConfig {
     this.concurrentConnections = builder.concurrentConnections;
     this.k6Iterations = builder.k6Iterations;
     this.warmupSeconds = builder.warmupSeconds;
+    this.rotateAgents = builder.rotateAgents;
+    this.soakSeconds = builder.soakDuration.getSeconds();
+    this.soakChunkSeconds = builder.soakChunkDuration.getSeconds();
+    this.jdks = Collections.unmodifiableList(builder.jdks.isEmpty() ? List.of(Jdk.DEFAULT) : builder.jdks);
+    this.datasetOwners = builder.datasetOwners;
   }
 
   public String getName() {
@@ -82,6 +94,62 @@ public class TestConfig {
     return warmupSeconds;
   }
 
+  public boolean isRotateAgents() {
+    return rotateAgents;
+  }
+
+  /**
+   * A soak test runs k6 for {@link #getSoakDuration()} instead of {@link #getK6Iterations()} iterations, with a JFR
+   * recording that is bounded in size and reduced every {@link #getSoakChunkDuration()}.
+   */
+  public boolean isSoak() {
+    return soakSeconds > 0;
+  }
+
+  public Duration getSoakDuration() {
+    return Duration.ofSeconds(soakSeconds);
+  }
+
+  public Duration getSoakChunkDuration() {
+    return Duration.ofSeconds(soakChunkSeconds);
+  }
+
+  /**
+   * The JDKs that the test compares. A run only uses the first, {@link Configs#perJdk(TestConfig)} splits the test
+   * into a test per JDK.
+   */
+  public List<Jdk> getJdks() {
+    return jdks;
+  }
+
+  /**
+   * The JDK that the app runs on.
+   */
+  public Jdk getJdk() {
+    return jdks.get(0);
+  }
+
+  /**
+   * The number of owners of the dataset that is generated and loaded before the app is measured, each with their pets
+   * and visits (see DatasetGenerator). 0 leaves the small dataset of populateDB.sql.
+   */
+  public int getDatasetOwners() {
+    return datasetOwners;
+  }
+
+  /**
+   * The order in which the agents run in the given pass. With rotation every pass starts one agent later, so that
+   * drift over a pass (host warming up, noisy neighbours) doesn't always hit the same agent.
+   */
+  public List<Agent> getAgentsForPass(int pass) {
+    if (!rotateAgents || agents.isEmpty()) {
+      return agents;
+    }
+    List<Agent> rotated = new ArrayList<>(agents);
+    Collections.rotate(rotated, -(pass % agents.size()));
+    return Collections.unmodifiableList(rotated);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -95,6 +163,11 @@ public class TestConfig {
     private int concurrentConnections = DEFAULT_CONCURRENT_CONNECTIONS;
     private int k6Iterations = DEFAULT_K6_ITERATIONS;
     public int warmupSeconds = 0;
+    private boolean rotateAgents = false;
+    private Duration soakDuration = Duration.ZERO;
+    private Duration soakChunkDuration = Duration.ZERO;
+    private List<Jdk> jdks = new ArrayList<>();
+    private int datasetOwners = 0;
 
     Builder name(String name) {
       this.name = name;
@@ -136,6 +209,27 @@ public class TestConfig {
       return this;
     }
 
+    Builder rotateAgents() {
+      this.rotateAgents = true;
+      return this;
+    }
+
+    Builder soak(Duration duration, Duration chunkDuration) {
+      this.soakDuration = duration;
+      this.soakChunkDuration = chunkDuration;
+      return this;
+    }
+
+    Builder withJdks(Jdk... jdks) {
+      this.jdks.addAll(Arrays.asList(jdks));
+      return this;
+    }
+
+    Builder datasetOwners(int datasetOwners) {
+      this.datasetOwners = datasetOwners;
+      return this;
+    }
+
     TestConfig build() {
       return new TestConfig(this);
     }
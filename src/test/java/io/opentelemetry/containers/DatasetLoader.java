@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.containers;
+
+import io.opentelemetry.util.DatasetGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk loads a generated dataset (see DatasetGenerator) into the petclinic database, with COPY from the stdin of psql
+ * so that the rows are streamed rather than written anywhere first. The schema has to exist, so the dataset is loaded
+ * once the app has started, and the sequences are moved past the loaded ids so that the app can still insert.
+ */
+public class DatasetLoader {
+
+  private static final Logger logger = LoggerFactory.getLogger(DatasetLoader.class);
+
+  /**
+   * Runs a statement with psql that reads what the rows writer writes to its stdin, e.g. COPY ... FROM STDIN.
+   */
+  public interface Copy {
+    void copy(String sql, Rows rows) throws Exception;
+  }
+
+  public interface Rows {
+    void write(Writer out) throws IOException;
+  }
+
+  private final PgStatStatements.Psql psql;
+  private final Copy copy;
+
+  public DatasetLoader(PgStatStatements.Psql psql, Copy copy) {
+    this.psql = psql;
+    this.copy = copy;
+  }
+
+  public static DatasetLoader inContainer(GenericContainer<?> postgres) {
+    PgStatStatements.Psql psql = sql -> {
+      Container.ExecResult result = postgres.execInContainer("psql", "-U", PostgresContainer.USERNAME,
+          "-d", PostgresContainer.DATABASE_NAME, "-A", "-t", "-c", sql);
+      if (result.getExitCode() != 0) {
+        throw new IllegalStateException("psql failed: " + result.getStderr());
+      }
+      return result.getStdout();
+    };
+    // exec of testcontainers has no stdin
+    return new DatasetLoader(psql, (sql, rows) -> copy(new ProcessBuilder("docker", "exec", "-i",
+        postgres.getContainerId(), "psql", "-U", PostgresContainer.USERNAME, "-d", PostgresContainer.DATABASE_NAME,
+        "-v", "ON_ERROR_STOP=1", "-c", sql).start(), rows));
+  }
+
+  /**
+   * Writes the rows to the stdin of the psql process and waits for it.
+   */
+  static void copy(Process process, Rows rows) throws Exception {
+    try (Writer out = new BufferedWriter(
+        new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8), 1 << 16)) {
+      rows.write(out);
+    }
+    String errors = new String(process.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+    int rc = process.waitFor();
+    if (rc != 0) {
+      throw new IllegalStateException("psql failed with exit code " + rc + ": " + errors);
+    }
+  }
+
+  public void load(DatasetGenerator dataset) throws Exception {
+    long start = System.currentTimeMillis();
+    logger.info("Loading {} owners, {} pets and {} visits", dataset.owners(), dataset.pets(), dataset.visits());
+    copy.copy("COPY owners (id, first_name, last_name, address, city, telephone) FROM STDIN WITH (FORMAT csv)",
+        dataset::writeOwners);
+    copy.copy("COPY pets (id, name, birth_date, type_id, owner_id) FROM STDIN WITH (FORMAT csv)",
+        dataset::writePets);
+    copy.copy("COPY visits (id, pet_id, visit_date, description) FROM STDIN WITH (FORMAT csv)",
+        dataset::writeVisits);
+    for (String table : new String[] {"owners", "pets", "visits"}) {
+      psql.query("SELECT setval('" + table + "_id_seq', (SELECT max(id) FROM " + table + "))");
+    }
+    // the planner would still think the tables are tiny until autovacuum gets to them
+    psql.query("ANALYZE");
+    logger.info("Dataset loaded in {} ms", System.currentTimeMillis() - start);
+  }
+}
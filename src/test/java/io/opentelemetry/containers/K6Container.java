@@ -13,11 +13,14 @@ import org.testcontainers.containers.startupcheck.OneShotStartupCheckStrategy;
 import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.MountableFile;
 
-import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 public class K6Container {
 
+  public static final DockerImageName IMAGE = DockerImageName.parse("loadimpact/k6");
+
   private final Network network;
   private final Agent agent;
   private final TestConfig config;
@@ -31,25 +34,34 @@ public class K6Container {
   }
 
   public GenericContainer<?> build() {
-    Path k6OutputFile = namingConventions.container.k6Results(agent);
-    return new GenericContainer<>(
-        DockerImageName.parse("loadimpact/k6"))
+    return new GenericContainer<>(IMAGE)
         .withNetwork(network)
         .withNetworkAliases("k6")
         .withCopyFileToContainer(
             MountableFile.forHostPath("./k6"), "/app")
         .withFileSystemBind(namingConventions.localResults(), namingConventions.containerResults())
         .withCreateContainerCmdModifier(cmd -> cmd.withUser("root"))
-        .withCommand(
-            "run",
-            "-u", String.valueOf(config.getConcurrentConnections()),
-            "-i", String.valueOf(config.getK6Iterations()),
-            "--rps", String.valueOf(config.getMaxRequestRate()),
-            "--summary-export", k6OutputFile.toString(),
-            "/app/basic.js"
-        )
+        .withCommand(command())
         .withStartupCheckStrategy(
-            new OneShotStartupCheckStrategy().withTimeout(Duration.ofMinutes(15))
+            new OneShotStartupCheckStrategy().withTimeout(config.getSoakDuration().plus(Duration.ofMinutes(15)))
         );
   }
+
+  private String[] command() {
+    List<String> command = new ArrayList<>(List.of(
+        "run",
+        "-u", String.valueOf(config.getConcurrentConnections()),
+        "--rps", String.valueOf(config.getMaxRequestRate()),
+        "--summary-export", namingConventions.container.k6Results(agent).toString()));
+    if (config.isSoak()) {
+      // a line per request for hours would fill the disk, a soak test has its own time series
+      command.addAll(List.of("-d", config.getSoakDuration().getSeconds() + "s"));
+    } else {
+      command.addAll(List.of(
+          "-i", String.valueOf(config.getK6Iterations()),
+          "--out", "csv=" + namingConventions.container.k6TimeSeries(agent)));
+    }
+    command.add("/app/basic.js");
+    return command.toArray(new String[0]);
+  }
 }
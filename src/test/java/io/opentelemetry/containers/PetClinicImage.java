@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.containers;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import io.opentelemetry.config.Jdk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The petclinic image for a JDK: the spring-petclinic-rest jar of the pinned image layered onto the JDK image. The
+ * images are built once and kept by docker, tagged with a digest of their Dockerfile; remove them to pick up a newer
+ * JDK of the same tag.
+ * <p>
+ * A jlinked image only has the modules that the app, the agents and the tests (jcmd, JFR, attach) need, on a slim
+ * base image.
+ */
+public class PetClinicImage {
+
+  private static final Logger logger = LoggerFactory.getLogger(PetClinicImage.class);
+
+  static final String IMAGE_PREFIX = "petclinic-overhead-";
+  static final String JLINK_BASE_IMAGE = "debian:bookworm-slim";
+  static final List<String> JLINK_MODULES = List.of(
+      "java.base", "java.compiler", "java.desktop", "java.instrument", "java.logging", "java.management",
+      "java.naming", "java.net.http", "java.prefs", "java.rmi", "java.scripting", "java.security.jgss",
+      "java.security.sasl", "java.sql", "java.transaction.xa", "java.xml", "jdk.attach", "jdk.crypto.ec",
+      "jdk.jcmd", "jdk.jfr", "jdk.management", "jdk.management.agent", "jdk.management.jfr", "jdk.naming.dns",
+      "jdk.net", "jdk.unsupported", "jdk.zipfs");
+  private static final String JAR = "/app/spring-petclinic-rest.jar";
+
+  private static final Map<String, DockerImageName> images = new ConcurrentHashMap<>();
+
+  public static DockerImageName forJdk(Jdk jdk) {
+    if (jdk.isDefault()) {
+      return PetClinicRestContainer.IMAGE;
+    }
+    return images.computeIfAbsent(jdk.getName(), x -> build(jdk));
+  }
+
+  private static DockerImageName build(Jdk jdk) {
+    String dockerfile = dockerfile(jdk);
+    String name = IMAGE_PREFIX + jdk.getName() + ":" + digest(dockerfile);
+    if (exists(name)) {
+      logger.info("Using the petclinic image {} for {}", name, jdk);
+    } else {
+      logger.info("Building the petclinic image {} for {}", name, jdk);
+      new ImageFromDockerfile(name, false)
+          .withFileFromString("Dockerfile", dockerfile)
+          .get();
+    }
+    return DockerImageName.parse(name);
+  }
+
+  static String dockerfile(Jdk jdk) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("FROM ").append(PetClinicRestContainer.IMAGE.asCanonicalNameString()).append(" AS app\n");
+    if (jdk.isJlink()) {
+      sb.append("FROM ").append(jdk.getBaseImage()).append(" AS jdk\n");
+      sb.append("RUN jlink --add-modules ").append(String.join(",", JLINK_MODULES))
+          .append(" --strip-debug --no-man-pages --no-header-files --output /jre\n");
+      sb.append("FROM ").append(JLINK_BASE_IMAGE).append('\n');
+      sb.append("COPY --from=jdk /jre /opt/java\n");
+      sb.append("ENV JAVA_HOME=/opt/java PATH=/opt/java/bin:$PATH\n");
+    } else {
+      sb.append("FROM ").append(jdk.getBaseImage()).append('\n');
+    }
+    sb.append("COPY --from=app ").append(JAR).append(' ').append(JAR).append('\n');
+    sb.append("WORKDIR /app\n");
+    return sb.toString();
+  }
+
+  private static boolean exists(String name) {
+    try {
+      DockerClientFactory.instance().client().inspectImageCmd(name).exec();
+      return true;
+    } catch (NotFoundException e) {
+      return false;
+    }
+  }
+
+  private static String digest(String dockerfile) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(dockerfile.getBytes(StandardCharsets.UTF_8));
+      return String.format("%064x", new BigInteger(1, hash)).substring(0, 12);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private PetClinicImage() {
+  }
+}
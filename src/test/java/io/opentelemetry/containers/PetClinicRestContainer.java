@@ -23,6 +23,8 @@ import java.util.Optional;
 
 public class PetClinicRestContainer {
 
+  public static final DockerImageName IMAGE = DockerImageName.parse(
+      "ghcr.io/open-telemetry/opentelemetry-java-instrumentation/petclinic-rest-base:20220711201901");
   private static final int PETCLINIC_PORT = 9966;
 
   private final Network network;
@@ -31,6 +33,7 @@ public class PetClinicRestContainer {
   private final NamingConventions namingConventions;
   private final String postgresHost;
   private final String collectorHost;
+  private DockerImageName image = IMAGE;
 
   public PetClinicRestContainer(Network network, Agent agent, NamingConventions namingConventions, String postgresHost, String collectorHost) {
     this(network, null, agent, namingConventions, postgresHost, collectorHost);
@@ -50,12 +53,19 @@ public class PetClinicRestContainer {
     this.collectorHost = collectorHost;
   }
 
+  /**
+   * Runs another image of the app than the pinned one, e.g. one for another JDK (see PetClinicImage).
+   */
+  public PetClinicRestContainer withImage(DockerImageName image) {
+    this.image = image;
+    return this;
+  }
+
   public GenericContainer<?> build() throws Exception {
 
     Optional<Path> agentJar = agent.getJarPath();
 
-    GenericContainer<?> container = new GenericContainer<>(
-        DockerImageName.parse("ghcr.io/open-telemetry/opentelemetry-java-instrumentation/petclinic-rest-base:20220711201901"))
+    GenericContainer<?> container = new GenericContainer<>(image)
         .withNetwork(network)
         .withNetworkAliases("petclinic")
         .withExposedPorts(PETCLINIC_PORT)
@@ -96,6 +106,7 @@ public class PetClinicRestContainer {
         "java",
         "-Xmx2g",
         "-XX:+AlwaysPreTouch",
+        "-XX:NativeMemoryTracking=summary",
         "-Dotel.traces.exporter=otlp",
         "-Dotel.imr.export.interval=5000",
         "-Dotel.exporter.otlp.insecure=true",
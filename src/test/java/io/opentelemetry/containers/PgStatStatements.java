@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.containers;
+
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the per statement execution statistics that postgres collects with the pg_stat_statements extension, which
+ * the postgres containers preload. The statistics are reset when the measurement starts, so that they only cover the
+ * statements that the app ran under load.
+ */
+public class PgStatStatements {
+
+  static final String CREATE_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_stat_statements";
+  // the statements of this class show up in the statistics too
+  private static final String OWN_STATEMENTS = "pg_stat_statements";
+  private static final String HEADER = "calls,totalTimeMs,meanTimeMs,rows,query";
+
+  /**
+   * Runs a query with psql in unaligned, tuples only mode with tab separated columns and returns the output.
+   */
+  public interface Psql {
+    String query(String sql) throws Exception;
+  }
+
+  private final Psql psql;
+  // the time columns were renamed in postgres 13, null until the version was looked up
+  private Boolean renamedColumns;
+
+  public PgStatStatements(Psql psql) {
+    this.psql = psql;
+  }
+
+  public static PgStatStatements inContainer(GenericContainer<?> postgres) {
+    return new PgStatStatements(sql -> {
+      Container.ExecResult result = postgres.execInContainer("psql", "-U", PostgresContainer.USERNAME,
+          "-d", PostgresContainer.DATABASE_NAME, "-A", "-t", "-F", "\t", "-c", sql);
+      if (result.getExitCode() != 0) {
+        throw new IllegalStateException("psql failed: " + result.getStderr());
+      }
+      return result.getStdout();
+    });
+  }
+
+  public void reset() throws Exception {
+    psql.query(CREATE_EXTENSION);
+    // looked up before the reset, the statistics would count it otherwise
+    lookUpVersion();
+    psql.query("SELECT pg_stat_statements_reset()");
+  }
+
+  public List<Statement> collect() throws Exception {
+    lookUpVersion();
+    String totalTime = renamedColumns ? "total_exec_time" : "total_time";
+    String meanTime = renamedColumns ? "mean_exec_time" : "mean_time";
+    String output = psql.query("SELECT calls, " + totalTime + ", " + meanTime + ", rows, "
+        + "regexp_replace(query, '\\s+', ' ', 'g') FROM pg_stat_statements "
+        + "WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database()) "
+        + "AND query NOT LIKE '%" + OWN_STATEMENTS + "%' ORDER BY calls DESC");
+    List<Statement> result = new ArrayList<>();
+    for (String line : output.split("\n")) {
+      if (line.isBlank()) {
+        continue;
+      }
+      String[] columns = line.split("\t", 5);
+      result.add(new Statement(Long.parseLong(columns[0]), Double.parseDouble(columns[1]),
+          Double.parseDouble(columns[2]), Long.parseLong(columns[3]), columns[4]));
+    }
+    return result;
+  }
+
+  private void lookUpVersion() throws Exception {
+    if (renamedColumns == null) {
+      renamedColumns = Integer.parseInt(psql.query("SHOW server_version_num").trim()) >= 130000;
+    }
+  }
+
+  public static void write(Path file, List<Statement> statements) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add(HEADER);
+    statements.forEach(s -> lines.add(s.calls + "," + s.totalTimeMs + "," + s.meanTimeMs + "," + s.rows + "," + s.query));
+    Files.write(file, lines);
+  }
+
+  public static List<Statement> read(Path file) throws IOException {
+    return Files.readAllLines(file).stream()
+        .skip(1)
+        .filter(line -> !line.isBlank())
+        .map(line -> {
+          String[] columns = line.split(",", 5);
+          return new Statement(Long.parseLong(columns[0]), Double.parseDouble(columns[1]),
+              Double.parseDouble(columns[2]), Long.parseLong(columns[3]), columns[4]);
+        })
+        .collect(Collectors.toList());
+  }
+
+  public static class Statement {
+    public final long calls;
+    public final double totalTimeMs;
+    public final double meanTimeMs;
+    public final long rows;
+    // normalized by postgres, literals are replaced with placeholders
+    public final String query;
+
+    Statement(long calls, double totalTimeMs, double meanTimeMs, long rows, String query) {
+      this.calls = calls;
+      this.totalTimeMs = totalTimeMs;
+      this.meanTimeMs = meanTimeMs;
+      this.rows = rows;
+      this.query = query;
+    }
+  }
+}
@@ -27,6 +27,8 @@ public class PostgresContainer {
         .withUsername(USERNAME)
         .withPassword(PASSWORD)
         .withDatabaseName(DATABASE_NAME)
+        // per statement statistics, see PgStatStatements
+        .withCommand("postgres", "-c", "shared_preload_libraries=pg_stat_statements")
         .withCopyFileToContainer(
             MountableFile.forClasspathResource("initDB.sql"), "/docker-entrypoint-initdb.d/initDB.sql")
         .withCopyFileToContainer(
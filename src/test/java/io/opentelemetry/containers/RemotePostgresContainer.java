@@ -34,6 +34,21 @@ public class RemotePostgresContainer {
     logger.info("  Exit code = " + rc);
   }
 
+  /**
+   * Checks that the postgres image exists on the remote host. It is built there by externals-playbook.yml, with the
+   * petclinic schema, credentials and pg_stat_statements, so it must never be pulled.
+   */
+  public void verifyImage() throws Exception {
+    logger.info("Checking the remote postgres image...");
+    Process process = Runtime.getRuntime().exec("docker image inspect postgres", buildEnvp());
+    process.getInputStream().readAllBytes();
+    int rc = process.waitFor();
+    if (rc != 0) {
+      throw new IllegalStateException("The postgres image is missing on " + remoteHost
+          + ", build it with externals-playbook.yml");
+    }
+  }
+
   public void stop() throws Exception {
     logger.info("Stopping remote postgres via docker...");
     Process process = Runtime.getRuntime().exec("docker stop postgres", buildEnvp());
@@ -41,6 +56,31 @@ public class RemotePostgresContainer {
     logger.info("  Exit code = " + rc);
   }
 
+  /**
+   * Runs the sql with psql inside the remote container, see {@link PgStatStatements.Psql}.
+   */
+  public String psql(String sql) throws Exception {
+    String[] command = {"docker", "exec", "postgres", "psql", "-U", PostgresContainer.USERNAME,
+        "-d", PostgresContainer.DATABASE_NAME, "-A", "-t", "-F", "\t", "-c", sql};
+    Process process = Runtime.getRuntime().exec(command, buildEnvp());
+    String out = new String(process.getInputStream().readAllBytes());
+    String errors = new String(process.getErrorStream().readAllBytes());
+    int rc = process.waitFor();
+    if (rc != 0) {
+      throw new IllegalStateException("psql failed with exit code " + rc + ": " + errors);
+    }
+    return out;
+  }
+
+  /**
+   * Runs the sql with psql inside the remote container with the rows on its stdin, see {@link DatasetLoader.Copy}.
+   */
+  public void copy(String sql, DatasetLoader.Rows rows) throws Exception {
+    String[] command = {"docker", "exec", "-i", "postgres", "psql", "-U", PostgresContainer.USERNAME,
+        "-d", PostgresContainer.DATABASE_NAME, "-v", "ON_ERROR_STOP=1", "-c", sql};
+    DatasetLoader.copy(Runtime.getRuntime().exec(command, buildEnvp()), rows);
+  }
+
   private String[] buildEnvp() {
     Map<String, String> env = new HashMap<>(System.getenv());
     env.put("DOCKER_HOST", remoteHost + ":2375");
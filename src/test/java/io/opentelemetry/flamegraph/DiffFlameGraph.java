@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.flamegraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A differential flame graph as a self contained html page with an inline svg. The frames and their widths are those
+ * of the agent's profile, the color is the change of a frame's share of all samples against the baseline profile: red
+ * where the agent spends more, blue where it spends less. Frames that only exist in the baseline aren't shown.
+ */
+public class DiffFlameGraph {
+
+  private static final int WIDTH = 1800;
+  private static final int FRAME_HEIGHT = 16;
+  private static final double CHAR_WIDTH = 6.5;
+  // frames narrower than this share of all samples are left out
+  private static final double MIN_SHARE = 0.0005;
+
+  private final String title;
+  private final StackTree baseline;
+  private final StackTree profile;
+  private double maxDelta;
+  private int maxDepth;
+
+  public DiffFlameGraph(String title, StackTree baseline, StackTree profile) {
+    this.title = title;
+    this.baseline = baseline;
+    this.profile = profile;
+  }
+
+  public void write(Path file) throws IOException {
+    maxDelta = 0;
+    maxDepth = 0;
+    measure(profile.root(), baseline.root(), 0);
+    StringBuilder svg = new StringBuilder();
+    render(svg, profile.root(), baseline.root(), 0, 0);
+
+    int height = (maxDepth + 1) * FRAME_HEIGHT + 40;
+    StringBuilder html = new StringBuilder();
+    html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>").append(escape(title))
+        .append("</title>\n<style>\n")
+        .append("body { font-family: monospace; margin: 10px; }\n")
+        .append("svg text { font-size: 11px; pointer-events: none; }\n")
+        .append("svg rect:hover { stroke: black; }\n")
+        .append("</style>\n</head>\n<body>\n<h3>").append(escape(title)).append("</h3>\n")
+        .append(String.format("<p>%d samples, %d in the baseline. Width is the share of the samples, red frames have "
+            + "a larger share than in the baseline, blue ones a smaller one (up to %.2f percentage points).</p>\n",
+            profile.samples(), baseline.samples(), maxDelta * 100))
+        .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(WIDTH)
+        .append("\" height=\"").append(height).append("\">\n")
+        .append(svg)
+        .append("</svg>\n</body>\n</html>\n");
+    Files.writeString(file, html);
+  }
+
+  private void measure(StackTree.Node node, StackTree.Node baselineNode, int depth) {
+    maxDelta = Math.max(maxDelta, Math.abs(delta(node, baselineNode)));
+    maxDepth = Math.max(maxDepth, depth);
+    for (StackTree.Node child : visibleChildren(node)) {
+      measure(child, baselineNode == null ? null : baseline.find(baselineNode, profile.frame(child)), depth + 1);
+    }
+  }
+
+  private void render(StringBuilder svg, StackTree.Node node, StackTree.Node baselineNode, int depth, double x) {
+    double width = (double) node.total / profile.samples() * WIDTH;
+    // the root is drawn as "all" at the bottom, the stacks grow upwards
+    int y = (maxDepth - depth) * FRAME_HEIGHT + 20;
+    String name = depth == 0 ? "all" : profile.frame(node);
+    double delta = delta(node, baselineNode);
+    svg.append(String.format("<g><title>%s: %.2f%% of samples, %+.2f percentage points</title>"
+            + "<rect x=\"%.1f\" y=\"%d\" width=\"%.1f\" height=\"%d\" fill=\"%s\" rx=\"2\"/>",
+        escape(name), 100.0 * node.total / profile.samples(), delta * 100, x, y, width, FRAME_HEIGHT - 1,
+        color(delta)));
+    int chars = (int) ((width - 6) / CHAR_WIDTH);
+    if (chars >= 3) {
+      String label = name.length() <= chars ? name : name.substring(0, chars - 2) + "..";
+      svg.append(String.format("<text x=\"%.1f\" y=\"%d\">%s</text>", x + 3, y + FRAME_HEIGHT - 4, escape(label)));
+    }
+    svg.append("</g>\n");
+
+    double childX = x;
+    for (StackTree.Node child : visibleChildren(node)) {
+      StackTree.Node baselineChild = baselineNode == null ? null : baseline.find(baselineNode, profile.frame(child));
+      render(svg, child, baselineChild, depth + 1, childX);
+      childX += (double) child.total / profile.samples() * WIDTH;
+    }
+  }
+
+  private List<StackTree.Node> visibleChildren(StackTree.Node node) {
+    return node.children().stream()
+        .filter(child -> (double) child.total / profile.samples() >= MIN_SHARE)
+        .sorted(Comparator.comparing(profile::frame))
+        .collect(Collectors.toList());
+  }
+
+  // the change of the share of all samples
+  private double delta(StackTree.Node node, StackTree.Node baselineNode) {
+    double share = (double) node.total / profile.samples();
+    double baselineShare = baselineNode == null || baseline.samples() == 0
+        ? 0 : (double) baselineNode.total / baseline.samples();
+    return share - baselineShare;
+  }
+
+  private String color(double delta) {
+    if (maxDelta == 0) {
+      return "rgb(255,255,255)";
+    }
+    int fade = (int) Math.round(255 * (1 - Math.min(1, Math.abs(delta) / maxDelta)));
+    return delta >= 0 ? "rgb(255," + fade + "," + fade + ")" : "rgb(" + fade + "," + fade + ",255)";
+  }
+
+  private static String escape(String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+  }
+}
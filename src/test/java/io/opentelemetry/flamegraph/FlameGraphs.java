@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.flamegraph;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The profiles of every agent, merged across the passes of a run. Written as <code>flamegraphs/agent.collapsed</code>
+ * for every agent, and as <code>flamegraphs/agent-vs-baseline.html</code> for every agent but the baseline. The
+ * profiles of every pass are also kept on their own, see {@link #writePass(Path)}, so that a resumed run can continue
+ * from the passes that were written.
+ */
+public class FlameGraphs {
+
+  private static final String COLLAPSED = ".collapsed";
+
+  private final String baselineAgent;
+  private final Map<String, StackTree> trees = new LinkedHashMap<>();
+  // the pass that is being added, until it is written
+  private final Map<String, StackTree> pass = new LinkedHashMap<>();
+
+  public FlameGraphs(String baselineAgent) {
+    this.baselineAgent = baselineAgent;
+  }
+
+  public void addPass(String agent, Path jfrFile) throws IOException {
+    pass.computeIfAbsent(agent, x -> new StackTree()).addRecording(jfrFile);
+  }
+
+  /**
+   * Writes the profiles added since the last pass in the collapsed format, one file per agent in the directory of the
+   * pass, and merges the pass with the others. Profiles of the pass that are already in the directory are merged too,
+   * they were written by the run that is resumed for the agents that it completed.
+   */
+  public void writePass(Path dir) throws IOException {
+    write(pass, dir);
+    pass.clear();
+    addWritten(dir);
+  }
+
+  /**
+   * Adds the profiles of a pass that the run which is resumed wrote, see {@link #writePass(Path)}.
+   */
+  public void addWritten(Path dir) throws IOException {
+    if (!Files.isDirectory(dir)) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + COLLAPSED)) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        String agent = fileName.substring(0, fileName.length() - COLLAPSED.length());
+        trees.computeIfAbsent(agent, x -> new StackTree()).addCollapsed(file);
+      }
+    }
+  }
+
+  /**
+   * Writes the merged profiles in the collapsed format.
+   */
+  public void writeCollapsed(Path dir) throws IOException {
+    write(trees, dir);
+  }
+
+  // every file is written aside and moved, so that it is either complete or missing
+  private static void write(Map<String, StackTree> trees, Path dir) throws IOException {
+    Files.createDirectories(dir);
+    for (Map.Entry<String, StackTree> tree : trees.entrySet()) {
+      Path file = dir.resolve(tree.getKey() + COLLAPSED);
+      Path temporary = dir.resolve(tree.getKey() + COLLAPSED + ".tmp");
+      tree.getValue().writeCollapsed(temporary);
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+
+  public void write(Path dir) throws IOException {
+    writeCollapsed(dir);
+    StackTree baseline = trees.get(baselineAgent);
+    if (baseline == null) {
+      return;
+    }
+    for (Map.Entry<String, StackTree> tree : trees.entrySet()) {
+      if (tree.getKey().equals(baselineAgent) || tree.getValue().samples() == 0) {
+        continue;
+      }
+      String name = tree.getKey() + "-vs-" + baselineAgent;
+      new DiffFlameGraph(name, baseline, tree.getValue()).write(dir.resolve(name + ".html"));
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.flamegraph;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The jdk.ExecutionSample stacks of one or more recordings, merged into a tree from the outermost frame inwards. Frames
+ * are interned as ids, and a sample only adds to the counts of the nodes on its path, so the size of the tree depends
+ * on the number of distinct stacks and not on the length of the recording. Frames are <code>class.method</code>
+ * without line numbers, which keeps the number of distinct stacks small.
+ */
+public class StackTree {
+
+  // the numbers and addresses in the names of lambdas and other hidden classes differ from one JVM to the next
+  private static final Pattern HIDDEN_CLASS_SUFFIX = Pattern.compile("(\\$\\d+)?[+/]0x[0-9a-f]+(\\.\\d+)?");
+
+  private final Map<String, Integer> frameIds = new HashMap<>();
+  private final List<String> frames = new ArrayList<>();
+  private final Node root = new Node(-1);
+
+  /**
+   * Streams through a recording and adds all of its execution samples.
+   */
+  public void addRecording(Path jfrFile) throws IOException {
+    int[] stack = new int[64];
+    try (RecordingFile recordingFile = new RecordingFile(jfrFile)) {
+      while (recordingFile.hasMoreEvents()) {
+        RecordedEvent event = recordingFile.readEvent();
+        if (!event.getEventType().getName().equals("jdk.ExecutionSample")) {
+          continue;
+        }
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+          continue;
+        }
+        List<RecordedFrame> recordedFrames = stackTrace.getFrames();
+        if (stack.length < recordedFrames.size()) {
+          stack = new int[recordedFrames.size()];
+        }
+        // the recorded frames are innermost first
+        int depth = recordedFrames.size();
+        for (int i = 0; i < depth; i++) {
+          stack[depth - 1 - i] = intern(describe(recordedFrames.get(i).getMethod()));
+        }
+        add(stack, depth, 1);
+      }
+    }
+  }
+
+  /**
+   * Adds the stacks of a file in the collapsed format, as written by {@link #writeCollapsed(Path)}.
+   */
+  public void addCollapsed(Path file) throws IOException {
+    try (BufferedReader in = Files.newBufferedReader(file)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        int separator = line.lastIndexOf(' ');
+        if (separator <= 0) {
+          continue;
+        }
+        String[] names = line.substring(0, separator).split(";");
+        int[] stack = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+          stack[i] = intern(names[i]);
+        }
+        add(stack, stack.length, Long.parseLong(line.substring(separator + 1)));
+      }
+    }
+  }
+
+  /**
+   * Writes one line per distinct stack, outermost frame first and separated by semicolons, followed by the number of
+   * samples. This is the input format of flamegraph.pl and is understood by speedscope.
+   */
+  public void writeCollapsed(Path file) throws IOException {
+    try (BufferedWriter out = Files.newBufferedWriter(file)) {
+      for (Node child : root.children()) {
+        writeCollapsed(out, child, new StringBuilder());
+      }
+    }
+  }
+
+  private void writeCollapsed(BufferedWriter out, Node node, StringBuilder prefix) throws IOException {
+    int length = prefix.length();
+    if (length > 0) {
+      prefix.append(';');
+    }
+    prefix.append(frame(node));
+    if (node.self > 0) {
+      out.append(prefix).append(' ').append(Long.toString(node.self)).append('\n');
+    }
+    for (Node child : node.children()) {
+      writeCollapsed(out, child, prefix);
+    }
+    prefix.setLength(length);
+  }
+
+  private void add(int[] stack, int depth, long samples) {
+    Node node = root;
+    node.total += samples;
+    for (int i = 0; i < depth; i++) {
+      node = node.child(stack[i]);
+      node.total += samples;
+    }
+    node.self += samples;
+  }
+
+  private int intern(String frame) {
+    Integer id = frameIds.get(frame);
+    if (id == null) {
+      id = frames.size();
+      frameIds.put(frame, id);
+      frames.add(frame);
+    }
+    return id;
+  }
+
+  private static String describe(RecordedMethod method) {
+    if (method == null) {
+      return "<unknown>";
+    }
+    String type = method.getType().getName();
+    if (type.contains("0x")) {
+      type = HIDDEN_CLASS_SUFFIX.matcher(type).replaceAll("");
+    }
+    return type + "." + method.getName();
+  }
+
+  public long samples() {
+    return root.total;
+  }
+
+  Node root() {
+    return root;
+  }
+
+  String frame(Node node) {
+    return frames.get(node.frame);
+  }
+
+  /**
+   * The child of a node with the same frame as a node of another tree, or null.
+   */
+  Node find(Node parent, String frame) {
+    Integer id = frameIds.get(frame);
+    return id == null ? null : parent.children.get(id);
+  }
+
+  static class Node {
+    private final int frame;
+    private final Map<Integer, Node> children = new HashMap<>();
+    long total;
+    long self;
+
+    private Node(int frame) {
+      this.frame = frame;
+    }
+
+    private Node child(int frame) {
+      return children.computeIfAbsent(frame, Node::new);
+    }
+
+    Collection<Node> children() {
+      return children.values();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the stages of consecutive runs so that the teardown and analysis of one run overlap with the setup of the
+ * next, but never with anything that is measured.
+ * <p>
+ * Stages are either measured (app startup, the k6 run), unmeasured and run by the caller (postgres startup, warmup),
+ * or background stages that run on their own threads (stopping containers, parsing the results). A measured stage
+ * first waits for every background stage submitted so far, so nothing runs next to it that the pipeline started.
+ */
+public class RunPipeline implements AutoCloseable {
+
+  private static final int BACKGROUND_THREADS = 2;
+
+  private final AtomicInteger threadCount = new AtomicInteger();
+  private final ExecutorService executor = Executors.newFixedThreadPool(BACKGROUND_THREADS, runnable -> {
+    Thread thread = new Thread(runnable, "pipeline-" + threadCount.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final StageTimeline timeline = new StageTimeline();
+  private final List<CompletableFuture<?>> outstanding = new ArrayList<>();
+
+  public <T> T measured(String run, String stage, Callable<T> callable) throws Exception {
+    awaitBackground();
+    return timed(run, stage, true, callable);
+  }
+
+  public <T> T unmeasured(String run, String stage, Callable<T> callable) throws Exception {
+    return timed(run, stage, false, callable);
+  }
+
+  public <T> CompletableFuture<T> background(String run, String stage, Callable<T> callable) {
+    return background(run, stage, CompletableFuture.completedFuture(null), callable);
+  }
+
+  /**
+   * Runs a background stage once another one has completed. It doesn't run when the other one failed.
+   */
+  public <T> CompletableFuture<T> background(String run, String stage, CompletableFuture<?> after,
+      Callable<T> callable) {
+    CompletableFuture<T> future = after.thenApplyAsync(x -> {
+      try {
+        return timed(run, stage, false, callable);
+      } catch (Exception e) {
+        throw new CompletionException(run + ": " + stage + " failed", e);
+      }
+    }, executor);
+    synchronized (outstanding) {
+      outstanding.removeIf(CompletableFuture::isDone);
+      outstanding.add(future);
+    }
+    return future;
+  }
+
+  /**
+   * Waits for a background stage and returns its result, or throws the exception that it failed with.
+   */
+  public static <T> T await(CompletableFuture<T> future) throws Exception {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Waits for all background stages, failed or not.
+   */
+  public void awaitBackground() {
+    CompletableFuture<?>[] futures;
+    synchronized (outstanding) {
+      futures = outstanding.stream()
+          .map(future -> future.handle((result, error) -> null))
+          .toArray(CompletableFuture[]::new);
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+
+  public StageTimeline getTimeline() {
+    return timeline;
+  }
+
+  private <T> T timed(String run, String stage, boolean measured, Callable<T> callable) throws Exception {
+    long start = System.currentTimeMillis();
+    try {
+      return callable.call();
+    } finally {
+      timeline.add(run, stage, measured, start, System.currentTimeMillis());
+    }
+  }
+
+  @Override
+  public void close() {
+    awaitBackground();
+    executor.shutdown();
+  }
+}
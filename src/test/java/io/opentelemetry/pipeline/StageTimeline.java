@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.pipeline;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * When every stage of a {@link RunPipeline} ran, and on which thread.
+ */
+public class StageTimeline {
+
+  private final long startMs = System.currentTimeMillis();
+  private final List<Stage> stages = new ArrayList<>();
+
+  synchronized void add(String run, String name, boolean measured, long stageStartMs, long stageEndMs) {
+    stages.add(new Stage(run, name, measured, Thread.currentThread().getName(), stageStartMs, stageEndMs));
+  }
+
+  synchronized List<Stage> getStages() {
+    return new ArrayList<>(stages);
+  }
+
+  /**
+   * Writes one line per stage with its start and end in milliseconds since the pipeline was created.
+   */
+  public void writeCsv(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder("run,stage,measured,thread,startMs,endMs\n");
+    for (Stage stage : getStages()) {
+      sb.append(String.format("%s,%s,%b,%s,%d,%d\n", stage.run, stage.name, stage.measured, stage.thread,
+          stage.startMs - startMs, stage.endMs - startMs));
+    }
+    Files.writeString(file, sb.toString());
+  }
+
+  /**
+   * The wall time so far, and the time spent per stage. The difference between the sum of all stages and the wall
+   * time is what running stages side by side saved.
+   */
+  public String format() {
+    List<Stage> stages = getStages();
+    long wallMs = stages.stream().mapToLong(stage -> stage.endMs).max().orElse(startMs) - startMs;
+    long stagesMs = stages.stream().mapToLong(Stage::durationMs).sum();
+    long measuredMs = stages.stream().filter(stage -> stage.measured).mapToLong(Stage::durationMs).sum();
+    Map<String, Long> byName = new LinkedHashMap<>();
+    stages.forEach(stage -> byName.merge(stage.name, stage.durationMs(), Long::sum));
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("Wall time %.1f s, stages %.1f s (%.1f s measured), %.1f s overlapped%n",
+        wallMs / 1000.0, stagesMs / 1000.0, measuredMs / 1000.0, Math.max(0, stagesMs - wallMs) / 1000.0));
+    byName.forEach((name, ms) -> sb.append(String.format("  %-20s %10.1f s%n", name, ms / 1000.0)));
+    return sb.toString();
+  }
+
+  static class Stage {
+    final String run;
+    final String name;
+    final boolean measured;
+    final String thread;
+    final long startMs;
+    final long endMs;
+
+    private Stage(String run, String name, boolean measured, String thread, long startMs, long endMs) {
+      this.run = run;
+      this.name = name;
+      this.measured = measured;
+      this.thread = thread;
+      this.startMs = startMs;
+      this.endMs = endMs;
+    }
+
+    long durationMs() {
+      return endMs - startMs;
+    }
+  }
+}
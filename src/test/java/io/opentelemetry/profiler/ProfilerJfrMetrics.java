@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.profiler;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * What the profiler itself costs, read from the JFR recording of the app. JFR writes the events of all recordings
+ * in a JVM into the same chunks, so the recording of the test also contains the events that the profiler enabled.
+ * The test recording takes a thread dump every second by itself, so thread dumps are only meaningful relative to
+ * the agent without profiler. JFR doesn't time thread dumps, their size (threads times stack depth) stands in for
+ * their cost.
+ */
+public class ProfilerJfrMetrics {
+
+  long threadDumps;
+  long threadDumpChars;
+  long tlabAllocations;
+  long tlabBytes;
+  long allocationSamples;
+  long allocationSampleBytes;
+  // every chunk starts with a jdk.JVMInformation event, enabled in overhead.jfc for this
+  long chunks;
+  // jdk.Flush only exists from JDK 14 on, older JVMs report 0
+  long flushNanos;
+
+  public static ProfilerJfrMetrics read(Path jfrFile) throws IOException {
+    ProfilerJfrMetrics metrics = new ProfilerJfrMetrics();
+    try (RecordingFile recordingFile = new RecordingFile(jfrFile)) {
+      while (recordingFile.hasMoreEvents()) {
+        metrics.add(recordingFile.readEvent());
+      }
+    }
+    return metrics;
+  }
+
+  private void add(RecordedEvent event) {
+    switch (event.getEventType().getName()) {
+      case "jdk.ThreadDump":
+        threadDumps++;
+        threadDumpChars += event.getString("result").length();
+        break;
+      case "jdk.ObjectAllocationInNewTLAB":
+        tlabAllocations++;
+        tlabBytes += event.getLong("tlabSize");
+        break;
+      case "jdk.ObjectAllocationSample":
+        allocationSamples++;
+        allocationSampleBytes += event.getLong("weight");
+        break;
+      case "jdk.JVMInformation":
+        chunks++;
+        break;
+      case "jdk.Flush":
+        flushNanos += event.getDuration().toNanos();
+        break;
+      default:
+        break;
+    }
+  }
+
+  public long getThreadDumps() {
+    return threadDumps;
+  }
+
+  public double getAverageThreadDumpKB() {
+    return threadDumps == 0 ? 0 : threadDumpChars / 1024.0 / threadDumps;
+  }
+
+  public long getTlabAllocations() {
+    return tlabAllocations;
+  }
+
+  public long getTlabBytes() {
+    return tlabBytes;
+  }
+
+  public long getAllocationSamples() {
+    return allocationSamples;
+  }
+
+  public long getAllocationSampleBytes() {
+    return allocationSampleBytes;
+  }
+
+  public long getChunks() {
+    return chunks;
+  }
+
+  public double getFlushMs() {
+    return flushNanos / 1e6;
+  }
+}
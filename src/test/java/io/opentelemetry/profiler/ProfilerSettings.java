@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.profiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One combination of AlwaysOn profiler settings.
+ */
+public class ProfilerSettings {
+
+  private final int callStackIntervalMs;
+  private final boolean memoryEnabled;
+  // every nth allocation event is kept, only used with memory profiling
+  private final int memorySamplerInterval;
+  // how long the profiler records before it rotates to a new JFR chunk
+  private final int recordingDurationSeconds;
+
+  public ProfilerSettings(int callStackIntervalMs, boolean memoryEnabled, int memorySamplerInterval,
+      int recordingDurationSeconds) {
+    this.callStackIntervalMs = callStackIntervalMs;
+    this.memoryEnabled = memoryEnabled;
+    this.memorySamplerInterval = memorySamplerInterval;
+    this.recordingDurationSeconds = recordingDurationSeconds;
+  }
+
+  public int getCallStackIntervalMs() {
+    return callStackIntervalMs;
+  }
+
+  public boolean isMemoryEnabled() {
+    return memoryEnabled;
+  }
+
+  public int getMemorySamplerInterval() {
+    return memorySamplerInterval;
+  }
+
+  public int getRecordingDurationSeconds() {
+    return recordingDurationSeconds;
+  }
+
+  /**
+   * A short, file name safe label, e.g. <code>profiler-i1000-mem-s10-r20s</code>.
+   */
+  public String getName() {
+    String memory = memoryEnabled ? "-mem-s" + memorySamplerInterval : "-nomem";
+    return "profiler-i" + callStackIntervalMs + memory + "-r" + recordingDurationSeconds + "s";
+  }
+
+  public String getDescription() {
+    String memory = memoryEnabled ? "memory profiling of every " + memorySamplerInterval + ". allocation"
+        : "no memory profiling";
+    return "AlwaysOn profiling every " + callStackIntervalMs + " ms, " + memory + ", "
+        + recordingDurationSeconds + " s chunks";
+  }
+
+  public List<String> getJvmArgs() {
+    List<String> args = new ArrayList<>();
+    args.add("-Dsplunk.profiler.enabled=true");
+    args.add("-Dsplunk.profiler.call.stack.interval=" + callStackIntervalMs);
+    args.add("-Dsplunk.profiler.memory.enabled=" + memoryEnabled);
+    args.add("-Dsplunk.profiler.tlab.enabled=" + memoryEnabled);
+    if (memoryEnabled) {
+      args.add("-Dsplunk.profiler.memory.sampler.interval=" + memorySamplerInterval);
+    }
+    args.add("-Dsplunk.profiler.recording.duration=" + recordingDurationSeconds + "s");
+    return args;
+  }
+}
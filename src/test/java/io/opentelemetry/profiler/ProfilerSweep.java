@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.profiler;
+
+import io.opentelemetry.agents.Agent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The cartesian product of profiler settings to compare. Sampler intervals only apply with memory profiling, so the
+ * variants without it are not repeated for every sampler interval.
+ */
+public class ProfilerSweep {
+
+  public static final List<Integer> DEFAULT_CALL_STACK_INTERVALS_MS = List.of(1000, 10000);
+  public static final List<Integer> DEFAULT_MEMORY_SAMPLER_INTERVALS = List.of(1, 10);
+  public static final List<Integer> DEFAULT_RECORDING_DURATIONS_SECONDS = List.of(20, 60);
+
+  private final List<Integer> callStackIntervalsMs;
+  private final List<Integer> memorySamplerIntervals;
+  private final List<Integer> recordingDurationsSeconds;
+
+  public ProfilerSweep(List<Integer> callStackIntervalsMs, List<Integer> memorySamplerIntervals,
+      List<Integer> recordingDurationsSeconds) {
+    this.callStackIntervalsMs = List.copyOf(callStackIntervalsMs);
+    this.memorySamplerIntervals = List.copyOf(memorySamplerIntervals);
+    this.recordingDurationsSeconds = List.copyOf(recordingDurationsSeconds);
+  }
+
+  public List<ProfilerSettings> getSettings() {
+    List<ProfilerSettings> result = new ArrayList<>();
+    for (int interval : callStackIntervalsMs) {
+      for (int duration : recordingDurationsSeconds) {
+        result.add(new ProfilerSettings(interval, false, 0, duration));
+        for (int samplerInterval : memorySamplerIntervals) {
+          result.add(new ProfilerSettings(interval, true, samplerInterval, duration));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Settings -> the agent that runs with them, derived from the given agent without profiler.
+   */
+  public Map<ProfilerSettings, Agent> getAgents(Agent base) {
+    Map<ProfilerSettings, Agent> result = new LinkedHashMap<>();
+    for (ProfilerSettings settings : getSettings()) {
+      result.put(settings, base.toBuilder()
+          .name(settings.getName())
+          .description(base.getDescription() + " with " + settings.getDescription())
+          .addJvmArgs(settings.getJvmArgs().toArray(new String[0]))
+          .build());
+    }
+    return result;
+  }
+}
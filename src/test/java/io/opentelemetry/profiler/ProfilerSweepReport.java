@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.profiler;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.results.AppPerfResults;
+import io.opentelemetry.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ranks profiler settings by what the profiler adds to the agent without profiler, cheapest first. Costs are computed
+ * per pass against the agent without profiler of the same pass.
+ */
+public class ProfilerSweepReport {
+
+  private final Agent withoutProfiler;
+  private final Map<ProfilerSettings, Agent> agents;
+  private final List<List<AppPerfResults>> passes;
+  // agent name -> the profiler metrics of every pass
+  private final Map<String, List<ProfilerJfrMetrics>> profilerMetrics;
+
+  public ProfilerSweepReport(Agent withoutProfiler, Map<ProfilerSettings, Agent> agents,
+      List<List<AppPerfResults>> passes, Map<String, List<ProfilerJfrMetrics>> profilerMetrics) {
+    this.withoutProfiler = withoutProfiler;
+    this.agents = agents;
+    this.passes = passes;
+    this.profilerMetrics = profilerMetrics;
+  }
+
+  public String format() {
+    List<Row> rows = new ArrayList<>();
+    agents.forEach((settings, agent) -> rows.add(new Row(settings, agent)));
+    rows.sort(Comparator.comparingDouble(row -> row.cpu.mean()));
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("AlwaysOn profiler settings, cheapest first (%d passes)\n", passes.size()));
+    sb.append("Costs are added to ").append(withoutProfiler.getName())
+        .append(" in the same pass, as means with the half width of the 95% confidence interval\n\n");
+    sb.append(String.format("%-4s %-32s %22s %22s %22s %8s %9s %10s %9s %7s %9s\n",
+        "rank", "settings", "averageCpuUser", "requestP95", "totalAllocatedMB",
+        "dumps", "dump KB", "tlab evts", "tlab MB", "chunks", "flush ms"));
+    int rank = 1;
+    for (Row row : rows) {
+      sb.append(String.format("%-4d %-32s %s %s %s %8.0f %9.3f %10.0f %9.1f %7.1f %9.1f\n",
+          rank++, row.settings.getName(), format(row.cpu), format(row.latency), format(row.allocated),
+          row.average(ProfilerJfrMetrics::getThreadDumps),
+          row.average(ProfilerJfrMetrics::getAverageThreadDumpKB),
+          row.average(m -> m.getTlabAllocations() + m.getAllocationSamples()),
+          row.average(m -> (m.getTlabBytes() + m.getAllocationSampleBytes()) / (1024.0 * 1024.0)),
+          row.average(ProfilerJfrMetrics::getChunks),
+          row.average(ProfilerJfrMetrics::getFlushMs)));
+    }
+    sb.append(String.format("%-4s %-32s %22s %22s %22s %8.0f %9.3f %10.0f %9.1f %7.1f %9.1f\n",
+        "", "(" + withoutProfiler.getName() + ")", "", "", "",
+        average(withoutProfiler, ProfilerJfrMetrics::getThreadDumps),
+        average(withoutProfiler, ProfilerJfrMetrics::getAverageThreadDumpKB),
+        average(withoutProfiler, m -> m.getTlabAllocations() + m.getAllocationSamples()),
+        average(withoutProfiler, m -> (m.getTlabBytes() + m.getAllocationSampleBytes()) / (1024.0 * 1024.0)),
+        average(withoutProfiler, ProfilerJfrMetrics::getChunks),
+        average(withoutProfiler, ProfilerJfrMetrics::getFlushMs)));
+    return sb.toString();
+  }
+
+  private static String format(Statistics statistics) {
+    return String.format("%11.3f +/- %7.3f", statistics.mean(), statistics.confidenceInterval95());
+  }
+
+  private double average(Agent agent, ToDoubleFunction<ProfilerJfrMetrics> metric) {
+    return profilerMetrics.getOrDefault(agent.getName(), List.of()).stream()
+        .mapToDouble(metric)
+        .average()
+        .orElse(Double.NaN);
+  }
+
+  private double[] costPerPass(Agent agent, String field) {
+    return passes.stream()
+        .mapToDouble(pass -> value(pass, agent, field) - value(pass, withoutProfiler, field))
+        .toArray();
+  }
+
+  private static double value(List<AppPerfResults> pass, Agent agent, String field) {
+    return pass.stream()
+        .filter(result -> result.getAgentName().equals(agent.getName()))
+        .mapToDouble(result -> result.getFieldValue(field))
+        .findFirst()
+        .orElse(Double.NaN);
+  }
+
+  private class Row {
+    private final ProfilerSettings settings;
+    private final Agent agent;
+    private final Statistics cpu;
+    private final Statistics latency;
+    private final Statistics allocated;
+
+    private Row(ProfilerSettings settings, Agent agent) {
+      this.settings = settings;
+      this.agent = agent;
+      this.cpu = Statistics.of(costPerPass(agent, "averageCpuUser"));
+      this.latency = Statistics.of(costPerPass(agent, "requestP95"));
+      this.allocated = Statistics.of(costPerPass(agent, "totalAllocatedMB"));
+    }
+
+    private double average(ToDoubleFunction<ProfilerJfrMetrics> metric) {
+      return ProfilerSweepReport.this.average(agent, metric);
+    }
+  }
+}
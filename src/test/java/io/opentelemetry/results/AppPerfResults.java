@@ -31,7 +31,38 @@ public class AppPerfResults {
   final long runDurationMs;
   final long totalGcPauseNanos;
   final double throughputRequestsPerSecond;
-
+  final long peakRss;
+  final double averageRss;
+  final long peakContainerMemory;
+  final long peakMetaspace;
+  final long peakCodeCache;
+  final long peakThreadMemory;
+  final long dbCalls;
+  final long dbStatements;
+  final double dbExecTimeMs;
+  final long dbRows;
+  final long jitCompilations;
+  final long jitCompileTimeMs;
+  final long jitAgentCompileTimeMs;
+  final long jitInstrumentedCompileTimeMs;
+  final long jitCodeSize;
+  final long jitFailures;
+  final long deoptimizations;
+  final long blockedMs;
+  final long agentBlockedMs;
+  final long waitedMs;
+  final long agentWaitedMs;
+  final double blockedMsPerRequest;
+  final long safepoints;
+  final double safepointTimeMs;
+  final double safepointP99Ms;
+  final double timeToSafepointP99Ms;
+  final double cpuStealPercent;
+  final double cpuIowaitPercent;
+  final double loadAverage;
+  final double cpuThrottledMs;
+  final double cpuMhz;
+  final TimeSeries timeSeries;
 
   private AppPerfResults(Builder builder) {
     this.agent = builder.agent;
@@ -56,13 +87,56 @@ public class AppPerfResults {
     this.runDurationMs = builder.runDurationMs;
     this.totalGcPauseNanos = builder.totalGcPauseNanos;
     this.throughputRequestsPerSecond = builder.throughputRequestsPerSecond;
+    this.peakRss = builder.peakRss;
+    this.averageRss = builder.averageRss;
+    this.peakContainerMemory = builder.peakContainerMemory;
+    this.peakMetaspace = builder.peakMetaspace;
+    this.peakCodeCache = builder.peakCodeCache;
+    this.peakThreadMemory = builder.peakThreadMemory;
+    this.dbCalls = builder.dbCalls;
+    this.dbStatements = builder.dbStatements;
+    this.dbExecTimeMs = builder.dbExecTimeMs;
+    this.dbRows = builder.dbRows;
+    this.jitCompilations = builder.jitCompilations;
+    this.jitCompileTimeMs = builder.jitCompileTimeMs;
+    this.jitAgentCompileTimeMs = builder.jitAgentCompileTimeMs;
+    this.jitInstrumentedCompileTimeMs = builder.jitInstrumentedCompileTimeMs;
+    this.jitCodeSize = builder.jitCodeSize;
+    this.jitFailures = builder.jitFailures;
+    this.deoptimizations = builder.deoptimizations;
+    this.blockedMs = builder.blockedMs;
+    this.agentBlockedMs = builder.agentBlockedMs;
+    this.waitedMs = builder.waitedMs;
+    this.agentWaitedMs = builder.agentWaitedMs;
+    this.blockedMsPerRequest = builder.blockedMsPerRequest;
+    this.safepoints = builder.safepoints;
+    this.safepointTimeMs = builder.safepointTimeMs;
+    this.safepointP99Ms = builder.safepointP99Ms;
+    this.timeToSafepointP99Ms = builder.timeToSafepointP99Ms;
+    this.cpuStealPercent = builder.cpuStealPercent;
+    this.cpuIowaitPercent = builder.cpuIowaitPercent;
+    this.loadAverage = builder.loadAverage;
+    this.cpuThrottledMs = builder.cpuThrottledMs;
+    this.cpuMhz = builder.cpuMhz;
+    this.timeSeries = builder.timeSeries;
   }
 
   double getTotalAllocatedMB() {
     return totalAllocated / (1024.0 * 1024.0);
   }
 
-  String getAgentName() {
+  /**
+   * The value of one of the persisted fields (as named in the results csv header), e.g. "averageCpuUser".
+   */
+  public double getFieldValue(String fieldName) {
+    return ResultFields.FIELDS.stream()
+        .filter(field -> field.name.equals(fieldName))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown results field " + fieldName))
+        .getDouble(this);
+  }
+
+  public String getAgentName() {
     return agent.getName();
   }
   static Builder builder() {
@@ -92,6 +166,38 @@ public class AppPerfResults {
     public long runDurationMs;
     public long totalGcPauseNanos;
     public double throughputRequestsPerSecond;
+    public long peakRss;
+    public double averageRss;
+    public long peakContainerMemory;
+    public long peakMetaspace;
+    public long peakCodeCache;
+    public long peakThreadMemory;
+    public long dbCalls;
+    public long dbStatements;
+    public double dbExecTimeMs;
+    public long dbRows;
+    public long jitCompilations;
+    public long jitCompileTimeMs;
+    public long jitAgentCompileTimeMs;
+    public long jitInstrumentedCompileTimeMs;
+    public long jitCodeSize;
+    public long jitFailures;
+    public long deoptimizations;
+    public long blockedMs;
+    public long agentBlockedMs;
+    public long waitedMs;
+    public long agentWaitedMs;
+    public double blockedMsPerRequest;
+    public long safepoints;
+    public double safepointTimeMs;
+    public double safepointP99Ms;
+    public double timeToSafepointP99Ms;
+    public double cpuStealPercent;
+    public double cpuIowaitPercent;
+    public double loadAverage;
+    public double cpuThrottledMs;
+    public double cpuMhz;
+    public TimeSeries timeSeries;
 
     AppPerfResults build() {
       return new AppPerfResults(this);
@@ -206,6 +312,166 @@ public class AppPerfResults {
       this.throughputRequestsPerSecond = throughputRequestsPerSecond;
       return this;
     }
+
+    Builder peakRss(long peakRss){
+      this.peakRss = peakRss;
+      return this;
+    }
+
+    Builder averageRss(double averageRss){
+      this.averageRss = averageRss;
+      return this;
+    }
+
+    Builder peakContainerMemory(long peakContainerMemory){
+      this.peakContainerMemory = peakContainerMemory;
+      return this;
+    }
+
+    Builder peakMetaspace(long peakMetaspace){
+      this.peakMetaspace = peakMetaspace;
+      return this;
+    }
+
+    Builder peakCodeCache(long peakCodeCache){
+      this.peakCodeCache = peakCodeCache;
+      return this;
+    }
+
+    Builder peakThreadMemory(long peakThreadMemory){
+      this.peakThreadMemory = peakThreadMemory;
+      return this;
+    }
+
+    Builder dbCalls(long dbCalls){
+      this.dbCalls = dbCalls;
+      return this;
+    }
+
+    Builder dbStatements(long dbStatements){
+      this.dbStatements = dbStatements;
+      return this;
+    }
+
+    Builder dbExecTimeMs(double dbExecTimeMs){
+      this.dbExecTimeMs = dbExecTimeMs;
+      return this;
+    }
+
+    Builder dbRows(long dbRows){
+      this.dbRows = dbRows;
+      return this;
+    }
+
+    Builder jitCompilations(long jitCompilations){
+      this.jitCompilations = jitCompilations;
+      return this;
+    }
+
+    Builder jitCompileTimeMs(long jitCompileTimeMs){
+      this.jitCompileTimeMs = jitCompileTimeMs;
+      return this;
+    }
+
+    Builder jitAgentCompileTimeMs(long jitAgentCompileTimeMs){
+      this.jitAgentCompileTimeMs = jitAgentCompileTimeMs;
+      return this;
+    }
+
+    Builder jitInstrumentedCompileTimeMs(long jitInstrumentedCompileTimeMs){
+      this.jitInstrumentedCompileTimeMs = jitInstrumentedCompileTimeMs;
+      return this;
+    }
+
+    Builder jitCodeSize(long jitCodeSize){
+      this.jitCodeSize = jitCodeSize;
+      return this;
+    }
+
+    Builder jitFailures(long jitFailures){
+      this.jitFailures = jitFailures;
+      return this;
+    }
+
+    Builder deoptimizations(long deoptimizations){
+      this.deoptimizations = deoptimizations;
+      return this;
+    }
+
+    Builder blockedMs(long blockedMs){
+      this.blockedMs = blockedMs;
+      return this;
+    }
+
+    Builder agentBlockedMs(long agentBlockedMs){
+      this.agentBlockedMs = agentBlockedMs;
+      return this;
+    }
+
+    Builder waitedMs(long waitedMs){
+      this.waitedMs = waitedMs;
+      return this;
+    }
+
+    Builder agentWaitedMs(long agentWaitedMs){
+      this.agentWaitedMs = agentWaitedMs;
+      return this;
+    }
+
+    Builder blockedMsPerRequest(double blockedMsPerRequest){
+      this.blockedMsPerRequest = blockedMsPerRequest;
+      return this;
+    }
+
+    Builder safepoints(long safepoints){
+      this.safepoints = safepoints;
+      return this;
+    }
+
+    Builder safepointTimeMs(double safepointTimeMs){
+      this.safepointTimeMs = safepointTimeMs;
+      return this;
+    }
+
+    Builder safepointP99Ms(double safepointP99Ms){
+      this.safepointP99Ms = safepointP99Ms;
+      return this;
+    }
+
+    Builder timeToSafepointP99Ms(double timeToSafepointP99Ms){
+      this.timeToSafepointP99Ms = timeToSafepointP99Ms;
+      return this;
+    }
+
+    Builder cpuStealPercent(double cpuStealPercent){
+      this.cpuStealPercent = cpuStealPercent;
+      return this;
+    }
+
+    Builder cpuIowaitPercent(double cpuIowaitPercent){
+      this.cpuIowaitPercent = cpuIowaitPercent;
+      return this;
+    }
+
+    Builder loadAverage(double loadAverage){
+      this.loadAverage = loadAverage;
+      return this;
+    }
+
+    Builder cpuThrottledMs(double cpuThrottledMs){
+      this.cpuThrottledMs = cpuThrottledMs;
+      return this;
+    }
+
+    Builder cpuMhz(double cpuMhz){
+      this.cpuMhz = cpuMhz;
+      return this;
+    }
+
+    Builder timeSeries(TimeSeries timeSeries){
+      this.timeSeries = timeSeries;
+      return this;
+    }
   }
 
   public static class MinMax {
@@ -0,0 +1,125 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.columnar.ColumnType;
+import io.opentelemetry.columnar.ColumnarReader;
+import io.opentelemetry.columnar.ColumnarWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.opentelemetry.results.ResultFields.FIELDS;
+
+/**
+ * Writes the same values as {@link CsvPersister}, but as a columnar file with one group of rows per agent and one row
+ * per pass, which {@link ColumnarToResults} reads back.
+ * <p>
+ * The whole file is rewritten on every pass, on purpose. The rows of an agent are one group, so a pass adds a row to
+ * every group rather than a group at the end, and the columns of a group are encoded as a whole. With a few dozen
+ * columns and one row per pass the file stays in the kilobytes, and it is written aside and moved, so it never has a
+ * partial pass.
+ */
+class ColumnarResultsPersister implements ResultsPersister {
+
+  static final String TIMESTAMP = "timestamp";
+
+  private final Path resultsFile;
+
+  ColumnarResultsPersister(Path resultsFile) {
+    this.resultsFile = resultsFile;
+  }
+
+  @Override
+  public void write(List<AppPerfResults> results) {
+    long timestamp = System.currentTimeMillis() / 1000;
+    try {
+      Map<String, AgentRows> rows = readExisting();
+      for (AppPerfResults result : results) {
+        rows.computeIfAbsent(result.getAgentName(), x -> new AgentRows(0)).append(timestamp, result);
+      }
+      ColumnarWriter writer = new ColumnarWriter();
+      rows.forEach((agent, agentRows) -> agentRows.addTo(writer.group(agent, agentRows.count)));
+      writer.writeTo(resultsFile);
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing columnar results", e);
+    }
+  }
+
+  private Map<String, AgentRows> readExisting() throws IOException {
+    Map<String, AgentRows> result = new LinkedHashMap<>();
+    if (!Files.exists(resultsFile)) {
+      return result;
+    }
+    try (ColumnarReader reader = ColumnarReader.open(resultsFile)) {
+      for (ColumnarReader.RowGroup group : reader.getGroups()) {
+        AgentRows rows = new AgentRows(group.getRowCount());
+        rows.timestamps = reader.readLongColumn(group, TIMESTAMP);
+        for (ResultFields.FieldSpec field : FIELDS) {
+          // Columns that didn't exist yet when the file was started are backfilled like missing csv values
+          boolean present = reader.hasColumn(field.name) && reader.getColumnType(field.name) == field.type;
+          if (field.type == ColumnType.LONG) {
+            rows.longs.put(field.name, present ? reader.readLongColumn(group, field.name) : new long[rows.count]);
+          } else {
+            rows.doubles.put(field.name, present ? reader.readDoubleColumn(group, field.name) : nans(rows.count));
+          }
+        }
+        result.put(group.getKey(), rows);
+      }
+    }
+    return result;
+  }
+
+  private static double[] nans(int count) {
+    double[] result = new double[count];
+    Arrays.fill(result, Double.NaN);
+    return result;
+  }
+
+  private static class AgentRows {
+    private int count;
+    private long[] timestamps;
+    private final Map<String, long[]> longs = new LinkedHashMap<>();
+    private final Map<String, double[]> doubles = new LinkedHashMap<>();
+
+    private AgentRows(int count) {
+      this.count = count;
+      this.timestamps = new long[count];
+    }
+
+    private void append(long timestamp, AppPerfResults result) {
+      timestamps = Arrays.copyOf(timestamps, count + 1);
+      timestamps[count] = timestamp;
+      for (ResultFields.FieldSpec field : FIELDS) {
+        if (field.type == ColumnType.LONG) {
+          long[] values = Arrays.copyOf(longs.getOrDefault(field.name, new long[count]), count + 1);
+          values[count] = field.getLong(result);
+          longs.put(field.name, values);
+        } else {
+          double[] values = Arrays.copyOf(doubles.getOrDefault(field.name, nans(count)), count + 1);
+          values[count] = field.getDouble(result);
+          doubles.put(field.name, values);
+        }
+      }
+      count++;
+    }
+
+    private void addTo(ColumnarWriter writer) {
+      writer.addLongColumn(TIMESTAMP, timestamps);
+      for (ResultFields.FieldSpec field : FIELDS) {
+        if (field.type == ColumnType.LONG) {
+          writer.addLongColumn(field.name, longs.get(field.name));
+        } else {
+          writer.addDoubleColumn(field.name, doubles.get(field.name));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.columnar.ColumnType;
+import io.opentelemetry.columnar.ColumnarReader;
+import io.opentelemetry.config.TestConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// The columnar counterpart of CsvToResults, reads what ColumnarResultsPersister wrote. Results are returned pass by
+// pass like the csv lines.
+class ColumnarToResults {
+
+    static List<AppPerfResults> read(Path resultsFile) throws IOException {
+        return read(resultsFile, CsvToResults::findAgent, null);
+    }
+
+    // For files of agents that CsvToResults doesn't know, with a lookup of the agents by name and their config
+    static List<AppPerfResults> read(Path resultsFile, Function<String, Agent> agents, TestConfig config)
+            throws IOException {
+        try (ColumnarReader reader = ColumnarReader.open(resultsFile)) {
+            List<List<Map<String, String>>> rowsByAgent = new ArrayList<>();
+            int maxRows = 0;
+            for (ColumnarReader.RowGroup group : reader.getGroups()) {
+                rowsByAgent.add(readRows(reader, group));
+                maxRows = Math.max(maxRows, group.getRowCount());
+            }
+
+            List<AppPerfResults> result = new ArrayList<>();
+            for (int row = 0; row < maxRows; row++) {
+                for (List<Map<String, String>> agentRows : rowsByAgent) {
+                    if (row < agentRows.size()) {
+                        result.add(CsvToResults.toAppPerfResults(agentRows.get(row), agents, config));
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    // Same shape as the csv field values, so that both formats share the conversion. Columns that the file doesn't
+    // have are left out, like the fields of older csv files.
+    private static List<Map<String, String>> readRows(ColumnarReader reader, ColumnarReader.RowGroup group)
+            throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (int i = 0; i < group.getRowCount(); i++) {
+            Map<String, String> fieldValues = new HashMap<>();
+            fieldValues.put("agent", group.getKey());
+            rows.add(fieldValues);
+        }
+        for (ResultFields.FieldSpec field : ResultFields.FIELDS) {
+            if (!reader.hasColumn(field.name)) {
+                continue;
+            }
+            if (reader.getColumnType(field.name) == ColumnType.LONG) {
+                long[] values = reader.readLongColumn(group, field.name);
+                for (int i = 0; i < values.length; i++) {
+                    rows.get(i).put(field.name, String.valueOf(values[i]));
+                }
+            } else {
+                double[] values = reader.readDoubleColumn(group, field.name);
+                for (int i = 0; i < values.length; i++) {
+                    rows.get(i).put(field.name, String.valueOf(values[i]));
+                }
+            }
+        }
+        return rows;
+    }
+}
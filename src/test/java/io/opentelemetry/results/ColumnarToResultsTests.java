@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.agents.Agents;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Writes the results of a few passes with the {@link ColumnarResultsPersister} and reads them back with
+ * {@link ColumnarToResults}, which has to give every persisted field as it was measured.
+ */
+class ColumnarToResultsTests {
+
+  private static final Agent OTHER = Agent.builder().name("other").description("other").build();
+
+  @Test
+  void readsBackEveryFieldOfEveryPass() throws IOException {
+    Path file = Files.createTempDirectory("columnar").resolve("results.bin");
+    ColumnarResultsPersister persister = new ColumnarResultsPersister(file);
+    List<AppPerfResults> first = List.of(result(Agents.NONE, 1), result(OTHER, 2));
+    List<AppPerfResults> second = List.of(result(Agents.NONE, 3), result(OTHER, 4));
+    persister.write(first);
+    persister.write(second);
+
+    List<AppPerfResults> read = ColumnarToResults.read(file, name -> name.equals(OTHER.getName()) ? OTHER : Agents.NONE,
+        null);
+
+    // pass by pass, like the csv lines
+    List<AppPerfResults> written = List.of(first.get(0), first.get(1), second.get(0), second.get(1));
+    assertEquals(written.size(), read.size());
+    for (int i = 0; i < written.size(); i++) {
+      assertEquals(written.get(i).getAgentName(), read.get(i).getAgentName());
+      for (ResultFields.FieldSpec field : ResultFields.FIELDS) {
+        assertEquals(written.get(i).getFieldValue(field.name), read.get(i).getFieldValue(field.name),
+            "run " + i + " " + field.name);
+      }
+    }
+  }
+
+  @Test
+  void keepsMissingValuesMissing() throws IOException {
+    Path file = Files.createTempDirectory("columnar").resolve("results.bin");
+    new ColumnarResultsPersister(file).write(List.of(builder(Agents.NONE, 1).averageRss(Double.NaN)
+        .cpuStealPercent(Double.NaN).build()));
+
+    AppPerfResults read = ColumnarToResults.read(file).get(0);
+
+    assertEquals(Double.NaN, read.getFieldValue("averageRss"));
+    assertEquals(Double.NaN, read.getFieldValue("cpuStealPercent"));
+  }
+
+  // distinct values in every field, with fractions where the field has them
+  private static AppPerfResults result(Agent agent, int seed) {
+    return builder(agent, seed).build();
+  }
+
+  private static AppPerfResults.Builder builder(Agent agent, int seed) {
+    return AppPerfResults.builder()
+        .agent(agent)
+        .startupDurationMs(1000 + seed)
+        .heapUsed(new AppPerfResults.MinMax(1_000_000L * seed, 5_000_000L * seed))
+        .totalAllocated(123_456_789L * seed)
+        .totalGCTime(10 + seed)
+        .maxThreadContextSwitchRate(0.1f * seed)
+        .iterationAvg(1.25 * seed)
+        .iterationP95(2.5 * seed)
+        .requestAvg(0.75 * seed)
+        .requestP95(1.75 * seed)
+        .averageNetworkRead(1000 + seed)
+        .averageNetworkWrite(2000 + seed)
+        .peakThreadCount(40 + seed)
+        .averageJvmUserCpu(0.3f * seed)
+        .maxJvmUserCpu(0.9f * seed)
+        .averageJvmSystemCpu(0.05f * seed)
+        .maxJvmSystemCpu(0.15f * seed)
+        .averageMachineCpuTotal(0.7f * seed)
+        .runDurationMs(60_000 + seed)
+        .totalGcPauseNanos(seed * 1_000_000L)
+        .throughputRequestsPerSecond(500.5 * seed)
+        .peakRss(300_000_000L * seed)
+        .averageRss(250_000_000.5 * seed)
+        .peakContainerMemory(400_000_000L * seed)
+        .peakMetaspace(90_000_000L * seed)
+        .peakCodeCache(30_000_000L * seed)
+        .peakThreadMemory(20_000_000L * seed)
+        .dbCalls(10_000 + seed)
+        .dbStatements(20 + seed)
+        .dbExecTimeMs(123.456 * seed)
+        .dbRows(50_000 + seed)
+        .jitCompilations(8000 + seed)
+        .jitCompileTimeMs(4000 + seed)
+        .jitAgentCompileTimeMs(300 + seed)
+        .jitInstrumentedCompileTimeMs(700 + seed)
+        .jitCodeSize(40_000_000L * seed)
+        .jitFailures(seed)
+        .deoptimizations(100 + seed)
+        .blockedMs(50 + seed)
+        .agentBlockedMs(5 + seed)
+        .waitedMs(500 + seed)
+        .agentWaitedMs(7 + seed)
+        .blockedMsPerRequest(0.001 * seed)
+        .safepoints(200 + seed)
+        .safepointTimeMs(12.5 * seed)
+        .safepointP99Ms(0.8 * seed)
+        .timeToSafepointP99Ms(0.05 * seed)
+        .cpuStealPercent(0.2 * seed)
+        .cpuIowaitPercent(0.1 * seed)
+        .loadAverage(1.5 * seed)
+        .cpuThrottledMs(25.0 * seed)
+        .cpuMhz(2900.0 + seed);
+  }
+}
@@ -2,6 +2,7 @@ package io.opentelemetry.results;
 
 import io.opentelemetry.agents.Agent;
 import io.opentelemetry.agents.Agents;
+import io.opentelemetry.config.TestConfig;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
@@ -13,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.lang.Double.parseDouble;
@@ -23,24 +25,31 @@ import static java.lang.Long.parseLong;
 class CsvToResults {
 
     static List<AppPerfResults> read(String pathToFile) throws Exception {
+        return read(pathToFile, CsvToResults::findAgent, null);
+    }
 
-        BufferedReader in = new BufferedReader(new InputStreamReader(new BufferedInputStream(new FileInputStream(pathToFile))));
-        String first = in.readLine();
-        List<Field> fields = readFields(first);
-
-        List<AppPerfResults> result = new ArrayList<>();
-        while (true) {
-            String line = in.readLine();
-            if (line == null) break;
-            List<String> lineFields = Arrays.asList(line.split(","));
-            lineFields = lineFields.subList(1, lineFields.size());
-            result.addAll(buildResults(fields, lineFields));
+    // For files of agents that findAgent doesn't know, with a lookup of the agents by name and the config they ran with
+    static List<AppPerfResults> read(String pathToFile, Function<String, Agent> agents, TestConfig config)
+            throws Exception {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new BufferedInputStream(new FileInputStream(pathToFile))))) {
+            String first = in.readLine();
+            List<Field> fields = readFields(first);
+
+            List<AppPerfResults> result = new ArrayList<>();
+            while (true) {
+                String line = in.readLine();
+                if (line == null) break;
+                List<String> lineFields = Arrays.asList(line.split(","));
+                lineFields = lineFields.subList(1, lineFields.size());
+                result.addAll(buildResults(fields, lineFields, agents, config));
+            }
+
+            return result;
         }
-
-        return result;
     }
 
-    private static List<AppPerfResults> buildResults(List<Field> fields, List<String> lineFields) {
+    private static List<AppPerfResults> buildResults(List<Field> fields, List<String> lineFields,
+            Function<String, Agent> agents, TestConfig config) {
         Map<String, Map<String, String>> agentToFieldValues = new HashMap<>();
         fields.stream()
                 .map(f -> f.agent)
@@ -55,18 +64,22 @@ class CsvToResults {
                     fieldValues.put("agent", entry.getKey());   // throw agent in there for later
                     return fieldValues;
                 })
-                .map(CsvToResults::toAppPerfResults)
+                .map(fieldValues -> toAppPerfResults(fieldValues, agents, config))
                 .collect(Collectors.toList());
     }
 
-    private static AppPerfResults toAppPerfResults(Map<String, String> fv) {
+    // The field values of one agent and pass, as read from the csv or the columnar file
+    static AppPerfResults toAppPerfResults(Map<String, String> fv, Function<String, Agent> agents, TestConfig config) {
+        return toBuilder(fv, agents.apply(fv.get("agent"))).config(config).build();
+    }
+
+    private static AppPerfResults.Builder toBuilder(Map<String, String> fv, Agent agent) {
         AppPerfResults.MinMax heap = new AppPerfResults.MinMax(parseLong(fv.get("minHeapUsed")), parseLong(fv.get("maxHeapUsed")));
-        Agent agent = findAgent(fv.get("agent"));
         return AppPerfResults.builder()
                 .agent(agent)
                 .startupDurationMs(parseLong(fv.get("startupDurationMs")))
                 .heapUsed(heap)
-                .totalAllocated((long)parseDouble(fv.get("totalAllocatedMB"))*1024*1024)
+                .totalAllocated(Math.round(parseDouble(fv.get("totalAllocatedMB")) * 1024 * 1024))
                 .totalGCTime(parseLong(fv.get("totalGCTime")))
                 .maxThreadContextSwitchRate(parseFloat(fv.get("maxThreadContextSwitchRate")))
                 .iterationAvg(parseDouble(fv.get("iterationAvg")))
@@ -84,10 +97,54 @@ class CsvToResults {
                 .runDurationMs(parseLong(fv.get("runDurationMs")))
                 .totalGcPauseNanos(TimeUnit.MILLISECONDS.toNanos(parseLong(fv.get("gcPauseMs"))))
                 .throughputRequestsPerSecond(parseDouble(fv.get("throughputAvg")))
-                .build();
+                .peakRss(parseOptionalLong(fv.get("peakRss")))
+                .averageRss(parseMissingAsNaN(fv.get("averageRss")))
+                .peakContainerMemory(parseOptionalLong(fv.get("peakContainerMemory")))
+                .peakMetaspace(parseOptionalLong(fv.get("peakMetaspace")))
+                .peakCodeCache(parseOptionalLong(fv.get("peakCodeCache")))
+                .peakThreadMemory(parseOptionalLong(fv.get("peakThreadMemory")))
+                .dbCalls(parseOptionalLong(fv.get("dbCalls")))
+                .dbStatements(parseOptionalLong(fv.get("dbStatements")))
+                .dbExecTimeMs(parseOptionalDouble(fv.get("dbExecTimeMs")))
+                .dbRows(parseOptionalLong(fv.get("dbRows")))
+                .jitCompilations(parseOptionalLong(fv.get("jitCompilations")))
+                .jitCompileTimeMs(parseOptionalLong(fv.get("jitCompileTimeMs")))
+                .jitAgentCompileTimeMs(parseOptionalLong(fv.get("jitAgentCompileTimeMs")))
+                .jitInstrumentedCompileTimeMs(parseOptionalLong(fv.get("jitInstrumentedCompileTimeMs")))
+                .jitCodeSize(parseOptionalLong(fv.get("jitCodeSize")))
+                .jitFailures(parseOptionalLong(fv.get("jitFailures")))
+                .deoptimizations(parseOptionalLong(fv.get("deoptimizations")))
+                .blockedMs(parseOptionalLong(fv.get("blockedMs")))
+                .agentBlockedMs(parseOptionalLong(fv.get("agentBlockedMs")))
+                .waitedMs(parseOptionalLong(fv.get("waitedMs")))
+                .agentWaitedMs(parseOptionalLong(fv.get("agentWaitedMs")))
+                .blockedMsPerRequest(parseOptionalDouble(fv.get("blockedMsPerRequest")))
+                .safepoints(parseOptionalLong(fv.get("safepoints")))
+                .safepointTimeMs(parseOptionalDouble(fv.get("safepointTimeMs")))
+                .safepointP99Ms(parseOptionalDouble(fv.get("safepointP99Ms")))
+                .timeToSafepointP99Ms(parseOptionalDouble(fv.get("timeToSafepointP99Ms")))
+                .cpuStealPercent(parseMissingAsNaN(fv.get("cpuStealPercent")))
+                .cpuIowaitPercent(parseMissingAsNaN(fv.get("cpuIowaitPercent")))
+                .loadAverage(parseMissingAsNaN(fv.get("loadAverage")))
+                .cpuThrottledMs(parseMissingAsNaN(fv.get("cpuThrottledMs")))
+                .cpuMhz(parseMissingAsNaN(fv.get("cpuMhz")));
+    }
+
+    // Older results files were written before some of the fields existed
+    private static long parseOptionalLong(String value) {
+        return value == null ? 0 : parseLong(value);
+    }
+
+    private static double parseOptionalDouble(String value) {
+        return value == null ? 0 : parseDouble(value);
+    }
+
+    // Samples that an older run never took, which must not look like a quiet host
+    private static double parseMissingAsNaN(String value) {
+        return value == null ? Double.NaN : parseDouble(value);
     }
 
-    private static Agent findAgent(String agent) {
+    static Agent findAgent(String agent) {
         switch(agent){
             case "none":
                 return Agents.NONE;
@@ -0,0 +1,239 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.columnar.ColumnType;
+import io.opentelemetry.columnar.ColumnarReader;
+import io.opentelemetry.columnar.ColumnarWriter;
+import io.opentelemetry.util.Statistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains <code>history.bin</code> in the results directory: one row per run with per field rollups over the
+ * passes of that run, grouped by agent. Runs that are already in the index are never read again, so the cost of an
+ * aggregation only depends on the number of new runs. Run it with <code>./gradlew aggregateHistory</code>.
+ */
+public class HistoryAggregator {
+
+  static final String INDEX_FILE = "history.bin";
+  static final String RUN = "run";
+  static final String TIMESTAMP = "timestamp";
+  static final String PASSES = "passes";
+
+  private final Path resultsDir;
+
+  public HistoryAggregator(Path resultsDir) {
+    this.resultsDir = resultsDir;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path resultsDir = Paths.get(args.length > 0 ? args[0] : "results");
+    int added = new HistoryAggregator(resultsDir).aggregate();
+    System.out.println("Added " + added + " run(s) to " + resultsDir.resolve(INDEX_FILE));
+  }
+
+  /**
+   * Adds every run that isn't in the index yet and returns how many were added.
+   */
+  public int aggregate() throws IOException {
+    Path indexFile = resultsDir.resolve(INDEX_FILE);
+    Map<String, AgentHistory> history = readIndex(indexFile);
+    Set<String> knownRuns = new HashSet<>();
+    history.values().forEach(agentHistory -> knownRuns.addAll(agentHistory.runs));
+
+    int added = 0;
+    for (Path runDir : newRunDirs(knownRuns)) {
+      Map<String, Map<String, double[]>> runValues = readRun(runDir);
+      if (runValues.isEmpty()) {
+        continue;
+      }
+      String run = runDir.getFileName().toString();
+      for (Map.Entry<String, Map<String, double[]>> agentValues : runValues.entrySet()) {
+        history.computeIfAbsent(agentValues.getKey(), x -> new AgentHistory()).add(run, agentValues.getValue());
+      }
+      added++;
+    }
+    if (added > 0) {
+      write(indexFile, history);
+    }
+    return added;
+  }
+
+  private List<Path> newRunDirs(Set<String> knownRuns) throws IOException {
+    try (Stream<Path> dirs = Files.list(resultsDir)) {
+      return dirs
+          .filter(Files::isDirectory)
+          .filter(dir -> !knownRuns.contains(dir.getFileName().toString()))
+          .filter(dir -> Files.exists(dir.resolve("results.bin")) || Files.exists(dir.resolve("results.csv")))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  // agent -> field -> one value per pass, timestamp included
+  private static Map<String, Map<String, double[]>> readRun(Path runDir) throws IOException {
+    Path columnar = runDir.resolve("results.bin");
+    return Files.exists(columnar) ? readColumnarRun(columnar) : readCsvRun(runDir.resolve("results.csv"));
+  }
+
+  private static Map<String, Map<String, double[]>> readColumnarRun(Path file) throws IOException {
+    Map<String, Map<String, double[]>> result = new LinkedHashMap<>();
+    try (ColumnarReader reader = ColumnarReader.open(file)) {
+      for (ColumnarReader.RowGroup group : reader.getGroups()) {
+        Map<String, double[]> fields = new LinkedHashMap<>();
+        for (String column : reader.getColumnNames()) {
+          ColumnType type = reader.getColumnType(column);
+          if (type == ColumnType.LONG) {
+            fields.put(column, Arrays.stream(reader.readLongColumn(group, column)).asDoubleStream().toArray());
+          } else if (type == ColumnType.DOUBLE) {
+            fields.put(column, reader.readDoubleColumn(group, column));
+          }
+        }
+        result.put(group.getKey(), fields);
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, Map<String, double[]>> readCsvRun(Path file) throws IOException {
+    List<String[]> lines = new ArrayList<>();
+    String[] header;
+    try (BufferedReader in = Files.newBufferedReader(file)) {
+      String first = in.readLine();
+      if (first == null) {
+        return Map.of();
+      }
+      header = first.split(",");
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (!line.isBlank()) {
+          lines.add(line.split(","));
+        }
+      }
+    }
+    Map<String, Map<String, double[]>> result = new LinkedHashMap<>();
+    for (int column = 1; column < header.length; column++) {
+      int separator = header[column].lastIndexOf(':');
+      String agent = header[column].substring(0, separator);
+      String field = header[column].substring(separator + 1);
+      double[] values = new double[lines.size()];
+      double[] timestamps = new double[lines.size()];
+      for (int row = 0; row < lines.size(); row++) {
+        String[] line = lines.get(row);
+        values[row] = column < line.length ? Double.parseDouble(line[column]) : Double.NaN;
+        timestamps[row] = Double.parseDouble(line[0]);
+      }
+      Map<String, double[]> fields = result.computeIfAbsent(agent, x -> new LinkedHashMap<>());
+      fields.put(TIMESTAMP, timestamps);
+      fields.put(field, values);
+    }
+    return result;
+  }
+
+  private static Map<String, AgentHistory> readIndex(Path indexFile) throws IOException {
+    Map<String, AgentHistory> result = new LinkedHashMap<>();
+    if (!Files.exists(indexFile)) {
+      return result;
+    }
+    try (ColumnarReader reader = ColumnarReader.open(indexFile)) {
+      for (ColumnarReader.RowGroup group : reader.getGroups()) {
+        AgentHistory history = new AgentHistory();
+        history.runs.addAll(Arrays.asList(reader.readStringColumn(group, RUN)));
+        Arrays.stream(reader.readLongColumn(group, TIMESTAMP)).forEach(history.timestamps::add);
+        Arrays.stream(reader.readLongColumn(group, PASSES)).forEach(history.passes::add);
+        for (String column : reader.getColumnNames()) {
+          if (reader.getColumnType(column) == ColumnType.DOUBLE) {
+            List<Double> values = new ArrayList<>();
+            Arrays.stream(reader.readDoubleColumn(group, column)).forEach(values::add);
+            history.rollups.put(column, values);
+          }
+        }
+        result.put(group.getKey(), history);
+      }
+    }
+    return result;
+  }
+
+  private static void write(Path indexFile, Map<String, AgentHistory> history) throws IOException {
+    // every group needs the same columns, fields that an agent (or older runs) never had are filled with NaN
+    Set<String> columns = new LinkedHashSet<>();
+    history.values().forEach(agentHistory -> columns.addAll(agentHistory.rollups.keySet()));
+
+    ColumnarWriter writer = new ColumnarWriter();
+    for (Map.Entry<String, AgentHistory> entry : history.entrySet()) {
+      AgentHistory agentHistory = entry.getValue();
+      int rows = agentHistory.runs.size();
+      writer.group(entry.getKey(), rows)
+          .addStringColumn(RUN, agentHistory.runs.toArray(new String[0]))
+          .addLongColumn(TIMESTAMP, agentHistory.timestamps.stream().mapToLong(Long::longValue).toArray())
+          .addLongColumn(PASSES, agentHistory.passes.stream().mapToLong(Long::longValue).toArray());
+      for (String column : columns) {
+        double[] values = new double[rows];
+        Arrays.fill(values, Double.NaN);
+        List<Double> known = agentHistory.rollups.getOrDefault(column, List.of());
+        for (int i = 0; i < known.size(); i++) {
+          values[i] = known.get(i);
+        }
+        writer.addDoubleColumn(column, values);
+      }
+    }
+    writer.writeTo(indexFile);
+  }
+
+  private static class AgentHistory {
+    private final List<String> runs = new ArrayList<>();
+    private final List<Long> timestamps = new ArrayList<>();
+    private final List<Long> passes = new ArrayList<>();
+    // "field.rollup" -> one value per run
+    private final Map<String, List<Double>> rollups = new LinkedHashMap<>();
+
+    private void add(String run, Map<String, double[]> fields) {
+      int row = runs.size();
+      double[] passTimestamps = fields.getOrDefault(TIMESTAMP, new double[0]);
+      runs.add(run);
+      timestamps.add((long) Arrays.stream(passTimestamps).min().orElse(0));
+      passes.add((long) passTimestamps.length);
+      for (Map.Entry<String, double[]> field : fields.entrySet()) {
+        if (field.getKey().equals(TIMESTAMP)) {
+          continue;
+        }
+        Statistics statistics = Statistics.of(field.getValue());
+        addRollup(row, field.getKey() + ".mean", statistics.mean());
+        addRollup(row, field.getKey() + ".ci95", statistics.confidenceInterval95());
+        addRollup(row, field.getKey() + ".p50", statistics.median());
+        addRollup(row, field.getKey() + ".p95", statistics.percentile(95));
+      }
+      // keep every column as long as the runs
+      rollups.values().forEach(values -> {
+        while (values.size() <= row) {
+          values.add(Double.NaN);
+        }
+      });
+    }
+
+    private void addRollup(int row, String column, double value) {
+      List<Double> values = rollups.computeIfAbsent(column, x -> new ArrayList<>());
+      while (values.size() < row) {
+        values.add(Double.NaN);
+      }
+      values.add(value);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.util.Statistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether the host was noisy during a run, from the host noise fields that the {@code HostNoiseSampler}
+ * measured in its window. Steal, iowait and the CPU clock don't depend on the agent, so for these a run is compared
+ * with the runs of every agent. The load average and the throttling rise with the agent's own CPU overhead, so for
+ * these a run is only compared with the runs of the same agent, or the more expensive agents would be rejected until
+ * a cheaper looking run passes.
+ * <p>
+ * An indicator is an outlier when its modified z-score (Iglewicz and Hoaglin: 0.6745 times the distance to the median
+ * of the other runs over their median absolute deviation) is above {@link #MODIFIED_Z_THRESHOLD}, in the direction
+ * that hurts, and the distance is larger than the indicator's floor, so that a perfectly quiet history (a MAD of 0)
+ * doesn't reject a run over a tick of steal. Until there are {@link #MIN_PEERS} other runs, only the absolute limits
+ * of steal and iowait apply.
+ */
+public class HostNoiseDetector {
+
+  static final double MODIFIED_Z_THRESHOLD = 3.5;
+  static final int MIN_PEERS = 5;
+  private static final double MAD_TO_Z = 0.6745;
+
+  private static final List<Indicator> INDICATORS = List.of(
+      new Indicator("cpuStealPercent", false, true, 1.0, 5.0),
+      new Indicator("cpuIowaitPercent", false, true, 2.0, 10.0),
+      new Indicator("loadAverage", true, true, 1.0, Double.NaN),
+      new Indicator("cpuThrottledMs", true, true, 100.0, Double.NaN),
+      // a clock that dropped, because of thermal limits or a power governor
+      new Indicator("cpuMhz", false, false, 100.0, Double.NaN)
+  );
+
+  /**
+   * The reasons why the run is contaminated by host noise, empty when it isn't.
+   *
+   * @param peers the other runs of the test, the run itself may be part of them
+   */
+  public List<String> contamination(AppPerfResults run, List<AppPerfResults> peers) {
+    List<AppPerfResults> others = peers.stream().filter(peer -> peer != run).collect(Collectors.toList());
+    List<String> reasons = new ArrayList<>();
+    for (Indicator indicator : INDICATORS) {
+      List<AppPerfResults> comparable = indicator.agentDependent
+          ? others.stream().filter(peer -> peer.getAgentName().equals(run.getAgentName())).collect(Collectors.toList())
+          : others;
+      String reason = indicator.evaluate(run.getFieldValue(indicator.field), values(comparable, indicator.field));
+      if (reason != null) {
+        reasons.add(reason);
+      }
+    }
+    return reasons;
+  }
+
+  /**
+   * Writes the host noise of every run, each compared with the others, and flags the contaminated ones.
+   */
+  public void writeReport(List<AppPerfResults> results, Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%-22s %4s", "agent", "run"));
+    INDICATORS.forEach(indicator -> sb.append(String.format(" %17s", indicator.field)));
+    sb.append("  verdict\n");
+    int contaminated = 0;
+    for (int i = 0; i < results.size(); i++) {
+      AppPerfResults run = results.get(i);
+      sb.append(String.format("%-22s %4d", run.getAgentName(), i + 1));
+      INDICATORS.forEach(indicator -> sb.append(String.format(" %17.2f", run.getFieldValue(indicator.field))));
+      List<String> reasons = contamination(run, results);
+      if (!reasons.isEmpty()) {
+        contaminated++;
+      }
+      sb.append("  ").append(reasons.isEmpty() ? "ok" : "NOISY: " + String.join("; ", reasons)).append('\n');
+    }
+    sb.append('\n').append(contaminated).append(" of ").append(results.size())
+        .append(" runs were measured on a noisy host\n");
+    Files.writeString(file, sb.toString());
+  }
+
+  private static double[] values(List<AppPerfResults> results, String field) {
+    return results.stream().mapToDouble(result -> result.getFieldValue(field)).toArray();
+  }
+
+  /**
+   * The modified z-score of the value against the peers, in the direction that hurts: positive when the value is
+   * worse than their median. Infinite when the value is off a median that all the peers share, NaN without peers.
+   */
+  static double modifiedZScore(double value, double[] peers, boolean higherIsWorse) {
+    Statistics statistics = Statistics.of(peers);
+    double distance = (higherIsWorse ? 1 : -1) * (value - statistics.median());
+    double mad = statistics.medianAbsoluteDeviation();
+    if (mad == 0) {
+      return distance == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, distance);
+    }
+    return MAD_TO_Z * distance / mad;
+  }
+
+  private static class Indicator {
+    private final String field;
+    // the agent's own overhead moves it, so it is only compared across the runs of one agent
+    private final boolean agentDependent;
+    private final boolean higherIsWorse;
+    // the smallest distance from the median that is worth a rerun
+    private final double floor;
+    // rejects a run regardless of the others, NaN for none
+    private final double limit;
+
+    private Indicator(String field, boolean agentDependent, boolean higherIsWorse, double floor, double limit) {
+      this.field = field;
+      this.agentDependent = agentDependent;
+      this.higherIsWorse = higherIsWorse;
+      this.floor = floor;
+      this.limit = limit;
+    }
+
+    private String evaluate(double value, double[] peers) {
+      if (Double.isNaN(value)) {
+        return null;
+      }
+      if (!Double.isNaN(limit) && value > limit) {
+        return String.format("%s %.2f above %.2f", field, value, limit);
+      }
+      Statistics statistics = Statistics.of(peers);
+      if (statistics.count() < MIN_PEERS) {
+        return null;
+      }
+      double median = statistics.median();
+      double distance = (higherIsWorse ? 1 : -1) * (value - median);
+      if (distance <= floor) {
+        return null;
+      }
+      double modifiedZ = modifiedZScore(value, peers, higherIsWorse);
+      if (modifiedZ <= MODIFIED_Z_THRESHOLD) {
+        return null;
+      }
+      return String.format("%s %.2f against a median of %.2f (z %.1f)", field, value, median, modifiedZ);
+    }
+  }
+}
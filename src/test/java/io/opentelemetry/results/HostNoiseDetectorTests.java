@@ -0,0 +1,104 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The modified z-score rule of the {@link HostNoiseDetector} on fixed samples, where the median, the median absolute
+ * deviation and so the outliers are known.
+ */
+class HostNoiseDetectorTests {
+
+  private static final Agent NONE = Agent.builder().name("none").description("none").build();
+  private static final Agent EXPENSIVE = Agent.builder().name("expensive").description("expensive").build();
+
+  private final HostNoiseDetector detector = new HostNoiseDetector();
+
+  @Test
+  void scoresTheDistanceToTheMedianOverTheMad() {
+    // median 3, absolute deviations 2, 1, 0, 1, 2 so a MAD of 1
+    double[] peers = {1, 2, 3, 4, 5};
+    assertEquals(0.6745 * 7, HostNoiseDetector.modifiedZScore(10, peers, true), 1e-9);
+    assertEquals(-0.6745 * 7, HostNoiseDetector.modifiedZScore(10, peers, false), 1e-9);
+    assertEquals(0.6745 * 2, HostNoiseDetector.modifiedZScore(1, peers, false), 1e-9);
+    assertEquals(0, HostNoiseDetector.modifiedZScore(3, peers, true), 1e-9);
+  }
+
+  @Test
+  void scoresAgainstPeersWithoutDeviation() {
+    double[] peers = {3, 3, 3, 3, 3};
+    assertEquals(Double.POSITIVE_INFINITY, HostNoiseDetector.modifiedZScore(4, peers, true));
+    assertEquals(Double.NEGATIVE_INFINITY, HostNoiseDetector.modifiedZScore(2, peers, true));
+    assertEquals(0, HostNoiseDetector.modifiedZScore(3, peers, true));
+  }
+
+  @Test
+  void flagsTheOneOutlier() {
+    List<AppPerfResults> runs = runs(NONE, new double[] {0.5, 0.6, 0.4, 0.5, 0.7, 3.0},
+        (builder, value) -> builder.cpuStealPercent(value));
+    for (int i = 0; i < runs.size() - 1; i++) {
+      assertEquals(List.of(), detector.contamination(runs.get(i), runs), "run " + i);
+    }
+    List<String> reasons = detector.contamination(runs.get(runs.size() - 1), runs);
+    assertEquals(1, reasons.size());
+    assertTrue(reasons.get(0).startsWith("cpuStealPercent 3.00 against a median of 0.50"), reasons.get(0));
+  }
+
+  @Test
+  void needsEnoughPeers() {
+    List<AppPerfResults> runs = runs(NONE, new double[] {0.5, 0.6, 0.4, 0.5, 3.0},
+        (builder, value) -> builder.cpuStealPercent(value));
+    assertEquals(List.of(), detector.contamination(runs.get(4), runs));
+  }
+
+  @Test
+  void appliesTheAbsoluteLimitWithoutPeers() {
+    AppPerfResults run = AppPerfResults.builder().agent(NONE).cpuIowaitPercent(12).build();
+    assertEquals(List.of("cpuIowaitPercent 12.00 above 10.00"), detector.contamination(run, List.of(run)));
+  }
+
+  @Test
+  void flagsAClockThatDropped() {
+    List<AppPerfResults> runs = runs(NONE, new double[] {3000, 3010, 2990, 3005, 2995, 2400},
+        (builder, value) -> builder.cpuMhz(value));
+    assertEquals(1, detector.contamination(runs.get(5), runs).size());
+  }
+
+  @Test
+  void comparesTheLoadOnlyWithTheSameAgent() {
+    List<AppPerfResults> runs = new ArrayList<>(runs(NONE, new double[] {1.0, 1.1, 0.9, 1.0, 1.2, 0.8, 1.0, 1.1},
+        (builder, value) -> builder.loadAverage(value).cpuThrottledMs(10 * value)));
+    // the agent's own overhead raises its load and throttling, in every run alike
+    runs.addAll(runs(EXPENSIVE, new double[] {3.0, 3.1, 2.9, 3.0, 3.2, 2.8},
+        (builder, value) -> builder.loadAverage(value).cpuThrottledMs(1000 * value)));
+    for (AppPerfResults run : runs) {
+      assertEquals(List.of(), detector.contamination(run, runs));
+    }
+
+    AppPerfResults outlier = AppPerfResults.builder().agent(EXPENSIVE).loadAverage(6.0).cpuThrottledMs(3000).build();
+    runs.add(outlier);
+    List<String> reasons = detector.contamination(outlier, runs);
+    assertEquals(1, reasons.size());
+    assertTrue(reasons.get(0).startsWith("loadAverage 6.00 against a median of 3.00"), reasons.get(0));
+  }
+
+  private static List<AppPerfResults> runs(Agent agent, double[] values,
+      BiFunction<AppPerfResults.Builder, Double, AppPerfResults.Builder> field) {
+    List<AppPerfResults> runs = new ArrayList<>();
+    for (double value : values) {
+      runs.add(field.apply(AppPerfResults.builder().agent(agent), value).build());
+    }
+    return runs;
+  }
+}
@@ -4,7 +4,10 @@
  */
 package io.opentelemetry.results;
 
+import io.opentelemetry.agents.Agents;
 import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.flamegraph.FlameGraphs;
+import io.opentelemetry.util.NamingConvention;
 import io.opentelemetry.util.NamingConventions;
 
 import java.io.IOException;
@@ -17,24 +20,149 @@ public class MainResultsPersister {
 
   private final TestConfig config;
   private final Path outputDir;
+  private final NamingConvention local;
+  private final FlameGraphs flameGraphs = new FlameGraphs(Agents.NONE.getName());
+  private final RetainedHeapReport retainedHeap = new RetainedHeapReport(Agents.NONE);
+  private final TailLatencyReport tailLatency = new TailLatencyReport();
+  private final RunJournal journal;
+  private int passesWritten = 0;
 
   public MainResultsPersister(TestConfig config, NamingConventions namingConventions) {
+    this(config, namingConventions, false);
+  }
+
+  /**
+   * @param resume continue the run that the journal in the results directory recorded, instead of starting over
+   */
+  public MainResultsPersister(TestConfig config, NamingConventions namingConventions, boolean resume) {
     this.config = config;
     this.outputDir = Paths.get(namingConventions.localResults(), config.getName());
+    this.local = namingConventions.local;
+    this.journal = RunJournal.open(config, outputDir, resume);
+    if (resume) {
+      addWrittenProfiles();
+    }
+  }
+
+  // the recordings of the passes before the resume are gone, but not their profiles. A pass that was not written is
+  // run again, so its profiles are left out, they would be counted twice.
+  private void addWrittenProfiles() {
+    try {
+      for (int pass = 0; pass < config.getNumberOfPasses(); pass++) {
+        if (journal.isWritten(pass)) {
+          flameGraphs.addWritten(journal.passDir(pass));
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error reading the flame graphs of the resumed run", e);
+    }
+  }
+
+  public RunJournal getJournal() {
+    return journal;
   }
 
   public void writePass(List<AppPerfResults> singlePassResults) {
+    int pass = passesWritten++;
+    if (journal.isWritten(pass)) {
+      // by the run that was resumed
+      return;
+    }
+    singlePassResults.stream()
+        .filter(result -> !journal.isCompleted(pass, result.agent))
+        .forEach(result -> journal.completed(pass, result));
+
     ensureCreated(outputDir);
-    new CsvPersister(outputDir.resolve("results.csv")).write(singlePassResults);
+    Path csvFile = outputDir.resolve("results.csv");
+    Path columnarFile = outputDir.resolve("results.bin");
+    journal.writing(pass, csvFile, columnarFile);
+    new CsvPersister(csvFile).write(singlePassResults);
+    new ColumnarResultsPersister(columnarFile).write(singlePassResults);
+    new TimeSeriesPersister(outputDir.resolve("timeseries"), pass + 1).write(singlePassResults);
+    addProfiles(pass, singlePassResults);
 
     // TODO: have these average the results and print them out at the end
     new ConsoleResultsPersister().write(singlePassResults);
     new FileSummaryPersister(outputDir.resolve("summary.txt")).write(singlePassResults);
+    journal.written(pass);
   }
 
-  public void writeAll(List<AppPerfResults> results) {
+  /**
+   * Writes the summaries of all passes, as recorded in the journal, including those from before a resume.
+   */
+  public void writeAll() {
+    List<AppPerfResults> results = journal.getAllResults();
     new YamlSummaryPersister(outputDir.resolve("results.yaml")).write(results);
     new ConfigPersister(outputDir.resolve("config.json")).write(config);
+    try {
+      flameGraphs.write(outputDir.resolve("flamegraphs"));
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing flame graphs", e);
+    }
+    try {
+      new HostNoiseDetector().writeReport(results, outputDir.resolve("host-noise.txt"));
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing the host noise report", e);
+    }
+    if (!retainedHeap.isEmpty()) {
+      try {
+        retainedHeap.write(outputDir.resolve("retained-heap.txt"));
+      } catch (IOException e) {
+        throw new RuntimeException("Error writing the retained heap report", e);
+      }
+    }
+    if (!tailLatency.isEmpty()) {
+      try {
+        tailLatency.write(outputDir.resolve("tail-latency.txt"));
+      } catch (IOException e) {
+        throw new RuntimeException("Error writing the tail latency report", e);
+      }
+    }
+  }
+
+  // the recordings, class histograms and tail dumps are overwritten by the next pass, so they are reduced right away
+  private void addProfiles(int pass, List<AppPerfResults> singlePassResults) {
+    try {
+      for (AppPerfResults result : singlePassResults) {
+        if (journal.isResumed(pass, result.agent)) {
+          // its recording is gone
+          continue;
+        }
+        flameGraphs.addPass(result.getAgentName(), local.jfrFile(result.agent));
+        retainedHeap.addPass(result.agent, local);
+        tailLatency.addPass(pass, result.agent, local);
+      }
+      flameGraphs.writePass(journal.passDir(pass));
+    } catch (IOException e) {
+      throw new RuntimeException("Error reading the recordings of pass " + (pass + 1), e);
+    }
+  }
+
+  /**
+   * Compares the run against the history index and writes the verdict as regression.json and regression.txt.
+   */
+  public RegressionVerdict detectRegressions(List<AppPerfResults> results, Path historyFile) {
+    try {
+      RegressionVerdict verdict = new RegressionDetector(historyFile).detect(results);
+      verdict.writeJson(outputDir.resolve("regression.json"));
+      verdict.writeReport(outputDir.resolve("regression.txt"));
+      return verdict;
+    } catch (IOException e) {
+      throw new RuntimeException("Error detecting regressions", e);
+    }
+  }
+
+  /**
+   * Writes the outcome of the stopping rule of a sequential run as stopping.json and stopping.txt.
+   */
+  public void writeStoppingDecision(StoppingDecision decision) {
+    try {
+      ensureCreated(outputDir);
+      decision.writeJson(outputDir.resolve("stopping.json"));
+      decision.writeReport(outputDir.resolve("stopping.txt"));
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing the stopping decision", e);
+    }
   }
 
   private void ensureCreated(Path outputDir) {
@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The overhead of the agents across the variants of a test, side by side: the JDKs of a matrix run or the sizes of
+ * the dataset. The overhead in a variant is relative to the baseline in that same variant, so it shows how the cost of
+ * the instrumentation changes, not how fast the app is. The results of every variant are in their own results
+ * directory.
+ */
+public class OverheadComparisonReport {
+
+  private final String baseline;
+  private final List<String> metrics;
+  // name -> description of every variant
+  private final Map<String, String> variants = new LinkedHashMap<>();
+  private final Map<String, List<AppPerfResults>> results = new LinkedHashMap<>();
+
+  public OverheadComparisonReport(String baseline, List<String> metrics) {
+    this.baseline = baseline;
+    this.metrics = metrics;
+  }
+
+  public void add(String variant, String description, List<AppPerfResults> variantResults) {
+    variants.put(variant, description);
+    results.computeIfAbsent(variant, x -> new ArrayList<>()).addAll(variantResults);
+  }
+
+  public void write(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Mean over the passes per variant, with the overhead relative to ").append(baseline)
+        .append(" in the same variant.\n");
+    variants.forEach((variant, description) -> sb.append("  ").append(description).append('\n'));
+    List<String> agents = agents();
+    for (String metric : metrics) {
+      sb.append('\n').append(metric).append('\n');
+      sb.append(String.format("  %-24s", "agent"));
+      results.keySet().forEach(variant -> sb.append(String.format(" %22s", variant)));
+      sb.append('\n');
+      for (String agent : agents) {
+        sb.append(String.format("  %-24s", agent));
+        results.forEach((variant, variantResults) -> {
+          double value = mean(variantResults, agent, metric);
+          double none = mean(variantResults, baseline, metric);
+          if (Double.isNaN(value)) {
+            sb.append(String.format(" %22s", "-"));
+          } else if (agent.equals(baseline) || Double.isNaN(none) || none == 0) {
+            sb.append(String.format(" %22.2f", value));
+          } else {
+            sb.append(String.format(" %12.2f (%+6.1f%%)", value, 100 * (value - none) / none));
+          }
+        });
+        sb.append('\n');
+      }
+    }
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, sb.toString());
+  }
+
+  private List<String> agents() {
+    List<String> agents = new ArrayList<>();
+    agents.add(baseline);
+    results.values().stream().flatMap(List::stream)
+        .map(AppPerfResults::getAgentName)
+        .filter(agent -> !agents.contains(agent))
+        .forEach(agents::add);
+    return agents;
+  }
+
+  private static double mean(List<AppPerfResults> results, String agent, String metric) {
+    return results.stream()
+        .filter(result -> result.getAgentName().equals(agent))
+        .mapToDouble(result -> result.getFieldValue(metric))
+        .average()
+        .orElse(Double.NaN);
+  }
+}
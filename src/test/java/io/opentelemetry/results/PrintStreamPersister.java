@@ -56,6 +56,37 @@ class PrintStreamPersister implements ResultsPersister {
     display(results, "Net write avg (bps)", res -> format(res.averageNetworkWrite));
     display(results, "Peak threads", res -> String.valueOf(res.peakThreadCount));
     display(results, "Throughput (RPS)", res -> format(res.throughputRequestsPerSecond));
+    display(results, "RSS (peak MB)", res -> format(toMB(res.peakRss)));
+    display(results, "RSS (avg MB)", res -> format(toMB(res.averageRss)));
+    display(results, "Container mem (MB)", res -> format(toMB(res.peakContainerMemory)));
+    display(results, "Metaspace (MB)", res -> format(toMB(res.peakMetaspace)));
+    display(results, "Code cache (MB)", res -> format(toMB(res.peakCodeCache)));
+    display(results, "Thread memory (MB)", res -> format(toMB(res.peakThreadMemory)));
+    display(results, "DB calls", res -> String.valueOf(res.dbCalls));
+    display(results, "DB statements", res -> String.valueOf(res.dbStatements));
+    display(results, "DB exec time (ms)", res -> format(res.dbExecTimeMs));
+    display(results, "DB rows", res -> String.valueOf(res.dbRows));
+    display(results, "JIT compilations", res -> String.valueOf(res.jitCompilations));
+    display(results, "JIT time (ms)", res -> String.valueOf(res.jitCompileTimeMs));
+    display(results, "JIT agent time (ms)", res -> String.valueOf(res.jitAgentCompileTimeMs));
+    display(results, "JIT instrumented time (ms)", res -> String.valueOf(res.jitInstrumentedCompileTimeMs));
+    display(results, "JIT code (KB)", res -> String.valueOf(res.jitCodeSize / 1024));
+    display(results, "JIT failures", res -> String.valueOf(res.jitFailures));
+    display(results, "Deoptimizations", res -> String.valueOf(res.deoptimizations));
+    display(results, "Blocked (ms)", res -> String.valueOf(res.blockedMs));
+    display(results, "Agent blocked (ms)", res -> String.valueOf(res.agentBlockedMs));
+    display(results, "Waited (ms)", res -> String.valueOf(res.waitedMs));
+    display(results, "Agent waited (ms)", res -> String.valueOf(res.agentWaitedMs));
+    display(results, "Blocked/request (ms)", res -> format(res.blockedMsPerRequest));
+    display(results, "Safepoints", res -> String.valueOf(res.safepoints));
+    display(results, "Safepoint time (ms)", res -> format(res.safepointTimeMs));
+    display(results, "Safepoint p99 (ms)", res -> format(res.safepointP99Ms));
+    display(results, "TTSP p99 (ms)", res -> format(res.timeToSafepointP99Ms));
+    display(results, "CPU steal (%)", res -> format(res.cpuStealPercent));
+    display(results, "CPU iowait (%)", res -> format(res.cpuIowaitPercent));
+    display(results, "Load average", res -> format(res.loadAverage));
+    display(results, "Throttled (ms)", res -> format(res.cpuThrottledMs));
+    display(results, "CPU clock (MHz)", res -> format(res.cpuMhz));
   }
 
   private void display(List<AppPerfResults> results, String pref,
@@ -71,4 +102,8 @@ class PrintStreamPersister implements ResultsPersister {
     return String.format("%.2f", d);
   }
 
+  private double toMB(double bytes) {
+    return bytes / (1024.0 * 1024.0);
+  }
+
 }
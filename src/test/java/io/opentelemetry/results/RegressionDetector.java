@@ -0,0 +1,194 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agents;
+import io.opentelemetry.columnar.ColumnarReader;
+import io.opentelemetry.util.Statistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the overhead of every agent in a new run against the rolling baseline of the most recent runs in the
+ * history index (see {@link HistoryAggregator}).
+ * <p>
+ * Overhead is the agent's value minus the uninstrumented value of the same run, which cancels out most of the
+ * differences between test hosts. The baseline is the median of the window with the scaled median absolute deviation
+ * as its spread, widened by the pass to pass noise of the new run. A one sided CUSUM over the window followed by the
+ * new run flags a regression when it crosses {@link #CUSUM_THRESHOLD} with the new run itself above the baseline, and
+ * the change is large enough to matter ({@link #MIN_CHANGE_PERCENT} of the uninstrumented value).
+ */
+public class RegressionDetector {
+
+  static final int BASELINE_WINDOW = 20;
+  static final int MIN_BASELINE_RUNS = 5;
+  static final double CUSUM_SLACK = 0.5;
+  static final double CUSUM_THRESHOLD = 4.0;
+  static final double MIN_CHANGE_PERCENT = 2.0;
+  // scales the MAD to the standard deviation of normally distributed values
+  private static final double MAD_TO_SIGMA = 1.4826;
+
+  // the metrics worth gating a release on, and whether higher values are worse
+  private static final Map<String, Boolean> METRICS = new LinkedHashMap<>();
+
+  static {
+    METRICS.put("startupDurationMs", true);
+    METRICS.put("averageCpuUser", true);
+    METRICS.put("maxHeapUsed", true);
+    METRICS.put("totalAllocatedMB", true);
+    METRICS.put("gcPauseMs", true);
+    METRICS.put("iterationAvg", true);
+    METRICS.put("requestAvg", true);
+    METRICS.put("requestP95", true);
+    METRICS.put("throughputAvg", false);
+    METRICS.put("peakRss", true);
+    // extra round trips to the database
+    METRICS.put("dbCalls", true);
+    METRICS.put("jitCodeSize", true);
+    METRICS.put("safepointTimeMs", true);
+  }
+
+  private final Path historyFile;
+
+  public RegressionDetector(Path historyFile) {
+    this.historyFile = historyFile;
+  }
+
+  public RegressionVerdict detect(List<AppPerfResults> results) throws IOException {
+    Map<String, List<AppPerfResults>> byAgent = results.stream()
+        .collect(Collectors.groupingBy(AppPerfResults::getAgentName, LinkedHashMap::new, Collectors.toList()));
+    String baselineAgent = Agents.NONE.getName();
+    List<AppPerfResults> uninstrumented = byAgent.get(baselineAgent);
+    if (uninstrumented == null) {
+      throw new IllegalArgumentException("Regression detection needs the " + baselineAgent + " agent in the run");
+    }
+
+    Map<String, AgentHistory> history = readHistory(byAgent.keySet());
+    List<RegressionVerdict.Finding> findings = new ArrayList<>();
+    for (Map.Entry<String, List<AppPerfResults>> agent : byAgent.entrySet()) {
+      if (agent.getKey().equals(baselineAgent)) {
+        continue;
+      }
+      for (Map.Entry<String, Boolean> metric : METRICS.entrySet()) {
+        Statistics current = Statistics.of(values(agent.getValue(), metric.getKey()));
+        Statistics none = Statistics.of(values(uninstrumented, metric.getKey()));
+        double[] overheadHistory = overheadHistory(history, agent.getKey(), baselineAgent, metric.getKey());
+        findings.add(evaluate(agent.getKey(), metric.getKey(), metric.getValue(), current, none, overheadHistory));
+      }
+    }
+    return new RegressionVerdict(BASELINE_WINDOW, findings);
+  }
+
+  private static RegressionVerdict.Finding evaluate(String agent, String metric, boolean higherIsWorse,
+      Statistics current, Statistics none, double[] history) {
+    double overhead = current.mean() - none.mean();
+    if (history.length < MIN_BASELINE_RUNS || Double.isNaN(overhead)) {
+      return new RegressionVerdict.Finding(agent, metric, history.length, Double.NaN, overhead, Double.NaN,
+          Double.NaN, Double.NaN, Double.NaN, true, false);
+    }
+
+    Statistics baseline = Statistics.of(history);
+    double center = baseline.median();
+    double historicalSigma = MAD_TO_SIGMA * baseline.medianAbsoluteDeviation();
+    // the confidence interval of a difference of two means, turned back into a standard error
+    double runNoise = Math.hypot(current.confidenceInterval95(), none.confidenceInterval95()) / 1.96;
+    double sigma = Math.hypot(historicalSigma, runNoise);
+    if (sigma == 0) {
+      sigma = Math.max(Math.abs(center), Math.abs(none.mean())) * 1e-3 + Double.MIN_VALUE;
+    }
+    double direction = higherIsWorse ? 1 : -1;
+
+    double cusum = 0;
+    for (double value : history) {
+      cusum = Math.max(0, cusum + direction * (value - center) / sigma - CUSUM_SLACK);
+    }
+    double zScore = direction * (overhead - center) / sigma;
+    cusum = Math.max(0, cusum + zScore - CUSUM_SLACK);
+
+    double change = overhead - center;
+    double changePercent = none.mean() == 0 ? Double.NaN : 100 * change / Math.abs(none.mean());
+    boolean significant = cusum > CUSUM_THRESHOLD && zScore > CUSUM_SLACK;
+    boolean material = Double.isNaN(changePercent) || direction * changePercent >= MIN_CHANGE_PERCENT;
+    return new RegressionVerdict.Finding(agent, metric, history.length, center, overhead, change, changePercent,
+        zScore, cusum, false, significant && material);
+  }
+
+  private static double[] values(List<AppPerfResults> results, String field) {
+    return results.stream().mapToDouble(result -> result.getFieldValue(field)).toArray();
+  }
+
+  // The overhead per historical run, oldest first, limited to the baseline window
+  private static double[] overheadHistory(Map<String, AgentHistory> history, String agent,
+      String baselineAgent, String metric) {
+    AgentHistory agentHistory = history.get(agent);
+    AgentHistory noneHistory = history.get(baselineAgent);
+    if (agentHistory == null || noneHistory == null || !agentHistory.metrics.containsKey(metric)
+        || !noneHistory.metrics.containsKey(metric)) {
+      return new double[0];
+    }
+    Map<String, Double> noneByRun = new HashMap<>();
+    double[] noneValues = noneHistory.metrics.get(metric);
+    for (int i = 0; i < noneValues.length; i++) {
+      noneByRun.put(noneHistory.runs[i], noneValues[i]);
+    }
+    double[] values = agentHistory.metrics.get(metric);
+    double[] overheads = IntStream.range(0, values.length)
+        .boxed()
+        .sorted(Comparator.comparingLong(i -> agentHistory.timestamps[i]))
+        .filter(i -> noneByRun.containsKey(agentHistory.runs[i]))
+        .mapToDouble(i -> values[i] - noneByRun.get(agentHistory.runs[i]))
+        .filter(x -> !Double.isNaN(x))
+        .toArray();
+    return Arrays.copyOfRange(overheads, Math.max(0, overheads.length - BASELINE_WINDOW), overheads.length);
+  }
+
+  private Map<String, AgentHistory> readHistory(Iterable<String> agents) throws IOException {
+    Map<String, AgentHistory> result = new HashMap<>();
+    if (!Files.exists(historyFile)) {
+      return result;
+    }
+    try (ColumnarReader reader = ColumnarReader.open(historyFile)) {
+      for (String agent : agents) {
+        ColumnarReader.RowGroup group = reader.getGroup(agent);
+        if (group == null) {
+          continue;
+        }
+        AgentHistory history = new AgentHistory(reader.readStringColumn(group, HistoryAggregator.RUN),
+            reader.readLongColumn(group, HistoryAggregator.TIMESTAMP));
+        for (String metric : METRICS.keySet()) {
+          String column = metric + ".mean";
+          if (reader.hasColumn(column)) {
+            history.metrics.put(metric, reader.readDoubleColumn(group, column));
+          }
+        }
+        result.put(agent, history);
+      }
+    }
+    return result;
+  }
+
+  // the per run means of one agent, as aggregated in the history index
+  private static class AgentHistory {
+    private final String[] runs;
+    private final long[] timestamps;
+    private final Map<String, double[]> metrics = new HashMap<>();
+
+    private AgentHistory(String[] runs, long[] timestamps) {
+      this.runs = runs;
+      this.timestamps = timestamps;
+    }
+  }
+}
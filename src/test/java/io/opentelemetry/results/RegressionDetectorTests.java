@@ -0,0 +1,136 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.columnar.ColumnarWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The {@link RegressionDetector} against a history index of 10 runs, where the agent adds 10 to a requestAvg of 1000
+ * and a throughputAvg of 1000 takes 10 off, give or take 0.1. The other metrics have no history.
+ */
+class RegressionDetectorTests {
+
+  private static final Agent NONE = Agent.builder().name("none").description("none").build();
+  private static final Agent AGENT = Agent.builder().name("agent").description("agent").build();
+  private static final double[] NOISE = {0.1, -0.1, 0, 0.1, -0.1, 0, 0.1, -0.1, 0.1, -0.1};
+
+  private Path historyFile;
+
+  @BeforeEach
+  void createHistory() throws IOException {
+    historyFile = Files.createTempDirectory("history").resolve(HistoryAggregator.INDEX_FILE);
+    writeHistory(NOISE.length);
+  }
+
+  @Test
+  void passesTheSameOverhead() throws IOException {
+    RegressionVerdict verdict = new RegressionDetector(historyFile).detect(run(1010, 990));
+    assertEquals(RegressionVerdict.Status.PASS, verdict.getStatus());
+  }
+
+  @Test
+  void flagsAHigherOverhead() throws IOException {
+    RegressionVerdict verdict = new RegressionDetector(historyFile).detect(run(1040, 990));
+    assertTrue(verdict.isRegression());
+    assertEquals(1, verdict.getRegressions().size());
+    assertEquals("Overhead regression in agent requestAvg (+3.0%)", verdict.summary());
+  }
+
+  @Test
+  void flagsALowerThroughput() throws IOException {
+    RegressionVerdict verdict = new RegressionDetector(historyFile).detect(run(1010, 960));
+    assertEquals("Overhead regression in agent throughputAvg (-3.0%)", verdict.summary());
+  }
+
+  @Test
+  void passesALowerOverhead() throws IOException {
+    RegressionVerdict verdict = new RegressionDetector(historyFile).detect(run(990, 1010));
+    assertFalse(verdict.isRegression());
+  }
+
+  @Test
+  void passesAChangeTooSmallToMatter() throws IOException {
+    // far outside the noise of the history, but 1% of the uninstrumented value
+    RegressionVerdict verdict = new RegressionDetector(historyFile).detect(run(1020, 990));
+    assertFalse(verdict.isRegression());
+  }
+
+  @Test
+  void needsEnoughHistory() throws IOException {
+    writeHistory(RegressionDetector.MIN_BASELINE_RUNS - 1);
+    RegressionVerdict verdict = new RegressionDetector(historyFile).detect(run(1100, 900));
+    assertEquals(RegressionVerdict.Status.INSUFFICIENT_HISTORY, verdict.getStatus());
+  }
+
+  @Test
+  void needsTheUninstrumentedApp() {
+    List<AppPerfResults> results = List.of(result(AGENT, 1010, 990));
+    assertThrows(IllegalArgumentException.class, () -> new RegressionDetector(historyFile).detect(results));
+  }
+
+  private void writeHistory(int runs) throws IOException {
+    String[] names = new String[runs];
+    long[] timestamps = new long[runs];
+    long[] passes = new long[runs];
+    double[] none = new double[runs];
+    double[] requestAvg = new double[runs];
+    double[] throughputAvg = new double[runs];
+    for (int i = 0; i < runs; i++) {
+      names[i] = "run-" + i;
+      timestamps[i] = 1657557600 + i * 86400L;
+      passes[i] = 3;
+      none[i] = 1000;
+      requestAvg[i] = 1010 + NOISE[i];
+      throughputAvg[i] = 990 - NOISE[i];
+    }
+    new ColumnarWriter()
+        .group(NONE.getName(), runs)
+        .addStringColumn(HistoryAggregator.RUN, names)
+        .addLongColumn(HistoryAggregator.TIMESTAMP, timestamps)
+        .addLongColumn(HistoryAggregator.PASSES, passes)
+        .addDoubleColumn("requestAvg.mean", none)
+        .addDoubleColumn("throughputAvg.mean", none)
+        .group(AGENT.getName(), runs)
+        .addStringColumn(HistoryAggregator.RUN, names)
+        .addLongColumn(HistoryAggregator.TIMESTAMP, timestamps)
+        .addLongColumn(HistoryAggregator.PASSES, passes)
+        .addDoubleColumn("requestAvg.mean", requestAvg)
+        .addDoubleColumn("throughputAvg.mean", throughputAvg)
+        .writeTo(historyFile);
+  }
+
+  // three passes alike, so the run itself adds no noise
+  private static List<AppPerfResults> run(double requestAvg, double throughputAvg) {
+    List<AppPerfResults> results = new ArrayList<>();
+    for (int pass = 0; pass < 3; pass++) {
+      results.add(result(NONE, 1000, 1000));
+      results.add(result(AGENT, requestAvg, throughputAvg));
+    }
+    return results;
+  }
+
+  private static AppPerfResults result(Agent agent, double requestAvg, double throughputAvg) {
+    return AppPerfResults.builder()
+        .agent(agent)
+        .heapUsed(new AppPerfResults.MinMax(0, 0))
+        .requestAvg(requestAvg)
+        .throughputRequestsPerSecond(throughputAvg)
+        .build();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of a {@link RegressionDetector} run: a finding per agent and metric, and an overall status.
+ */
+public class RegressionVerdict {
+
+  public enum Status {
+    PASS,
+    REGRESSION,
+    // not a single metric had enough historical runs to compare against
+    INSUFFICIENT_HISTORY
+  }
+
+  private final Status status;
+  private final int baselineRuns;
+  private final List<Finding> findings;
+
+  RegressionVerdict(int baselineRuns, List<Finding> findings) {
+    this.baselineRuns = baselineRuns;
+    this.findings = Collections.unmodifiableList(new ArrayList<>(findings));
+    if (findings.stream().anyMatch(f -> f.regressed)) {
+      this.status = Status.REGRESSION;
+    } else if (findings.stream().allMatch(f -> f.insufficientHistory)) {
+      this.status = Status.INSUFFICIENT_HISTORY;
+    } else {
+      this.status = Status.PASS;
+    }
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public boolean isRegression() {
+    return status == Status.REGRESSION;
+  }
+
+  public List<Finding> getFindings() {
+    return findings;
+  }
+
+  public List<Finding> getRegressions() {
+    return findings.stream().filter(f -> f.regressed).collect(Collectors.toList());
+  }
+
+  /**
+   * A one line description of the regressed metrics, suitable for a test failure message.
+   */
+  public String summary() {
+    if (!isRegression()) {
+      return "No overhead regression (" + status + ")";
+    }
+    return "Overhead regression in " + getRegressions().stream()
+        .map(f -> String.format("%s %s (%+.1f%%)", f.agent, f.metric, f.changePercent))
+        .collect(Collectors.joining(", "));
+  }
+
+  public void writeJson(Path file) throws IOException {
+    Gson gson = new GsonBuilder()
+        .setPrettyPrinting()
+        .serializeSpecialFloatingPointValues()
+        .create();
+    Files.writeString(file, gson.toJson(this));
+  }
+
+  public void writeReport(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Overhead regression check: ").append(status)
+        .append(" (baseline of up to ").append(baselineRuns).append(" runs)\n\n");
+    sb.append(String.format("%-22s %-28s %14s %14s %14s %9s %7s %7s  %s\n",
+        "agent", "metric", "baseline", "current", "change", "change%", "z", "cusum", "verdict"));
+    for (Finding f : findings) {
+      sb.append(String.format("%-22s %-28s %14.3f %14.3f %+14.3f %+8.1f%% %7.2f %7.2f  %s\n",
+          f.agent, f.metric, f.baseline, f.current, f.change, f.changePercent, f.zScore, f.cusum, f.verdict()));
+    }
+    Files.writeString(file, sb.toString());
+  }
+
+  /**
+   * The overhead of an agent for one metric: the agent's value minus the uninstrumented value of the same run.
+   */
+  public static class Finding {
+    final String agent;
+    final String metric;
+    final int historyRuns;
+    final double baseline;
+    final double current;
+    final double change;
+    // relative to the uninstrumented value, so that it reads as "the agent costs x% more than before"
+    final double changePercent;
+    final double zScore;
+    final double cusum;
+    final boolean insufficientHistory;
+    final boolean regressed;
+
+    Finding(String agent, String metric, int historyRuns, double baseline, double current, double change,
+        double changePercent, double zScore, double cusum, boolean insufficientHistory, boolean regressed) {
+      this.agent = agent;
+      this.metric = metric;
+      this.historyRuns = historyRuns;
+      this.baseline = baseline;
+      this.current = current;
+      this.change = change;
+      this.changePercent = changePercent;
+      this.zScore = zScore;
+      this.cusum = cusum;
+      this.insufficientHistory = insufficientHistory;
+      this.regressed = regressed;
+    }
+
+    private String verdict() {
+      if (insufficientHistory) {
+        return "insufficient history (" + historyRuns + " runs)";
+      }
+      return regressed ? "REGRESSION" : "ok";
+    }
+  }
+}
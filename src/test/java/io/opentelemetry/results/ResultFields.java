@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.columnar.ColumnType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The per agent run fields that are persisted for every pass, shared by the csv and the columnar results files.
+ */
+class ResultFields {
+
+  // The fields as they are output, in order. Only ever append, the csv header depends on the order.
+  static final List<FieldSpec> FIELDS = Arrays.asList(
+    FieldSpec.ofLong("startupDurationMs", r -> r.startupDurationMs),
+    FieldSpec.ofLong("minHeapUsed", r -> r.heapUsed.min),
+    FieldSpec.ofLong("maxHeapUsed", r -> r.heapUsed.max),
+    FieldSpec.ofDouble("totalAllocatedMB", r -> r.getTotalAllocatedMB()),
+    FieldSpec.ofLong("totalGCTime", r -> r.totalGCTime),
+    FieldSpec.ofDouble("maxThreadContextSwitchRate", r -> r.maxThreadContextSwitchRate),
+    FieldSpec.ofDouble("iterationAvg", r -> r.iterationAvg),
+    FieldSpec.ofDouble("iterationP95", r -> r.iterationP95),
+    FieldSpec.ofDouble("requestAvg", r -> r.requestAvg),
+    FieldSpec.ofDouble("requestP95", r -> r.requestP95),
+    FieldSpec.ofLong("netReadAvg", r -> r.averageNetworkRead),
+    FieldSpec.ofLong("netWriteAvg", r -> r.averageNetworkWrite),
+    FieldSpec.ofLong("peakThreadCount", r -> r.peakThreadCount),
+    FieldSpec.ofDouble("averageCpuUser", r -> r.averageJvmUserCpu),
+    FieldSpec.ofDouble("maxCpuUser", r -> r.maxJvmUserCpu),
+    FieldSpec.ofDouble("averageCpuSystem", r -> r.averageJvmSystemCpu),
+    FieldSpec.ofDouble("maxCpuSystem", r -> r.maxJvmSystemCpu),
+    FieldSpec.ofDouble("averageMachineCpuTotal", r -> r.averageMachineCpuTotal),
+    FieldSpec.ofLong("runDurationMs", r -> r.runDurationMs),
+    FieldSpec.ofLong("gcPauseMs", r -> NANOSECONDS.toMillis(r.totalGcPauseNanos)),
+    FieldSpec.ofDouble("throughputAvg", r -> r.throughputRequestsPerSecond),
+    FieldSpec.ofLong("peakRss", r -> r.peakRss),
+    FieldSpec.ofDouble("averageRss", r -> r.averageRss),
+    FieldSpec.ofLong("peakContainerMemory", r -> r.peakContainerMemory),
+    FieldSpec.ofLong("peakMetaspace", r -> r.peakMetaspace),
+    FieldSpec.ofLong("peakCodeCache", r -> r.peakCodeCache),
+    FieldSpec.ofLong("peakThreadMemory", r -> r.peakThreadMemory),
+    FieldSpec.ofLong("dbCalls", r -> r.dbCalls),
+    FieldSpec.ofLong("dbStatements", r -> r.dbStatements),
+    FieldSpec.ofDouble("dbExecTimeMs", r -> r.dbExecTimeMs),
+    FieldSpec.ofLong("dbRows", r -> r.dbRows),
+    FieldSpec.ofLong("jitCompilations", r -> r.jitCompilations),
+    FieldSpec.ofLong("jitCompileTimeMs", r -> r.jitCompileTimeMs),
+    FieldSpec.ofLong("jitAgentCompileTimeMs", r -> r.jitAgentCompileTimeMs),
+    FieldSpec.ofLong("jitInstrumentedCompileTimeMs", r -> r.jitInstrumentedCompileTimeMs),
+    FieldSpec.ofLong("jitCodeSize", r -> r.jitCodeSize),
+    FieldSpec.ofLong("jitFailures", r -> r.jitFailures),
+    FieldSpec.ofLong("deoptimizations", r -> r.deoptimizations),
+    FieldSpec.ofLong("blockedMs", r -> r.blockedMs),
+    FieldSpec.ofLong("agentBlockedMs", r -> r.agentBlockedMs),
+    FieldSpec.ofLong("waitedMs", r -> r.waitedMs),
+    FieldSpec.ofLong("agentWaitedMs", r -> r.agentWaitedMs),
+    FieldSpec.ofDouble("blockedMsPerRequest", r -> r.blockedMsPerRequest),
+    FieldSpec.ofLong("safepoints", r -> r.safepoints),
+    FieldSpec.ofDouble("safepointTimeMs", r -> r.safepointTimeMs),
+    FieldSpec.ofDouble("safepointP99Ms", r -> r.safepointP99Ms),
+    FieldSpec.ofDouble("timeToSafepointP99Ms", r -> r.timeToSafepointP99Ms),
+    FieldSpec.ofDouble("cpuStealPercent", r -> r.cpuStealPercent),
+    FieldSpec.ofDouble("cpuIowaitPercent", r -> r.cpuIowaitPercent),
+    FieldSpec.ofDouble("loadAverage", r -> r.loadAverage),
+    FieldSpec.ofDouble("cpuThrottledMs", r -> r.cpuThrottledMs),
+    FieldSpec.ofDouble("cpuMhz", r -> r.cpuMhz)
+  );
+
+  static class FieldSpec {
+    final String name;
+    final ColumnType type;
+    final Function<AppPerfResults, Object> getter;
+
+    private FieldSpec(String name, ColumnType type, Function<AppPerfResults, Object> getter) {
+      this.name = name;
+      this.type = type;
+      this.getter = getter;
+    }
+
+    static FieldSpec ofLong(String name, Function<AppPerfResults, Object> getter) {
+      return new FieldSpec(name, ColumnType.LONG, getter);
+    }
+
+    static FieldSpec ofDouble(String name, Function<AppPerfResults, Object> getter) {
+      return new FieldSpec(name, ColumnType.DOUBLE, getter);
+    }
+
+    long getLong(AppPerfResults result) {
+      return ((Number) getter.apply(result)).longValue();
+    }
+
+    // Floats go through their string form so that the value matches what ends up in the csv
+    double getDouble(AppPerfResults result) {
+      Object value = getter.apply(result);
+      return value instanceof Float ? Double.parseDouble(value.toString()) : ((Number) value).doubleValue();
+    }
+  }
+
+  private ResultFields() {
+  }
+}
@@ -33,6 +33,31 @@ public class ResultsAverager {
         return avgDouble(agentName, x -> (double)x.startupDurationMs) / 1000.0;
     }
 
+    double peakRssMB(String agentName) {
+        return avgDouble(agentName, x -> (double)x.peakRss) / (1024*1024);
+    }
+
+    double averageRssMB(String agentName) {
+        // NaN for the runs without any samples
+        return agentResults(agentName)
+                .mapToDouble(x -> x.averageRss)
+                .filter(x -> !Double.isNaN(x))
+                .average()
+                .orElse(Double.NaN) / (1024*1024);
+    }
+
+    double peakMetaspaceMB(String agentName) {
+        return avgDouble(agentName, x -> (double)x.peakMetaspace) / (1024*1024);
+    }
+
+    double peakCodeCacheMB(String agentName) {
+        return avgDouble(agentName, x -> (double)x.peakCodeCache) / (1024*1024);
+    }
+
+    double peakThreadMemoryMB(String agentName) {
+        return avgDouble(agentName, x -> (double)x.peakThreadMemory) / (1024*1024);
+    }
+
     private double avgDouble(String agentName, Function<AppPerfResults,Double> toDoubleFunction) {
         long count = agentResults(agentName).count();
         double sum = agentResults(agentName)
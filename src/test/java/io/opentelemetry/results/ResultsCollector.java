@@ -7,10 +7,18 @@ package io.opentelemetry.results;
 import com.jayway.jsonpath.JsonPath;
 import io.opentelemetry.agents.Agent;
 import io.opentelemetry.config.TestConfig;
+import io.opentelemetry.containers.PgStatStatements;
 import io.opentelemetry.util.JfrFileComputations;
+import io.opentelemetry.util.ContentionComputations;
+import io.opentelemetry.util.HostNoiseComputations;
+import io.opentelemetry.util.JitComputations;
+import io.opentelemetry.util.SafepointComputations;
 import io.opentelemetry.util.NamingConvention;
+import io.opentelemetry.util.NativeMemoryComputations;
+import io.opentelemetry.util.TimeSeriesComputations;
 
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -33,6 +41,13 @@ public class ResultsCollector {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Reads the results of a single agent, as soon as its run is done.
+   */
+  public AppPerfResults collect(Agent agent, TestConfig config) {
+    return readAgentResults(agent, config);
+  }
+
   private AppPerfResults readAgentResults(Agent agent, TestConfig config) {
     try {
       AppPerfResults.Builder builder = AppPerfResults.builder()
@@ -43,6 +58,13 @@ public class ResultsCollector {
       builder = addStartupTime(builder, agent);
       builder = addK6Results(builder, agent);
       builder = addJfrResults(builder, agent);
+      builder = addNativeMemoryResults(builder, agent);
+      builder = addDatabaseResults(builder, agent);
+      builder = addJitResults(builder, agent);
+      builder = addContentionResults(builder, agent);
+      builder = addSafepointResults(builder, agent);
+      builder = addHostNoiseResults(builder, agent);
+      builder = addTimeSeries(builder, agent);
 
       return builder.build();
     } catch (IOException e) {
@@ -95,4 +117,98 @@ public class ResultsCollector {
         .totalGcPauseNanos(compute.computeTotalGcPauseNanos());
   }
 
+  private AppPerfResults.Builder addNativeMemoryResults(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    Path samplesFile = namingConvention.nativeMemoryFile(agent);
+    NativeMemoryComputations compute = new NativeMemoryComputations(samplesFile);
+    return builder
+        .peakRss(compute.readPeakRss())
+        .averageRss(compute.computeAverageRss())
+        .peakContainerMemory(compute.readPeakContainerMemory())
+        .peakMetaspace(compute.readPeakMetaspace())
+        .peakCodeCache(compute.readPeakCodeCache())
+        .peakThreadMemory(compute.readPeakThreadMemory());
+  }
+
+  // Missing when pg_stat_statements couldn't be read, the run is kept without database statistics
+  private AppPerfResults.Builder addDatabaseResults(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    Path file = namingConvention.pgStatStatementsFile(agent);
+    if (!Files.exists(file)) {
+      return builder;
+    }
+    List<PgStatStatements.Statement> statements = PgStatStatements.read(file);
+    return builder
+        .dbCalls(statements.stream().mapToLong(s -> s.calls).sum())
+        .dbStatements(statements.size())
+        .dbExecTimeMs(statements.stream().mapToDouble(s -> s.totalTimeMs).sum())
+        .dbRows(statements.stream().mapToLong(s -> s.rows).sum());
+  }
+
+  private AppPerfResults.Builder addJitResults(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    JitComputations jit = JitComputations.compute(namingConvention.jfrFile(agent));
+    try (PrintStream out = new PrintStream(Files.newOutputStream(namingConvention.jitFile(agent)))) {
+      jit.print(out);
+    }
+    return builder
+        .jitCompilations(jit.compilations())
+        .jitCompileTimeMs(jit.compileTimeMs())
+        .jitAgentCompileTimeMs(jit.agentCompileTimeMs())
+        .jitInstrumentedCompileTimeMs(jit.instrumentedCompileTimeMs())
+        .jitCodeSize(jit.codeSize())
+        .jitFailures(jit.failures())
+        .deoptimizations(jit.deoptimizations());
+  }
+
+  private AppPerfResults.Builder addContentionResults(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    ContentionComputations contention = ContentionComputations.compute(namingConvention.jfrFile(agent));
+    try (PrintStream out = new PrintStream(Files.newOutputStream(namingConvention.contentionFile(agent)))) {
+      contention.print(out);
+    }
+    String json = new String(Files.readAllBytes(namingConvention.k6Results(agent)));
+    Number requests = JsonPath.read(json, "$.metrics.http_reqs.count");
+    return builder
+        .blockedMs(contention.blockedMs())
+        .agentBlockedMs(contention.agentBlockedMs())
+        .waitedMs(contention.waitedMs())
+        .agentWaitedMs(contention.agentWaitedMs())
+        // both delay the request
+        .blockedMsPerRequest(requests.longValue() == 0 ? 0
+            : (double) (contention.requestThreadBlockedMs() + contention.requestThreadWaitedMs())
+                / requests.longValue());
+  }
+
+  private AppPerfResults.Builder addSafepointResults(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    SafepointComputations safepoints = SafepointComputations.compute(namingConvention.jfrFile(agent));
+    try (PrintStream out = new PrintStream(Files.newOutputStream(namingConvention.safepointFile(agent)))) {
+      safepoints.print(out);
+    }
+    return builder
+        .safepoints(safepoints.count())
+        .safepointTimeMs(safepoints.totalMs())
+        .safepointP99Ms(safepoints.p99Ms())
+        .timeToSafepointP99Ms(safepoints.timeToSafepointP99Ms());
+  }
+
+  private AppPerfResults.Builder addHostNoiseResults(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    HostNoiseComputations noise = HostNoiseComputations.read(namingConvention.hostNoiseFile(agent));
+    return builder
+        .cpuStealPercent(noise.stealPercent())
+        .cpuIowaitPercent(noise.iowaitPercent())
+        .loadAverage(noise.averageLoad())
+        .cpuThrottledMs(noise.throttledMs())
+        .cpuMhz(noise.averageCpuMhz());
+  }
+
+  private AppPerfResults.Builder addTimeSeries(
+      AppPerfResults.Builder builder, Agent agent) throws IOException {
+    TimeSeriesComputations compute = new TimeSeriesComputations(
+        namingConvention.jfrFile(agent), namingConvention.k6TimeSeries(agent));
+    return builder.timeSeries(compute.compute());
+  }
+
 }
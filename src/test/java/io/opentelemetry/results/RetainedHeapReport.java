@@ -0,0 +1,178 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.util.ClassHistogram;
+import io.opentelemetry.util.NamingConvention;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * What an agent keeps on the heap, from the class histograms (see {@code ClassHistogramSampler}) grouped by package.
+ * The classes of the agent itself are reported with what they hold at the end of the measured window and how much that
+ * grew during it. Everything else is compared with the baseline, which shows the objects of the app and the JDK that
+ * only exist because of the instrumentation: wrapped requests, context maps, buffered spans. A heap dump, when there is
+ * one, replaces the last histogram for the end of the window.
+ * <p>
+ * The histograms of a pass are overwritten by the next one, so every pass is reduced to its totals per package when it
+ * is written, and the report averages them.
+ */
+public class RetainedHeapReport {
+
+  static final List<String> AGENT_PACKAGES = List.of("io.opentelemetry", "com.splunk", "net.bytebuddy");
+  static final int TOP_PACKAGES = 15;
+  private static final double MB = 1024 * 1024;
+
+  private final String baseline;
+  private final Map<String, Totals> agents = new LinkedHashMap<>();
+
+  public RetainedHeapReport(Agent baseline) {
+    this.baseline = baseline.getName();
+  }
+
+  public void addPass(Agent agent, NamingConvention local) throws IOException {
+    List<Path> histograms = new ArrayList<>();
+    for (int snapshot = 0; Files.exists(local.classHistogramFile(agent, snapshot)); snapshot++) {
+      histograms.add(local.classHistogramFile(agent, snapshot));
+    }
+    Path heapDump = local.heapDumpFile(agent);
+    if (histograms.isEmpty() && !Files.exists(heapDump)) {
+      return;
+    }
+    Totals totals = agents.computeIfAbsent(agent.getName(), x -> new Totals());
+    Path end = Files.exists(heapDump) ? heapDump : histograms.get(histograms.size() - 1);
+    add(totals.retained, ClassHistogram.read(end).byPackage(), 1);
+    totals.passes++;
+    if (histograms.size() >= 2) {
+      add(totals.growth, ClassHistogram.read(histograms.get(histograms.size() - 1)).byPackage(), 1);
+      add(totals.growth, ClassHistogram.read(histograms.get(0)).byPackage(), -1);
+      totals.growthPasses++;
+    }
+  }
+
+  public boolean isEmpty() {
+    return agents.isEmpty();
+  }
+
+  public void write(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Heap retained at the end of the measured window by package, averaged over the passes.\n");
+    sb.append("Growth is the difference between the first and the last class histogram of a run.\n");
+    Map<String, double[]> none = agents.containsKey(baseline) ? agents.get(baseline).retainedAverage() : null;
+    agents.forEach((agent, totals) -> {
+      if (agent.equals(baseline)) {
+        return;
+      }
+      Map<String, double[]> retained = totals.retainedAverage();
+      Map<String, double[]> growth = totals.growthAverage();
+      sb.append('\n').append(agent).append(" (").append(totals.passes)
+          .append(totals.passes == 1 ? " pass)\n" : " passes)\n");
+
+      Map<String, double[]> own = filter(retained, RetainedHeapReport::isAgentPackage);
+      double[] ownTotal = sum(own);
+      double[] ownGrowth = sum(filter(growth, RetainedHeapReport::isAgentPackage));
+      sb.append(String.format("  agent classes: %.0f instances, %.2f MB, %+.2f MB during the window\n",
+          ownTotal[0], ownTotal[1] / MB, ownGrowth[1] / MB));
+      sb.append(String.format("    %-64s %12s %12s %12s\n", "package", "instances", "MB", "growth MB"));
+      top(own).forEach(entry -> sb.append(String.format("    %-64s %12.0f %12.2f %+12.2f\n", entry.getKey(),
+          entry.getValue()[0], entry.getValue()[1] / MB,
+          growth.getOrDefault(entry.getKey(), new double[2])[1] / MB)));
+
+      if (none == null) {
+        return;
+      }
+      Map<String, double[]> induced = filter(difference(retained, none), pkg -> !isAgentPackage(pkg));
+      double[] inducedTotal = sum(induced);
+      sb.append(String.format("  other classes beyond %s: %+.0f instances, %+.2f MB\n", baseline, inducedTotal[0],
+          inducedTotal[1] / MB));
+      sb.append(String.format("    %-64s %12s %12s\n", "package", "instances", "MB"));
+      top(filter(induced, pkg -> induced.get(pkg)[1] > 0)).forEach(entry -> sb.append(String.format(
+          "    %-64s %+12.0f %+12.2f\n", entry.getKey(), entry.getValue()[0], entry.getValue()[1] / MB)));
+    });
+    Files.writeString(file, sb.toString());
+  }
+
+  static boolean isAgentPackage(String pkg) {
+    return AGENT_PACKAGES.stream().anyMatch(prefix -> pkg.equals(prefix) || pkg.startsWith(prefix + "."));
+  }
+
+  private static void add(Map<String, double[]> totals, Map<String, ClassHistogram.Entry> packages, int sign) {
+    packages.forEach((pkg, entry) -> {
+      double[] total = totals.computeIfAbsent(pkg, x -> new double[2]);
+      total[0] += sign * entry.getInstances();
+      total[1] += sign * entry.getBytes();
+    });
+  }
+
+  private static Map<String, double[]> difference(Map<String, double[]> a, Map<String, double[]> b) {
+    Map<String, double[]> result = new HashMap<>();
+    a.forEach((pkg, value) -> result.put(pkg, value.clone()));
+    b.forEach((pkg, value) -> {
+      double[] total = result.computeIfAbsent(pkg, x -> new double[2]);
+      total[0] -= value[0];
+      total[1] -= value[1];
+    });
+    return result;
+  }
+
+  private static Map<String, double[]> filter(Map<String, double[]> packages, Predicate<String> predicate) {
+    Map<String, double[]> result = new HashMap<>();
+    packages.forEach((pkg, value) -> {
+      if (predicate.test(pkg)) {
+        result.put(pkg, value);
+      }
+    });
+    return result;
+  }
+
+  private static double[] sum(Map<String, double[]> packages) {
+    double[] result = new double[2];
+    packages.values().forEach(value -> {
+      result[0] += value[0];
+      result[1] += value[1];
+    });
+    return result;
+  }
+
+  private static List<Map.Entry<String, double[]>> top(Map<String, double[]> packages) {
+    List<Map.Entry<String, double[]>> result = new ArrayList<>(packages.entrySet());
+    result.sort(Comparator.comparingDouble((Map.Entry<String, double[]> entry) -> entry.getValue()[1]).reversed());
+    return result.subList(0, Math.min(TOP_PACKAGES, result.size()));
+  }
+
+  // package -> instances and bytes, summed over the passes
+  private static class Totals {
+    private final Map<String, double[]> retained = new HashMap<>();
+    private final Map<String, double[]> growth = new HashMap<>();
+    private int passes;
+    private int growthPasses;
+
+    Map<String, double[]> retainedAverage() {
+      return average(retained, passes);
+    }
+
+    Map<String, double[]> growthAverage() {
+      return average(growth, growthPasses);
+    }
+
+    private static Map<String, double[]> average(Map<String, double[]> totals, int count) {
+      Map<String, double[]> result = new HashMap<>();
+      if (count > 0) {
+        totals.forEach((pkg, total) -> result.put(pkg, new double[] {total[0] / count, total[1] / count}));
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.config.TestConfig;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A durable record of the units of a run, a unit being the run of one agent in one pass. Every attempt of a unit is
+ * appended to <code>journal.csv</code> in the results directory, and the results of a completed unit are kept in
+ * <code>units/pass-N/agent.csv</code>, so that a run that failed half way can be resumed without repeating the units
+ * that completed. The time series of a unit aren't kept, resumed units have none.
+ */
+public class RunJournal {
+
+  static final String JOURNAL_FILE = "journal.csv";
+  static final String UNITS_DIR = "units";
+  private static final String HEADER = "timestamp,pass,agent,event,attempt,detail\n";
+  // marks a whole pass, for the events that aren't about a single agent
+  private static final String PASS = "-";
+
+  enum Event {
+    STARTED,
+    COMPLETED,
+    FAILED,
+    // the pass is being appended to the results files, with the length of the csv before
+    WRITING,
+    // the pass was written to the results files
+    WRITTEN
+  }
+
+  private final TestConfig config;
+  private final Path dir;
+  private final Path journalFile;
+  private final Map<String, Integer> attempts = new HashMap<>();
+  private final Set<String> completed = new HashSet<>();
+  // completed before the run was resumed
+  private final Set<String> resumed = new HashSet<>();
+  // completed in this run, with their time series
+  private final Map<String, AppPerfResults> results = new HashMap<>();
+  private final Set<Integer> written = new HashSet<>();
+  // pass -> length of the results csv before the pass was appended, -1 without one
+  private final Map<Integer, Long> writing = new HashMap<>();
+
+  private RunJournal(TestConfig config, Path dir) {
+    this.config = config;
+    this.dir = dir;
+    this.journalFile = dir.resolve(JOURNAL_FILE);
+  }
+
+  /**
+   * Opens the journal in the results directory of a config. Unless resuming, the journal and the units of an earlier
+   * run are removed first.
+   */
+  public static RunJournal open(TestConfig config, Path dir, boolean resume) {
+    RunJournal journal = new RunJournal(config, dir);
+    try {
+      Files.createDirectories(dir);
+      if (resume && Files.exists(journal.journalFile)) {
+        journal.read();
+      } else {
+        journal.clear();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error opening the run journal", e);
+    }
+    return journal;
+  }
+
+  public synchronized boolean isCompleted(int pass, Agent agent) {
+    return completed.contains(key(pass, agent.getName()));
+  }
+
+  synchronized boolean isResumed(int pass, Agent agent) {
+    return resumed.contains(key(pass, agent.getName()));
+  }
+
+  /**
+   * The number of attempts of a unit so far, including those of the runs that were resumed.
+   */
+  public synchronized int getAttempts(int pass, Agent agent) {
+    return attempts.getOrDefault(key(pass, agent.getName()), 0);
+  }
+
+  public synchronized void started(int pass, Agent agent) {
+    int attempt = attempts.merge(key(pass, agent.getName()), 1, Integer::sum);
+    append(pass, agent.getName(), Event.STARTED, attempt, "");
+  }
+
+  public synchronized void completed(int pass, AppPerfResults result) {
+    String agent = result.getAgentName();
+    try {
+      Path unitFile = unitFile(pass, agent);
+      Files.createDirectories(unitFile.getParent());
+      // written aside and moved, so that a unit file is either complete or missing
+      Path temporary = unitFile.resolveSibling(agent + ".csv.tmp");
+      Files.deleteIfExists(temporary);
+      new CsvPersister(temporary).write(List.of(result));
+      Files.move(temporary, unitFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      completed.add(key(pass, agent));
+      results.put(key(pass, agent), result);
+      append(pass, agent, Event.COMPLETED, attempts.getOrDefault(key(pass, agent), 0),
+          dir.relativize(unitFile).toString());
+    } catch (IOException e) {
+      throw new RuntimeException("Error journaling " + agent + " in pass " + pass, e);
+    }
+  }
+
+  public synchronized void failed(int pass, Agent agent, Throwable error) {
+    String detail = String.valueOf(error).replaceAll("[,\r\n]", " ");
+    append(pass, agent.getName(), Event.FAILED, attempts.getOrDefault(key(pass, agent.getName()), 0), detail);
+  }
+
+  synchronized boolean isWritten(int pass) {
+    return written.contains(pass);
+  }
+
+  /**
+   * Records that a pass is about to be appended to the results csv and the columnar results, which it keeps a copy of.
+   * When the run that was resumed died while writing the same pass, both files are rolled back to where they were
+   * before it first, so that the pass isn't appended twice.
+   */
+  synchronized void writing(int pass, Path csvFile, Path columnarFile) {
+    Path columnarBefore = unitFile(pass, PASS).resolveSibling("before-" + columnarFile.getFileName());
+    try {
+      Long csvLength = writing.get(pass);
+      if (csvLength != null) {
+        rollBack(csvFile, csvLength, columnarFile, columnarBefore);
+        return;
+      }
+      Files.createDirectories(columnarBefore.getParent());
+      if (Files.exists(columnarFile)) {
+        Files.copy(columnarFile, columnarBefore, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        Files.deleteIfExists(columnarBefore);
+      }
+      long length = Files.exists(csvFile) ? Files.size(csvFile) : -1;
+      writing.put(pass, length);
+      append(pass, PASS, Event.WRITING, 0, String.valueOf(length));
+    } catch (IOException e) {
+      throw new RuntimeException("Error preparing to write pass " + pass, e);
+    }
+  }
+
+  private static void rollBack(Path csvFile, long csvLength, Path columnarFile, Path columnarBefore)
+      throws IOException {
+    if (csvLength < 0) {
+      Files.deleteIfExists(csvFile);
+    } else if (Files.exists(csvFile)) {
+      try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.WRITE)) {
+        channel.truncate(csvLength);
+      }
+    }
+    if (Files.exists(columnarBefore)) {
+      Files.copy(columnarBefore, columnarFile, StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.deleteIfExists(columnarFile);
+    }
+  }
+
+  synchronized void written(int pass) {
+    written.add(pass);
+    append(pass, PASS, Event.WRITTEN, 0, "");
+  }
+
+  /**
+   * The results of the completed units of a pass, in the order of the agents of the config.
+   */
+  public synchronized List<AppPerfResults> getPassResults(int pass) {
+    return config.getAgents().stream()
+        .filter(agent -> isCompleted(pass, agent))
+        .map(agent -> getResult(pass, agent))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * The results of a completed unit, as they were measured when it completed in this run, or from its unit file.
+   */
+  public synchronized AppPerfResults getResult(int pass, Agent agent) {
+    AppPerfResults result = results.get(key(pass, agent.getName()));
+    if (result != null) {
+      return result;
+    }
+    try {
+      return CsvToResults.read(unitFile(pass, agent.getName()).toString(), name -> agent, config).get(0);
+    } catch (Exception e) {
+      throw new RuntimeException("Error reading " + agent.getName() + " of pass " + pass + " from the journal", e);
+    }
+  }
+
+  /**
+   * The results of all completed units, pass by pass.
+   */
+  public synchronized List<AppPerfResults> getAllResults() {
+    int passes = completed.stream().mapToInt(RunJournal::pass).max().orElse(-1) + 1;
+    List<AppPerfResults> result = new ArrayList<>();
+    for (int pass = 0; pass < passes; pass++) {
+      result.addAll(getPassResults(pass));
+    }
+    return result;
+  }
+
+  /**
+   * The directory of the units of a pass, for the files that belong to the pass as a whole. It is removed with the
+   * units unless resuming.
+   */
+  Path passDir(int pass) {
+    return dir.resolve(UNITS_DIR).resolve("pass-" + pass);
+  }
+
+  private Path unitFile(int pass, String agent) {
+    return passDir(pass).resolve(agent + ".csv");
+  }
+
+  private void read() throws IOException {
+    List<String> lines = Files.readAllLines(journalFile);
+    for (String line : lines.subList(1, lines.size())) {
+      String[] fields = line.split(",", 6);
+      // a line cut short when the previous run died
+      if (fields.length < 6) {
+        continue;
+      }
+      int pass = Integer.parseInt(fields[1]);
+      String key = key(pass, fields[2]);
+      switch (Event.valueOf(fields[3])) {
+        case STARTED:
+          attempts.merge(key, 1, Integer::sum);
+          break;
+        case COMPLETED:
+          if (Files.exists(dir.resolve(fields[5]))) {
+            completed.add(key);
+            resumed.add(key);
+          }
+          break;
+        case FAILED:
+          break;
+        case WRITING:
+          writing.put(pass, Long.parseLong(fields[5].trim()));
+          break;
+        case WRITTEN:
+          written.add(pass);
+          break;
+      }
+    }
+  }
+
+  private void clear() throws IOException {
+    Path unitsDir = dir.resolve(UNITS_DIR);
+    if (Files.exists(unitsDir)) {
+      try (Stream<Path> files = Files.walk(unitsDir)) {
+        for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+          Files.delete(file);
+        }
+      }
+    }
+    Files.writeString(journalFile, HEADER);
+  }
+
+  private void append(int pass, String agent, Event event, int attempt, String detail) {
+    String line = String.format("%d,%d,%s,%s,%d,%s\n", System.currentTimeMillis(), pass, agent, event, attempt, detail);
+    try {
+      Files.writeString(journalFile, line, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing the run journal", e);
+    }
+  }
+
+  private static String key(int pass, String agent) {
+    return pass + "/" + agent;
+  }
+
+  private static int pass(String key) {
+    return Integer.parseInt(key.substring(0, key.indexOf('/')));
+  }
+}
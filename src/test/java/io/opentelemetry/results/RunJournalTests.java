@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.config.Configs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The WRITING and WRITTEN events of the {@link RunJournal}: a run that dies while appending a pass to the results files
+ * is resumed with the files rolled back to where they were before that pass, so that it isn't appended twice.
+ */
+class RunJournalTests {
+
+  private Path dir;
+  private Path csvFile;
+  private Path columnarFile;
+
+  @BeforeEach
+  void createDir() throws IOException {
+    dir = Files.createTempDirectory("journal");
+    csvFile = dir.resolve("results.csv");
+    columnarFile = dir.resolve("results.bin");
+  }
+
+  @Test
+  void rollsBackAPassThatWasNotWritten() throws IOException {
+    RunJournal journal = RunJournal.open(Configs.RELEASE, dir, false);
+    journal.writing(0, csvFile, columnarFile);
+    Files.writeString(csvFile, "header\npass 0\n");
+    Files.write(columnarFile, new byte[] {0});
+    journal.written(0);
+
+    journal.writing(1, csvFile, columnarFile);
+    // died half way through the pass
+    Files.writeString(csvFile, "pass 1\n", StandardOpenOption.APPEND);
+    Files.write(columnarFile, new byte[] {1, 1});
+
+    RunJournal resumed = RunJournal.open(Configs.RELEASE, dir, true);
+    assertTrue(resumed.isWritten(0));
+    assertFalse(resumed.isWritten(1));
+    resumed.writing(1, csvFile, columnarFile);
+    assertEquals("header\npass 0\n", Files.readString(csvFile));
+    assertEquals(1, Files.readAllBytes(columnarFile).length);
+  }
+
+  @Test
+  void removesTheFilesThatTheFirstPassCreated() throws IOException {
+    RunJournal journal = RunJournal.open(Configs.RELEASE, dir, false);
+    journal.writing(0, csvFile, columnarFile);
+    Files.writeString(csvFile, "header\npass 0\n");
+    Files.write(columnarFile, new byte[] {0});
+
+    RunJournal resumed = RunJournal.open(Configs.RELEASE, dir, true);
+    resumed.writing(0, csvFile, columnarFile);
+    assertFalse(Files.exists(csvFile));
+    assertFalse(Files.exists(columnarFile));
+  }
+
+  @Test
+  void rollsBackOnlyTheFirstWritingOfAPass() throws IOException {
+    Files.writeString(csvFile, "header\n");
+    RunJournal journal = RunJournal.open(Configs.RELEASE, dir, false);
+    journal.writing(0, csvFile, columnarFile);
+    Files.writeString(csvFile, "pass 0, first try\n", StandardOpenOption.APPEND);
+
+    RunJournal resumed = RunJournal.open(Configs.RELEASE, dir, true);
+    resumed.writing(0, csvFile, columnarFile);
+    Files.writeString(csvFile, "pass 0, second try\n", StandardOpenOption.APPEND);
+
+    // died again, the second resume goes back to the length before the first try too
+    RunJournal resumedAgain = RunJournal.open(Configs.RELEASE, dir, true);
+    resumedAgain.writing(0, csvFile, columnarFile);
+    assertEquals("header\n", Files.readString(csvFile));
+  }
+
+  @Test
+  void ignoresALineCutShort() throws IOException {
+    RunJournal journal = RunJournal.open(Configs.RELEASE, dir, false);
+    journal.writing(0, csvFile, columnarFile);
+    journal.written(0);
+    Files.writeString(dir.resolve(RunJournal.JOURNAL_FILE), "1657557600000,1,-,WRI", StandardOpenOption.APPEND);
+
+    RunJournal resumed = RunJournal.open(Configs.RELEASE, dir, true);
+    assertTrue(resumed.isWritten(0));
+    assertFalse(resumed.isWritten(1));
+  }
+
+  @Test
+  void startsOverUnlessResuming() throws IOException {
+    RunJournal journal = RunJournal.open(Configs.RELEASE, dir, false);
+    journal.writing(0, csvFile, columnarFile);
+    journal.written(0);
+    Files.writeString(journal.passDir(0).resolve("none.collapsed"), "main 1\n");
+
+    RunJournal restarted = RunJournal.open(Configs.RELEASE, dir, false);
+    assertFalse(restarted.isWritten(0));
+    assertFalse(Files.exists(restarted.passDir(0)));
+  }
+}
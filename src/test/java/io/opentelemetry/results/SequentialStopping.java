@@ -0,0 +1,109 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decides after every pass whether a run has enough passes. The overhead of an agent is computed per pass, against
+ * the uninstrumented app of the same pass, and the run stops once the confidence interval of the mean overhead of
+ * every agent and tracked metric is narrower than the target precision, a percentage of the uninstrumented value.
+ * <p>
+ * Looking at the results after every pass and stopping at the first good look would make the intervals too
+ * optimistic, so they are widened to a Pocock boundary for the number of looks that the pass budget allows. The
+ * boundary keeps the overall confidence at 95% no matter at which look the run stops.
+ */
+public class SequentialStopping {
+
+  public static final List<String> DEFAULT_METRICS =
+      List.of("averageCpuUser", "totalAllocatedMB", "requestAvg", "requestP95", "throughputAvg");
+  // the first look, a confidence interval needs a couple of passes to mean anything
+  static final int MIN_PASSES = 3;
+  public static final double DEFAULT_TARGET_PERCENT = 2.0;
+  // two sided Pocock critical values at an overall 95% for 1..20 equally spaced looks
+  private static final double[] POCOCK_95 = {
+      1.960, 2.178, 2.289, 2.361, 2.413, 2.453, 2.485, 2.512, 2.535, 2.555,
+      2.572, 2.588, 2.602, 2.614, 2.626, 2.637, 2.646, 2.655, 2.664, 2.672
+  };
+  private static final double Z_95 = 1.960;
+
+  private final String baselineAgent;
+  private final List<String> metrics;
+  private final double targetPercent;
+  private final int maxPasses;
+
+  public SequentialStopping(String baselineAgent, List<String> metrics, double targetPercent, int maxPasses) {
+    if (maxPasses < MIN_PASSES) {
+      throw new IllegalArgumentException("A sequential run needs at least " + MIN_PASSES + " passes");
+    }
+    this.baselineAgent = baselineAgent;
+    this.metrics = metrics;
+    this.targetPercent = targetPercent;
+    this.maxPasses = maxPasses;
+  }
+
+  /**
+   * @param passes the results of every pass so far, each with all agents
+   */
+  public StoppingDecision evaluate(List<List<AppPerfResults>> passes) {
+    int looks = maxPasses - MIN_PASSES + 1;
+    double widening = pocock(looks) / Z_95;
+    List<StoppingDecision.Estimate> estimates = new ArrayList<>();
+    for (String agent : agents(passes)) {
+      for (String metric : metrics) {
+        estimates.add(estimate(passes, agent, metric, widening));
+      }
+    }
+
+    StoppingDecision.Outcome outcome;
+    if (passes.size() >= MIN_PASSES && estimates.stream().allMatch(estimate -> estimate.reached)) {
+      outcome = StoppingDecision.Outcome.PRECISION_REACHED;
+    } else if (passes.size() >= maxPasses) {
+      outcome = StoppingDecision.Outcome.BUDGET_EXHAUSTED;
+    } else {
+      outcome = StoppingDecision.Outcome.CONTINUE;
+    }
+    return new StoppingDecision(outcome, passes.size(), maxPasses, targetPercent, widening, estimates);
+  }
+
+  private StoppingDecision.Estimate estimate(List<List<AppPerfResults>> passes, String agent, String metric,
+      double widening) {
+    double[] overheads = new double[passes.size()];
+    double[] baselines = new double[passes.size()];
+    for (int i = 0; i < passes.size(); i++) {
+      overheads[i] = value(passes.get(i), agent, metric) - value(passes.get(i), baselineAgent, metric);
+      baselines[i] = value(passes.get(i), baselineAgent, metric);
+    }
+    Statistics overhead = Statistics.of(overheads);
+    double halfWidth = overhead.confidenceInterval95() * widening;
+    double target = Math.abs(Statistics.of(baselines).mean()) * targetPercent / 100;
+    boolean reached = overhead.count() >= MIN_PASSES && halfWidth <= target;
+    return new StoppingDecision.Estimate(agent, metric, overhead.mean(), halfWidth, target, reached);
+  }
+
+  private List<String> agents(List<List<AppPerfResults>> passes) {
+    List<String> agents = new ArrayList<>();
+    passes.stream().flatMap(List::stream)
+        .map(AppPerfResults::getAgentName)
+        .filter(agent -> !agent.equals(baselineAgent) && !agents.contains(agent))
+        .forEach(agents::add);
+    return agents;
+  }
+
+  private static double value(List<AppPerfResults> pass, String agent, String metric) {
+    Optional<AppPerfResults> result = pass.stream()
+        .filter(r -> r.getAgentName().equals(agent))
+        .findFirst();
+    return result.map(r -> r.getFieldValue(metric)).orElse(Double.NaN);
+  }
+
+  private static double pocock(int looks) {
+    return POCOCK_95[Math.min(Math.max(looks, 1), POCOCK_95.length) - 1];
+  }
+}
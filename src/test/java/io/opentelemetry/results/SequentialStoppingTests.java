@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The stopping rule of {@link SequentialStopping} on passes with a known overhead per pass. The uninstrumented app
+ * always has a requestAvg of 100, so a target of 1.5% is a half width of 1.5, and the overheads 10, 11 and 10.5 have a
+ * 95% interval of 4.303 * 0.5 / sqrt(3) = 1.242 around their mean: within the target after a single look, but not
+ * once it is widened for the 10 looks of a budget of 12 passes.
+ */
+class SequentialStoppingTests {
+
+  private static final Agent NONE = Agent.builder().name("none").description("none").build();
+  private static final Agent AGENT = Agent.builder().name("agent").description("agent").build();
+  private static final List<String> METRICS = List.of("requestAvg");
+  private static final double TARGET_PERCENT = 1.5;
+
+  @Test
+  void stopsWhenTheIntervalIsWithinTheTarget() {
+    SequentialStopping stopping = new SequentialStopping(NONE.getName(), METRICS, TARGET_PERCENT, 3);
+    StoppingDecision decision = stopping.evaluate(passes(10, 11, 10.5));
+    assertEquals(StoppingDecision.Outcome.PRECISION_REACHED, decision.getOutcome());
+  }
+
+  @Test
+  void widensTheIntervalForEveryLook() {
+    SequentialStopping stopping = new SequentialStopping(NONE.getName(), METRICS, TARGET_PERCENT, 12);
+    StoppingDecision decision = stopping.evaluate(passes(10, 11, 10.5));
+    assertEquals(StoppingDecision.Outcome.CONTINUE, decision.getOutcome());
+  }
+
+  @Test
+  void stopsOnceTheWidenedIntervalIsWithinTheTarget() {
+    SequentialStopping stopping = new SequentialStopping(NONE.getName(), METRICS, TARGET_PERCENT, 12);
+    // 2.555 / 1.960 * 2.365 * 0.378 / sqrt(8) = 0.412
+    StoppingDecision decision = stopping.evaluate(passes(10, 11, 10.5, 10, 11, 10.5, 10.5, 10.5));
+    assertEquals(StoppingDecision.Outcome.PRECISION_REACHED, decision.getOutcome());
+  }
+
+  @Test
+  void needsTheFirstLookBeforeStopping() {
+    SequentialStopping stopping = new SequentialStopping(NONE.getName(), METRICS, TARGET_PERCENT, 3);
+    StoppingDecision decision = stopping.evaluate(passes(10, 10));
+    assertEquals(StoppingDecision.Outcome.CONTINUE, decision.getOutcome());
+  }
+
+  @Test
+  void stopsAtTheBudget() {
+    SequentialStopping stopping = new SequentialStopping(NONE.getName(), METRICS, TARGET_PERCENT, 4);
+    assertEquals(StoppingDecision.Outcome.CONTINUE, stopping.evaluate(passes(0, 20, 10)).getOutcome());
+    StoppingDecision decision = stopping.evaluate(passes(0, 20, 10, 30));
+    assertEquals(StoppingDecision.Outcome.BUDGET_EXHAUSTED, decision.getOutcome());
+    assertTrue(decision.isStop());
+  }
+
+  @Test
+  void needsABudgetForTheFirstLook() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SequentialStopping(NONE.getName(), METRICS, TARGET_PERCENT, SequentialStopping.MIN_PASSES - 1));
+  }
+
+  private static List<List<AppPerfResults>> passes(double... overheads) {
+    List<List<AppPerfResults>> passes = new ArrayList<>();
+    for (double overhead : overheads) {
+      passes.add(List.of(
+          AppPerfResults.builder().agent(NONE).requestAvg(100).build(),
+          AppPerfResults.builder().agent(AGENT).requestAvg(100 + overhead).build()));
+    }
+    return passes;
+  }
+}
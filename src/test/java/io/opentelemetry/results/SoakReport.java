@@ -0,0 +1,228 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.util.NamingConvention;
+import io.opentelemetry.util.Statistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fits a line through the chunks of a soak test (see {@code SoakRecorder}) for every agent and metric, and decides
+ * whether the agent leaks.
+ * <p>
+ * The app grows under the soak load by itself, so a slope only counts against an agent by what it adds to the slope
+ * of the uninstrumented app. That excess has to be significant (a one sided t-test on the difference of the two
+ * slopes at 97.5%) and material: at least {@link #MATERIAL_PERCENT_PER_DAY} percent of the agent's starting value per
+ * day. A growing heap after GC is a leak, any other growing metric makes the agent suspect. The first
+ * {@link #WARMUP_CHUNKS} chunks are left out, the caches of the app and the agent are still filling up.
+ */
+public class SoakReport {
+
+  public enum Verdict {
+    OK,
+    SUSPECT,
+    LEAK,
+    INSUFFICIENT_DATA,
+    BASELINE
+  }
+
+  static final int WARMUP_CHUNKS = 2;
+  static final int MIN_CHUNKS = 4;
+  static final double MATERIAL_PERCENT_PER_DAY = 10.0;
+  private static final double MB = 1024 * 1024;
+  private static final double HOUR_MILLIS = 3600_000;
+
+  // column -> description, with the heap after GC first: it decides whether an agent leaks
+  private static final Map<String, String> METRICS = new LinkedHashMap<>();
+
+  static {
+    METRICS.put("heapAfterGc", "heap after GC (MB)");
+    METRICS.put("rss", "RSS (MB)");
+    METRICS.put("threads", "threads");
+    METRICS.put("probeP50Ms", "probe latency p50 (ms)");
+  }
+
+  private final String baseline;
+  private final Map<String, Map<String, Slope>> slopes;
+  private final Map<String, Verdict> verdicts = new LinkedHashMap<>();
+
+  private SoakReport(String baseline, Map<String, Map<String, Slope>> slopes) {
+    this.baseline = baseline;
+    this.slopes = slopes;
+    slopes.keySet().forEach(agent -> verdicts.put(agent, verdict(agent)));
+  }
+
+  public static SoakReport read(NamingConvention namingConvention, List<Agent> agents, Agent baseline)
+      throws IOException {
+    Map<String, Map<String, Slope>> slopes = new LinkedHashMap<>();
+    for (Agent agent : agents) {
+      slopes.put(agent.getName(), fit(readChunks(namingConvention.soakFile(agent))));
+    }
+    return new SoakReport(baseline.getName(), slopes);
+  }
+
+  public boolean hasLeak() {
+    return verdicts.containsValue(Verdict.LEAK);
+  }
+
+  public Map<String, Verdict> getVerdicts() {
+    return verdicts;
+  }
+
+  public String summary() {
+    return "Soak test: " + verdicts.entrySet().stream()
+        .filter(entry -> entry.getValue() != Verdict.BASELINE)
+        .map(entry -> entry.getKey() + " " + entry.getValue())
+        .collect(Collectors.joining(", "));
+  }
+
+  public void writeReport(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Soak test slopes per hour, without the first ").append(WARMUP_CHUNKS).append(" chunks\n");
+    sb.append("Excess is the slope beyond that of ").append(baseline).append('\n');
+    for (Map.Entry<String, Map<String, Slope>> agent : slopes.entrySet()) {
+      sb.append('\n').append(agent.getKey()).append(": ").append(verdicts.get(agent.getKey())).append('\n');
+      sb.append(String.format("  %-24s %7s %12s %14s %14s %10s\n",
+          "metric", "chunks", "start", "slope/h", "excess/h", "excess/day"));
+      for (Map.Entry<String, Slope> metric : agent.getValue().entrySet()) {
+        Slope slope = metric.getValue();
+        Slope base = slopes.containsKey(baseline) ? slopes.get(baseline).get(metric.getKey()) : null;
+        double excess = base == null ? slope.perHour : slope.perHour - base.perHour;
+        sb.append(String.format("  %-24s %7d %12.2f %7.3f+/-%-6.3f %14.3f %9.1f%%\n",
+            METRICS.get(metric.getKey()), slope.count, slope.start, slope.perHour, slope.standardError, excess,
+            slope.start == 0 ? Double.NaN : 100 * 24 * excess / Math.abs(slope.start)));
+      }
+    }
+    Files.writeString(file, sb.toString());
+  }
+
+  private Verdict verdict(String agent) {
+    if (agent.equals(baseline)) {
+      return Verdict.BASELINE;
+    }
+    Map<String, Slope> agentSlopes = slopes.get(agent);
+    Map<String, Slope> baselineSlopes = slopes.get(baseline);
+    Verdict verdict = Verdict.OK;
+    for (String metric : METRICS.keySet()) {
+      Slope slope = agentSlopes.get(metric);
+      Slope base = baselineSlopes == null ? Slope.FLAT : baselineSlopes.get(metric);
+      if (slope.count < MIN_CHUNKS || base.count < MIN_CHUNKS) {
+        return Verdict.INSUFFICIENT_DATA;
+      }
+      if (isGrowing(slope, base)) {
+        if (metric.equals("heapAfterGc")) {
+          return Verdict.LEAK;
+        }
+        verdict = Verdict.SUSPECT;
+      }
+    }
+    return verdict;
+  }
+
+  private static boolean isGrowing(Slope slope, Slope base) {
+    double excess = slope.perHour - base.perHour;
+    double standardError = Math.hypot(slope.standardError, base.standardError);
+    int degreesOfFreedom = Math.min(slope.count, base.count == 0 ? slope.count : base.count) - 2;
+    boolean significant = standardError == 0
+        ? excess > 0
+        : excess / standardError > Statistics.tCritical95(degreesOfFreedom);
+    boolean material = 24 * excess > Math.abs(slope.start) * MATERIAL_PERCENT_PER_DAY / 100;
+    return significant && material;
+  }
+
+  // header -> one value per chunk
+  private static Map<String, double[]> readChunks(Path file) throws IOException {
+    Map<String, double[]> result = new LinkedHashMap<>();
+    if (!Files.exists(file)) {
+      return result;
+    }
+    List<String> header;
+    List<double[]> rows = new ArrayList<>();
+    try (BufferedReader in = Files.newBufferedReader(file)) {
+      header = Arrays.asList(in.readLine().split(","));
+      in.lines()
+          .filter(line -> !line.isBlank())
+          .map(line -> Arrays.stream(line.split(",")).mapToDouble(Double::parseDouble).toArray())
+          .forEach(rows::add);
+    }
+    for (int column = 0; column < header.size(); column++) {
+      int index = column;
+      result.put(header.get(column), rows.stream().mapToDouble(row -> row[index]).toArray());
+    }
+    return result;
+  }
+
+  private static Map<String, Slope> fit(Map<String, double[]> chunks) {
+    Map<String, Slope> result = new LinkedHashMap<>();
+    double[] ends = chunks.getOrDefault("windowEnd", new double[0]);
+    for (String metric : METRICS.keySet()) {
+      double[] values = chunks.getOrDefault(metric, new double[0]);
+      double scale = metric.equals("heapAfterGc") || metric.equals("rss") ? MB : 1;
+      List<double[]> points = new ArrayList<>();
+      for (int i = WARMUP_CHUNKS; i < values.length; i++) {
+        // -1 when the chunk had no GC or no samples
+        if (values[i] >= 0 && !Double.isNaN(values[i])) {
+          points.add(new double[] {(ends[i] - ends[0]) / HOUR_MILLIS, values[i] / scale});
+        }
+      }
+      result.put(metric, Slope.fit(points));
+    }
+    return result;
+  }
+
+  // a least squares line through (hours, value)
+  private static class Slope {
+    private static final Slope FLAT = new Slope(0, 0, 0, 0);
+
+    private final int count;
+    private final double start;
+    private final double perHour;
+    private final double standardError;
+
+    private Slope(int count, double start, double perHour, double standardError) {
+      this.count = count;
+      this.start = start;
+      this.perHour = perHour;
+      this.standardError = standardError;
+    }
+
+    private static Slope fit(List<double[]> points) {
+      int n = points.size();
+      if (n < 2) {
+        return new Slope(n, n == 0 ? Double.NaN : points.get(0)[1], Double.NaN, Double.NaN);
+      }
+      double meanX = points.stream().mapToDouble(p -> p[0]).average().orElse(0);
+      double meanY = points.stream().mapToDouble(p -> p[1]).average().orElse(0);
+      double sxx = 0;
+      double sxy = 0;
+      for (double[] p : points) {
+        sxx += (p[0] - meanX) * (p[0] - meanX);
+        sxy += (p[0] - meanX) * (p[1] - meanY);
+      }
+      double slope = sxx == 0 ? 0 : sxy / sxx;
+      double intercept = meanY - slope * meanX;
+      double residuals = 0;
+      for (double[] p : points) {
+        double residual = p[1] - (intercept + slope * p[0]);
+        residuals += residual * residual;
+      }
+      double standardError = n < 3 || sxx == 0 ? Double.NaN : Math.sqrt(residuals / (n - 2) / sxx);
+      // the fitted value at the first chunk after the warmup
+      double start = intercept + slope * points.get(0)[0];
+      return new Slope(n, start, slope, standardError);
+    }
+  }
+}
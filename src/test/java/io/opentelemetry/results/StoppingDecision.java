@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a {@link SequentialStopping} look: whether to run another pass, and the precision of the overhead
+ * of every agent and metric so far.
+ */
+public class StoppingDecision {
+
+  public enum Outcome {
+    CONTINUE,
+    PRECISION_REACHED,
+    BUDGET_EXHAUSTED
+  }
+
+  private final Outcome outcome;
+  private final int passes;
+  private final int maxPasses;
+  private final double targetPercent;
+  // how much wider the intervals are than the 95% interval of a single look
+  private final double widening;
+  private final List<Estimate> estimates;
+
+  StoppingDecision(Outcome outcome, int passes, int maxPasses, double targetPercent, double widening,
+      List<Estimate> estimates) {
+    this.outcome = outcome;
+    this.passes = passes;
+    this.maxPasses = maxPasses;
+    this.targetPercent = targetPercent;
+    this.widening = widening;
+    this.estimates = Collections.unmodifiableList(new ArrayList<>(estimates));
+  }
+
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  public boolean isStop() {
+    return outcome != Outcome.CONTINUE;
+  }
+
+  public String summary() {
+    long reached = estimates.stream().filter(e -> e.reached).count();
+    return String.format("%s after %d of at most %d passes, %d of %d estimates within +/-%.1f%%", outcome, passes,
+        maxPasses, reached, estimates.size(), targetPercent);
+  }
+
+  public void writeJson(Path file) throws IOException {
+    Gson gson = new GsonBuilder()
+        .setPrettyPrinting()
+        .serializeSpecialFloatingPointValues()
+        .create();
+    Files.writeString(file, gson.toJson(this));
+  }
+
+  public void writeReport(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Sequential stopping: ").append(summary()).append('\n');
+    sb.append(String.format("Intervals widened by %.3f for the looks after every pass\n\n", widening));
+    sb.append(String.format("%-22s %-20s %14s %14s %14s  %s\n", "agent", "metric", "overhead", "+/-", "target",
+        "precise"));
+    for (Estimate e : estimates) {
+      sb.append(String.format("%-22s %-20s %14.3f %14.3f %14.3f  %s\n", e.agent, e.metric, e.overhead, e.halfWidth,
+          e.target, e.reached ? "yes" : "no"));
+    }
+    Files.writeString(file, sb.toString());
+  }
+
+  /**
+   * The mean overhead of an agent for one metric and the half width of its widened confidence interval.
+   */
+  public static class Estimate {
+    final String agent;
+    final String metric;
+    final double overhead;
+    final double halfWidth;
+    final double target;
+    final boolean reached;
+
+    Estimate(String agent, String metric, double overhead, double halfWidth, double target, boolean reached) {
+      this.agent = agent;
+      this.metric = metric;
+      this.overhead = overhead;
+      this.halfWidth = halfWidth;
+      this.target = target;
+      this.reached = reached;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.util.NamingConvention;
+import io.opentelemetry.util.TailWindowComputations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The slow requests that the {@code TailLatencyTrigger} dumped the recording for, each with what the JVM did around
+ * it and the most likely cause. GC pauses or other safepoints are the cause when those that began while the request
+ * ran (k6 only has the second it ended in) add up to at least half of its excess latency, the part above the running
+ * p99.9. Agent code or the exporters are the cause when at least {@value #CPU_SHARE_PERCENT}% of the CPU samples in the
+ * window were in them. The baseline shows which causes a slow request has without any agent.
+ * <p>
+ * The dumps of a pass are overwritten by the next one, so every pass is reduced when it is written.
+ */
+public class TailLatencyReport {
+
+  static final double CPU_SHARE_PERCENT = 30;
+
+  private final Map<String, List<Window>> agents = new LinkedHashMap<>();
+
+  public void addPass(int pass, Agent agent, NamingConvention local) throws IOException {
+    Path triggers = local.tailTriggersFile(agent);
+    if (!Files.exists(triggers)) {
+      return;
+    }
+    List<Window> windows = agents.computeIfAbsent(agent.getName(), x -> new ArrayList<>());
+    try (BufferedReader in = Files.newBufferedReader(triggers)) {
+      in.readLine();
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        String[] fields = line.split(",");
+        Window window = new Window(pass, Instant.ofEpochMilli(Long.parseLong(fields[1])),
+            Double.parseDouble(fields[2]), Double.parseDouble(fields[3]));
+        Path dump = local.tailWindowFile(agent, Integer.parseInt(fields[0]));
+        if (Files.exists(dump)) {
+          window.computations = TailWindowComputations.compute(dump,
+              Instant.ofEpochMilli(Long.parseLong(fields[4])), Instant.ofEpochMilli(Long.parseLong(fields[5])));
+        }
+        windows.add(window);
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return agents.isEmpty();
+  }
+
+  public void write(Path file) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Slow requests, above twice the running p99.9, and what the JVM did in the window around them.\n");
+    agents.forEach((agent, windows) -> {
+      Map<String, Integer> causes = new TreeMap<>();
+      windows.forEach(window -> causes.merge(window.cause(), 1, Integer::sum));
+      sb.append('\n').append(agent).append(": ").append(windows.size()).append(" slow requests");
+      causes.forEach((cause, count) -> sb.append(", ").append(count).append(' ').append(cause));
+      sb.append('\n');
+      windows.forEach(window -> window.format(sb));
+    });
+    Files.writeString(file, sb.toString());
+  }
+
+  private static class Window {
+    private final int pass;
+    private final Instant timestamp;
+    private final double latencyMs;
+    private final double thresholdMs;
+    private TailWindowComputations computations;
+
+    private Window(int pass, Instant timestamp, double latencyMs, double thresholdMs) {
+      this.pass = pass;
+      this.timestamp = timestamp;
+      this.latencyMs = latencyMs;
+      this.thresholdMs = thresholdMs;
+    }
+
+    private String cause() {
+      if (computations == null) {
+        return "without dump";
+      }
+      // the threshold is twice the p99.9
+      double excessMs = latencyMs - thresholdMs / 2;
+      Instant start = timestamp.minusMillis((long) latencyMs);
+      Instant end = timestamp.plusSeconds(1);
+      if (computations.gcPauseMs(start, end) >= excessMs / 2) {
+        return "GC pauses";
+      }
+      if (computations.safepointStallMs(start, end) >= excessMs / 2) {
+        return "safepoints";
+      }
+      if (percent(computations.agentSamples()) >= CPU_SHARE_PERCENT) {
+        return "agent CPU";
+      }
+      if (percent(computations.exporterSamples()) >= CPU_SHARE_PERCENT) {
+        return "exporter CPU";
+      }
+      return "unattributed";
+    }
+
+    private double percent(long samples) {
+      return computations.samples() == 0 ? 0 : 100.0 * samples / computations.samples();
+    }
+
+    private void format(StringBuilder sb) {
+      sb.append(String.format("  pass %d %s: %.0f ms (threshold %.0f ms), %s\n", pass + 1, timestamp, latencyMs,
+          thresholdMs, cause()));
+      if (computations == null) {
+        return;
+      }
+      sb.append(String.format("    GC: %d pauses, %.1f ms, longest %.1f ms\n", computations.gcPauses(),
+          computations.gcPauseMs(), computations.maxGcPauseMs()));
+      sb.append(String.format("    safepoints: %d, %.1f ms stalled, longest %.1f ms (%s)\n",
+          computations.safepoints(), computations.safepointStallMs(), computations.longestSafepointMs(),
+          computations.longestSafepointOperation()));
+      sb.append(String.format("    profiler: %d thread dumps\n", computations.threadDumps()));
+      sb.append(String.format("    CPU samples: %d, %.0f%% in agent code, %.0f%% on exporter threads%s\n",
+          computations.samples(), percent(computations.agentSamples()), percent(computations.exporterSamples()),
+          computations.hottestAgentMethod() == null ? "" : ", mostly " + computations.hottestAgentMethod()));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import io.opentelemetry.columnar.ColumnType;
+import io.opentelemetry.columnar.ColumnarReader;
+import io.opentelemetry.columnar.ColumnarWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resource usage and load of a single agent run in 1 second buckets. Every column has one value per bucket,
+ * {@link #TIMESTAMP} holds the epoch second of each bucket. Buckets without data hold NaN (double columns)
+ * or the last known value (gauges like heap and thread count).
+ */
+public class TimeSeries {
+
+  public static final String TIMESTAMP = "timestamp";
+  public static final String CPU_USER = "cpuUser";
+  public static final String CPU_SYSTEM = "cpuSystem";
+  public static final String CPU_MACHINE = "cpuMachine";
+  public static final String HEAP_USED = "heapUsed";
+  public static final String GC_PAUSE_MS = "gcPauseMs";
+  public static final String ALLOCATION_RATE = "allocationRate";
+  public static final String THREAD_COUNT = "threadCount";
+  public static final String REQUESTS = "requests";
+  public static final String LATENCY_AVG = "latencyAvg";
+  public static final String LATENCY_MAX = "latencyMax";
+
+  private final int size;
+  private final Map<String, long[]> longColumns;
+  private final Map<String, double[]> doubleColumns;
+
+  TimeSeries(int size, Map<String, long[]> longColumns, Map<String, double[]> doubleColumns) {
+    this.size = size;
+    this.longColumns = longColumns;
+    this.doubleColumns = doubleColumns;
+  }
+
+  public static Builder builder(int size) {
+    return new Builder(size);
+  }
+
+  /**
+   * Reads a time series that {@link #write(Path)} wrote, e.g. one of <code>timeseries/pass-N/agent.bin</code>.
+   */
+  public static TimeSeries read(Path file) throws IOException {
+    try (ColumnarReader reader = ColumnarReader.open(file)) {
+      Builder builder = builder(reader.getRowCount());
+      for (String column : reader.getColumnNames()) {
+        if (reader.getColumnType(column) == ColumnType.LONG) {
+          builder.longColumn(column, reader.readLongColumn(column));
+        } else {
+          builder.doubleColumn(column, reader.readDoubleColumn(column));
+        }
+      }
+      return builder.build();
+    }
+  }
+
+  public void write(Path file) throws IOException {
+    ColumnarWriter writer = new ColumnarWriter(size);
+    longColumns.forEach(writer::addLongColumn);
+    doubleColumns.forEach(writer::addDoubleColumn);
+    writer.writeTo(file);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long[] getLongs(String column) {
+    return longColumns.get(column);
+  }
+
+  public double[] getDoubles(String column) {
+    return doubleColumns.get(column);
+  }
+
+  public static class Builder {
+    private final int size;
+    private final Map<String, long[]> longColumns = new LinkedHashMap<>();
+    private final Map<String, double[]> doubleColumns = new LinkedHashMap<>();
+
+    private Builder(int size) {
+      this.size = size;
+    }
+
+    public Builder longColumn(String name, long[] values) {
+      longColumns.put(name, values);
+      return this;
+    }
+
+    public Builder doubleColumn(String name, double[] values) {
+      doubleColumns.put(name, values);
+      return this;
+    }
+
+    public TimeSeries build() {
+      return new TimeSeries(size, Collections.unmodifiableMap(longColumns), Collections.unmodifiableMap(doubleColumns));
+    }
+  }
+}
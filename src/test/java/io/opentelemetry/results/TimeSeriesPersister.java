@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes the time series of every agent run in a pass as <code>timeseries/pass-N/agent.bin</code> in the columnar
+ * format, next to the results csv.
+ */
+class TimeSeriesPersister implements ResultsPersister {
+
+  private final Path passDir;
+
+  TimeSeriesPersister(Path timeSeriesDir, int pass) {
+    this.passDir = timeSeriesDir.resolve("pass-" + pass);
+  }
+
+  @Override
+  public void write(List<AppPerfResults> results) {
+    try {
+      Files.createDirectories(passDir);
+      for (AppPerfResults result : results) {
+        if (result.timeSeries != null) {
+          result.timeSeries.write(passDir.resolve(result.getAgentName() + ".bin"));
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing time series", e);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Writes a time series and reads it back, with the gaps that the buckets without data have: NaN in the double
+ * columns and a repeated last value in the gauges.
+ */
+class TimeSeriesTests {
+
+  private static final long[] TIMESTAMPS = {1657557600, 1657557601, 1657557602, 1657557603};
+  private static final long[] HEAP_USED = {120_000_000, 130_000_000, 130_000_000, 90_000_000};
+  private static final long[] THREAD_COUNT = {42, 43, 43, 43};
+  private static final double[] CPU_USER = {0.25, Double.NaN, 0.5, 0.125};
+  private static final double[] LATENCY_MAX = {12.5, Double.NaN, Double.NaN, 1e-3};
+
+  @Test
+  void readsBackWhatWasWritten() throws IOException {
+    Path file = Files.createTempFile("timeseries", ".bin");
+    TimeSeries.builder(TIMESTAMPS.length)
+        .longColumn(TimeSeries.TIMESTAMP, TIMESTAMPS)
+        .longColumn(TimeSeries.HEAP_USED, HEAP_USED)
+        .longColumn(TimeSeries.THREAD_COUNT, THREAD_COUNT)
+        .doubleColumn(TimeSeries.CPU_USER, CPU_USER)
+        .doubleColumn(TimeSeries.LATENCY_MAX, LATENCY_MAX)
+        .build()
+        .write(file);
+
+    TimeSeries read = TimeSeries.read(file);
+
+    assertEquals(TIMESTAMPS.length, read.size());
+    assertArrayEquals(TIMESTAMPS, read.getLongs(TimeSeries.TIMESTAMP));
+    assertArrayEquals(HEAP_USED, read.getLongs(TimeSeries.HEAP_USED));
+    assertArrayEquals(THREAD_COUNT, read.getLongs(TimeSeries.THREAD_COUNT));
+    assertArrayEquals(CPU_USER, read.getDoubles(TimeSeries.CPU_USER));
+    assertArrayEquals(LATENCY_MAX, read.getDoubles(TimeSeries.LATENCY_MAX));
+    // a column is of one type only
+    assertNull(read.getDoubles(TimeSeries.HEAP_USED));
+    assertNull(read.getLongs(TimeSeries.REQUESTS));
+  }
+
+  @Test
+  void readsBackAnEmptySeries() throws IOException {
+    Path file = Files.createTempFile("timeseries", ".bin");
+    TimeSeries.builder(0)
+        .longColumn(TimeSeries.TIMESTAMP, new long[0])
+        .doubleColumn(TimeSeries.CPU_USER, new double[0])
+        .build()
+        .write(file);
+
+    TimeSeries read = TimeSeries.read(file);
+
+    assertEquals(0, read.size());
+    assertArrayEquals(new long[0], read.getLongs(TimeSeries.TIMESTAMP));
+    assertArrayEquals(new double[0], read.getDoubles(TimeSeries.CPU_USER));
+  }
+}
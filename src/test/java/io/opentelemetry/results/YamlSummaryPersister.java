@@ -49,6 +49,7 @@ public class YamlSummaryPersister implements ResultsPersister {
         Map<String, String> latency = new HashMap<>();
         Map<String, String> throughput = new HashMap<>();
         Map<String, String> startup = new HashMap<>();
+        Map<String, String> memory = new HashMap<>();
 
         ResultsAverager averager = new ResultsAverager(results);
         for (AppPerfResults r : results) {
@@ -60,6 +61,9 @@ public class YamlSummaryPersister implements ResultsPersister {
             latency.put(agentDescription, String.format("%.2f milliseconds", averager.requestLatency(agentName)));
             throughput.put(agentDescription, String.format("%.2f requests per second", averager.throughput(agentName)));
             startup.put(agentDescription, String.format("%.2f seconds", averager.startupTime(agentName)));
+            memory.put(agentDescription, String.format("%.2f MiB peak RSS (%.2f MiB avg, %.2f MiB metaspace, %.2f MiB code cache, %.2f MiB threads)",
+                    averager.peakRssMB(agentName), averager.averageRssMB(agentName), averager.peakMetaspaceMB(agentName),
+                    averager.peakCodeCacheMB(agentName), averager.peakThreadMemoryMB(agentName)));
         }
 
         result.put("CPU", cpu);
@@ -67,6 +71,7 @@ public class YamlSummaryPersister implements ResultsPersister {
         result.put("Request latency", latency);
         result.put("Throughput", throughput);
         result.put("Startup time", startup);
+        result.put("Memory", memory);
 
         return result;
     }
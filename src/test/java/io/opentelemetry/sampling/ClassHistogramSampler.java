@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.sampling;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.util.NamingConventions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes class histograms of the java process in the petclinic container at the start of the measured window, every
+ * interval during it and at its end, optionally followed by a heap dump. jcmd writes them straight into the results
+ * directory, they never pass through the memory of the tests.
+ * <p>
+ * A class histogram only counts live objects, so every one of them is a full GC. That shows in the GC and latency
+ * results of the run, which is why the sampler is off unless asked for.
+ */
+public class ClassHistogramSampler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClassHistogramSampler.class);
+
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(60);
+
+  private final GenericContainer<?> container;
+  private final NamingConventions namingConventions;
+  private final Agent agent;
+  private final Duration interval;
+  private final boolean heapDump;
+  private ScheduledExecutorService executor;
+  private int snapshots;
+
+  public ClassHistogramSampler(GenericContainer<?> container, NamingConventions namingConventions, Agent agent,
+      Duration interval, boolean heapDump) {
+    this.container = container;
+    this.namingConventions = namingConventions;
+    this.agent = agent;
+    this.interval = interval;
+    this.heapDump = heapDump;
+  }
+
+  public void start() throws IOException {
+    deletePreviousPass(namingConventions, agent);
+    snapshotQuietly();
+    executor = Executors.newSingleThreadScheduledExecutor();
+    long period = interval.toMillis();
+    executor.scheduleAtFixedRate(this::snapshotQuietly, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+      logger.warn("Class histogram sampler did not terminate in time");
+    }
+    snapshotQuietly();
+    if (heapDump) {
+      try {
+        exec("jcmd", "1", "GC.heap_dump", namingConventions.container.heapDumpFile(agent).toString());
+      } catch (Exception e) {
+        logger.warn("Unable to dump the heap of {}: {}", agent.getName(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Deletes the histograms and the heap dump of the agent's previous run. Called before every run, also when no
+   * histograms are taken, so that the retained heap report never picks up those of an earlier pass or invocation. A
+   * pass with fewer snapshots must not pick up those of the pass before either, and jcmd doesn't overwrite heap dumps.
+   */
+  public static void deletePreviousPass(NamingConventions namingConventions, Agent agent) throws IOException {
+    int snapshot = 0;
+    while (Files.deleteIfExists(namingConventions.local.classHistogramFile(agent, snapshot))) {
+      snapshot++;
+    }
+    Files.deleteIfExists(namingConventions.local.heapDumpFile(agent));
+  }
+
+  private void snapshotQuietly() {
+    try {
+      exec("sh", "-c", "jcmd 1 GC.class_histogram > " + namingConventions.container.classHistogramFile(agent, snapshots));
+      snapshots++;
+    } catch (Exception e) {
+      // the histograms before and after still show what is retained
+      logger.warn("Unable to take class histogram {} of {}: {}", snapshots, agent.getName(), e.getMessage());
+      // the redirect leaves an empty or partial histogram behind
+      namingConventions.local.classHistogramFile(agent, snapshots).toFile().delete();
+    }
+  }
+
+  private void exec(String... command) throws IOException, InterruptedException {
+    Container.ExecResult result = container.execInContainer(command);
+    if (result.getExitCode() != 0) {
+      throw new IOException(String.join(" ", command) + " failed: " + result.getStderr());
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.sampling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples what else is going on on the test host while the measured window is running: the cpu time counters of
+ * <code>/proc/stat</code> (steal and iowait in particular), the load average, the cpu clock of
+ * <code>/proc/cpuinfo</code> and the cfs throttling counters of the petclinic container's cgroup. Samples are
+ * appended to a csv file so they can be reduced by {@link io.opentelemetry.util.HostNoiseComputations} later on.
+ * <p>
+ * The host counters are read by the test runner itself, which shares the kernel with the containers on the testbox.
+ * The cgroup counters are only read when the sampler starts and stops, they are cumulative and every read is an exec
+ * into the container.
+ */
+public class HostNoiseSampler {
+
+  private static final Logger logger = LoggerFactory.getLogger(HostNoiseSampler.class);
+
+  public static final String HEADER =
+      "timestamp,user,nice,system,idle,iowait,irq,softirq,steal,load1,cpuMhz,nrThrottled,throttledUsec\n";
+  private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+
+  private static final Path PROC_STAT = Paths.get("/proc/stat");
+  private static final Path PROC_LOADAVG = Paths.get("/proc/loadavg");
+  private static final Path PROC_CPUINFO = Paths.get("/proc/cpuinfo");
+  // cgroup v2 first, then the two places v1 mounts the cpu controller
+  private static final String CPU_STAT_SCRIPT = "cat /sys/fs/cgroup/cpu.stat 2>/dev/null"
+      + " || cat /sys/fs/cgroup/cpu/cpu.stat 2>/dev/null || cat /sys/fs/cgroup/cpu,cpuacct/cpu.stat";
+
+  private final GenericContainer<?> container;
+  private final Path outputFile;
+  private final Duration interval;
+  private ScheduledExecutorService executor;
+  private volatile long[] throttling = {-1, -1};
+
+  public HostNoiseSampler(GenericContainer<?> container, Path outputFile) {
+    this(container, outputFile, DEFAULT_INTERVAL);
+  }
+
+  public HostNoiseSampler(GenericContainer<?> container, Path outputFile, Duration interval) {
+    this.container = container;
+    this.outputFile = outputFile;
+    this.interval = interval;
+  }
+
+  public void start() throws IOException {
+    Files.writeString(outputFile, HEADER);
+    if (!Files.isReadable(PROC_STAT)) {
+      logger.warn("{} is not readable, the run has no host noise samples", PROC_STAT);
+      return;
+    }
+    readThrottlingQuietly();
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleAtFixedRate(this::sampleQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() throws InterruptedException {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+      logger.warn("Host noise sampler did not terminate in time");
+    }
+    // the last sample closes the window with the throttling counters at its end
+    readThrottlingQuietly();
+    sampleQuietly();
+  }
+
+  private void sampleQuietly() {
+    try {
+      sample();
+    } catch (Exception e) {
+      // A single missed sample is not worth failing the whole run over
+      logger.warn("Unable to sample host noise: {}", e.getMessage());
+    }
+  }
+
+  private void sample() throws IOException {
+    long timestamp = System.currentTimeMillis();
+    // cpu  user nice system idle iowait irq softirq steal guest guest_nice
+    String[] cpu = Files.readAllLines(PROC_STAT).get(0).trim().split("\\s+");
+    String load1 = Files.readString(PROC_LOADAVG).trim().split("\\s+")[0];
+    long[] throttled = throttling;
+
+    StringBuilder line = new StringBuilder().append(timestamp);
+    for (int i = 1; i <= 8; i++) {
+      line.append(',').append(i < cpu.length ? cpu[i] : "0");
+    }
+    line.append(',').append(load1)
+        .append(',').append(String.format(Locale.ROOT, "%.1f", averageCpuMhz()))
+        .append(',').append(throttled[0])
+        .append(',').append(throttled[1])
+        .append('\n');
+    Files.writeString(outputFile, line, StandardOpenOption.APPEND);
+  }
+
+  // cpu MHz : 2399.998, once per core. ARM kernels don't have it.
+  private static double averageCpuMhz() throws IOException {
+    if (!Files.isReadable(PROC_CPUINFO)) {
+      return Double.NaN;
+    }
+    List<String> lines = Files.readAllLines(PROC_CPUINFO);
+    return lines.stream()
+        .filter(line -> line.startsWith("cpu MHz"))
+        .mapToDouble(line -> Double.parseDouble(line.substring(line.indexOf(':') + 1).trim()))
+        .average()
+        .orElse(Double.NaN);
+  }
+
+  private void readThrottlingQuietly() {
+    try {
+      Container.ExecResult result = container.execInContainer("sh", "-c", CPU_STAT_SCRIPT);
+      throttling = parseThrottling(result.getStdout());
+    } catch (Exception e) {
+      logger.warn("Unable to read the cpu throttling of the container: {}", e.getMessage());
+    }
+  }
+
+  // nr_throttled and throttled_usec (v2) or throttled_time in nanoseconds (v1)
+  private static long[] parseThrottling(String cpuStat) {
+    long[] result = {-1, -1};
+    for (String line : cpuStat.split("\n")) {
+      String[] parts = line.trim().split("\\s+");
+      if (parts.length != 2) {
+        continue;
+      }
+      switch (parts[0]) {
+        case "nr_throttled":
+          result[0] = Long.parseLong(parts[1]);
+          break;
+        case "throttled_usec":
+          result[1] = Long.parseLong(parts[1]);
+          break;
+        case "throttled_time":
+          result[1] = Long.parseLong(parts[1]) / 1000;
+          break;
+        default:
+          break;
+      }
+    }
+    return result;
+  }
+}
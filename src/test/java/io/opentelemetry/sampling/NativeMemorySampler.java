@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.sampling;
+
+import io.opentelemetry.util.NativeMemorySummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples the memory footprint of the java process in the petclinic container while the measured
+ * window is running: process RSS, the container cgroup memory usage and the committed memory of the most
+ * interesting native memory tracking categories. Samples are appended to a csv file so they can be reduced by
+ * {@link io.opentelemetry.util.NativeMemoryComputations} later on.
+ * <p>
+ * Requires the JVM to be started with {@code -XX:NativeMemoryTracking=summary}.
+ */
+public class NativeMemorySampler {
+
+  private static final Logger logger = LoggerFactory.getLogger(NativeMemorySampler.class);
+
+  public static final String HEADER = "timestamp,rss,containerMemory,nmtCommitted,javaHeap,metaspace,thread,code\n";
+  private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(5);
+
+  // cgroup v2 exposes memory.current, v1 memory.usage_in_bytes -- we don't know which one the host runs
+  private static final String MEMORY_SCRIPT = "grep VmRSS /proc/1/status; "
+      + "cat /sys/fs/cgroup/memory.current 2>/dev/null || cat /sys/fs/cgroup/memory/memory.usage_in_bytes";
+
+  private final GenericContainer<?> container;
+  private final Path outputFile;
+  private final Duration interval;
+  private ScheduledExecutorService executor;
+
+  public NativeMemorySampler(GenericContainer<?> container, Path outputFile) {
+    this(container, outputFile, DEFAULT_INTERVAL);
+  }
+
+  public NativeMemorySampler(GenericContainer<?> container, Path outputFile, Duration interval) {
+    this.container = container;
+    this.outputFile = outputFile;
+    this.interval = interval;
+  }
+
+  public void start() throws IOException {
+    Files.writeString(outputFile, HEADER);
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleAtFixedRate(this::sampleQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+      logger.warn("Native memory sampler did not terminate in time");
+    }
+  }
+
+  private void sampleQuietly() {
+    try {
+      sample();
+    } catch (Exception e) {
+      // A single missed sample is not worth failing the whole run over
+      logger.warn("Unable to sample native memory: {}", e.getMessage());
+    }
+  }
+
+  private void sample() throws IOException, InterruptedException {
+    long timestamp = System.currentTimeMillis();
+    Container.ExecResult memory = container.execInContainer("sh", "-c", MEMORY_SCRIPT);
+    Container.ExecResult nmt = container.execInContainer("jcmd", "1", "VM.native_memory", "summary", "scale=KB");
+
+    String[] memoryLines = memory.getStdout().trim().split("\n");
+    long rss = parseRss(memoryLines[0]);
+    long containerMemory = memoryLines.length > 1 ? Long.parseLong(memoryLines[1].trim()) : 0;
+    NativeMemorySummary summary = NativeMemorySummary.parse(nmt.getStdout());
+
+    String line = String.format("%d,%d,%d,%d,%d,%d,%d,%d\n", timestamp, rss, containerMemory,
+        summary.committed(NativeMemorySummary.TOTAL),
+        summary.committed(NativeMemorySummary.JAVA_HEAP),
+        summary.metaspaceCommitted(),
+        summary.committed(NativeMemorySummary.THREAD),
+        summary.committed(NativeMemorySummary.CODE));
+    Files.writeString(outputFile, line, StandardOpenOption.APPEND);
+  }
+
+  // VmRSS:	  123456 kB
+  private static long parseRss(String line) {
+    String value = line.replaceAll("[^0-9]", "");
+    return value.isEmpty() ? 0 : Long.parseLong(value) * 1024;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.sampling;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.util.NamingConventions;
+import io.opentelemetry.util.SoakChunkComputations;
+import io.opentelemetry.util.Statistics;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns the JFR recording of a soak test into a row per chunk, so that hours of events never have to be kept. Every
+ * chunk the recording (bounded by its maxage and maxsize) is dumped, reduced to the window since the last dump, and
+ * deleted. The rows are appended to a csv file, together with the latency of a few probe requests to an endpoint whose
+ * cost doesn't grow with the data that the load adds.
+ * <p>
+ * Requires a recording named {@value #RECORDING} and the {@link NativeMemorySampler} running for the RSS.
+ */
+public class SoakRecorder {
+
+  private static final Logger logger = LoggerFactory.getLogger(SoakRecorder.class);
+
+  public static final String RECORDING = "petclinic";
+  public static final String HEADER =
+      "chunk,windowStart,windowEnd,heapAfterGc,rss,threads,gcPauseMs,probeP50Ms,probeP95Ms\n";
+  private static final int PETCLINIC_PORT = 9966;
+  private static final String PROBE_PATH = "/petclinic/api/specialties";
+  private static final int PROBE_REQUESTS = 50;
+
+  private final GenericContainer<?> container;
+  private final NamingConventions namingConventions;
+  private final Agent agent;
+  private final Duration chunkDuration;
+  private final OkHttpClient client = new OkHttpClient.Builder()
+      .connectTimeout(Duration.ofSeconds(10))
+      .readTimeout(Duration.ofSeconds(10))
+      .build();
+  private ScheduledExecutorService executor;
+  private Instant windowStart;
+  private int chunk;
+
+  public SoakRecorder(GenericContainer<?> container, NamingConventions namingConventions, Agent agent,
+      Duration chunkDuration) {
+    this.container = container;
+    this.namingConventions = namingConventions;
+    this.agent = agent;
+    this.chunkDuration = chunkDuration;
+  }
+
+  public void start() throws IOException {
+    Files.writeString(namingConventions.local.soakFile(agent), HEADER);
+    windowStart = Instant.now();
+    executor = Executors.newSingleThreadScheduledExecutor();
+    long period = chunkDuration.toMillis();
+    executor.scheduleAtFixedRate(this::chunkQuietly, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+      logger.warn("Soak recorder did not terminate in time");
+    }
+    // the part of the run since the last full chunk
+    chunkQuietly();
+  }
+
+  private void chunkQuietly() {
+    try {
+      chunk();
+    } catch (Exception e) {
+      // the next chunk covers this window too
+      logger.warn("Unable to reduce soak chunk {} of {}: {}", chunk, agent.getName(), e.getMessage());
+    }
+  }
+
+  private void chunk() throws Exception {
+    Statistics latencies = Statistics.of(probeLatencies());
+    Instant windowEnd = Instant.now();
+    container.execInContainer("jcmd", "1", "JFR.dump", "name=" + RECORDING,
+        "filename=" + namingConventions.container.soakChunkFile(agent));
+    Path chunkFile = namingConventions.local.soakChunkFile(agent);
+    try {
+      SoakChunkComputations computations = SoakChunkComputations.compute(chunkFile,
+          namingConventions.local.nativeMemoryFile(agent), windowStart, windowEnd);
+      String line = String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%.3f,%.3f\n", chunk,
+          windowStart.toEpochMilli(), windowEnd.toEpochMilli(),
+          computations.minHeapAfterGc(), computations.averageRss(), computations.averageThreads(),
+          computations.gcPauseMs(), latencies.median(), latencies.percentile(95));
+      Files.writeString(namingConventions.local.soakFile(agent), line, StandardOpenOption.APPEND);
+      chunk++;
+      windowStart = windowEnd;
+    } finally {
+      Files.deleteIfExists(chunkFile);
+    }
+  }
+
+  // sequential requests next to the load, in milliseconds
+  private double[] probeLatencies() throws IOException {
+    String url = "http://" + container.getHost() + ":" + container.getMappedPort(PETCLINIC_PORT) + PROBE_PATH;
+    Request request = new Request.Builder().url(url).build();
+    double[] latencies = new double[PROBE_REQUESTS];
+    for (int i = 0; i < PROBE_REQUESTS; i++) {
+      long start = System.nanoTime();
+      try (Response response = client.newCall(request).execute()) {
+        if (!response.isSuccessful()) {
+          throw new IOException("Probe request failed with HTTP " + response.code());
+        }
+        response.body().string();
+      }
+      latencies[i] = (System.nanoTime() - start) / 1e6;
+    }
+    return latencies;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.sampling;
+
+import io.opentelemetry.agents.Agent;
+import io.opentelemetry.util.NamingConventions;
+import io.opentelemetry.util.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the per request output of k6 while it runs and dumps the JFR recording of the app for the window around
+ * every request that takes longer than {@value #FACTOR} times the running p99.9 of the recent requests. The windows
+ * are reduced by {@link io.opentelemetry.util.TailWindowComputations} once the pass is written.
+ * <p>
+ * k6 writes the second in which a request ended, so a window starts {@link #BEFORE} before the request started and ends
+ * {@link #AFTER} after the end of that second. Slow requests within the window of an earlier one share its dump, and
+ * there are at most {@value #MAX_SNAPSHOTS} dumps per run: every dump rotates the chunk of the recording, which costs
+ * the app a little.
+ * <p>
+ * Requires a recording named {@value SoakRecorder#RECORDING}.
+ */
+public class TailLatencyTrigger {
+
+  private static final Logger logger = LoggerFactory.getLogger(TailLatencyTrigger.class);
+
+  public static final String HEADER = "snapshot,timestamp,latencyMs,thresholdMs,windowStart,windowEnd\n";
+  static final double PERCENTILE = 99.9;
+  static final double FACTOR = 2;
+  // fewer requests don't have a p99.9
+  static final int MIN_REQUESTS = 2000;
+  static final int RECENT_REQUESTS = 20_000;
+  static final int MAX_SNAPSHOTS = 10;
+  static final Duration BEFORE = Duration.ofSeconds(3);
+  static final Duration AFTER = Duration.ofSeconds(2);
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+  private static final int MAX_READ = 16 * 1024 * 1024;
+
+  private final GenericContainer<?> container;
+  private final NamingConventions namingConventions;
+  private final Agent agent;
+  private final double[] recent = new double[RECENT_REQUESTS];
+  private int recentCount;
+  private int next;
+  private double threshold = Double.NaN;
+  private long position;
+  private final StringBuilder partial = new StringBuilder();
+  private int nameIndex = -1;
+  private int timestampIndex;
+  private int valueIndex;
+  private Instant lastWindowEnd = Instant.EPOCH;
+  private int snapshots;
+  private ScheduledExecutorService executor;
+
+  public TailLatencyTrigger(GenericContainer<?> container, NamingConventions namingConventions, Agent agent) {
+    this.container = container;
+    this.namingConventions = namingConventions;
+    this.agent = agent;
+  }
+
+  public void start() throws IOException {
+    deletePreviousPass(namingConventions, agent);
+    Files.writeString(namingConventions.local.tailTriggersFile(agent), HEADER);
+    executor = Executors.newSingleThreadScheduledExecutor();
+    long period = POLL_INTERVAL.toMillis();
+    executor.scheduleWithFixedDelay(this::pollQuietly, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Deletes the triggers and the dumps of the agent's previous run. Called before every run, also when no snapshots
+   * are taken, so that the tail latency report never picks up those of an earlier pass or invocation.
+   */
+  public static void deletePreviousPass(NamingConventions namingConventions, Agent agent) throws IOException {
+    Files.deleteIfExists(namingConventions.local.tailTriggersFile(agent));
+    int snapshot = 0;
+    while (Files.deleteIfExists(namingConventions.local.tailWindowFile(agent, snapshot))) {
+      snapshot++;
+    }
+  }
+
+  /**
+   * Reads the rest of the k6 output and waits for the dumps of the windows that are still open.
+   */
+  public void stop() throws Exception {
+    executor.submit(this::pollQuietly).get();
+    // runs the dumps that are scheduled already, but no more polls
+    executor.shutdown();
+    if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+      logger.warn("Tail latency trigger did not terminate in time");
+    }
+  }
+
+  private void pollQuietly() {
+    try {
+      poll();
+    } catch (Exception e) {
+      // the next poll reads from the same position
+      logger.warn("Unable to follow the k6 output of {}: {}", agent.getName(), e.getMessage());
+    }
+  }
+
+  private void poll() throws IOException {
+    Path file = namingConventions.local.k6TimeSeries(agent);
+    if (!Files.exists(file)) {
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long available = channel.size() - position;
+      if (available <= 0) {
+        return;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(available, MAX_READ));
+      channel.read(buffer, position);
+      position += buffer.position();
+      // the output is ascii, a read can't end in the middle of a character
+      partial.append(new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+    }
+    int end;
+    while ((end = partial.indexOf("\n")) >= 0) {
+      String line = partial.substring(0, end);
+      partial.delete(0, end + 1);
+      onLine(line);
+    }
+    if (recentCount >= MIN_REQUESTS) {
+      threshold = FACTOR * Statistics.of(Arrays.copyOf(recent, recentCount)).percentile(PERCENTILE);
+    }
+  }
+
+  // http_req_duration,1657557660,12.345000,,,,true,,GET,http://...
+  private void onLine(String line) throws IOException {
+    if (nameIndex < 0) {
+      List<String> header = Arrays.asList(line.split(","));
+      nameIndex = header.indexOf("metric_name");
+      timestampIndex = header.indexOf("timestamp");
+      valueIndex = header.indexOf("metric_value");
+      return;
+    }
+    String[] fields = line.split(",", valueIndex + 2);
+    if (fields.length <= valueIndex || !fields[nameIndex].equals("http_req_duration")) {
+      return;
+    }
+    double latency = Double.parseDouble(fields[valueIndex]);
+    if (latency > threshold) {
+      trigger(Instant.ofEpochMilli((long) (Double.parseDouble(fields[timestampIndex]) * 1000)), latency);
+    }
+    recent[next] = latency;
+    next = (next + 1) % RECENT_REQUESTS;
+    recentCount = Math.min(recentCount + 1, RECENT_REQUESTS);
+  }
+
+  private void trigger(Instant timestamp, double latency) throws IOException {
+    if (snapshots >= MAX_SNAPSHOTS || !timestamp.isAfter(lastWindowEnd)) {
+      return;
+    }
+    int snapshot = snapshots++;
+    Instant windowStart = timestamp.minusMillis((long) latency).minus(BEFORE);
+    Instant windowEnd = timestamp.plusSeconds(1).plus(AFTER);
+    lastWindowEnd = windowEnd;
+    Files.writeString(namingConventions.local.tailTriggersFile(agent),
+        String.format(Locale.ROOT, "%d,%d,%.3f,%.3f,%d,%d\n", snapshot, timestamp.toEpochMilli(), latency, threshold,
+            windowStart.toEpochMilli(), windowEnd.toEpochMilli()),
+        StandardOpenOption.APPEND);
+    logger.info("Request of {} ms above {} ms for {}, dumping the recording", (long) latency, (long) threshold,
+        agent.getName());
+    // the events of the window are in the recording once it has passed
+    long delay = Math.max(0, Duration.between(Instant.now(), windowEnd).toMillis()) + 1000;
+    executor.schedule(() -> dumpQuietly(snapshot, windowStart, windowEnd), delay, TimeUnit.MILLISECONDS);
+  }
+
+  private void dumpQuietly(int snapshot, Instant begin, Instant end) {
+    try {
+      String recording = "name=" + SoakRecorder.RECORDING;
+      String filename = "filename=" + namingConventions.container.tailWindowFile(agent, snapshot);
+      container.execInContainer("jcmd", "1", "JFR.dump", recording, "begin=" + begin, "end=" + end, filename);
+      if (!Files.exists(namingConventions.local.tailWindowFile(agent, snapshot))) {
+        // JFR.dump has no begin and end before JDK 14, the whole recording covers the window as well
+        container.execInContainer("jcmd", "1", "JFR.dump", recording, filename);
+      }
+    } catch (Exception e) {
+      logger.warn("Unable to dump the recording of {} for slow request {}: {}", agent.getName(), snapshot,
+          e.getMessage());
+    }
+  }
+}
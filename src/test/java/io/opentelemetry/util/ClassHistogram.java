@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Instances and bytes per class, as printed by {@code jcmd <pid> GC.class_histogram} or counted from a heap dump by
+ * {@link HprofHistogram}. Both are read line by line or record by record, only the totals per class are kept.
+ */
+public class ClassHistogram {
+
+    static final String PRIMITIVE_ARRAYS = "(primitive arrays)";
+    //    1:        123456       12345678  [B (java.base@17.0.9)
+    private static final Pattern LINE = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(\\S+)");
+
+    private final Map<String, Entry> classes = new HashMap<>();
+
+    public static ClassHistogram read(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".hprof")) {
+            return HprofHistogram.read(file);
+        }
+        ClassHistogram result = new ClassHistogram();
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                Matcher matcher = LINE.matcher(line);
+                if (matcher.find()) {
+                    result.add(matcher.group(3), Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)));
+                }
+            }
+        }
+        return result;
+    }
+
+    void add(String className, long instances, long bytes) {
+        classes.computeIfAbsent(className, x -> new Entry()).add(instances, bytes);
+    }
+
+    public Map<String, Entry> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Package -> the instances and bytes of its classes. Arrays count for the package of their element type, arrays
+     * of primitives for {@value #PRIMITIVE_ARRAYS}.
+     */
+    public Map<String, Entry> byPackage() {
+        Map<String, Entry> result = new HashMap<>();
+        classes.forEach((className, entry) ->
+                result.computeIfAbsent(packageOf(className), x -> new Entry()).add(entry.instances, entry.bytes));
+        return result;
+    }
+
+    public static String packageOf(String className) {
+        String name = className;
+        if (name.startsWith("[")) {
+            name = name.substring(name.lastIndexOf('[') + 1);
+            if (!name.startsWith("L")) {
+                return PRIMITIVE_ARRAYS;
+            }
+            name = name.substring(1, name.length() - 1);
+        }
+        // hidden classes have a suffix like /0x0000000800c4b840
+        int slash = name.indexOf('/');
+        if (slash >= 0) {
+            name = name.substring(0, slash);
+        }
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "(default package)" : name.substring(0, dot);
+    }
+
+    public long totalBytes() {
+        return classes.values().stream().mapToLong(entry -> entry.bytes).sum();
+    }
+
+    public static class Entry {
+        long instances;
+        long bytes;
+
+        void add(long instances, long bytes) {
+            this.instances += instances;
+            this.bytes += bytes;
+        }
+
+        public long getInstances() {
+            return instances;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.util.List;
+
+/**
+ * Where the code of a JIT compiled method comes from. JFR doesn't know which classes the agent transformed, so the
+ * libraries that the petclinic instrumentations advise stand in for the instrumented code.
+ */
+public enum CodeOrigin {
+    // the agent's own classes, including what it injects into the app's class loaders
+    AGENT(List.of("io.opentelemetry.javaagent.", "io.opentelemetry.instrumentation.", "io.opentelemetry.sdk.",
+            "io.opentelemetry.api.", "io.opentelemetry.context.", "io.opentelemetry.exporter.",
+            "com.splunk.opentelemetry.")),
+    // libraries with advice woven in by the agent when it is attached
+    INSTRUMENTED(List.of("org.springframework.web.", "org.springframework.data.", "org.apache.catalina.",
+            "org.apache.coyote.", "org.apache.tomcat.", "org.hibernate.", "org.postgresql.", "com.zaxxer.hikari.",
+            "java.util.concurrent.", "javax.servlet.", "ch.qos.logback.", "org.slf4j.")),
+    APP(List.of("org.springframework.samples.petclinic.")),
+    OTHER(List.of());
+
+    // the threads of the OTLP exporters, the batch processors and the periodic metric reader
+    private static final List<String> EXPORTER_THREADS = List.of("BatchSpanProcessor", "BatchLogRecordProcessor",
+            "PeriodicMetricReader", "OkHttp", "grpc-");
+
+    private final List<String> packagePrefixes;
+
+    CodeOrigin(List<String> packagePrefixes) {
+        this.packagePrefixes = packagePrefixes;
+    }
+
+    public static CodeOrigin of(String className) {
+        for (CodeOrigin origin : values()) {
+            if (origin.packagePrefixes.stream().anyMatch(className::startsWith)) {
+                return origin;
+            }
+        }
+        return OTHER;
+    }
+
+    /**
+     * Whether the thread is one of those that the agent exports its telemetry on, false for null.
+     */
+    public static boolean isExporterThread(String threadName) {
+        return threadName != null && EXPORTER_THREADS.stream().anyMatch(threadName::startsWith);
+    }
+}
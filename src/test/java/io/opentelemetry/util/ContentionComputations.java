@@ -0,0 +1,237 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Time that threads spent blocked on monitors, waiting, parked or sleeping, from the jdk.JavaMonitorEnter,
+ * jdk.JavaMonitorWait, jdk.ThreadPark and jdk.ThreadSleep events of a recording. Only blocks longer than the
+ * threshold in overhead.jfc are recorded. Blocking on a monitor is contention, the others are waits the thread chose,
+ * so the two are totalled separately.
+ * <p>
+ * Idle threads are not contention and are left out: pool threads waiting for work, and the worker loops of the agent,
+ * like the span processor that parks until its next export. The agent's share only counts on the request threads,
+ * where it delays requests. Blocks are grouped by the class of the monitor (or park blocker) and the top of the stack,
+ * and flagged when the stack contains frames of the agent.
+ */
+public class ContentionComputations {
+
+    // tomcat's request threads, e.g. http-nio-9966-exec-1
+    static final String REQUEST_THREAD_PREFIX = "http-nio-";
+    private static final int STACK_DEPTH = 6;
+    private static final int TOP_SITES = 25;
+
+    private final Map<Site, SiteStats> sites = new HashMap<>();
+    // JavaMonitorEnter
+    private long blockedNanos;
+    private long agentBlockedNanos;
+    private long requestThreadBlockedNanos;
+    // JavaMonitorWait, ThreadPark and ThreadSleep
+    private long waitedNanos;
+    private long agentWaitedNanos;
+    private long requestThreadWaitedNanos;
+
+    private ContentionComputations() {
+    }
+
+    public static ContentionComputations compute(Path jfrFile) throws IOException {
+        ContentionComputations result = new ContentionComputations();
+        try (RecordingFile recordingFile = new RecordingFile(jfrFile)) {
+            while (recordingFile.hasMoreEvents()) {
+                result.add(recordingFile.readEvent());
+            }
+        }
+        return result;
+    }
+
+    private void add(RecordedEvent event) {
+        String blocker;
+        switch (event.getEventType().getName()) {
+            case "jdk.JavaMonitorEnter":
+            case "jdk.JavaMonitorWait":
+                blocker = className(event.getValue("monitorClass"));
+                break;
+            case "jdk.ThreadPark":
+                blocker = className(event.getValue("parkedClass"));
+                break;
+            case "jdk.ThreadSleep":
+                blocker = "Thread.sleep";
+                break;
+            default:
+                return;
+        }
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? Collections.emptyList() : stackTrace.getFrames();
+        RecordedThread thread = event.getThread();
+        String threadName = thread == null ? null : thread.getJavaName();
+        boolean requestThread = threadName != null && threadName.startsWith(REQUEST_THREAD_PREFIX);
+        boolean monitor = event.getEventType().getName().equals("jdk.JavaMonitorEnter");
+        if (isIdle(frames) || (!monitor && !requestThread && isAgentWorker(threadName, stackTrace))) {
+            return;
+        }
+        long nanos = event.getDuration().toNanos();
+        boolean agent = frames.stream().anyMatch(frame -> frame.isJavaFrame()
+                && CodeOrigin.of(frame.getMethod().getType().getName()) == CodeOrigin.AGENT);
+
+        if (monitor) {
+            blockedNanos += nanos;
+            agentBlockedNanos += agent && requestThread ? nanos : 0;
+            requestThreadBlockedNanos += requestThread ? nanos : 0;
+        } else {
+            waitedNanos += nanos;
+            agentWaitedNanos += agent && requestThread ? nanos : 0;
+            requestThreadWaitedNanos += requestThread ? nanos : 0;
+        }
+        String eventName = event.getEventType().getName().substring("jdk.".length());
+        SiteStats stats = sites.computeIfAbsent(new Site(eventName, blocker, top(frames)), x -> new SiteStats(agent));
+        stats.count++;
+        stats.nanos += nanos;
+        if (requestThread) {
+            stats.requestThreadNanos += nanos;
+        }
+    }
+
+    // a pool thread that waits for its next task
+    private static boolean isIdle(List<RecordedFrame> frames) {
+        return frames.stream().anyMatch(frame -> frame.isJavaFrame()
+                && frame.getMethod().getName().equals("getTask")
+                && frame.getMethod().getType().getName().endsWith("ThreadPoolExecutor"));
+    }
+
+    // a thread of the agent that waits for its next export, or the thread of its profiler that sleeps
+    private static boolean isAgentWorker(String threadName, RecordedStackTrace stackTrace) {
+        if (CodeOrigin.isExporterThread(threadName)) {
+            return true;
+        }
+        if (stackTrace == null || stackTrace.isTruncated()) {
+            return false;
+        }
+        // the run method at the bottom of the stack
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            RecordedFrame frame = frames.get(i);
+            String className = frame.getMethod().getType().getName();
+            if (frame.isJavaFrame() && !className.equals("java.lang.Thread")) {
+                return CodeOrigin.of(className) == CodeOrigin.AGENT;
+            }
+        }
+        return false;
+    }
+
+    private static String top(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(STACK_DEPTH)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n      "));
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "<unknown>" : recordedClass.getName();
+    }
+
+    public long blockedMs() {
+        return blockedNanos / 1_000_000;
+    }
+
+    /**
+     * Blocked on monitors on the request threads with agent frames on the stack.
+     */
+    public long agentBlockedMs() {
+        return agentBlockedNanos / 1_000_000;
+    }
+
+    public long requestThreadBlockedMs() {
+        return requestThreadBlockedNanos / 1_000_000;
+    }
+
+    public long waitedMs() {
+        return waitedNanos / 1_000_000;
+    }
+
+    /**
+     * Waiting, parked or sleeping on the request threads with agent frames on the stack.
+     */
+    public long agentWaitedMs() {
+        return agentWaitedNanos / 1_000_000;
+    }
+
+    public long requestThreadWaitedMs() {
+        return requestThreadWaitedNanos / 1_000_000;
+    }
+
+    /**
+     * Writes the totals and the sites with the most blocked time.
+     */
+    public void print(PrintStream out) {
+        out.printf("Blocked on monitors %d ms in total, %d ms on request threads, %d ms of it with agent frames%n",
+                blockedMs(), requestThreadBlockedMs(), agentBlockedMs());
+        out.printf("Waiting, parked or sleeping %d ms in total, %d ms on request threads, %d ms of it with agent "
+                + "frames%n", waitedMs(), requestThreadWaitedMs(), agentWaitedMs());
+        out.printf("%nSites with the most blocked time (* = agent frames on the stack)%n");
+        sites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().nanos, a.getValue().nanos))
+                .limit(TOP_SITES)
+                .forEach(e -> {
+                    Site site = e.getKey();
+                    SiteStats stats = e.getValue();
+                    out.printf("%n%s %s on %s: %d ms in %d events, %d ms on request threads%n      %s%n",
+                            stats.agent ? "*" : " ", site.event, site.blocker, stats.nanos / 1_000_000, stats.count,
+                            stats.requestThreadNanos / 1_000_000, site.stack);
+                });
+    }
+
+    private static class Site {
+        private final String event;
+        private final String blocker;
+        private final String stack;
+
+        private Site(String event, String blocker, String stack) {
+            this.event = event;
+            this.blocker = blocker;
+            this.stack = stack;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Site)) {
+                return false;
+            }
+            Site site = (Site) o;
+            return event.equals(site.event) && blocker.equals(site.blocker) && stack.equals(site.stack);
+        }
+
+        @Override
+        public int hashCode() {
+            return (event.hashCode() * 31 + blocker.hashCode()) * 31 + stack.hashCode();
+        }
+    }
+
+    private static class SiteStats {
+        private final boolean agent;
+        private long count;
+        private long nanos;
+        private long requestThreadNanos;
+
+        private SiteStats(boolean agent) {
+            this.agent = agent;
+        }
+    }
+}
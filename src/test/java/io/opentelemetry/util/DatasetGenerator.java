@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the owners, pets and visits of a petclinic dataset of a given size as csv rows for COPY. Every owner has
+ * {@value #PETS_PER_OWNER} pets and every pet {@value #VISITS_PER_PET} visits. The rows only depend on the size and the
+ * seed, and each table has its own random sequence, so a table comes out the same however the others are written.
+ * <p>
+ * The ids start at {@value #FIRST_ID}, above those of populateDB.sql, and the pet types are those of populateDB.sql.
+ */
+public class DatasetGenerator {
+
+    public static final long DEFAULT_SEED = 20220711;
+    static final int FIRST_ID = 1000;
+    static final int PETS_PER_OWNER = 2;
+    static final int VISITS_PER_PET = 2;
+    static final int PET_TYPES = 6;
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(2005, 1, 1);
+    private static final LocalDate FIRST_VISIT_DATE = LocalDate.of(2020, 1, 1);
+
+    private static final String[] FIRST_NAMES = {"George", "Betty", "Eduardo", "Harold", "Peter", "Jean", "Jeff",
+            "Maria", "David", "Carlos", "Helen", "Linda", "Rafael", "Henry", "Sharon", "James", "Ana", "Tom", "Yuki",
+            "Omar"};
+    private static final String[] LAST_NAMES = {"Franklin", "Davis", "Rodriquez", "McTavish", "Coleman", "Black",
+            "Escobito", "Schroeder", "Estaban", "Carter", "Leary", "Douglas", "Ortega", "Stevens", "Jenkins", "Nguyen",
+            "Kowalski", "Okafor", "Lindqvist", "Haddad"};
+    private static final String[] STREETS = {"W. Liberty St.", "Cardinal Ave.", "Commerce St.", "Friendly St.",
+            "S. Fair Way", "N. Lake St.", "Oak Blvd.", "Maple St.", "Blackhawk Trail", "Independence La."};
+    private static final String[] CITIES = {"Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee",
+            "Middleton", "Verona"};
+    private static final String[] PET_NAMES = {"Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max",
+            "Lucky", "Mulligan", "Freddy", "Sly", "Luna", "Milo", "Nala", "Pepper"};
+    private static final String[] VISIT_DESCRIPTIONS = {"rabies shot", "neutered", "spayed", "check up",
+            "vaccination", "dental cleaning", "limping", "skin rash"};
+
+    private final int owners;
+    private final long seed;
+
+    public DatasetGenerator(int owners, long seed) {
+        this.owners = owners;
+        this.seed = seed;
+    }
+
+    public int owners() {
+        return owners;
+    }
+
+    public long pets() {
+        return (long) owners * PETS_PER_OWNER;
+    }
+
+    public long visits() {
+        return pets() * VISITS_PER_PET;
+    }
+
+    // id, first_name, last_name, address, city, telephone
+    public void writeOwners(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder row = new StringBuilder();
+        for (long i = 0; i < owners; i++) {
+            row.setLength(0);
+            row.append(FIRST_ID + i).append(',')
+                    .append(pick(random, FIRST_NAMES)).append(',')
+                    .append(pick(random, LAST_NAMES)).append(',')
+                    .append(1 + random.nextInt(9999)).append(' ').append(pick(random, STREETS)).append(',')
+                    .append(pick(random, CITIES)).append(',')
+                    .append("608555").append(1000 + random.nextInt(9000)).append('\n');
+            out.write(row.toString());
+        }
+    }
+
+    // id, name, birth_date, type_id, owner_id
+    public void writePets(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        StringBuilder row = new StringBuilder();
+        for (long i = 0; i < pets(); i++) {
+            row.setLength(0);
+            row.append(FIRST_ID + i).append(',')
+                    .append(pick(random, PET_NAMES)).append(',')
+                    .append(FIRST_BIRTH_DATE.plusDays(random.nextInt(15 * 365))).append(',')
+                    .append(1 + random.nextInt(PET_TYPES)).append(',')
+                    .append(FIRST_ID + i / PETS_PER_OWNER).append('\n');
+            out.write(row.toString());
+        }
+    }
+
+    // id, pet_id, visit_date, description
+    public void writeVisits(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        StringBuilder row = new StringBuilder();
+        for (long i = 0; i < visits(); i++) {
+            row.setLength(0);
+            row.append(FIRST_ID + i).append(',')
+                    .append(FIRST_ID + i / VISITS_PER_PET).append(',')
+                    .append(FIRST_VISIT_DATE.plusDays(random.nextInt(3 * 365))).append(',')
+                    .append(pick(random, VISIT_DESCRIPTIONS)).append('\n');
+            out.write(row.toString());
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The rows of a small {@link DatasetGenerator} dataset: their number, their ids and the keys between the tables, and
+ * that they only depend on the size and the seed.
+ */
+class DatasetGeneratorTests {
+
+    private static final int OWNERS = 50;
+
+    @Test
+    void writesEveryTableWithItsIds() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(OWNERS, DatasetGenerator.DEFAULT_SEED);
+        String[] owners = owners(generator).split("\n");
+        String[] pets = pets(generator).split("\n");
+        String[] visits = visits(generator).split("\n");
+        assertEquals(OWNERS, owners.length);
+        assertEquals(generator.pets(), pets.length);
+        assertEquals(generator.visits(), visits.length);
+
+        for (int i = 0; i < owners.length; i++) {
+            String[] owner = owners[i].split(",");
+            assertEquals(6, owner.length, owners[i]);
+            assertEquals(DatasetGenerator.FIRST_ID + i, Long.parseLong(owner[0]));
+            assertTrue(owner[5].matches("608555\\d{4}"), owners[i]);
+        }
+        for (int i = 0; i < pets.length; i++) {
+            String[] pet = pets[i].split(",");
+            assertEquals(DatasetGenerator.FIRST_ID + i, Long.parseLong(pet[0]));
+            int type = Integer.parseInt(pet[3]);
+            assertTrue(type >= 1 && type <= DatasetGenerator.PET_TYPES, pets[i]);
+            assertEquals(DatasetGenerator.FIRST_ID + i / DatasetGenerator.PETS_PER_OWNER, Long.parseLong(pet[4]));
+        }
+        for (int i = 0; i < visits.length; i++) {
+            String[] visit = visits[i].split(",");
+            assertEquals(DatasetGenerator.FIRST_ID + i, Long.parseLong(visit[0]));
+            assertEquals(DatasetGenerator.FIRST_ID + i / DatasetGenerator.VISITS_PER_PET, Long.parseLong(visit[1]));
+        }
+    }
+
+    @Test
+    void dependsOnlyOnTheSizeAndTheSeed() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(OWNERS, DatasetGenerator.DEFAULT_SEED);
+        DatasetGenerator same = new DatasetGenerator(OWNERS, DatasetGenerator.DEFAULT_SEED);
+        // written in another order, each table has its own random sequence
+        String visits = visits(same);
+        assertEquals(owners(generator), owners(same));
+        assertEquals(pets(generator), pets(same));
+        assertEquals(visits(generator), visits);
+
+        assertNotEquals(owners(generator), owners(new DatasetGenerator(OWNERS, DatasetGenerator.DEFAULT_SEED + 1)));
+    }
+
+    @Test
+    void startsWithTheSameRowsWhenLarger() throws IOException {
+        String owners = owners(new DatasetGenerator(OWNERS, DatasetGenerator.DEFAULT_SEED));
+        assertTrue(owners(new DatasetGenerator(2 * OWNERS, DatasetGenerator.DEFAULT_SEED)).startsWith(owners));
+    }
+
+    @Test
+    void writesNothingWithoutOwners() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(0, DatasetGenerator.DEFAULT_SEED);
+        assertEquals("", owners(generator));
+        assertEquals("", pets(generator));
+        assertEquals("", visits(generator));
+    }
+
+    private static String owners(DatasetGenerator generator) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.writeOwners(out);
+        return out.toString();
+    }
+
+    private static String pets(DatasetGenerator generator) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.writePets(out);
+        return out.toString();
+    }
+
+    private static String visits(DatasetGenerator generator) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.writeVisits(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The settings of the tests, from environment variables. An unset variable gives the default, lists are comma
+ * separated with blanks around the values ignored.
+ */
+public final class Env {
+
+  public static String string(String name, String defaultValue) {
+    String value = System.getenv(name);
+    return value == null ? defaultValue : value.trim();
+  }
+
+  public static boolean isTrue(String name) {
+    return Boolean.parseBoolean(string(name, null));
+  }
+
+  public static int intValue(String name, int defaultValue) {
+    String value = string(name, null);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+
+  public static long longValue(String name, long defaultValue) {
+    String value = string(name, null);
+    return value == null ? defaultValue : Long.parseLong(value);
+  }
+
+  public static double doubleValue(String name, double defaultValue) {
+    String value = string(name, null);
+    return value == null ? defaultValue : Double.parseDouble(value);
+  }
+
+  public static List<String> strings(String name, List<String> defaultValue) {
+    return list(name, Function.identity(), defaultValue);
+  }
+
+  public static List<Integer> ints(String name, List<Integer> defaultValue) {
+    return list(name, Integer::parseInt, defaultValue);
+  }
+
+  public static List<Double> doubles(String name, List<Double> defaultValue) {
+    return list(name, Double::parseDouble, defaultValue);
+  }
+
+  private static <T> List<T> list(String name, Function<String, T> parse, List<T> defaultValue) {
+    String value = System.getenv(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(x -> !x.isEmpty())
+        .map(parse)
+        .collect(Collectors.toList());
+  }
+
+  private Env() {
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces the samples written by the {@code HostNoiseSampler} to single values for the measured window. The cpu
+ * time shares are computed from the counters of the first and last sample. Values that couldn't be sampled are NaN.
+ */
+public class HostNoiseComputations {
+
+    private static final String[] CPU_COLUMNS = {"user", "nice", "system", "idle", "iowait", "irq", "softirq", "steal"};
+
+    private final List<String> header;
+    private final List<double[]> samples;
+
+    private HostNoiseComputations(List<String> header, List<double[]> samples) {
+        this.header = header;
+        this.samples = samples;
+    }
+
+    public static HostNoiseComputations read(Path samplesFile) throws IOException {
+        if (!Files.exists(samplesFile)) {
+            return new HostNoiseComputations(List.of(), List.of());
+        }
+        try (BufferedReader in = Files.newBufferedReader(samplesFile)) {
+            List<String> header = Arrays.asList(in.readLine().split(","));
+            List<double[]> samples = in.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> Arrays.stream(line.split(",")).mapToDouble(Double::parseDouble).toArray())
+                    .collect(Collectors.toList());
+            return new HostNoiseComputations(header, samples);
+        }
+    }
+
+    /**
+     * The share of the cpu time that the hypervisor gave to other guests, in percent.
+     */
+    public double stealPercent() {
+        return cpuPercent("steal");
+    }
+
+    /**
+     * The share of the cpu time that was idle while there was outstanding disk io, in percent.
+     */
+    public double iowaitPercent() {
+        return cpuPercent("iowait");
+    }
+
+    public double averageLoad() {
+        return average("load1");
+    }
+
+    public double averageCpuMhz() {
+        return average("cpuMhz");
+    }
+
+    /**
+     * The time that the cfs quota of the container held back its threads.
+     */
+    public double throttledMs() {
+        double delta = delta("throttledUsec");
+        return delta < 0 ? Double.NaN : delta / 1000;
+    }
+
+    private double cpuPercent(String column) {
+        double total = 0;
+        for (String cpuColumn : CPU_COLUMNS) {
+            total += delta(cpuColumn);
+        }
+        return total > 0 ? 100 * delta(column) / total : Double.NaN;
+    }
+
+    // NaN with less than two samples, negative when the counter is missing (-1) in one of them
+    private double delta(String column) {
+        int index = header.indexOf(column);
+        if (samples.size() < 2 || index < 0) {
+            return Double.NaN;
+        }
+        double first = samples.get(0)[index];
+        double last = samples.get(samples.size() - 1)[index];
+        return first < 0 || last < 0 ? -1 : last - first;
+    }
+
+    private double average(String column) {
+        int index = header.indexOf(column);
+        if (index < 0) {
+            return Double.NaN;
+        }
+        return samples.stream()
+                .mapToDouble(sample -> sample[index])
+                .filter(value -> !Double.isNaN(value))
+                .average()
+                .orElse(Double.NaN);
+    }
+}
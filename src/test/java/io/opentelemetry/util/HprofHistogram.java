@@ -0,0 +1,283 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the instances and bytes per class of an HPROF heap dump in a single pass over the records, without keeping
+ * any object. Only the symbols, the names of the classes and the totals per class are held in memory, so dumps of
+ * several GB are fine.
+ * <p>
+ * A dump doesn't have the layout of the objects. The sizes assume what HotSpot does below 32 GB of heap: a 12 byte
+ * object header, a 16 byte array header, 4 byte references and 8 byte alignment. The padding between fields isn't
+ * known, so they are close to, but not always the same as, those of {@code GC.class_histogram}.
+ */
+class HprofHistogram {
+
+    private static final int UTF8 = 0x01;
+    private static final int LOAD_CLASS = 0x02;
+    private static final int HEAP_DUMP = 0x0C;
+    private static final int HEAP_DUMP_SEGMENT = 0x1C;
+
+    private static final int ROOT_UNKNOWN = 0xFF;
+    private static final int ROOT_JNI_GLOBAL = 0x01;
+    private static final int ROOT_JNI_LOCAL = 0x02;
+    private static final int ROOT_JAVA_FRAME = 0x03;
+    private static final int ROOT_NATIVE_STACK = 0x04;
+    private static final int ROOT_STICKY_CLASS = 0x05;
+    private static final int ROOT_THREAD_BLOCK = 0x06;
+    private static final int ROOT_MONITOR_USED = 0x07;
+    private static final int ROOT_THREAD_OBJECT = 0x08;
+    private static final int CLASS_DUMP = 0x20;
+    private static final int INSTANCE_DUMP = 0x21;
+    private static final int OBJECT_ARRAY_DUMP = 0x22;
+    private static final int PRIMITIVE_ARRAY_DUMP = 0x23;
+
+    private static final int OBJECT = 2;
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    // the names of the arrays by the basic type of their elements, boolean (4) to long (11)
+    private static final String[] PRIMITIVE_ARRAY_NAMES = {"[Z", "[C", "[F", "[D", "[B", "[S", "[I", "[J"};
+    private static final int[] PRIMITIVE_SIZES = {1, 2, 4, 8, 1, 2, 4, 8};
+
+    private final DataInputStream in;
+    private long position;
+    private int idSize;
+    private final Map<Long, String> symbols = new HashMap<>();
+    // class object id -> name symbol id
+    private final Map<Long, Long> classNames = new HashMap<>();
+    // class object id -> super class id and the number of reference fields it declares
+    private final Map<Long, long[]> classLayouts = new HashMap<>();
+    // class object id -> the number of reference fields of its instances, including those of the super classes
+    private final Map<Long, Long> references = new HashMap<>();
+    // class object id, or -type for arrays of primitives -> instances and bytes
+    private final Map<Long, ClassHistogram.Entry> counts = new HashMap<>();
+
+    private HprofHistogram(DataInputStream in) {
+        this.in = in;
+    }
+
+    static ClassHistogram read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 20))) {
+            HprofHistogram reader = new HprofHistogram(in);
+            reader.readRecords();
+            return reader.toHistogram();
+        }
+    }
+
+    private void readRecords() throws IOException {
+        // the format, JAVA PROFILE 1.0.2, up to a zero byte
+        int header = readU1();
+        while (header != 0) {
+            header = readU1();
+        }
+        idSize = readU4AsInt();
+        skip(8);
+        while (true) {
+            int tag = in.read();
+            if (tag < 0) {
+                return;
+            }
+            position++;
+            skip(4);
+            long length = readU4();
+            switch (tag) {
+                case UTF8:
+                    long id = readId();
+                    byte[] bytes = new byte[(int) (length - idSize)];
+                    in.readFully(bytes);
+                    position += bytes.length;
+                    symbols.put(id, new String(bytes, StandardCharsets.UTF_8));
+                    break;
+                case LOAD_CLASS:
+                    skip(4);
+                    long classId = readId();
+                    skip(4);
+                    classNames.put(classId, readId());
+                    break;
+                case HEAP_DUMP:
+                case HEAP_DUMP_SEGMENT:
+                    readHeapDump(position + length);
+                    break;
+                default:
+                    skip(length);
+                    break;
+            }
+        }
+    }
+
+    private void readHeapDump(long end) throws IOException {
+        while (position < end) {
+            int tag = readU1();
+            switch (tag) {
+                case ROOT_UNKNOWN:
+                case ROOT_STICKY_CLASS:
+                case ROOT_MONITOR_USED:
+                    skip(idSize);
+                    break;
+                case ROOT_JNI_GLOBAL:
+                    skip(2L * idSize);
+                    break;
+                case ROOT_NATIVE_STACK:
+                case ROOT_THREAD_BLOCK:
+                    skip(idSize + 4);
+                    break;
+                case ROOT_JNI_LOCAL:
+                case ROOT_JAVA_FRAME:
+                case ROOT_THREAD_OBJECT:
+                    skip(idSize + 8);
+                    break;
+                case CLASS_DUMP:
+                    skipClassDump();
+                    break;
+                case INSTANCE_DUMP: {
+                    skip(idSize + 4);
+                    long classId = readId();
+                    long size = readU4();
+                    skip(size);
+                    // the fields are written with references as wide as the identifiers
+                    count(classId, OBJECT_HEADER + size - references(classId) * (idSize - REFERENCE));
+                    break;
+                }
+                case OBJECT_ARRAY_DUMP: {
+                    skip(idSize + 4);
+                    long length = readU4();
+                    long classId = readId();
+                    skip(length * idSize);
+                    count(classId, ARRAY_HEADER + length * REFERENCE);
+                    break;
+                }
+                case PRIMITIVE_ARRAY_DUMP: {
+                    skip(idSize + 4);
+                    long length = readU4();
+                    int type = readU1();
+                    long size = length * sizeOf(type);
+                    skip(size);
+                    count(-type, ARRAY_HEADER + size);
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown heap dump record 0x" + Integer.toHexString(tag) + " at " + position);
+            }
+        }
+    }
+
+    private void skipClassDump() throws IOException {
+        long classId = readId();
+        skip(4);
+        long superId = readId();
+        // loader, signers, protection domain, 2 reserved, instance size
+        skip(5L * idSize + 4);
+        int constants = readU2();
+        for (int i = 0; i < constants; i++) {
+            skip(2);
+            skip(sizeOf(readU1()));
+        }
+        int statics = readU2();
+        for (int i = 0; i < statics; i++) {
+            skip(idSize);
+            skip(sizeOf(readU1()));
+        }
+        int fields = readU2();
+        long referenceFields = 0;
+        for (int i = 0; i < fields; i++) {
+            skip(idSize);
+            if (readU1() == OBJECT) {
+                referenceFields++;
+            }
+        }
+        classLayouts.put(classId, new long[] {superId, referenceFields});
+    }
+
+    private long references(long classId) {
+        Long cached = references.get(classId);
+        if (cached != null) {
+            return cached;
+        }
+        long[] layout = classLayouts.get(classId);
+        long result = layout == null ? 0 : layout[1] + (layout[0] == 0 ? 0 : references(layout[0]));
+        references.put(classId, result);
+        return result;
+    }
+
+    private void count(long classId, long size) {
+        counts.computeIfAbsent(classId, x -> new ClassHistogram.Entry()).add(1, (size + 7) & ~7L);
+    }
+
+    private ClassHistogram toHistogram() {
+        ClassHistogram result = new ClassHistogram();
+        counts.forEach((classId, entry) -> result.add(className(classId), entry.instances, entry.bytes));
+        return result;
+    }
+
+    private String className(long classId) {
+        if (classId < 0) {
+            return PRIMITIVE_ARRAY_NAMES[(int) -classId - 4];
+        }
+        Long nameId = classNames.get(classId);
+        String name = nameId == null ? null : symbols.get(nameId);
+        return name == null ? "(unknown class 0x" + Long.toHexString(classId) + ")" : name.replace('/', '.');
+    }
+
+    private int sizeOf(int type) throws IOException {
+        if (type == OBJECT) {
+            return idSize;
+        }
+        if (type < 4 || type > 11) {
+            throw new IOException("Unknown basic type " + type + " at " + position);
+        }
+        return PRIMITIVE_SIZES[type - 4];
+    }
+
+    private int readU1() throws IOException {
+        position++;
+        return in.readUnsignedByte();
+    }
+
+    private int readU2() throws IOException {
+        position += 2;
+        return in.readUnsignedShort();
+    }
+
+    private long readU4() throws IOException {
+        position += 4;
+        return Integer.toUnsignedLong(in.readInt());
+    }
+
+    private int readU4AsInt() throws IOException {
+        position += 4;
+        return in.readInt();
+    }
+
+    private long readId() throws IOException {
+        position += idSize;
+        return idSize == 4 ? Integer.toUnsignedLong(in.readInt()) : in.readLong();
+    }
+
+    private void skip(long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Heap dump ends in a record at " + position);
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+        position += bytes;
+    }
+}
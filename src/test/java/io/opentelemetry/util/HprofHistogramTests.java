@@ -0,0 +1,197 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reads small heap dumps written record by record, with 8 and with 4 byte identifiers. The sizes are those of HotSpot
+ * with compressed references, whatever the width of the identifiers in the dump.
+ */
+class HprofHistogramTests {
+
+    private static final long FOO = 0x100;
+    private static final long BAR = 0x200;
+    private static final long FOO_ARRAY = 0x300;
+    private static final long UNKNOWN = 0x999;
+
+    @Test
+    void countsTheInstancesAndBytesPerClass() throws IOException {
+        for (int idSize : new int[] {8, 4}) {
+            Map<String, ClassHistogram.Entry> classes = ClassHistogram.read(write(dump(idSize))).getClasses();
+            // header 12, a reference 4 and an int 4, padded to 24
+            assertEntry(classes, "com.example.Foo", 2, 48);
+            // the fields of Foo and a long 8
+            assertEntry(classes, "com.example.Bar", 1, 32);
+            // header 16 and 3 references
+            assertEntry(classes, "[Lcom.example.Foo;", 1, 32);
+            assertEntry(classes, "[B", 1, 32);
+            assertEntry(classes, "[I", 1, 32);
+            assertEntry(classes, "(unknown class 0x999)", 1, 16);
+            assertEquals(6, classes.size());
+        }
+    }
+
+    @Test
+    void failsOnATruncatedDump() throws IOException {
+        byte[] dump = dump(8);
+        Path file = write(Arrays.copyOf(dump, dump.length - 5));
+        assertThrows(IOException.class, () -> ClassHistogram.read(file));
+    }
+
+    @Test
+    void failsOnAnUnknownRecord() throws IOException {
+        Dump dump = new Dump(8);
+        dump.segment.writeByte(0x42);
+        Path file = write(dump.toBytes());
+        assertThrows(IOException.class, () -> ClassHistogram.read(file));
+    }
+
+    private static byte[] dump(int idSize) throws IOException {
+        Dump dump = new Dump(idSize);
+        dump.loadClass(FOO, 1, "com/example/Foo");
+        dump.loadClass(BAR, 2, "com/example/Bar");
+        dump.loadClass(FOO_ARRAY, 3, "[Lcom/example/Foo;");
+
+        // one reference (2) and one int (10)
+        dump.classDump(FOO, 0, 2, 10);
+        // one long (11)
+        dump.classDump(BAR, FOO, 11);
+        dump.segment.writeByte(0xFF);
+        dump.id(dump.segment, 0x1000);
+        dump.instance(0x1001, FOO, idSize + 4);
+        dump.instance(0x1002, FOO, idSize + 4);
+        dump.instance(0x1003, BAR, idSize + 4 + 8);
+        dump.instance(0x1004, UNKNOWN, 0);
+
+        dump.segment.writeByte(0x22);
+        dump.id(dump.segment, 0x1005);
+        dump.segment.writeInt(0);
+        dump.segment.writeInt(3);
+        dump.id(dump.segment, FOO_ARRAY);
+        dump.segment.write(new byte[3 * idSize]);
+
+        dump.primitiveArray(0x1006, 8, 10, 1);
+        dump.primitiveArray(0x1007, 10, 3, 4);
+        return dump.toBytes();
+    }
+
+    private static void assertEntry(Map<String, ClassHistogram.Entry> classes, String name, long instances,
+            long bytes) {
+        ClassHistogram.Entry entry = classes.get(name);
+        assertEquals(instances, entry.getInstances(), name);
+        assertEquals(bytes, entry.getBytes(), name);
+    }
+
+    private static Path write(byte[] dump) throws IOException {
+        Path file = Files.createTempFile("histogram", ".hprof");
+        Files.write(file, dump);
+        return file;
+    }
+
+    // the records of a dump, the heap dump records in a single segment at the end
+    private static class Dump {
+        private final int idSize;
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        private final DataOutputStream records = new DataOutputStream(recordBytes);
+        private final ByteArrayOutputStream segmentBytes = new ByteArrayOutputStream();
+        private final DataOutputStream segment = new DataOutputStream(segmentBytes);
+        private long nextSymbol = 0x10;
+
+        Dump(int idSize) {
+            this.idSize = idSize;
+        }
+
+        void loadClass(long classId, int serial, String name) throws IOException {
+            long symbol = nextSymbol++;
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            record(0x01, idSize + bytes.length);
+            id(records, symbol);
+            records.write(bytes);
+
+            record(0x02, 4 + idSize + 4 + idSize);
+            records.writeInt(serial);
+            id(records, classId);
+            records.writeInt(0);
+            id(records, symbol);
+        }
+
+        void classDump(long classId, long superId, int... fieldTypes) throws IOException {
+            segment.writeByte(0x20);
+            id(segment, classId);
+            segment.writeInt(0);
+            id(segment, superId);
+            segment.write(new byte[5 * idSize]);
+            segment.writeInt(0);
+            // no constants, no statics
+            segment.writeShort(0);
+            segment.writeShort(0);
+            segment.writeShort(fieldTypes.length);
+            for (int type : fieldTypes) {
+                id(segment, nextSymbol++);
+                segment.writeByte(type);
+            }
+        }
+
+        void instance(long objectId, long classId, int size) throws IOException {
+            segment.writeByte(0x21);
+            id(segment, objectId);
+            segment.writeInt(0);
+            id(segment, classId);
+            segment.writeInt(size);
+            segment.write(new byte[size]);
+        }
+
+        void primitiveArray(long arrayId, int type, int length, int elementSize) throws IOException {
+            segment.writeByte(0x23);
+            id(segment, arrayId);
+            segment.writeInt(0);
+            segment.writeInt(length);
+            segment.writeByte(type);
+            segment.write(new byte[length * elementSize]);
+        }
+
+        void id(DataOutputStream out, long id) throws IOException {
+            if (idSize == 4) {
+                out.writeInt((int) id);
+            } else {
+                out.writeLong(id);
+            }
+        }
+
+        private void record(int tag, int length) throws IOException {
+            records.writeByte(tag);
+            records.writeInt(0);
+            records.writeInt(length);
+        }
+
+        byte[] toBytes() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.write("JAVA PROFILE 1.0.2".getBytes(StandardCharsets.US_ASCII));
+            out.writeByte(0);
+            out.writeInt(idSize);
+            out.writeLong(1657557600000L);
+            out.write(recordBytes.toByteArray());
+            out.writeByte(0x1C);
+            out.writeInt(0);
+            out.writeInt(segmentBytes.size());
+            out.write(segmentBytes.toByteArray());
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JIT compiler activity in a recording, split by {@link CodeOrigin}. Reads the file once for all events, unlike the
+ * reductions of {@link JfrFileComputations}. jdk.Deoptimization only exists from JDK 14 on, and jdk.CompilerInlining
+ * is only counted when it was enabled for the recording.
+ */
+public class JitComputations {
+
+    private static final int TOP_METHODS = 20;
+
+    private final Map<CodeOrigin, OriginStats> byOrigin = new EnumMap<>(CodeOrigin.class);
+    private final Map<String, Long> deoptimizationsByReason = new TreeMap<>();
+    private final Map<String, Long> deoptimizationsByMethod = new HashMap<>();
+    private final Map<String, Long> inliningFailuresByMessage = new TreeMap<>();
+    // compilation failures only carry the compile id, the method comes from the jdk.Compilation event
+    private final Map<Long, String> failureMessages = new HashMap<>();
+    private final Map<Long, CodeOrigin> compiledOrigins = new HashMap<>();
+    // code blob type -> the last used bytes
+    private final Map<String, Long> codeCacheUsed = new HashMap<>();
+    private long peakCodeCacheUsed;
+
+    private JitComputations() {
+        for (CodeOrigin origin : CodeOrigin.values()) {
+            byOrigin.put(origin, new OriginStats());
+        }
+    }
+
+    public static JitComputations compute(Path jfrFile) throws IOException {
+        JitComputations result = new JitComputations();
+        try (RecordingFile recordingFile = new RecordingFile(jfrFile)) {
+            while (recordingFile.hasMoreEvents()) {
+                result.add(recordingFile.readEvent());
+            }
+        }
+        result.attributeFailures();
+        return result;
+    }
+
+    private void add(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.Compilation": {
+                CodeOrigin origin = origin(event.getValue("method"));
+                OriginStats stats = byOrigin.get(origin);
+                stats.compilations++;
+                stats.compileNanos += event.getDuration().toNanos();
+                stats.codeSize += event.getLong("codeSize");
+                stats.inlinedBytes += event.getLong("inlinedBytes");
+                compiledOrigins.put(event.getLong("compileId"), origin);
+                break;
+            }
+            case "jdk.CompilationFailure":
+                failureMessages.put(event.getLong("compileId"), event.getString("failureMessage"));
+                break;
+            case "jdk.Deoptimization": {
+                RecordedMethod method = event.getValue("method");
+                byOrigin.get(origin(method)).deoptimizations++;
+                deoptimizationsByReason.merge(event.getString("reason"), 1L, Long::sum);
+                deoptimizationsByMethod.merge(describe(method), 1L, Long::sum);
+                break;
+            }
+            case "jdk.CompilerInlining":
+                if (!event.getBoolean("succeeded")) {
+                    RecordedMethod callee = event.getValue("callee");
+                    byOrigin.get(callee == null ? CodeOrigin.OTHER : origin(callee)).inliningFailures++;
+                    inliningFailuresByMessage.merge(event.getString("message"), 1L, Long::sum);
+                }
+                break;
+            case "jdk.CodeCacheStatistics": {
+                long used = event.getLong("reservedTopAddress") - event.getLong("startAddress")
+                        - event.getLong("unallocatedCapacity");
+                codeCacheUsed.put(event.getString("codeBlobType"), used);
+                peakCodeCacheUsed = Math.max(peakCodeCacheUsed,
+                        codeCacheUsed.values().stream().mapToLong(Long::longValue).sum());
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private void attributeFailures() {
+        failureMessages.keySet().forEach(compileId ->
+                byOrigin.get(compiledOrigins.getOrDefault(compileId, CodeOrigin.OTHER)).failures++);
+    }
+
+    private static CodeOrigin origin(RecordedMethod method) {
+        return method == null ? CodeOrigin.OTHER : CodeOrigin.of(method.getType().getName());
+    }
+
+    private static String describe(RecordedMethod method) {
+        return method == null ? "<unknown>" : method.getType().getName() + "." + method.getName();
+    }
+
+    public long compilations() {
+        return total(s -> s.compilations);
+    }
+
+    public long compileTimeMs() {
+        return total(s -> s.compileNanos) / 1_000_000;
+    }
+
+    public long codeSize() {
+        return total(s -> s.codeSize);
+    }
+
+    public long failures() {
+        return total(s -> s.failures);
+    }
+
+    public long deoptimizations() {
+        return total(s -> s.deoptimizations);
+    }
+
+    /**
+     * The compile time of the agent's own classes only.
+     */
+    public long agentCompileTimeMs() {
+        return byOrigin.get(CodeOrigin.AGENT).compileNanos / 1_000_000;
+    }
+
+    /**
+     * The compile time of the libraries that the agent instruments. The app compiles these without an agent too, so
+     * only the difference to the run without an agent is the cost of the advice.
+     */
+    public long instrumentedCompileTimeMs() {
+        return byOrigin.get(CodeOrigin.INSTRUMENTED).compileNanos / 1_000_000;
+    }
+
+    public long peakCodeCacheUsed() {
+        return peakCodeCacheUsed;
+    }
+
+    private long total(Function<OriginStats, Long> stat) {
+        return byOrigin.values().stream().mapToLong(stat::apply).sum();
+    }
+
+    /**
+     * Writes the breakdown by code origin, deoptimization reason and the most deoptimized methods.
+     */
+    public void print(PrintStream out) {
+        out.printf("%-14s %12s %12s %12s %14s %10s %10s %12s%n", "origin", "compilations", "compile ms",
+                "code bytes", "inlined bytes", "failures", "deopts", "inline fails");
+        byOrigin.forEach((origin, s) -> out.printf("%-14s %12d %12d %12d %14d %10d %10d %12d%n",
+                origin.name().toLowerCase(), s.compilations, s.compileNanos / 1_000_000, s.codeSize, s.inlinedBytes,
+                s.failures, s.deoptimizations, s.inliningFailures));
+        out.printf("%nPeak code cache used: %d bytes%n", peakCodeCacheUsed);
+
+        out.printf("%nDeoptimizations by reason%n");
+        deoptimizationsByReason.forEach((reason, count) -> out.printf("%8d  %s%n", count, reason));
+        out.printf("%nMost deoptimized methods%n");
+        deoptimizationsByMethod.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_METHODS)
+                .forEach(e -> out.printf("%8d  %s%n", e.getValue(), e.getKey()));
+        out.printf("%nCompilation failures%n");
+        failureMessages.values().stream()
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()))
+                .forEach((message, count) -> out.printf("%8d  %s%n", count, message));
+        if (!inliningFailuresByMessage.isEmpty()) {
+            out.printf("%nInlining failures%n");
+            inliningFailuresByMessage.forEach((message, count) -> out.printf("%8d  %s%n", count, message));
+        }
+    }
+
+    private static class OriginStats {
+        private long compilations;
+        private long compileNanos;
+        private long codeSize;
+        private long inlinedBytes;
+        private long failures;
+        private long deoptimizations;
+        private long inliningFailures;
+    }
+}
@@ -29,6 +29,14 @@ public class NamingConvention {
     return Paths.get(dir, "k6_out_" + agent.getName() + ".json");
   }
 
+  /**
+   * Returns a path to the location of the k6 per-request csv output, used to build the run time series.
+   * @param agent The agent to get the time series file path for
+   */
+  public Path k6TimeSeries(Agent agent) {
+    return Paths.get(dir, "k6_timeseries_" + agent.getName() + ".csv");
+  }
+
   /**
    * Returns a path to the location of the jfr output file for a given agent run.
    * @param agent The agent to get the jfr file path for.
@@ -43,6 +51,104 @@ public class NamingConvention {
    */
   public Path startupDurationFile(Agent agent) { return Paths.get(dir, "startup-time-" + agent.getName() + ".txt"); }
 
+  /**
+   * Returns the path to the csv file that holds the native memory samples for a given agent run.
+   * @param agent The agent to get the native memory samples for.
+   */
+  public Path nativeMemoryFile(Agent agent) {
+    return Paths.get(dir, "native-memory-" + agent.getName() + ".csv");
+  }
+
+  /**
+   * Returns the path to the csv file that holds the pg_stat_statements of a given agent run.
+   * @param agent The agent to get the database statement statistics for.
+   */
+  public Path pgStatStatementsFile(Agent agent) {
+    return Paths.get(dir, "pg-stat-statements-" + agent.getName() + ".csv");
+  }
+
+  /**
+   * Returns the path to the text file with the JIT compiler breakdown of a given agent run.
+   * @param agent The agent to get the JIT breakdown for.
+   */
+  public Path jitFile(Agent agent) {
+    return Paths.get(dir, "jit-" + agent.getName() + ".txt");
+  }
+
+  /**
+   * Returns the path to the text file with the lock contention breakdown of a given agent run.
+   * @param agent The agent to get the contention breakdown for.
+   */
+  public Path contentionFile(Agent agent) {
+    return Paths.get(dir, "contention-" + agent.getName() + ".txt");
+  }
+
+  /**
+   * Returns the path to the text file with the safepoints per VM operation of a given agent run.
+   * @param agent The agent to get the safepoint breakdown for.
+   */
+  public Path safepointFile(Agent agent) {
+    return Paths.get(dir, "safepoints-" + agent.getName() + ".txt");
+  }
+
+  /**
+   * Returns the path to the csv file that holds the host noise samples of a given agent run.
+   * @param agent The agent to get the host noise samples for.
+   */
+  public Path hostNoiseFile(Agent agent) {
+    return Paths.get(dir, "host-noise-" + agent.getName() + ".csv");
+  }
+
+  /**
+   * Returns the path that the JFR recording of a soak test is dumped to, one chunk at a time.
+   * @param agent The agent to get the chunk file for.
+   */
+  public Path soakChunkFile(Agent agent) {
+    return Paths.get(dir, "soak-chunk-" + agent.getName() + ".jfr");
+  }
+
+  /**
+   * Returns the path to the csv file with a row of reduced metrics per chunk of a soak test.
+   * @param agent The agent to get the soak rows for.
+   */
+  public Path soakFile(Agent agent) {
+    return Paths.get(dir, "soak-" + agent.getName() + ".csv");
+  }
+
+  /**
+   * Returns the path to a class histogram taken during the measured window.
+   * @param agent The agent to get the class histogram for.
+   * @param snapshot The number of the histogram, 0 is taken at the start of the window.
+   */
+  public Path classHistogramFile(Agent agent, int snapshot) {
+    return Paths.get(dir, "class-histogram-" + agent.getName() + "-" + snapshot + ".txt");
+  }
+
+  /**
+   * Returns the path to the heap dump taken at the end of the measured window.
+   * @param agent The agent to get the heap dump for.
+   */
+  public Path heapDumpFile(Agent agent) {
+    return Paths.get(dir, "heap-" + agent.getName() + ".hprof");
+  }
+
+  /**
+   * Returns the path to the csv file with the slow requests that triggered a dump of the recording.
+   * @param agent The agent to get the triggers for.
+   */
+  public Path tailTriggersFile(Agent agent) {
+    return Paths.get(dir, "tail-triggers-" + agent.getName() + ".csv");
+  }
+
+  /**
+   * Returns the path that the recording is dumped to for the window around a slow request.
+   * @param agent The agent to get the dump for.
+   * @param snapshot The number of the slow request, in the order they were seen.
+   */
+  public Path tailWindowFile(Agent agent, int snapshot) {
+    return Paths.get(dir, "tail-" + agent.getName() + "-" + snapshot + ".jfr");
+  }
+
   /**
    * Returns the root path that this naming convention was configured with.
    */
@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reduces the samples written by the {@code NativeMemorySampler} to single values.
+ * All values are in bytes. When no samples were taken the average is NaN, which the persisters and
+ * {@code Statistics} treat as missing, and the peaks 0.
+ */
+public class NativeMemoryComputations {
+
+    private final Path samplesFile;
+
+    public NativeMemoryComputations(Path samplesFile) {
+        this.samplesFile = samplesFile;
+    }
+
+    public long readPeakRss() throws IOException {
+        return max("rss");
+    }
+
+    public double computeAverageRss() throws IOException {
+        return Arrays.stream(readColumn("rss")).average().orElse(Double.NaN);
+    }
+
+    public long readPeakContainerMemory() throws IOException {
+        return max("containerMemory");
+    }
+
+    public long readPeakMetaspace() throws IOException {
+        return max("metaspace");
+    }
+
+    public long readPeakCodeCache() throws IOException {
+        return max("code");
+    }
+
+    public long readPeakThreadMemory() throws IOException {
+        return max("thread");
+    }
+
+    private long max(String column) throws IOException {
+        long result = 0;
+        for (long value : readColumn(column)) {
+            result = Math.max(result, value);
+        }
+        return result;
+    }
+
+    private long[] readColumn(String column) throws IOException {
+        if (!Files.exists(samplesFile)) {
+            return new long[0];
+        }
+        try (BufferedReader in = Files.newBufferedReader(samplesFile)) {
+            List<String> header = Arrays.asList(in.readLine().split(","));
+            int index = header.indexOf(column);
+            return in.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> line.split(","))
+                    .mapToLong(fields -> Long.parseLong(fields[index]))
+                    .toArray();
+        }
+    }
+}
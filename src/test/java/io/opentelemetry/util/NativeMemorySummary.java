@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the output of {@code jcmd <pid> VM.native_memory summary scale=KB} into committed bytes per NMT category.
+ */
+public class NativeMemorySummary {
+
+  public static final String TOTAL = "Total";
+  public static final String JAVA_HEAP = "Java Heap";
+  public static final String CLASS = "Class";
+  public static final String METASPACE = "Metaspace";
+  public static final String THREAD = "Thread";
+  public static final String CODE = "Code";
+
+  private static final Pattern TOTAL_LINE = Pattern.compile("^Total: reserved=(\\d+)KB, committed=(\\d+)KB");
+  private static final Pattern CATEGORY_LINE = Pattern.compile("^-\\s+(.+?) \\(reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+
+  private final Map<String, Long> committedBytes;
+
+  private NativeMemorySummary(Map<String, Long> committedBytes) {
+    this.committedBytes = committedBytes;
+  }
+
+  public static NativeMemorySummary parse(String jcmdOutput) {
+    Map<String, Long> committed = new HashMap<>();
+    for (String rawLine : jcmdOutput.split("\n")) {
+      String line = rawLine.trim();
+      Matcher total = TOTAL_LINE.matcher(line);
+      if (total.find()) {
+        committed.put(TOTAL, Long.parseLong(total.group(2)) * 1024);
+        continue;
+      }
+      Matcher category = CATEGORY_LINE.matcher(line);
+      if (category.find()) {
+        committed.put(category.group(1).trim(), Long.parseLong(category.group(3)) * 1024);
+      }
+    }
+    return new NativeMemorySummary(committed);
+  }
+
+  public boolean isEmpty() {
+    return committedBytes.isEmpty();
+  }
+
+  public long committed(String category) {
+    return committedBytes.getOrDefault(category, 0L);
+  }
+
+  /**
+   * Since JDK 16 NMT reports metaspace as its own category, older JVMs account for it under "Class".
+   */
+  public long metaspaceCommitted() {
+    if (committedBytes.containsKey(METASPACE)) {
+      return committed(METASPACE);
+    }
+    return committed(CLASS);
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Safepoints in a recording, whatever caused them: GC, deoptimization, biased lock revocation, thread dumps and so on.
+ * Every request thread is stalled from the start of a safepoint (jdk.SafepointBegin) until its end
+ * (jdk.SafepointEnd), and the time to safepoint is the part of that spent waiting for all threads to reach it
+ * (jdk.SafepointStateSynchronization). The VM operation that a safepoint ran comes from jdk.ExecuteVMOperation.
+ * All events of a safepoint share its id, so they are joined after the file was read once. The join is also used for
+ * the window around a slow request (see {@link TailWindowComputations}), with only the events of that window.
+ */
+public class SafepointComputations {
+
+    private final Map<Long, Safepoint> safepoints = new HashMap<>();
+
+    SafepointComputations() {
+    }
+
+    public static SafepointComputations compute(Path jfrFile) throws IOException {
+        SafepointComputations result = new SafepointComputations();
+        try (RecordingFile recordingFile = new RecordingFile(jfrFile)) {
+            while (recordingFile.hasMoreEvents()) {
+                result.add(recordingFile.readEvent());
+            }
+        }
+        result.removeIncomplete();
+        return result;
+    }
+
+    // safepoints cut off by the start or the end of the recording or window
+    void removeIncomplete() {
+        safepoints.values().removeIf(safepoint -> safepoint.beginNanos == 0 || safepoint.endNanos == 0);
+    }
+
+    /**
+     * Joins the event into its safepoint, other events are ignored.
+     */
+    void add(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.SafepointBegin":
+                safepoint(event).beginNanos = nanos(event.getStartTime());
+                break;
+            case "jdk.SafepointStateSynchronization":
+                safepoint(event).synchronizationNanos = event.getDuration().toNanos();
+                break;
+            case "jdk.SafepointEnd":
+                safepoint(event).endNanos = nanos(event.getEndTime());
+                break;
+            case "jdk.ExecuteVMOperation":
+                if (event.getBoolean("safepoint")) {
+                    safepoint(event).operation = event.getString("operation");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Safepoint safepoint(RecordedEvent event) {
+        return safepoints.computeIfAbsent(event.getLong("safepointId"), x -> new Safepoint());
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    public long count() {
+        return safepoints.size();
+    }
+
+    public double totalMs() {
+        return safepoints.values().stream().mapToLong(Safepoint::stallNanos).sum() / 1e6;
+    }
+
+    /**
+     * The safepoints that began in a part of the recording, e.g. while a slow request ran.
+     */
+    public double totalMs(Instant start, Instant end) {
+        long startNanos = nanos(start);
+        long endNanos = nanos(end);
+        return safepoints.values().stream()
+                .filter(safepoint -> safepoint.beginNanos >= startNanos && safepoint.beginNanos <= endNanos)
+                .mapToLong(Safepoint::stallNanos)
+                .sum() / 1e6;
+    }
+
+    public double longestMs() {
+        return safepoints.values().stream().mapToLong(Safepoint::stallNanos).max().orElse(0) / 1e6;
+    }
+
+    /**
+     * The VM operation of the longest safepoint, null without any.
+     */
+    public String longestOperation() {
+        return safepoints.values().stream()
+                .max((a, b) -> Long.compare(a.stallNanos(), b.stallNanos()))
+                .map(safepoint -> safepoint.operation)
+                .orElse(null);
+    }
+
+    public double p99Ms() {
+        return stallMs(safepoints.values()).percentile(99);
+    }
+
+    public double timeToSafepointP99Ms() {
+        return timeToSafepointMs(safepoints.values()).percentile(99);
+    }
+
+    private static Statistics stallMs(Collection<Safepoint> safepoints) {
+        return Statistics.of(safepoints.stream().mapToDouble(s -> s.stallNanos() / 1e6).toArray());
+    }
+
+    private static Statistics timeToSafepointMs(Collection<Safepoint> safepoints) {
+        return Statistics.of(safepoints.stream().mapToDouble(s -> s.synchronizationNanos / 1e6).toArray());
+    }
+
+    /**
+     * Writes the totals and the stall and time to safepoint distributions per VM operation.
+     */
+    public void print(PrintStream out) {
+        out.printf("%d safepoints, %.1f ms stalled in total, p99 %.3f ms, time to safepoint p99 %.3f ms%n",
+                count(), totalMs(), p99Ms(), timeToSafepointP99Ms());
+        out.printf("%n%-32s %8s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "total ms",
+                "p50 ms", "p99 ms", "ttsp p50", "ttsp p99", "ttsp max");
+        Map<String, List<Safepoint>> byOperation = safepoints.values().stream()
+                .collect(Collectors.groupingBy(s -> s.operation));
+        byOperation.entrySet().stream()
+                .sorted((a, b) -> Long.compare(stallNanos(b.getValue()), stallNanos(a.getValue())))
+                .forEach(e -> {
+                    Statistics stall = stallMs(e.getValue());
+                    Statistics timeToSafepoint = timeToSafepointMs(e.getValue());
+                    out.printf("%-32s %8d %10.1f %10.3f %10.3f %10.3f %10.3f %10.3f%n", e.getKey(), stall.count(),
+                            stallNanos(e.getValue()) / 1e6, stall.median(), stall.percentile(99),
+                            timeToSafepoint.median(), timeToSafepoint.percentile(99),
+                            timeToSafepoint.percentile(100));
+                });
+    }
+
+    private static long stallNanos(List<Safepoint> safepoints) {
+        return safepoints.stream().mapToLong(Safepoint::stallNanos).sum();
+    }
+
+    private static class Safepoint {
+        private long beginNanos;
+        private long endNanos;
+        private long synchronizationNanos;
+        private String operation = "<unknown>";
+
+        private long stallNanos() {
+            return endNanos - beginNanos;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reduces one chunk of a soak test, the events of a dump of the recording that fall into the window of the chunk.
+ * Dumps of a recording with a maxage overlap, the window keeps every event in exactly one chunk.
+ */
+public class SoakChunkComputations {
+
+    private final Instant from;
+    private final Instant to;
+    private long minHeapAfterGc = Long.MAX_VALUE;
+    private AverageSupport.Long threads = AverageSupport.Long.EMPTY;
+    private long gcPauseNanos;
+    private AverageSupport.Long rss = AverageSupport.Long.EMPTY;
+
+    private SoakChunkComputations(Instant from, Instant to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @param nativeMemoryFile the samples of the {@code NativeMemorySampler}, for the RSS
+     */
+    public static SoakChunkComputations compute(Path jfrFile, Path nativeMemoryFile, Instant from, Instant to)
+            throws IOException {
+        SoakChunkComputations result = new SoakChunkComputations(from, to);
+        try (RecordingFile recording = new RecordingFile(jfrFile)) {
+            while (recording.hasMoreEvents()) {
+                result.add(recording.readEvent());
+            }
+        }
+        result.readRss(nativeMemoryFile);
+        return result;
+    }
+
+    private void add(RecordedEvent event) {
+        Instant time = event.getStartTime();
+        if (!time.isAfter(from) || time.isAfter(to)) {
+            return;
+        }
+        switch (event.getEventType().getName()) {
+            case "jdk.GCHeapSummary":
+                if ("After GC".equals(event.getString("when"))) {
+                    minHeapAfterGc = Math.min(minHeapAfterGc, event.getLong("heapUsed"));
+                }
+                break;
+            case "jdk.JavaThreadStatistics":
+                threads = threads.add(event.getLong("activeCount"));
+                break;
+            case "jdk.GCPhasePause":
+                gcPauseNanos += event.getDuration().toNanos();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void readRss(Path nativeMemoryFile) throws IOException {
+        if (!Files.exists(nativeMemoryFile)) {
+            return;
+        }
+        try (BufferedReader in = Files.newBufferedReader(nativeMemoryFile)) {
+            List<String> header = Arrays.asList(in.readLine().split(","));
+            int timestamp = header.indexOf("timestamp");
+            int rssColumn = header.indexOf("rss");
+            in.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> line.split(","))
+                    .filter(fields -> {
+                        long millis = Long.parseLong(fields[timestamp]);
+                        return millis > from.toEpochMilli() && millis <= to.toEpochMilli();
+                    })
+                    .forEach(fields -> rss = rss.add(Long.parseLong(fields[rssColumn])));
+        }
+    }
+
+    /**
+     * The smallest heap after a GC in the window, an estimate of the live set. -1 without any GC.
+     */
+    public long minHeapAfterGc() {
+        return minHeapAfterGc == Long.MAX_VALUE ? -1 : minHeapAfterGc;
+    }
+
+    public long averageThreads() {
+        return threads.average();
+    }
+
+    public long gcPauseMs() {
+        return gcPauseNanos / 1_000_000;
+    }
+
+    public long averageRss() {
+        return rss.average();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import java.util.Arrays;
+
+/**
+ * Descriptive statistics over the handful of samples (passes, runs) that the tests produce.
+ * NaN values are treated as missing and ignored.
+ */
+public class Statistics {
+
+    // two sided 95% critical values of Student's t distribution for 1..30 degrees of freedom
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_95 = 1.960;
+
+    private final double[] sorted;
+
+    private Statistics(double[] sorted) {
+        this.sorted = sorted;
+    }
+
+    public static Statistics of(double[] values) {
+        double[] sorted = Arrays.stream(values).filter(x -> !Double.isNaN(x)).sorted().toArray();
+        return new Statistics(sorted);
+    }
+
+    public int count() {
+        return sorted.length;
+    }
+
+    public double mean() {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (double value : sorted) {
+            sum += value;
+        }
+        return sum / sorted.length;
+    }
+
+    /**
+     * The sample standard deviation, 0 for a single sample.
+     */
+    public double stddev() {
+        if (sorted.length < 2) {
+            return sorted.length == 0 ? Double.NaN : 0;
+        }
+        double mean = mean();
+        double sumOfSquares = 0;
+        for (double value : sorted) {
+            sumOfSquares += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sumOfSquares / (sorted.length - 1));
+    }
+
+    /**
+     * Half width of the 95% confidence interval of the mean, using Student's t distribution.
+     */
+    public double confidenceInterval95() {
+        if (sorted.length < 2) {
+            return sorted.length == 0 ? Double.NaN : 0;
+        }
+        return tCritical95(sorted.length - 1) * stddev() / Math.sqrt(sorted.length);
+    }
+
+    /**
+     * The percentile (0-100), linearly interpolated between the closest ranks.
+     */
+    public double percentile(double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        double rank = percentile / 100.0 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    /**
+     * Welch's t-test at the 95% level: whether the means of two samples differ, without assuming equal variances.
+     */
+    public static boolean significantlyDifferent(Statistics a, Statistics b) {
+        if (a.count() < 2 || b.count() < 2) {
+            return false;
+        }
+        double varianceA = a.stddev() * a.stddev() / a.count();
+        double varianceB = b.stddev() * b.stddev() / b.count();
+        double difference = Math.abs(a.mean() - b.mean());
+        if (varianceA + varianceB == 0) {
+            return difference > 0;
+        }
+        double t = difference / Math.sqrt(varianceA + varianceB);
+        double degreesOfFreedom = (varianceA + varianceB) * (varianceA + varianceB)
+                / (varianceA * varianceA / (a.count() - 1) + varianceB * varianceB / (b.count() - 1));
+        return t > tCritical95((int) Math.floor(degreesOfFreedom));
+    }
+
+    /**
+     * The two sided 95% critical value of Student's t distribution, the normal one above 30 degrees of freedom.
+     */
+    public static double tCritical95(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            return T_95[0];
+        }
+        return degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : Z_95;
+    }
+
+    public double median() {
+        return percentile(50);
+    }
+
+    /**
+     * The median absolute deviation from the median, a spread estimate that a few outliers can't skew.
+     */
+    public double medianAbsoluteDeviation() {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        double median = median();
+        double[] deviations = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            deviations[i] = Math.abs(sorted[i] - median);
+        }
+        return Statistics.of(deviations).median();
+    }
+}
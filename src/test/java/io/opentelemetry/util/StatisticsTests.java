@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Statistics} on samples small enough to work out by hand, and on the empty and single samples that a run with
+ * failed passes ends up with.
+ */
+class StatisticsTests {
+
+    // mean 5, squared deviations summing to 32
+    private static final double[] SAMPLE = {2, 4, 4, 4, 5, 5, 7, 9};
+
+    @Test
+    void describesASample() {
+        Statistics statistics = Statistics.of(SAMPLE);
+        assertEquals(8, statistics.count());
+        assertEquals(5, statistics.mean(), 1e-12);
+        assertEquals(Math.sqrt(32.0 / 7), statistics.stddev(), 1e-12);
+        assertEquals(2.365 * Math.sqrt(32.0 / 7) / Math.sqrt(8), statistics.confidenceInterval95(), 1e-12);
+        assertEquals(4.5, statistics.median(), 1e-12);
+        // deviations 2.5 0.5 0.5 0.5 0.5 0.5 2.5 4.5
+        assertEquals(0.5, statistics.medianAbsoluteDeviation(), 1e-12);
+    }
+
+    @Test
+    void interpolatesThePercentiles() {
+        Statistics statistics = Statistics.of(new double[] {40, 10, 30, 20});
+        assertEquals(10, statistics.percentile(0), 1e-12);
+        assertEquals(17.5, statistics.percentile(25), 1e-12);
+        assertEquals(37, statistics.percentile(90), 1e-12);
+        assertEquals(40, statistics.percentile(100), 1e-12);
+    }
+
+    @Test
+    void ignoresNaN() {
+        Statistics statistics = Statistics.of(new double[] {Double.NaN, 1, 3, Double.NaN});
+        assertEquals(2, statistics.count());
+        assertEquals(2, statistics.mean(), 1e-12);
+    }
+
+    @Test
+    void describesTheEmptyAndSingleSamples() {
+        Statistics empty = Statistics.of(new double[] {Double.NaN});
+        assertEquals(0, empty.count());
+        assertTrue(Double.isNaN(empty.mean()));
+        assertTrue(Double.isNaN(empty.stddev()));
+        assertTrue(Double.isNaN(empty.confidenceInterval95()));
+        assertTrue(Double.isNaN(empty.median()));
+
+        Statistics single = Statistics.of(new double[] {3});
+        assertEquals(0, single.stddev());
+        assertEquals(0, single.confidenceInterval95());
+        assertEquals(0, single.medianAbsoluteDeviation());
+    }
+
+    @Test
+    void looksUpTheCriticalValues() {
+        assertEquals(12.706, Statistics.tCritical95(1));
+        assertEquals(2.042, Statistics.tCritical95(30));
+        assertEquals(1.960, Statistics.tCritical95(31));
+        assertEquals(12.706, Statistics.tCritical95(0));
+    }
+
+    @Test
+    void comparesTheMeansWithWelch() {
+        Statistics a = Statistics.of(new double[] {10, 11, 9, 10, 10});
+        assertTrue(Statistics.significantlyDifferent(a, Statistics.of(new double[] {14, 15, 13, 14, 14})));
+        assertFalse(Statistics.significantlyDifferent(a, Statistics.of(new double[] {10.5, 11, 9.5, 10, 10})));
+        // too few samples to tell
+        assertFalse(Statistics.significantlyDifferent(a, Statistics.of(new double[] {100})));
+        // no variance at all, any difference is real
+        assertTrue(Statistics.significantlyDifferent(Statistics.of(new double[] {1, 1}),
+                Statistics.of(new double[] {2, 2})));
+    }
+}
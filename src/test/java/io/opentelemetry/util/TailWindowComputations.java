@@ -0,0 +1,179 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What the JVM did in the window around a slow request, from a dump of the recording for that window: GC pauses,
+ * safepoints, the thread dumps of the profiler, and where the CPU samples were, in agent code or on the threads that
+ * export the telemetry. A dump holds whole chunks, so only the events that start in the window count.
+ */
+public class TailWindowComputations {
+
+    private final Instant from;
+    private final Instant to;
+    private long gcPauses;
+    private long gcPauseNanos;
+    private long maxGcPauseNanos;
+    // start -> duration of every GC pause
+    private final Map<Instant, Long> gcPauseList = new HashMap<>();
+    private final SafepointComputations safepoints = new SafepointComputations();
+    private long threadDumps;
+    private long samples;
+    private long agentSamples;
+    private long exporterSamples;
+    private final Map<String, Long> agentFrames = new HashMap<>();
+
+    private TailWindowComputations(Instant from, Instant to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public static TailWindowComputations compute(Path jfrFile, Instant from, Instant to) throws IOException {
+        TailWindowComputations result = new TailWindowComputations(from, to);
+        try (RecordingFile recordingFile = new RecordingFile(jfrFile)) {
+            while (recordingFile.hasMoreEvents()) {
+                result.add(recordingFile.readEvent());
+            }
+        }
+        result.safepoints.removeIncomplete();
+        return result;
+    }
+
+    private void add(RecordedEvent event) {
+        Instant time = event.getStartTime();
+        if (time.isBefore(from) || time.isAfter(to)) {
+            return;
+        }
+        switch (event.getEventType().getName()) {
+            case "jdk.GCPhasePause":
+                long nanos = event.getDuration().toNanos();
+                gcPauses++;
+                gcPauseNanos += nanos;
+                maxGcPauseNanos = Math.max(maxGcPauseNanos, nanos);
+                gcPauseList.merge(time, nanos, Long::sum);
+                break;
+            case "jdk.ThreadDump":
+                threadDumps++;
+                break;
+            case "jdk.ExecutionSample":
+                addSample(event);
+                break;
+            default:
+                safepoints.add(event);
+                break;
+        }
+    }
+
+    private void addSample(RecordedEvent event) {
+        samples++;
+        RecordedThread thread = event.getThread("sampledThread");
+        String threadName = thread == null ? null : thread.getJavaName();
+        if (CodeOrigin.isExporterThread(threadName)) {
+            exporterSamples++;
+        }
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        // the agent method closest to the top of the stack, the one that was running or that called the library
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String className = frame.getMethod().getType().getName();
+            if (frame.isJavaFrame() && CodeOrigin.of(className) == CodeOrigin.AGENT) {
+                agentSamples++;
+                agentFrames.merge(className + "." + frame.getMethod().getName(), 1L, Long::sum);
+                return;
+            }
+        }
+    }
+
+    public long gcPauses() {
+        return gcPauses;
+    }
+
+    public double gcPauseMs() {
+        return gcPauseNanos / 1e6;
+    }
+
+    public double maxGcPauseMs() {
+        return maxGcPauseNanos / 1e6;
+    }
+
+    /**
+     * The GC pauses that started in a part of the window, e.g. while the slow request ran.
+     */
+    public double gcPauseMs(Instant start, Instant end) {
+        return gcPauseList.entrySet().stream()
+                .filter(pause -> !pause.getKey().isBefore(start) && !pause.getKey().isAfter(end))
+                .mapToLong(Map.Entry::getValue)
+                .sum() / 1e6;
+    }
+
+    /**
+     * The safepoints that began in a part of the window, including those of GC pauses.
+     */
+    public double safepointStallMs(Instant start, Instant end) {
+        return safepoints.totalMs(start, end);
+    }
+
+    public long safepoints() {
+        return safepoints.count();
+    }
+
+    /**
+     * The time that all threads were stopped for safepoints, including those of GC pauses.
+     */
+    public double safepointStallMs() {
+        return safepoints.totalMs();
+    }
+
+    /**
+     * The VM operation of the longest safepoint, null without any.
+     */
+    public String longestSafepointOperation() {
+        return safepoints.longestOperation();
+    }
+
+    public double longestSafepointMs() {
+        return safepoints.longestMs();
+    }
+
+    public long threadDumps() {
+        return threadDumps;
+    }
+
+    public long samples() {
+        return samples;
+    }
+
+    public long agentSamples() {
+        return agentSamples;
+    }
+
+    public long exporterSamples() {
+        return exporterSamples;
+    }
+
+    /**
+     * The agent method that most samples in the window were in, null without any.
+     */
+    public String hottestAgentMethod() {
+        return agentFrames.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
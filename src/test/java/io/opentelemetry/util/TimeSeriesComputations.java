@@ -0,0 +1,215 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.opentelemetry.util;
+
+import io.opentelemetry.results.TimeSeries;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Buckets the jfr recording and the k6 per-request output of a single run into 1 second buckets.
+ * Both files are streamed exactly once.
+ */
+public class TimeSeriesComputations {
+
+    private final Path jfrFile;
+    private final Path k6TimeSeriesFile;
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+
+    public TimeSeriesComputations(Path jfrFile, Path k6TimeSeriesFile) {
+        this.jfrFile = jfrFile;
+        this.k6TimeSeriesFile = k6TimeSeriesFile;
+    }
+
+    public TimeSeries compute() throws IOException {
+        readJfr();
+        readK6();
+        return toTimeSeries();
+    }
+
+    private void readJfr() throws IOException {
+        HeapTracker heap = new HeapTracker();
+        try (RecordingFile recording = new RecordingFile(jfrFile)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                Bucket bucket;
+                switch (event.getEventType().getName()) {
+                    case "jdk.CPULoad":
+                        bucket = bucket(event.getStartTime());
+                        bucket.cpuUser = bucket.cpuUser.add(event.getFloat("jvmUser"));
+                        bucket.cpuSystem = bucket.cpuSystem.add(event.getFloat("jvmSystem"));
+                        bucket.cpuMachine = bucket.cpuMachine.add(event.getFloat("machineTotal"));
+                        break;
+                    case "jdk.GCHeapSummary":
+                        bucket = bucket(event.getStartTime());
+                        long heapUsed = event.getLong("heapUsed");
+                        bucket.heapUsed = Math.max(bucket.heapUsed, heapUsed);
+                        heap.record(event, heapUsed);
+                        break;
+                    case "jdk.GCPhasePause":
+                        bucket = bucket(event.getStartTime());
+                        bucket.gcPauseNanos += event.getDuration().toNanos();
+                        break;
+                    case "jdk.JavaThreadStatistics":
+                        bucket = bucket(event.getStartTime());
+                        bucket.threadCount = Math.max(bucket.threadCount, event.getLong("activeCount"));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    // The k6 csv output has one line per metric sample, e.g.
+    // http_req_duration,1657557660,12.345000,,,,true,,GET,http://...
+    private void readK6() throws IOException {
+        if (!Files.exists(k6TimeSeriesFile)) {
+            return;
+        }
+        try (BufferedReader in = Files.newBufferedReader(k6TimeSeriesFile)) {
+            List<String> header = Arrays.asList(in.readLine().split(","));
+            int nameIndex = header.indexOf("metric_name");
+            int timestampIndex = header.indexOf("timestamp");
+            int valueIndex = header.indexOf("metric_value");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(",", valueIndex + 2);
+                String metric = fields[nameIndex];
+                if (metric.equals("http_reqs")) {
+                    bucket(parseTimestamp(fields[timestampIndex])).requests++;
+                } else if (metric.equals("http_req_duration")) {
+                    Bucket bucket = bucket(parseTimestamp(fields[timestampIndex]));
+                    double value = Double.parseDouble(fields[valueIndex]);
+                    bucket.latency = bucket.latency.add((float) value);
+                    bucket.latencyMax = Math.max(bucket.latencyMax, value);
+                }
+            }
+        }
+    }
+
+    // older k6 versions write whole seconds, newer ones may add a fraction
+    private static long parseTimestamp(String value) {
+        return (long) Double.parseDouble(value);
+    }
+
+    private TimeSeries toTimeSeries() {
+        if (buckets.isEmpty()) {
+            return TimeSeries.builder(0).build();
+        }
+        long first = buckets.firstKey();
+        int size = (int) (buckets.lastKey() - first + 1);
+        long[] timestamps = new long[size];
+        double[] cpuUser = new double[size];
+        double[] cpuSystem = new double[size];
+        double[] cpuMachine = new double[size];
+        long[] heapUsed = new long[size];
+        double[] gcPauseMs = new double[size];
+        long[] allocationRate = new long[size];
+        long[] threadCount = new long[size];
+        long[] requests = new long[size];
+        double[] latencyAvg = new double[size];
+        double[] latencyMax = new double[size];
+
+        long lastHeap = 0;
+        long lastThreads = 0;
+        for (int i = 0; i < size; i++) {
+            long second = first + i;
+            Bucket bucket = buckets.getOrDefault(second, new Bucket());
+            timestamps[i] = second;
+            cpuUser[i] = averageOrNaN(bucket.cpuUser);
+            cpuSystem[i] = averageOrNaN(bucket.cpuSystem);
+            cpuMachine[i] = averageOrNaN(bucket.cpuMachine);
+            lastHeap = bucket.heapUsed > 0 ? bucket.heapUsed : lastHeap;
+            heapUsed[i] = lastHeap;
+            gcPauseMs[i] = bucket.gcPauseNanos / 1_000_000.0;
+            allocationRate[i] = (long) bucket.allocatedBytes;
+            lastThreads = bucket.threadCount > 0 ? bucket.threadCount : lastThreads;
+            threadCount[i] = lastThreads;
+            requests[i] = bucket.requests;
+            latencyAvg[i] = averageOrNaN(bucket.latency);
+            latencyMax[i] = bucket.latency.count == 0 ? Double.NaN : bucket.latencyMax;
+        }
+
+        return TimeSeries.builder(size)
+                .longColumn(TimeSeries.TIMESTAMP, timestamps)
+                .doubleColumn(TimeSeries.CPU_USER, cpuUser)
+                .doubleColumn(TimeSeries.CPU_SYSTEM, cpuSystem)
+                .doubleColumn(TimeSeries.CPU_MACHINE, cpuMachine)
+                .longColumn(TimeSeries.HEAP_USED, heapUsed)
+                .doubleColumn(TimeSeries.GC_PAUSE_MS, gcPauseMs)
+                .longColumn(TimeSeries.ALLOCATION_RATE, allocationRate)
+                .longColumn(TimeSeries.THREAD_COUNT, threadCount)
+                .longColumn(TimeSeries.REQUESTS, requests)
+                .doubleColumn(TimeSeries.LATENCY_AVG, latencyAvg)
+                .doubleColumn(TimeSeries.LATENCY_MAX, latencyMax)
+                .build();
+    }
+
+    private static double averageOrNaN(AverageSupport.Float avg) {
+        return avg.count == 0 ? Double.NaN : avg.average();
+    }
+
+    private Bucket bucket(Instant instant) {
+        return bucket(instant.getEpochSecond());
+    }
+
+    private Bucket bucket(long epochSecond) {
+        return buckets.computeIfAbsent(epochSecond, x -> new Bucket());
+    }
+
+    /**
+     * JFR has no cheap per-second allocation event on JDK 11, so the allocation rate is derived from the heap
+     * summaries: whatever the heap grew between the end of one GC and the start of the next one was allocated
+     * in that interval, which is spread evenly over the buckets it covers.
+     */
+    private class HeapTracker {
+        private final Map<Integer, Long> afterGcHeap = new TreeMap<>();
+        private final Map<Integer, Instant> afterGcTime = new TreeMap<>();
+
+        void record(RecordedEvent event, long heapUsed) {
+            int gcId = event.getInt("gcId");
+            if ("After GC".equals(event.getString("when"))) {
+                afterGcHeap.put(gcId, heapUsed);
+                afterGcTime.put(gcId, event.getStartTime());
+                return;
+            }
+            Long previousHeap = afterGcHeap.remove(gcId - 1);
+            Instant previousTime = afterGcTime.remove(gcId - 1);
+            if (previousHeap == null || heapUsed < previousHeap) {
+                return;
+            }
+            long from = previousTime.getEpochSecond();
+            long to = event.getStartTime().getEpochSecond();
+            double perBucket = (double) (heapUsed - previousHeap) / (to - from + 1);
+            for (long second = from; second <= to; second++) {
+                bucket(second).allocatedBytes += perBucket;
+            }
+        }
+    }
+
+    private static class Bucket {
+        AverageSupport.Float cpuUser = AverageSupport.Float.EMPTY;
+        AverageSupport.Float cpuSystem = AverageSupport.Float.EMPTY;
+        AverageSupport.Float cpuMachine = AverageSupport.Float.EMPTY;
+        long heapUsed;
+        long gcPauseNanos;
+        double allocatedBytes;
+        long threadCount;
+        long requests;
+        AverageSupport.Float latency = AverageSupport.Float.EMPTY;
+        double latencyMax;
+    }
+}
@@ -0,0 +1,182 @@
+// Reader for the columnar binary files written by io.opentelemetry.columnar.ColumnarWriter.
+// Only the directory is parsed up front, columns are inflated and decoded per group when they are asked for.
+
+const COLUMNAR_MAGIC = 'OTCF';
+const COLUMNAR_VERSION = 1;
+const COLUMN_TYPE_LONG = 1;
+const COLUMN_TYPE_DOUBLE = 2;
+const COLUMN_TYPE_STRING = 3;
+
+async function fetchColumnar(url) {
+    const resp = await fetch(url);
+    if (!resp.ok) {
+        return null;
+    }
+    return parseColumnar(await resp.arrayBuffer());
+}
+
+function parseColumnar(buffer) {
+    const view = new DataView(buffer);
+    const magic = String.fromCharCode(...new Uint8Array(buffer, 0, 4));
+    if (magic !== COLUMNAR_MAGIC) {
+        throw new Error('Not a columnar results file');
+    }
+    const decoder = new TextDecoder();
+    let pos = 4;
+    const readString = () => {
+        const length = view.getUint16(pos);
+        const value = decoder.decode(new Uint8Array(buffer, pos + 2, length));
+        pos += 2 + length;
+        return value;
+    };
+    const version = view.getUint16(pos);
+    pos += 2;
+    if (version !== COLUMNAR_VERSION) {
+        throw new Error('Unsupported columnar format version ' + version);
+    }
+    const types = {};
+    const groups = [];
+    const columnCount = view.getUint16(pos);
+    pos += 2;
+    for (let i = 0; i < columnCount; i++) {
+        const name = readString();
+        types[name] = view.getUint8(pos);
+        pos += 1;
+    }
+    const groupCount = view.getUint16(pos);
+    pos += 2;
+    for (let i = 0; i < groupCount; i++) {
+        const key = readString();
+        const group = {
+            key: key,
+            rowCount: view.getUint32(pos),
+            minTimestamp: Number(view.getBigInt64(pos + 4)),
+            maxTimestamp: Number(view.getBigInt64(pos + 12)),
+            chunks: {}
+        };
+        pos += 20;
+        Object.keys(types).forEach(name => {
+            group.chunks[name] = {offset: view.getUint32(pos), length: view.getUint32(pos + 4)};
+            pos += 8;
+        });
+        groups.push(group);
+    }
+    const dataStart = pos;
+
+    const readChunk = async (group, name) => {
+        const chunk = group.chunks[name];
+        if (!chunk) {
+            return undefined;
+        }
+        const raw = await inflate(buffer.slice(dataStart + chunk.offset, dataStart + chunk.offset + chunk.length));
+        switch (types[name]) {
+            case COLUMN_TYPE_LONG:
+                return decodeLongs(raw, group.rowCount);
+            case COLUMN_TYPE_STRING:
+                return decodeStrings(raw, group.rowCount);
+            default:
+                return decodeDoubles(raw, group.rowCount);
+        }
+    };
+    const groupViews = groups.map(group => ({
+        key: group.key,
+        rowCount: group.rowCount,
+        minTimestamp: group.minTimestamp,
+        maxTimestamp: group.maxTimestamp,
+        column: name => readChunk(group, name)
+    }));
+    return {
+        version: version,
+        rowCount: groups.reduce((acc, group) => acc + group.rowCount, 0),
+        columns: Object.keys(types),
+        groups: groupViews,
+        group: key => groupViews.find(group => group.key === key),
+        // a column across all groups, in group order
+        column: async name => {
+            if (!(name in types)) {
+                return undefined;
+            }
+            const values = await Promise.all(groups.map(group => readChunk(group, name)));
+            return values.flat();
+        }
+    };
+}
+
+async function inflate(compressed) {
+    const stream = new Blob([compressed]).stream().pipeThrough(new DecompressionStream('deflate'));
+    return new Response(stream).arrayBuffer();
+}
+
+// varints are decoded with plain arithmetic so values above 2^31 survive
+function varintReader(buffer) {
+    const bytes = new Uint8Array(buffer);
+    let pos = 0;
+    return {
+        bytes: bytes,
+        next: () => {
+            let raw = 0;
+            let multiplier = 1;
+            let b;
+            do {
+                b = bytes[pos++];
+                raw += (b & 0x7f) * multiplier;
+                multiplier *= 128;
+            } while (b & 0x80);
+            return raw;
+        },
+        skip: length => {
+            const start = pos;
+            pos += length;
+            return start;
+        }
+    };
+}
+
+// delta + zigzag varints
+function decodeLongs(buffer, count) {
+    const reader = varintReader(buffer);
+    const result = new Array(count);
+    let previous = 0;
+    for (let i = 0; i < count; i++) {
+        const raw = reader.next();
+        const delta = raw % 2 === 1 ? -(raw + 1) / 2 : raw / 2;
+        previous += delta;
+        result[i] = previous;
+    }
+    return result;
+}
+
+// a dictionary of the distinct values followed by an index into it per row
+function decodeStrings(buffer, count) {
+    const reader = varintReader(buffer);
+    const decoder = new TextDecoder();
+    const dictionary = [];
+    const dictionarySize = reader.next();
+    for (let i = 0; i < dictionarySize; i++) {
+        const length = reader.next();
+        const start = reader.skip(length);
+        dictionary.push(decoder.decode(reader.bytes.subarray(start, start + length)));
+    }
+    const result = new Array(count);
+    for (let i = 0; i < count; i++) {
+        result[i] = dictionary[reader.next()];
+    }
+    return result;
+}
+
+// each value is xor'ed with its predecessor
+function decodeDoubles(buffer, count) {
+    const view = new DataView(buffer);
+    const out = new DataView(new ArrayBuffer(8));
+    const result = new Array(count);
+    let hi = 0;
+    let lo = 0;
+    for (let i = 0; i < count; i++) {
+        hi = (hi ^ view.getUint32(i * 8)) >>> 0;
+        lo = (lo ^ view.getUint32(i * 8 + 4)) >>> 0;
+        out.setUint32(0, hi);
+        out.setUint32(4, lo);
+        result[i] = out.getFloat64(0);
+    }
+    return result;
+}
@@ -9,7 +9,14 @@ async function getRuns(){
         );
 }
 
-async function getResults(name){
+// Prefers the columnar results file, where only the requested fields (all of them by default) need to be
+// decoded, and falls back to the csv for runs that were recorded before it existed.
+async function getResults(name, fields){
+    const columnar = await fetchColumnar(`results/${name}/results.bin`)
+        .catch(e => null);
+    if (columnar) {
+        return aggregateColumnarResults(columnar, fields);
+    }
     return fetch(`results/${name}/results.csv`)
         .then(resp => resp.text())
         .then(body => parseCsv(body))
@@ -21,6 +28,35 @@ async function getResults(name){
         });
 }
 
+// Returns the per run means of the given fields from the history index written by HistoryAggregator, shaped like
+// [{run: name, results: <getResults shape>}], or null when there is no index.
+async function getHistory(fields){
+    const history = await fetchColumnar(`results/history.bin`)
+        .catch(e => null);
+    if (!history) {
+        return null;
+    }
+    const byRun = new Map();
+    for (const group of history.groups) {
+        const runs = await group.column('run');
+        const means = await Promise.all(fields.map(field => group.column(`${field}.mean`)));
+        runs.forEach((run, i) => {
+            const entry = byRun.get(run) || {run: run, results: {agents: [], results: {}}};
+            entry.results.agents.push(group.key);
+            fields.forEach((field, f) => {
+                if (!means[f] || Number.isNaN(means[f][i])) {
+                    return;
+                }
+                const values = entry.results.results[field] || {};
+                values[group.key] = means[f][i];
+                entry.results.results[field] = values;
+            });
+            byRun.set(run, entry);
+        });
+    }
+    return [...byRun.values()];
+}
+
 async function getConfig(name){
     const path = `results/${name}/config.json`;
     return fetch(path)
@@ -29,4 +65,13 @@ async function getConfig(name){
             console.log(`No such config found for ${path}`)
             return {};
     });
-}
\ No newline at end of file
+}
+
+// Returns the 1 second time series of a single agent run, or null when the run doesn't have one
+async function getTimeSeries(name, pass, agent){
+    return fetchColumnar(`results/${name}/timeseries/pass-${pass}/${agent}.bin`)
+        .catch(e => {
+            console.log(`No time series found for ${name} pass ${pass} ${agent}`);
+            return null;
+        });
+}
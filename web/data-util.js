@@ -104,3 +104,21 @@ function aggregateSingleResult(data, field) {
     });
     return Object.fromEntries(agentWithAverage);
 }
+
+// Same result shape as aggregateRunData, but from a columnar results file with one group per agent. Missing values
+// are persisted as NaN and skipped, like Statistics.of does, so that one pass without them doesn't hide the others.
+async function aggregateColumnarResults(columnar, fields) {
+    const wanted = (fields || columnar.columns)
+        .filter(field => field !== 'timestamp' && columnar.columns.includes(field));
+    const res = await Promise.all(wanted.map(async field => {
+        const agentWithAverage = await Promise.all(columnar.groups.map(async group => {
+            const values = (await group.column(field)).filter(value => Number.isFinite(value));
+            return [group.key, values.length === 0 ? NaN : values.reduce((acc, value) => acc + value, 0) / values.length];
+        }));
+        return [field, Object.fromEntries(agentWithAverage)];
+    }));
+    return {
+        agents: columnar.groups.map(group => group.key),
+        results: Object.fromEntries(res)
+    };
+}
@@ -14,9 +14,8 @@ async function toggleHistorical() {
 }
 
 async function showHistorical() {
-    const configs = await getAllRunConfigs();
-    configs.sort((a, b) => a.run.localeCompare(b.run));
-    const configsWithResults = await addResults(configs);
+    const configsWithResults = await getHistoricalResults();
+    configsWithResults.sort((a, b) => a.run.localeCompare(b.run));
     addHistoricalOverview(configsWithResults);
     addHistoricalCharts(configsWithResults);
     setTimeout(tiltLabels, 1);
@@ -27,24 +26,45 @@ function addHistoricalOverview(configsWithResults) {
     overview.innerHTML = 'Showing historical comparison view';
 }
 
-function addHistoricalCharts(configsWithResults) {
-    makeHistoricalChart(configsWithResults, 'startupDurationMs', "Seconds", x => x / 1000);
-    makeHistoricalChart(configsWithResults, 'averageCpuUser', "% CPU load");
-    makeHistoricalChart(configsWithResults, 'maxCpuUser', "% CPU load");
-    makeHistoricalChart(configsWithResults, 'maxHeapUsed', "Megabytes", x => x / (1024 * 1024));
-    makeHistoricalChart(configsWithResults, 'totalAllocatedMB', "Gigabytes", x => x / (1024));
-    makeHistoricalChart(configsWithResults, 'totalGCTime', "Seconds", x => x / (1000 * 1000 * 1000));
-    makeHistoricalChart(configsWithResults, 'gcPauseMs', "Milliseconds");
-    makeHistoricalChart(configsWithResults, 'iterationAvg', "Milliseconds");
-    makeHistoricalChart(configsWithResults, 'iterationP95', "Milliseconds");
-    makeHistoricalChart(configsWithResults, 'requestAvg', "Milliseconds");
-    makeHistoricalChart(configsWithResults, 'requestP95', "Milliseconds");
-    makeHistoricalChart(configsWithResults, 'netReadAvg', "MiB/s", x => x / (1024 * 1024));
-    makeHistoricalChart(configsWithResults, 'netWriteAvg', "MiB/s", x => x / (1024 * 1024));
-    makeHistoricalChart(configsWithResults, 'peakThreadCount', "MiB/s");
-    makeHistoricalChart(configsWithResults, 'maxThreadContextSwitchRate', "Switches per second");
-    makeHistoricalChart(configsWithResults, 'runDurationMs', "Seconds", x => x / 1000);
+const HISTORICAL_CHARTS = [
+    ['startupDurationMs', "Seconds", x => x / 1000],
+    ['averageCpuUser', "% CPU load"],
+    ['maxCpuUser', "% CPU load"],
+    ['maxHeapUsed', "Megabytes", x => x / (1024 * 1024)],
+    ['totalAllocatedMB', "Gigabytes", x => x / (1024)],
+    ['peakRss', "Megabytes", x => x / (1024 * 1024)],
+    ['averageRss', "Megabytes", x => x / (1024 * 1024)],
+    ['peakMetaspace', "Megabytes", x => x / (1024 * 1024)],
+    ['peakCodeCache', "Megabytes", x => x / (1024 * 1024)],
+    ['peakThreadMemory', "Megabytes", x => x / (1024 * 1024)],
+    ['totalGCTime', "Seconds", x => x / (1000 * 1000 * 1000)],
+    ['gcPauseMs', "Milliseconds"],
+    ['iterationAvg', "Milliseconds"],
+    ['iterationP95', "Milliseconds"],
+    ['requestAvg', "Milliseconds"],
+    ['requestP95', "Milliseconds"],
+    ['netReadAvg', "MiB/s", x => x / (1024 * 1024)],
+    ['netWriteAvg', "MiB/s", x => x / (1024 * 1024)],
+    ['peakThreadCount', "MiB/s"],
+    ['maxThreadContextSwitchRate', "Switches per second"],
+    ['runDurationMs', "Seconds", x => x / 1000],
+    ['dbCalls', "Statements executed"],
+    ['dbExecTimeMs', "Seconds", x => x / 1000],
+    ['jitCompileTimeMs', "Seconds", x => x / 1000],
+    ['jitCodeSize', "Megabytes", x => x / (1024 * 1024)],
+    ['deoptimizations', "Deoptimizations"],
+    ['blockedMs', "Seconds", x => x / 1000],
+    ['waitedMs', "Seconds", x => x / 1000],
+    ['blockedMsPerRequest', "Milliseconds"],
+    ['safepointTimeMs', "Milliseconds"],
+    ['timeToSafepointP99Ms', "Milliseconds"],
+    ['cpuStealPercent', "% CPU time"],
+    ['cpuThrottledMs', "Milliseconds"]
+];
 
+function addHistoricalCharts(configsWithResults) {
+    HISTORICAL_CHARTS.forEach(([resultsType, axisTitle, scaleFunction]) =>
+        makeHistoricalChart(configsWithResults, resultsType, axisTitle, scaleFunction));
 }
 
 function makeHistoricalChart(configsWithResults, resultsType, axisTitle, scaleFunction = x => x) {
@@ -57,7 +77,7 @@ function makeHistoricalChart(configsWithResults, resultsType, axisTitle, scaleFu
     const standardAgents = agents.filter(agent => !agent.includes(':'));
     const groupedByAgent = standardAgents.map(agent => {
         return [agent, results.map(result => {
-           return result[1][agent];
+           return result[1] ? result[1][agent] : undefined;
         })];
     });
 
@@ -107,8 +127,22 @@ function allAgents(configsWithResults){
     return [...result];
 }
 
-async function getAllRunConfigs(){
+// Most runs come from the aggregated history index in a single fetch, only runs that were published after the
+// last aggregation are loaded one by one.
+async function getHistoricalResults() {
+    const fields = HISTORICAL_CHARTS.map(chart => chart[0]);
+    const history = await getHistory(fields);
+    if (!history) {
+        return addResults(await getAllRunConfigs());
+    }
+    const aggregatedRuns = new Set(history.map(x => x.run));
     const runs = await getRuns();
+    const newConfigs = await getAllRunConfigs(runs.filter(run => !aggregatedRuns.has(run)));
+    return history.concat(await addResults(newConfigs));
+}
+
+async function getAllRunConfigs(runs){
+    runs = runs || await getRuns();
     const runPromises = runs.map(
         run => getConfig(run)
             .then(config => {
@@ -121,7 +155,8 @@ async function getAllRunConfigs(){
 
 async function addResults(configs) {
     const resultsPromises = configs.map(config => {
-       return getResults(config.run)
+       // only decode the fields that are charted
+       return getResults(config.run, HISTORICAL_CHARTS.map(chart => chart[0]))
            .then(results => {
                config['results'] = results;
                return config;
@@ -30,6 +30,7 @@ async function testRunChosen() {
     addOverview(config);
     addCharts(results, config);
     updateUrl(value);
+    await addTimeline(value, config, results);
 }
 
 function addOverview(config) {
@@ -121,6 +122,11 @@ function addCharts(aggregated, config) {
     makeChart(aggregated, config, 'maxCpuUser', "% CPU load");
     makeChart(aggregated, config, 'maxHeapUsed', "Megabytes", x => x / (1024 * 1024));
     makeChart(aggregated, config, 'totalAllocatedMB', "Gigabytes", x => x / (1024));
+    makeChart(aggregated, config, 'peakRss', "Megabytes", x => x / (1024 * 1024));
+    makeChart(aggregated, config, 'averageRss', "Megabytes", x => x / (1024 * 1024));
+    makeChart(aggregated, config, 'peakMetaspace', "Megabytes", x => x / (1024 * 1024));
+    makeChart(aggregated, config, 'peakCodeCache', "Megabytes", x => x / (1024 * 1024));
+    makeChart(aggregated, config, 'peakThreadMemory', "Megabytes", x => x / (1024 * 1024));
     makeChart(aggregated, config, 'totalGCTime', "Seconds", x => x / (1000 * 1000 * 1000));
     makeChart(aggregated, config, 'gcPauseMs', "Milliseconds");
     makeChart(aggregated, config, 'iterationAvg', "Milliseconds");
@@ -132,6 +138,93 @@ function addCharts(aggregated, config) {
     makeChart(aggregated, config, 'peakThreadCount', "MiB/s");
     makeChart(aggregated, config, 'maxThreadContextSwitchRate', "Switches per second");
     makeChart(aggregated, config, 'runDurationMs', "Seconds", x => x / 1000);
+    makeChart(aggregated, config, 'dbCalls', "Statements executed");
+    makeChart(aggregated, config, 'dbExecTimeMs', "Seconds", x => x / 1000);
+    makeChart(aggregated, config, 'jitCompileTimeMs', "Seconds", x => x / 1000);
+    makeChart(aggregated, config, 'jitCodeSize', "Megabytes", x => x / (1024 * 1024));
+    makeChart(aggregated, config, 'deoptimizations', "Deoptimizations");
+    makeChart(aggregated, config, 'blockedMs', "Seconds", x => x / 1000);
+    makeChart(aggregated, config, 'waitedMs', "Seconds", x => x / 1000);
+    makeChart(aggregated, config, 'blockedMsPerRequest', "Milliseconds");
+    makeChart(aggregated, config, 'safepointTimeMs', "Milliseconds");
+    makeChart(aggregated, config, 'timeToSafepointP99Ms', "Milliseconds");
+    makeChart(aggregated, config, 'cpuStealPercent', "% CPU time");
+    makeChart(aggregated, config, 'cpuThrottledMs', "Milliseconds");
+}
+
+async function addTimeline(run, config, results) {
+    const passSelect = document.getElementById('timeline-pass');
+    passSelect.innerHTML = '';
+    const passes = config.numberOfPasses || 1;
+    for (let pass = 1; pass <= passes; pass++) {
+        const option = document.createElement("option");
+        option.text = `pass ${pass}`;
+        option.value = pass;
+        passSelect.add(option);
+    }
+    passSelect.onchange = () => addTimelineCharts(run, passSelect.value, results['agents'], config);
+    await addTimelineCharts(run, 1, results['agents'], config);
+}
+
+async function addTimelineCharts(run, pass, agentNames, config) {
+    const series = await Promise.all(agentNames.map(agent => getTimeSeries(run, pass, agent)));
+    const available = series.filter(x => x);
+    document.getElementById('timeline').style.display = available.length > 0 ? '' : 'none';
+    if (available.length === 0) {
+        return;
+    }
+    const descriptions = makeMarketingNames(agentNames, config);
+    await makeTimelineChart(series, descriptions, 'cpuUser', "% CPU load", x => x * 100);
+    await makeTimelineChart(series, descriptions, 'heapUsed', "Megabytes", x => x / (1024 * 1024));
+    await makeTimelineChart(series, descriptions, 'allocationRate', "MiB/s", x => x / (1024 * 1024));
+    await makeTimelineChart(series, descriptions, 'gcPauseMs', "Milliseconds");
+    await makeTimelineChart(series, descriptions, 'threadCount', "Threads");
+    await makeTimelineChart(series, descriptions, 'requests', "Requests per second");
+    await makeTimelineChart(series, descriptions, 'latencyAvg', "Milliseconds");
+    await makeTimelineChart(series, descriptions, 'latencyMax', "Milliseconds");
+}
+
+// Every agent ran at a different time, so the x axis is seconds since the start of each run
+async function makeTimelineChart(series, descriptions, column, axisTitle, scaleFunction = x => x) {
+    const seriesData = [];
+    for (let i = 0; i < series.length; i++) {
+        if (!series[i]) {
+            continue;
+        }
+        const values = await series[i].column(column);
+        if (!values) {
+            continue;
+        }
+        seriesData.push({
+            name: descriptions[i],
+            data: values.map((v, second) => ({x: second, y: Number.isNaN(v) ? null : scaleFunction(v)}))
+        });
+    }
+    new Chartist.Line(`#timeline-${column}-chart`, {
+        series: seriesData
+    }, {
+        fullWidth: true,
+        showPoint: false,
+        chartPadding: {
+            left: 40,
+            right: 40,
+            top: 40
+        },
+        axisX: {
+            type: Chartist.AutoScaleAxis,
+            onlyInteger: true
+        },
+        axisY: {
+            low: 0
+        },
+        lineSmooth: Chartist.Interpolation.none({
+            fillHoles: false
+        }),
+        plugins: [
+            makeChartistAxisTitle(axisTitle),
+            Chartist.plugins.legend()
+        ]
+    });
 }
 
 function makeMarketingNames(agentNames, config) {
@@ -143,6 +236,10 @@ function makeMarketingNames(agentNames, config) {
 }
 
 function makeChart(aggregated, config, resultType, axisTitle, scaleFunction = x => x) {
+    if (!aggregated['results'][resultType]) {
+        // older results don't contain every metric
+        return;
+    }
     const agentNames = aggregated['agents'];
     const descriptions = makeMarketingNames(agentNames, config);
     const initialResults = agentNames.map(agent => aggregated['results'][resultType][agent]);